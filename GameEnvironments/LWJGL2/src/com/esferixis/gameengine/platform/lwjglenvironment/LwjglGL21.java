@@ -150,6 +150,11 @@ final class LwjglGL21 implements GL21 {
 	public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, java.nio.ByteBuffer pixels) {
 		GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
 	}
+	
+	@Override
+	public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, java.nio.ByteBuffer pixels) {
+		GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, pixels);
+	}
 
 	@Override
 	public void glTexParameter(int target, int pname, FloatBuffer param) {
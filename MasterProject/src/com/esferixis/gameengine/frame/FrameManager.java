@@ -36,6 +36,7 @@ import java.io.Serializable;
 
 import com.esferixis.gameengine.physics.time.TemporalEvent;
 import com.esferixis.gameengine.physics.time.TemporalEventsManager;
+import com.esferixis.gameengine.physics.time.TemporalEventsRebaseListener;
 import com.esferixis.gameengine.platform.PlatformServiceManager;
 import com.esferixis.gameengine.renderengine.frontend.RenderEngineFrontend;
 import com.esferixis.gameengine.renderengine.frontend.renderingFrame.RenderingFrameEmmiter;
@@ -56,11 +57,30 @@ public abstract class FrameManager implements Serializable {
 	
 	private TemporalEventsManager temporalEventsManager;
 	
-	private final float startTime;
+	private float startTime;
 	private final int framesPerSecond;
 	
 	private long frameIndex;
 	
+	/**
+	 * Receptor que mueve el tiempo de comienzo cuando cambia el origen de tiempo,
+	 * tomando como comienzo el cuadro actual para no perder precisión
+	 */
+	private final class RebaseListener implements TemporalEventsRebaseListener, Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 7553404640124453916L;
+
+		@Override
+		public void notifyRebase(float offset) {
+			FrameManager.this.startTime = FrameManager.this.startTime + ( (float) FrameManager.this.frameIndex / FrameManager.this.framesPerSecond ) - offset;
+			FrameManager.this.frameIndex = 0;
+		}
+	}
+	
+	private final RebaseListener rebaseListener = new RebaseListener();
+	
 	private transient PlatformServiceManager serviceManager;
 	private transient RenderEngineFrontend renderEngineFrontend;
 	
@@ -89,6 +109,8 @@ public abstract class FrameManager implements Serializable {
 					
 					this.frameDrop = true;
 					
+					this.temporalEventsManager.addRebaseListener(this.rebaseListener);
+					
 					this.prepareNewFrame(startTime);
 				}
 				else {
@@ -228,6 +250,10 @@ public abstract class FrameManager implements Serializable {
 	 * @post Desasocia el manejador de eventos
 	 */
 	public void detach() {
+		if ( this.temporalEventsManager != null ) {
+			this.temporalEventsManager.removeRebaseListener(this.rebaseListener);
+		}
+		
 		this.temporalEventsManager = null;
 	}
 	
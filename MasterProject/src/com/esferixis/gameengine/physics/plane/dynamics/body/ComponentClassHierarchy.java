@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.physics.plane.dynamics.body;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Stack;
+
+import com.esferixis.gameengine.physics.plane.dynamics.components.SymmetricComponent;
+import com.esferixis.gameengine.physics.plane.dynamics.components.TransmiterComponent;
+
+/**
+ * Tabla de jerarquías de clases de componentes.
+ * Se calcula una sola vez por clase, de modo que agregar o quitar
+ * componentes, y resolver las interacciones entre ellos,
+ * no recorre la jerarquía por reflexión
+ * 
+ * @author ariel
+ *
+ */
+final class ComponentClassHierarchy {
+	private ComponentClassHierarchy() {}
+	
+	/**
+	 * Clases transmisoras de cada clase de componente transmisor,
+	 * incluida la misma clase, sus superclases e interfaces transmisoras
+	 */
+	private static final ClassValue<Class<? extends TransmiterComponent>[]> transmiterClasses = new ClassValue<Class<? extends TransmiterComponent>[]>() {
+
+		@SuppressWarnings("unchecked")
+		@Override
+		protected Class<? extends TransmiterComponent>[] computeValue(Class<?> transmiterComponentClass) {
+			final Stack<Class<?>> pendingClasses = new Stack<Class<?>>();
+			final Set<Class<?>> proccesedClasses = new HashSet<Class<?>>();
+			final List<Class<? extends TransmiterComponent>> result = new ArrayList<Class<? extends TransmiterComponent>>();
+			
+			pendingClasses.push(transmiterComponentClass);
+			
+			while (!pendingClasses.isEmpty()) {
+				final Class<?> eachClass = pendingClasses.pop();
+				
+				if ( ( eachClass != null ) && TransmiterComponent.class.isAssignableFrom(eachClass) ) {
+					if ( proccesedClasses.add(eachClass) ) {
+						result.add( (Class<? extends TransmiterComponent>) eachClass );
+						
+						pendingClasses.add(eachClass.getSuperclass());
+						pendingClasses.addAll(Arrays.asList(eachClass.getInterfaces()));
+					}
+				}
+			}
+			
+			return result.toArray(new Class[result.size()]);
+		}
+		
+	};
+	
+	/**
+	 * Clases simétricas de cada clase de componente simétrico,
+	 * desde la misma clase hasta SymmetricComponent inclusive
+	 */
+	private static final ClassValue<Class<? extends SymmetricComponent<?>>[]> symmetricClasses = new ClassValue<Class<? extends SymmetricComponent<?>>[]>() {
+
+		@SuppressWarnings("unchecked")
+		@Override
+		protected Class<? extends SymmetricComponent<?>>[] computeValue(Class<?> symmetricComponentClass) {
+			final List<Class<? extends SymmetricComponent<?>>> result = new ArrayList<Class<? extends SymmetricComponent<?>>>();
+			
+			Class<?> eachClass = symmetricComponentClass;
+			
+			do {
+				result.add( (Class<? extends SymmetricComponent<?>>) eachClass );
+				
+				if ( !eachClass.equals(SymmetricComponent.class) ) {
+					eachClass = eachClass.getSuperclass();
+				}
+				else {
+					eachClass = null;
+				}
+			} while ( eachClass != null );
+			
+			return result.toArray(new Class[result.size()]);
+		}
+		
+	};
+	
+	/**
+	 * Tabla de interacción de cada clase de componente transmisor.
+	 * Contiene las clases transmisoras que puede esperar un receptor que lo recibe,
+	 * de modo que cada par (Clase de transmisor, clase esperada por el receptor)
+	 * se resuelve con una búsqueda
+	 */
+	private static final ClassValue<Set<Class<?>>> receivableTransmiterClasses = new ClassValue<Set<Class<?>>>() {
+
+		@Override
+		protected Set<Class<?>> computeValue(Class<?> transmiterComponentClass) {
+			return Collections.<Class<?>>unmodifiableSet( new HashSet<Class<?>>( Arrays.asList( transmiterClasses.get(transmiterComponentClass) ) ) );
+		}
+		
+	};
+	
+	/**
+	 * Tabla de interacción de cada clase de componente simétrico.
+	 * Contiene sus clases simétricas, de modo que cada par
+	 * (Superclase, subclase) se resuelve con una búsqueda
+	 */
+	private static final ClassValue<Set<Class<?>>> symmetricSuperclasses = new ClassValue<Set<Class<?>>>() {
+
+		@Override
+		protected Set<Class<?>> computeValue(Class<?> symmetricComponentClass) {
+			return Collections.<Class<?>>unmodifiableSet( new HashSet<Class<?>>( Arrays.asList( symmetricClasses.get(symmetricComponentClass) ) ) );
+		}
+		
+	};
+	
+	/**
+	 * @pre La clase no puede ser nula
+	 * @post Devuelve las clases transmisoras de la clase de componente transmisor especificada,
+	 * 		 incluida la misma clase.
+	 * 		 El arreglo es compartido, no tiene que modificarse
+	 */
+	public static Class<? extends TransmiterComponent>[] getTransmiterClasses(Class<? extends TransmiterComponent> transmiterComponentClass) {
+		return transmiterClasses.get(transmiterComponentClass);
+	}
+	
+	/**
+	 * @pre La clase no puede ser nula
+	 * @post Devuelve las clases simétricas de la clase de componente simétrico especificada,
+	 * 		 desde la misma clase hasta SymmetricComponent inclusive.
+	 * 		 El arreglo es compartido, no tiene que modificarse
+	 */
+	public static Class<? extends SymmetricComponent<?>>[] getSymmetricClasses(Class<? extends SymmetricComponent<?>> symmetricComponentClass) {
+		return symmetricClasses.get(symmetricComponentClass);
+	}
+	
+	/**
+	 * @pre Ningún parámetro puede ser nulo
+	 * @post Devuelve si el receptor especificado recibe al transmisor especificado
+	 */
+	public static boolean receives(Class<? extends TransmiterComponent> receivedTransmiterClass, TransmiterComponent transmiterComponent) {
+		return receivableTransmiterClasses.get(transmiterComponent.getClass()).contains(receivedTransmiterClass);
+	}
+	
+	/**
+	 * @pre Ningún parámetro puede ser nulo
+	 * @post Devuelve si la primera clase simétrica es igual o superclase de la segunda
+	 */
+	public static boolean isSymmetricSuperclass(Class<? extends SymmetricComponent<?>> superclass, Class<? extends SymmetricComponent<?>> subclass) {
+		return symmetricSuperclasses.get(subclass).contains(superclass);
+	}
+}
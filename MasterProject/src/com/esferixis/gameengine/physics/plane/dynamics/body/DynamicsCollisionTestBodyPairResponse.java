@@ -32,8 +32,6 @@
 
 package com.esferixis.gameengine.physics.plane.dynamics.body;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
 
 import com.esferixis.gameengine.physics.plane.dynamics.components.ReceiverComponent;
@@ -129,8 +127,12 @@ final class DynamicsCollisionTestBodyPairResponse implements CollisionResponse {
 	
 	private int clientCount;
 	
-	private transient List<TransmiterReceiverEntry<?>> transmiterReceiverEntries = null;
-	private transient List<SymmetricComponentsPairEntry<?, ?>> symmetricComponentEntries = null;
+	private static final TransmiterReceiverEntry<?>[] NO_TRANSMITER_RECEIVER_ENTRIES = new TransmiterReceiverEntry<?>[0];
+	private static final SymmetricComponentsPairEntry<?, ?>[] NO_SYMMETRIC_COMPONENT_ENTRIES = new SymmetricComponentsPairEntry<?, ?>[0];
+	
+	// Entradas resueltas, se reconstruyen sólo cuando cambian los componentes del par
+	private transient TransmiterReceiverEntry<?>[] transmiterReceiverEntries = null;
+	private transient SymmetricComponentsPairEntry<?, ?>[] symmetricComponentEntries = null;
 	
 	private transient boolean updateEntries;
 	
@@ -157,8 +159,8 @@ final class DynamicsCollisionTestBodyPairResponse implements CollisionResponse {
 	}
 	
 	private void initTrasients() {
-		this.transmiterReceiverEntries = new ArrayList<TransmiterReceiverEntry<?>>();
-		this.symmetricComponentEntries = new ArrayList<SymmetricComponentsPairEntry<?, ?>>();
+		this.transmiterReceiverEntries = NO_TRANSMITER_RECEIVER_ENTRIES;
+		this.symmetricComponentEntries = NO_SYMMETRIC_COMPONENT_ENTRIES;
 		this.updateEntries = true;
 	}
 	
@@ -199,49 +201,88 @@ final class DynamicsCollisionTestBodyPairResponse implements CollisionResponse {
 	
 	/**
 	 * @post Agrega las entradas correspondientes entre los transmisores y
-	 * 		 receptores especificados
+	 * 		 receptores especificados, a partir de la posición especificada.
+	 * 		 Si el arreglo es nulo sólo las cuenta.
+	 * 		 Devuelve la posición siguiente a la última entrada
 	 */
-	private void addTransmiterReceiverEntries(Set<TransmiterComponent> transmiterComponents, Set<ReceiverComponent<?>> receiverComponents) {
-		TransmiterComponent[] transmiterComponentsArray = transmiterComponents.toArray(new TransmiterComponent[0]);
-		
-		for ( ReceiverComponent<?> eachReceiverComponent : receiverComponents ) {
-			for ( TransmiterComponent eachTransmiterComponent : transmiterComponentsArray ) {
-				if ( eachReceiverComponent.getTransmiterComponentClass().isInstance(eachTransmiterComponent) ) {
-					this.transmiterReceiverEntries.add(new TransmiterReceiverEntry(eachTransmiterComponent, eachReceiverComponent));
+	private static int addTransmiterReceiverEntries(TransmiterReceiverEntry<?>[] entries, int index, Set<TransmiterComponent> transmiterComponents, Set<ReceiverComponent<?>> receiverComponents) {
+		if ( ( !transmiterComponents.isEmpty() ) && ( !receiverComponents.isEmpty() ) ) {
+			for ( ReceiverComponent<?> eachReceiverComponent : receiverComponents ) {
+				for ( TransmiterComponent eachTransmiterComponent : transmiterComponents ) {
+					if ( ComponentClassHierarchy.receives(eachReceiverComponent.getTransmiterComponentClass(), eachTransmiterComponent) ) {
+						if ( entries != null ) {
+							entries[index] = new TransmiterReceiverEntry(eachTransmiterComponent, eachReceiverComponent);
+						}
+						
+						index++;
+					}
 				}
 			}
 		}
+		
+		return index;
 	}
 	
 	/**
-	 * @post Actualiza las entradas de componentes simétricas
+	 * @post Agrega las entradas correspondientes entre los componentes simétricos especificados,
+	 * 		 a partir de la posición especificada.
+	 * 		 Si el arreglo es nulo sólo las cuenta.
+	 * 		 Devuelve la posición siguiente a la última entrada
 	 */
-	private void updateSymmetricComponentEntries(Set<SymmetricComponent<?>> symmetricComponents1, Set<SymmetricComponent<?>> symmetricComponents2) {
-		final SymmetricComponent<?>[] symmetricComponentsArray2 = symmetricComponents2.toArray(new SymmetricComponent[0]);
-		
-		this.symmetricComponentEntries.clear();
-		
-		for ( SymmetricComponent<?> eachSymmetricComponent1 : symmetricComponents1 ) {
-			for ( SymmetricComponent<?> eachSymmetricComponent2 : symmetricComponentsArray2 ) {
-				if ( eachSymmetricComponent1.getSymmetricComponentClass().isAssignableFrom(eachSymmetricComponent2.getSymmetricComponentClass()) ) {
-					this.symmetricComponentEntries.add(new SymmetricComponentsPairEntry(eachSymmetricComponent1, eachSymmetricComponent2));
-				}
-				else if ( eachSymmetricComponent2.getSymmetricComponentClass().isAssignableFrom(eachSymmetricComponent1.getSymmetricComponentClass()) ) {
-					this.symmetricComponentEntries.add(new SymmetricComponentsPairEntry(eachSymmetricComponent2, eachSymmetricComponent1));
+	private static int addSymmetricComponentEntries(SymmetricComponentsPairEntry<?, ?>[] entries, int index, Set<SymmetricComponent<?>> symmetricComponents1, Set<SymmetricComponent<?>> symmetricComponents2) {
+		if ( ( !symmetricComponents1.isEmpty() ) && ( !symmetricComponents2.isEmpty() ) ) {
+			for ( SymmetricComponent<?> eachSymmetricComponent1 : symmetricComponents1 ) {
+				for ( SymmetricComponent<?> eachSymmetricComponent2 : symmetricComponents2 ) {
+					if ( ComponentClassHierarchy.isSymmetricSuperclass(eachSymmetricComponent1.getSymmetricComponentClass(), eachSymmetricComponent2.getSymmetricComponentClass()) ) {
+						if ( entries != null ) {
+							entries[index] = new SymmetricComponentsPairEntry(eachSymmetricComponent1, eachSymmetricComponent2);
+						}
+						
+						index++;
+					}
+					else if ( ComponentClassHierarchy.isSymmetricSuperclass(eachSymmetricComponent2.getSymmetricComponentClass(), eachSymmetricComponent1.getSymmetricComponentClass()) ) {
+						if ( entries != null ) {
+							entries[index] = new SymmetricComponentsPairEntry(eachSymmetricComponent2, eachSymmetricComponent1);
+						}
+						
+						index++;
+					}
 				}
 			}
 		}
 		
+		return index;
 	}
 
+	/**
+	 * @post Si cambiaron los componentes del par, reconstruye las entradas.
+	 * 		 Primero las cuenta y después las resuelve en arreglos del tamaño exacto,
+	 * 		 las interacciones entre clases salen de las tablas cacheadas por clase
+	 */
 	private void checkUpdates() {
 		if ( this.updateEntries ) {
-			this.transmiterReceiverEntries.clear();
+			final PlaneDynamicsBody<? extends PlaneKinematicMapper> body1 = this.bodyPair.getElement1();
+			final PlaneDynamicsBody<? extends PlaneKinematicMapper> body2 = this.bodyPair.getElement2();
 			
-			this.addTransmiterReceiverEntries(this.bodyPair.getElement1().getTransmiterComponents(), this.bodyPair.getElement2().getReceiverComponents());
-			this.addTransmiterReceiverEntries(this.bodyPair.getElement2().getTransmiterComponents(), this.bodyPair.getElement1().getReceiverComponents());
+			final int transmiterReceiverEntriesCount = addTransmiterReceiverEntries(null, addTransmiterReceiverEntries(null, 0, body1.getTransmiterComponents(), body2.getReceiverComponents()), body2.getTransmiterComponents(), body1.getReceiverComponents());
 			
-			this.updateSymmetricComponentEntries(this.bodyPair.getElement1().getSymmetricComponents(), this.bodyPair.getElement2().getSymmetricComponents());
+			if ( transmiterReceiverEntriesCount != 0 ) {
+				this.transmiterReceiverEntries = new TransmiterReceiverEntry<?>[transmiterReceiverEntriesCount];
+				addTransmiterReceiverEntries(this.transmiterReceiverEntries, addTransmiterReceiverEntries(this.transmiterReceiverEntries, 0, body1.getTransmiterComponents(), body2.getReceiverComponents()), body2.getTransmiterComponents(), body1.getReceiverComponents());
+			}
+			else {
+				this.transmiterReceiverEntries = NO_TRANSMITER_RECEIVER_ENTRIES;
+			}
+			
+			final int symmetricComponentEntriesCount = addSymmetricComponentEntries(null, 0, body1.getSymmetricComponents(), body2.getSymmetricComponents());
+			
+			if ( symmetricComponentEntriesCount != 0 ) {
+				this.symmetricComponentEntries = new SymmetricComponentsPairEntry<?, ?>[symmetricComponentEntriesCount];
+				addSymmetricComponentEntries(this.symmetricComponentEntries, 0, body1.getSymmetricComponents(), body2.getSymmetricComponents());
+			}
+			else {
+				this.symmetricComponentEntries = NO_SYMMETRIC_COMPONENT_ENTRIES;
+			}
 			
 			this.updateEntries = false;
 		}
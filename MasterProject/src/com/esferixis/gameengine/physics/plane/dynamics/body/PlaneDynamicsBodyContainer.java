@@ -33,12 +33,8 @@
 package com.esferixis.gameengine.physics.plane.dynamics.body;
 
 import java.io.Serializable;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
-import java.util.Stack;
 
 import com.esferixis.gameengine.physics.plane.dynamics.components.ReceiverComponent;
 import com.esferixis.gameengine.physics.plane.dynamics.components.SymmetricComponent;
@@ -152,6 +148,9 @@ public final class PlaneDynamicsBodyContainer implements Serializable {
 				final boolean changed;
 				
 				if ( planeDynamicsBody.getPlaneDynamicsBodyContainer() == null ) {
+					// Lo registra para que se desplace en los cambios de origen de tiempo aunque no tenga pares
+					this.collisionTestBodyPairContainer.registerBody(planeDynamicsBody.getPlaneKinematicBody());
+					
 					for ( TransmiterComponent eachTransmiterComponent : planeDynamicsBody.getTransmiterComponents() ) {
 						this.notifyTransmiterComponentAdd(planeDynamicsBody, eachTransmiterComponent);
 					}
@@ -203,6 +202,8 @@ public final class PlaneDynamicsBodyContainer implements Serializable {
 						this.notifySymmetricComponentRemove(planeDynamicsBody, eachSymmetricComponent);
 					}
 					
+					this.collisionTestBodyPairContainer.unregisterBody(planeDynamicsBody.getPlaneKinematicBody());
+					
 					planeDynamicsBody.detachPlaneDynamicsBodyContainer();
 					
 					changed = true;
@@ -223,65 +224,58 @@ public final class PlaneDynamicsBodyContainer implements Serializable {
 	}
 	
 	private void processTransmiterClassProfile(Class<? extends TransmiterComponent> transmiterComponentClass, ElementCallback<TransmiterClassProfile> transmiterClassProfileCallBack, boolean superclasses) {
-		final Stack<Class<?>> pendingClasses = new Stack<Class<?>>();
-		final Set<Class<?>> proccesedClasses = new HashSet<Class<?>>();
-		
-		pendingClasses.push(transmiterComponentClass);
-		
-		while (!pendingClasses.isEmpty()) {
-			final Class<?> eachClass = pendingClasses.pop();
-			
-			if ( ( eachClass != null ) && TransmiterComponent.class.isAssignableFrom(eachClass) ) {
-				if ( proccesedClasses.add(eachClass) ) {
-					transmiterComponentClass = (Class<? extends TransmiterComponent>) eachClass;
-					
-					TransmiterClassProfile transmiterClassProfile = this.profileByTransmiterComponentClass.get(transmiterComponentClass);
-					
-					if ( transmiterClassProfile == null ) {
-						transmiterClassProfile = new TransmiterClassProfile();
-						
-						this.profileByTransmiterComponentClass.put(transmiterComponentClass, transmiterClassProfile);
-					}
-					
-					transmiterClassProfileCallBack.run(transmiterClassProfile);
-					
-					if ( transmiterClassProfile.transmiterBodies.getNonZeroElements().isEmpty() && transmiterClassProfile.receiverBodies.getNonZeroElements().isEmpty() ) {
-						this.profileByTransmiterComponentClass.remove(transmiterComponentClass);
-					}
-					
-					if ( superclasses ) {
-						pendingClasses.add(transmiterComponentClass.getSuperclass());
-						pendingClasses.addAll(Arrays.asList(transmiterComponentClass.getInterfaces()));
-					}
-				}
+		if ( superclasses ) {
+			// La jerarquía se calcula una sola vez por clase
+			for ( Class<? extends TransmiterComponent> eachClass : ComponentClassHierarchy.getTransmiterClasses(transmiterComponentClass) ) {
+				this.processTransmiterClassProfile(eachClass, transmiterClassProfileCallBack);
 			}
 		}
+		else {
+			this.processTransmiterClassProfile(transmiterComponentClass, transmiterClassProfileCallBack);
+		}
 	}
 	
-	private void processSymmetricComponentProfile(Class<? extends SymmetricComponent<?>> symmetricComponentClass, ElementCallback<SymmetricComponentProfile> symmetricComponentProfileCallBack, boolean superclasses) {
-		do {
+	private void processTransmiterClassProfile(Class<? extends TransmiterComponent> transmiterComponentClass, ElementCallback<TransmiterClassProfile> transmiterClassProfileCallBack) {
+		TransmiterClassProfile transmiterClassProfile = this.profileByTransmiterComponentClass.get(transmiterComponentClass);
 		
-			SymmetricComponentProfile symmetricComponentProfile = this.profileBySymmetricComponentClass.get(symmetricComponentClass);
-			
-			if ( symmetricComponentProfile == null ) {
-				symmetricComponentProfile = new SymmetricComponentProfile();
-				this.profileBySymmetricComponentClass.put(symmetricComponentClass, symmetricComponentProfile);
-			}
-			
-			symmetricComponentProfileCallBack.run(symmetricComponentProfile);
-			
-			if ( symmetricComponentProfile.bodiesWithExactClass.getNonZeroElements().isEmpty() ) {
-				this.profileBySymmetricComponentClass.remove(symmetricComponentClass);
-			}
+		if ( transmiterClassProfile == null ) {
+			transmiterClassProfile = new TransmiterClassProfile();
 			
-			if ( ( superclasses ) && ( !symmetricComponentClass.equals(SymmetricComponent.class) ) ){
-				symmetricComponentClass = (Class<? extends SymmetricComponent<?>>) symmetricComponentClass.getSuperclass();
-			}
-			else {
-				symmetricComponentClass = null;
+			this.profileByTransmiterComponentClass.put(transmiterComponentClass, transmiterClassProfile);
+		}
+		
+		transmiterClassProfileCallBack.run(transmiterClassProfile);
+		
+		if ( transmiterClassProfile.transmiterBodies.getNonZeroElements().isEmpty() && transmiterClassProfile.receiverBodies.getNonZeroElements().isEmpty() ) {
+			this.profileByTransmiterComponentClass.remove(transmiterComponentClass);
+		}
+	}
+	
+	private void processSymmetricComponentProfile(Class<? extends SymmetricComponent<?>> symmetricComponentClass, ElementCallback<SymmetricComponentProfile> symmetricComponentProfileCallBack, boolean superclasses) {
+		if ( superclasses ) {
+			// La jerarquía se calcula una sola vez por clase
+			for ( Class<? extends SymmetricComponent<?>> eachClass : ComponentClassHierarchy.getSymmetricClasses(symmetricComponentClass) ) {
+				this.processSymmetricComponentProfile(eachClass, symmetricComponentProfileCallBack);
 			}
-			
-		} while ( symmetricComponentClass != null );
+		}
+		else {
+			this.processSymmetricComponentProfile(symmetricComponentClass, symmetricComponentProfileCallBack);
+		}
+	}
+	
+	private void processSymmetricComponentProfile(Class<? extends SymmetricComponent<?>> symmetricComponentClass, ElementCallback<SymmetricComponentProfile> symmetricComponentProfileCallBack) {
+		SymmetricComponentProfile symmetricComponentProfile = this.profileBySymmetricComponentClass.get(symmetricComponentClass);
+		
+		if ( symmetricComponentProfile == null ) {
+			symmetricComponentProfile = new SymmetricComponentProfile();
+			this.profileBySymmetricComponentClass.put(symmetricComponentClass, symmetricComponentProfile);
+		}
+		
+		symmetricComponentProfileCallBack.run(symmetricComponentProfile);
+		
+		if ( symmetricComponentProfile.bodiesWithExactClass.getNonZeroElements().isEmpty() ) {
+			this.profileBySymmetricComponentClass.remove(symmetricComponentClass);
+		}
 	}
 	
 	/**
@@ -314,8 +308,6 @@ public final class PlaneDynamicsBodyContainer implements Serializable {
 			DynamicsCollisionTestBodyPairResponse response = this.responseByBodyPair.get(bodyPair);
 			
 			if ( response != null ) {
-				response = new DynamicsCollisionTestBodyPairResponse(bodyPair);
-				
 				if ( response.decrementClientCount() ) {
 					this.collisionTestBodyPairContainer.setCollisionResponse( getKinematicBodyPair(bodyPair), null);
 					this.responseByBodyPair.remove(bodyPair);
@@ -35,6 +35,7 @@ package com.esferixis.gameengine.physics.plane.kinematics;
 import java.io.Serializable;
 
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
 import com.esferixis.misc.collection.set.BinarySet;
 
 /**
@@ -55,6 +56,10 @@ public final class CollisionTestBodyPair implements Serializable  {
 	private boolean testUpperBoundaryLimit;
 	private boolean testLowerBoundaryLimit;
 	
+	private boolean hasSafeHorizon;
+	private float safeHorizonStartTime, safeHorizonEndTime;
+	private int safeHorizonBody1ChangesCount, safeHorizonBody2ChangesCount;
+	
 	/**
 	 * @pre Ninguno de los parámetros puede ser nulo, y los cuerpos tienen que ser distintos
 	 * @post Crea un par de test de colisión con los cuerpos y la respuesta especificada (Puede ser nula)
@@ -109,6 +114,45 @@ public final class CollisionTestBodyPair implements Serializable  {
 		this.testLowerBoundaryLimit = value;
 	}
 	
+	/**
+	 * @pre El intervalo de tiempo no puede ser nulo
+	 * @post Devuelve si el intervalo de tiempo especificado está dentro del horizonte
+	 * 		 seguro, es decir que se sabe que no hay colisión en él.
+	 * 		 El horizonte deja de ser válido cuando alguno de los cuerpos notifica un cambio,
+	 * 		 incluidos los hechos sobre su mismo mapeador cinemático (Por ejemplo una nueva
+	 * 		 trayectoria), que el cuerpo observa
+	 */
+	boolean isSafe(FloatClosedInterval timeInterval) {
+		return this.hasSafeHorizon && ( this.safeHorizonBody1ChangesCount == this.bodyPair.getElement1().getChangesCount() ) &&
+			( this.safeHorizonBody2ChangesCount == this.bodyPair.getElement2().getChangesCount() ) &&
+			( timeInterval.getMin() >= this.safeHorizonStartTime ) && ( timeInterval.getMax() <= this.safeHorizonEndTime );
+	}
+	
+	/**
+	 * @pre El tiempo de comienzo no puede ser mayor al de fin
+	 * @post Especifica el horizonte seguro, el intervalo de tiempo en el que se sabe que no hay colisión,
+	 * 		 para el estado actual de los cuerpos
+	 */
+	void setSafeHorizon(float startTime, float endTime) {
+		if ( startTime <= endTime ) {
+			this.safeHorizonStartTime = startTime;
+			this.safeHorizonEndTime = endTime;
+			this.safeHorizonBody1ChangesCount = this.bodyPair.getElement1().getChangesCount();
+			this.safeHorizonBody2ChangesCount = this.bodyPair.getElement2().getChangesCount();
+			this.hasSafeHorizon = true;
+		}
+		else {
+			throw new IllegalArgumentException("Invalid horizon");
+		}
+	}
+	
+	/**
+	 * @post Invalida el horizonte seguro
+	 */
+	void invalidateSafeHorizon() {
+		this.hasSafeHorizon = false;
+	}
+	
 	/**
 	 * @post Devuelve la respuesta
 	 */
@@ -124,5 +168,6 @@ public final class CollisionTestBodyPair implements Serializable  {
 		this.response = collisionResponse;
 		this.testUpperBoundaryLimit = true;
 		this.testLowerBoundaryLimit = true;
+		this.invalidateSafeHorizon();
 	}
 }
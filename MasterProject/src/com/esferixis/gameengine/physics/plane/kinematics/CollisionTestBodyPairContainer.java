@@ -32,6 +32,9 @@
 package com.esferixis.gameengine.physics.plane.kinematics;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
@@ -49,6 +52,12 @@ public abstract class CollisionTestBodyPairContainer implements Serializable {
 	
 	private final FloatClosedInterval collisionDistanceInterval;
 	
+	// Cuerpos asociados, es decir los que tienen algún par con respuesta o están registrados
+	private final Set<PlaneKinematicBody<? extends PlaneKinematicMapper>> bodies;
+	
+	// Cuerpos registrados explícitamente
+	private final Set<PlaneKinematicBody<? extends PlaneKinematicMapper>> registeredBodies;
+	
 	/**
 	 * @pre El intervalo de distancia de colisión no puede ser nulo
 	 * @post Crea el contenedor de pares de colisión con el intervalo de distancia de colisión
@@ -57,6 +66,8 @@ public abstract class CollisionTestBodyPairContainer implements Serializable {
 	public CollisionTestBodyPairContainer(FloatClosedInterval collisionDistanceInterval) {
 		if ( collisionDistanceInterval != null ) {
 			this.collisionDistanceInterval = collisionDistanceInterval;
+			this.bodies = Collections.newSetFromMap(new IdentityHashMap<PlaneKinematicBody<? extends PlaneKinematicMapper>, Boolean>());
+			this.registeredBodies = Collections.newSetFromMap(new IdentityHashMap<PlaneKinematicBody<? extends PlaneKinematicMapper>, Boolean>());
 		}
 		else {
 			throw new NullPointerException();
@@ -66,7 +77,7 @@ public abstract class CollisionTestBodyPairContainer implements Serializable {
 	/**
 	 * @post Devuelve el intervalo de distancia de colisión
 	 */
-	FloatClosedInterval getCollisionDistanceInterval() {
+	protected final FloatClosedInterval getCollisionDistanceInterval() {
 		return this.collisionDistanceInterval;
 	}
 	
@@ -110,12 +121,12 @@ public abstract class CollisionTestBodyPairContainer implements Serializable {
 			if ( response != oldResponse ) {
 			
 				if ( response == null ) {
-					pair.getElement1().detachCollisionTestBodyPairContainer();
-					pair.getElement2().detachCollisionTestBodyPairContainer();
+					this.detachBody(pair.getElement1());
+					this.detachBody(pair.getElement2());
 				}
 				else if ( oldResponse == null ) {
-					pair.getElement1().attachCollisionTestBodyPairContainer(this);
-					pair.getElement2().attachCollisionTestBodyPairContainer(this);
+					this.attachBody(pair.getElement1());
+					this.attachBody(pair.getElement2());
 				}
 			}
 			
@@ -126,6 +137,85 @@ public abstract class CollisionTestBodyPairContainer implements Serializable {
 		}
 	}
 	
+	/**
+	 * @pre El cuerpo no puede ser nulo, y no tiene que estar contenido en otro contenedor
+	 * @post Registra el cuerpo especificado, de modo que queda asociado aunque no tenga pares.
+	 * 		 Sirve para que los cambios de origen de tiempo lo desplacen mientras no tiene pares.
+	 * 		 Si ya está registrado no hace nada
+	 */
+	public final void registerBody(PlaneKinematicBody<? extends PlaneKinematicMapper> body) {
+		this.checkContainerForAdd(body);
+		
+		if ( this.registeredBodies.add(body) ) {
+			this.attachBody(body);
+		}
+	}
+	
+	/**
+	 * @pre El cuerpo no puede ser nulo
+	 * @post Quita el registro del cuerpo especificado, si no le quedan pares lo desasocia.
+	 * 		 Si no está registrado no hace nada
+	 */
+	public final void unregisterBody(PlaneKinematicBody<? extends PlaneKinematicMapper> body) {
+		if ( body != null ) {
+			if ( this.registeredBodies.remove(body) ) {
+				this.detachBody(body);
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El cuerpo no puede ser nulo
+	 * @post Devuelve si el cuerpo especificado está registrado
+	 */
+	public final boolean isRegistered(PlaneKinematicBody<? extends PlaneKinematicMapper> body) {
+		if ( body != null ) {
+			return this.registeredBodies.contains(body);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Asocia el cuerpo especificado
+	 */
+	private void attachBody(PlaneKinematicBody<? extends PlaneKinematicMapper> body) {
+		body.attachCollisionTestBodyPairContainer(this);
+		this.bodies.add(body);
+	}
+	
+	/**
+	 * @post Desasocia el cuerpo especificado, si no le quedan pares lo quita
+	 */
+	private void detachBody(PlaneKinematicBody<? extends PlaneKinematicMapper> body) {
+		body.detachCollisionTestBodyPairContainer();
+		
+		if ( body.getCollisionTestBodyPairContainer() == null ) {
+			this.bodies.remove(body);
+		}
+	}
+	
+	/**
+	 * @pre El desplazamiento tiene que ser un número finito
+	 * @post Resta el desplazamiento especificado a los tiempos de los mapeadores de todos
+	 * 		 los cuerpos asociados, tengan pares o estén registrados, desplazando una sola vez a los mapeadores compartidos,
+	 * 		 y notifica el cambio de cada cuerpo, invalidando los horizontes seguros de los pares
+	 */
+	void rebaseTime(float offset) {
+		final Set<PlaneKinematicMapper> rebasedMappers = Collections.newSetFromMap(new IdentityHashMap<PlaneKinematicMapper, Boolean>());
+		
+		// Copia los cuerpos porque la notificación de cambios puede reorganizar el contenedor
+		final Object[] bodies = this.bodies.toArray();
+		
+		for ( Object eachBody : bodies ) {
+			( (PlaneKinematicBody<?>) eachBody ).rebaseTime(offset, rebasedMappers);
+		}
+	}
+	
 	/**
 	 * @pre No puede ser nulo
 	 * @post Especifica la respuesta para la colisión entre el par de cuerpos especificados.
@@ -162,4 +252,20 @@ public abstract class CollisionTestBodyPairContainer implements Serializable {
 	 * 		 Los pares tienen que conservarse.
 	 */
 	protected abstract CollisionTestBodyPairEmmiter getEmmiter();
+	
+	/**
+	 * @pre El intervalo de tiempo no puede ser nulo
+	 * @post Devuelve el emisor para el intervalo de tiempo que se va a simular.
+	 * 		 Puede omitir los pares que no pueden colisionar en ese intervalo.
+	 * 		 Por defecto devuelve el emisor de todos los pares.
+	 * 		 Los pares tienen que conservarse.
+	 */
+	protected CollisionTestBodyPairEmmiter getEmmiter(FloatClosedInterval timeInterval) {
+		if ( timeInterval != null ) {
+			return this.getEmmiter();
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
 }
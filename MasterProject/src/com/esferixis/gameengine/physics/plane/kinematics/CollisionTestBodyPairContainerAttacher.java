@@ -32,10 +32,17 @@
 package com.esferixis.gameengine.physics.plane.kinematics;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import com.esferixis.gameengine.physics.plane.kinematics.collisionDetection.PairCollisionDetector;
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.gameengine.physics.time.TemporalEvent;
+import com.esferixis.gameengine.physics.time.TemporalEventsBatchListener;
 import com.esferixis.gameengine.physics.time.TemporalEventsManager;
+import com.esferixis.gameengine.physics.time.TemporalEventsRebaseListener;
 import com.esferixis.math.ExtraMath;
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
 
@@ -49,10 +56,63 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 	 */
 	private static final long serialVersionUID = 4614687582304144231L;
 	
+	// Poses de trabajo por hilo, los pares pueden testearse en paralelo
+	private static final PlanePose.ThreadLocalPair scratchPoses = new PlanePose.ThreadLocalPair();
+	
+	/**
+	 * Cantidad máxima de pares que testea secuencialmente cada tarea en paralelo
+	 */
+	private static final int PARALLEL_TESTING_PAIRS_PER_TASK = 32;
+	
+	/**
+	 * Cantidad máxima de veces que se duplica la duración del horizonte seguro de cada par
+	 */
+	private static final int SAFE_HORIZON_MAX_DOUBLINGS = 8;
+	
 	private final CollisionTestBodyPairContainer bodyPairCollisionTestContainer;
 	private TemporalEventsManager temporalEventsManager;
 	private final PairCollisionDetector pairCollisionDetector;
 	
+	private transient ForkJoinPool forkJoinPool;
+	
+	/**
+	 * Receptor que simula al terminar el lote de eventos en curso,
+	 * de modo que se simula una sola vez por cada instante de tiempo
+	 */
+	private final class SimulationListener implements TemporalEventsBatchListener, Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 2295185236712240153L;
+
+		@Override
+		public void notifyBatchEnd(TemporalEventsManager eventsManager) {
+			if ( CollisionTestBodyPairContainerAttacher.this.temporalEventsManager != null ) {
+				CollisionTestBodyPairContainerAttacher.this.simulate();
+			}
+		}
+	}
+	
+	private final SimulationListener simulationListener = new SimulationListener();
+	
+	/**
+	 * Receptor que desplaza los tiempos de los cuerpos del contenedor
+	 * cuando cambia el origen de tiempo del motor de eventos
+	 */
+	private final class RebaseListener implements TemporalEventsRebaseListener, Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 7218204667510683012L;
+
+		@Override
+		public void notifyRebase(float offset) {
+			CollisionTestBodyPairContainerAttacher.this.bodyPairCollisionTestContainer.rebaseTime(offset);
+		}
+	}
+	
+	private final RebaseListener rebaseListener = new RebaseListener();
+	
 	/**
 	 * @post Crea el perfil con el el motor de eventos
 	 * 		 temporales, el detector de colisiones, y el contenedor de pares de testeo de colisión especificados
@@ -62,6 +122,7 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 			this.bodyPairCollisionTestContainer = bodyPairCollisionTestContainer;
 			this.temporalEventsManager = temporalEventsManager;
 			this.pairCollisionDetector = pairCollisionDetector;
+			this.temporalEventsManager.addRebaseListener(this.rebaseListener);
 			this.prepareNewEvent(this.temporalEventsManager.getCurrentTime());
 		}
 		else {
@@ -69,6 +130,26 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 		}
 	}
 	
+	/**
+	 * @post Especifica el pool con el que se testean los pares en paralelo.
+	 * 		 Si es nulo, los pares se testean secuencialmente (Por defecto).
+	 * 		 El detector de colisiones tiene que poder usarse desde varios hilos a la vez.
+	 * 		 El resultado es el mismo que el del testeo secuencial, a igual tiempo
+	 * 		 se elige el par emitido primero.
+	 * 		 El pool no se serializa, al deserializar se vuelve al testeo secuencial.
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+	
+	/**
+	 * @post Devuelve el pool con el que se testean los pares en paralelo,
+	 * 		 si se testean secuencialmente devuelve null
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return this.forkJoinPool;
+	}
+	
 	/**
 	 * @post Prepara un nuevo evento en el instante de tiempo
 	 * 		 especificado
@@ -79,13 +160,184 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 			@Override
 			protected void launch(TemporalEventsManager eventsManager) {
 				if ( CollisionTestBodyPairContainerAttacher.this.temporalEventsManager != null) {
-					CollisionTestBodyPairContainerAttacher.this.simulate();
+					eventsManager.notifyOnBatchEnd(CollisionTestBodyPairContainerAttacher.this.simulationListener);
 				}
 			}
 			
 		});
 	}
 	
+	/**
+	 * @post Devuelve el resultado más temprano entre los dos especificados,
+	 * 		 a igual tiempo devuelve el primero.
+	 * 		 Si alguno es nulo devuelve el otro
+	 */
+	private static CollisionTestBodyPairResult earliestResult(CollisionTestBodyPairResult first, CollisionTestBodyPairResult second) {
+		if ( first == null ) {
+			return second;
+		}
+		else if ( ( second != null ) && ( second.getTime() < first.getTime() ) ) {
+			return second;
+		}
+		else {
+			return first;
+		}
+	}
+	
+	/**
+	 * @pre El par no puede ser nulo
+	 * @post Devuelve el último instante de tiempo, desde el tiempo de comienzo especificado, en el que
+	 * 		 se garantiza que la distancia entre los cuerpos no varía el margen especificado.
+	 * 		 Empieza con la duración especificada y la duplica mientras sea posible, hasta un máximo de veces
+	 */
+	private static float safeHorizonEndTime(CollisionTestBodyPair bodyPairCollisionTest, float startTime, float initialDuration, float margin) {
+		float endTime = startTime;
+		float duration = initialDuration;
+		
+		if ( duration > 0.0f ) {
+			for ( int i = 0 ; i<=SAFE_HORIZON_MAX_DOUBLINGS; i++ ) {
+				final float candidateEndTime = startTime + duration;
+				
+				if ( !Float.isInfinite(candidateEndTime) ) {
+					final FloatClosedInterval candidateTimeInterval = new FloatClosedInterval(startTime, candidateEndTime);
+					
+					if ( bodyPairCollisionTest.getBodyPair().getElement1().getMaxDistanceTraveled(candidateTimeInterval) + bodyPairCollisionTest.getBodyPair().getElement2().getMaxDistanceTraveled(candidateTimeInterval) < margin ) {
+						endTime = candidateEndTime;
+						duration *= 2.0f;
+					}
+					else {
+						break;
+					}
+				}
+				else {
+					break;
+				}
+			}
+		}
+		
+		return endTime;
+	}
+	
+	/**
+	 * @pre El par y el intervalo de tiempo no pueden ser nulos
+	 * @post Testea el par especificado en el intervalo de tiempo especificado, y
+	 * 		 devuelve el resultado más temprano.
+	 * 		 Si no hay colisión devuelve null y actualiza el horizonte seguro del par.
+	 * 		 Si el intervalo está dentro del horizonte seguro del par no efectúa ningún test.
+	 * 		 Sólo lee el estado de los cuerpos, por lo tanto puede ejecutarse en paralelo
+	 * 		 si el detector de colisiones también lo permite
+	 */
+	private CollisionTestBodyPairResult testPair(CollisionTestBodyPair bodyPairCollisionTest, FloatClosedInterval timeInterval) {
+		CollisionTestBodyPairResult collisionTestBodyPairResult = null;
+		
+		final float minTime = ExtraMath.max(timeInterval.getMin(), bodyPairCollisionTest.getBodyPair().getElement1().getStartTime(),  bodyPairCollisionTest.getBodyPair().getElement2().getStartTime());
+		
+		if ( minTime <= timeInterval.getMax() ) {
+			final FloatClosedInterval selectedTimeInterval = new FloatClosedInterval(minTime, timeInterval.getMax());
+			
+			if ( !bodyPairCollisionTest.isSafe(selectedTimeInterval) ) {
+				final PlanePose[] poses = scratchPoses.get();
+				final float distance = bodyPairCollisionTest.getBodyPair().getElement1().instantPerimetralDistance(bodyPairCollisionTest.getBodyPair().getElement2(), selectedTimeInterval.getMin(), poses[0], poses[1]);
+				final FloatClosedInterval collisionDistanceInterval = this.bodyPairCollisionTestContainer.getCollisionDistanceInterval();
+				Float upperTime = null, intermediateTime = null, lowerTime = null;
+				
+				final float minUpperBoundaryLimit = collisionDistanceInterval.linearInterpolation(4.75f / 5.0f);
+				
+				final float maxIntermediateRegionLimit = collisionDistanceInterval.linearInterpolation(3.0f / 5.0f);
+				final float minIntermediateRegionLimit = collisionDistanceInterval.linearInterpolation(2.0f / 5.0f);
+				
+				final float maxLowerBoundaryLimit = collisionDistanceInterval.linearInterpolation(0.25f / 5.0f);
+				
+				if ( bodyPairCollisionTest.getTestUpperBoundaryLimit() && ( distance >= minIntermediateRegionLimit ) && ( distance < minUpperBoundaryLimit ) ) {
+					upperTime = this.pairCollisionDetector.testCollision(selectedTimeInterval, new FloatClosedInterval(minUpperBoundaryLimit, collisionDistanceInterval.getMax()), false, bodyPairCollisionTest.getBodyPair().getElement1(), bodyPairCollisionTest.getBodyPair().getElement2());
+				}
+				
+				if ( ( distance > maxIntermediateRegionLimit ) || ( distance < minIntermediateRegionLimit ) ) {
+					intermediateTime = this.pairCollisionDetector.testCollision(selectedTimeInterval, new FloatClosedInterval(minIntermediateRegionLimit, maxIntermediateRegionLimit), true, bodyPairCollisionTest.getBodyPair().getElement1(), bodyPairCollisionTest.getBodyPair().getElement2());
+				}
+				
+				if ( bodyPairCollisionTest.getTestLowerBoundaryLimit() && ( distance <= maxIntermediateRegionLimit ) && ( distance > maxLowerBoundaryLimit ) ) {
+					lowerTime = this.pairCollisionDetector.testCollision(selectedTimeInterval, new FloatClosedInterval(collisionDistanceInterval.getMin(), maxLowerBoundaryLimit), false, bodyPairCollisionTest.getBodyPair().getElement1(), bodyPairCollisionTest.getBodyPair().getElement2());
+				}
+				
+				if ( upperTime != null ) {
+					collisionTestBodyPairResult = earliestResult(collisionTestBodyPairResult, new CollisionTestBodyPairResult(bodyPairCollisionTest, upperTime, CollisionTestBodyPairResult.Type.UPPER ));
+				}
+				
+				if ( intermediateTime != null ) {
+					collisionTestBodyPairResult = earliestResult(collisionTestBodyPairResult, new CollisionTestBodyPairResult(bodyPairCollisionTest, intermediateTime, CollisionTestBodyPairResult.Type.INTERMEDIATE ));
+				}
+				
+				if ( lowerTime != null ) {
+					collisionTestBodyPairResult = earliestResult(collisionTestBodyPairResult, new CollisionTestBodyPairResult(bodyPairCollisionTest, lowerTime, CollisionTestBodyPairResult.Type.LOWER ));
+				}
+				
+				if ( collisionTestBodyPairResult == null ) {
+					// Mientras la distancia no cruce ninguno de los límites de las regiones los tests dan el mismo resultado
+					final float margin = ExtraMath.min(Math.abs(distance - minUpperBoundaryLimit), Math.abs(distance - maxIntermediateRegionLimit), Math.abs(distance - minIntermediateRegionLimit), Math.abs(distance - maxLowerBoundaryLimit));
+					
+					bodyPairCollisionTest.setSafeHorizon(minTime, safeHorizonEndTime(bodyPairCollisionTest, minTime, selectedTimeInterval.length(), margin));
+				}
+			}
+		}
+		
+		return collisionTestBodyPairResult;
+	}
+	
+	/**
+	 * Tarea de testeo en paralelo de un rango de pares.
+	 * Devuelve el resultado más temprano, a igual tiempo el del par
+	 * emitido primero, igual que el testeo secuencial
+	 */
+	private final class PairsTestTask extends RecursiveTask<CollisionTestBodyPairResult> {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -6316128526071830734L;
+		
+		private final List<CollisionTestBodyPair> pairs;
+		private final int beginIndex;
+		private final int endIndex;
+		private final FloatClosedInterval timeInterval;
+		
+		/**
+		 * @post Crea la tarea con los pares, el rango [beginIndex, endIndex) y el intervalo de tiempo especificados
+		 */
+		public PairsTestTask(List<CollisionTestBodyPair> pairs, int beginIndex, int endIndex, FloatClosedInterval timeInterval) {
+			this.pairs = pairs;
+			this.beginIndex = beginIndex;
+			this.endIndex = endIndex;
+			this.timeInterval = timeInterval;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveTask#compute()
+		 */
+		@Override
+		protected CollisionTestBodyPairResult compute() {
+			CollisionTestBodyPairResult result = null;
+			
+			if ( this.endIndex - this.beginIndex <= PARALLEL_TESTING_PAIRS_PER_TASK ) {
+				for ( int i = this.beginIndex ; i < this.endIndex ; i++ ) {
+					result = earliestResult(result, CollisionTestBodyPairContainerAttacher.this.testPair(this.pairs.get(i), this.timeInterval));
+				}
+			}
+			else {
+				final int middleIndex = ( this.beginIndex + this.endIndex ) >>> 1;
+				
+				final PairsTestTask firstTask = new PairsTestTask(this.pairs, this.beginIndex, middleIndex, this.timeInterval);
+				final PairsTestTask secondTask = new PairsTestTask(this.pairs, middleIndex, this.endIndex, this.timeInterval);
+				
+				secondTask.fork();
+				final CollisionTestBodyPairResult firstResult = firstTask.compute();
+				
+				result = earliestResult(firstResult, secondTask.join());
+			}
+			
+			return result;
+		}
+	}
+	
 	/**
 	 * @post Realiza una simulación hasta el evento temporal
 	 * 		 existente.
@@ -97,11 +349,14 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 			
 			private boolean onContext;
 			private CollisionTestBodyPairResult collisionTestBodyPairResult;
+			
+			private final List<CollisionTestBodyPair> pendingPairs;
 
-			public CollisionTester(FloatClosedInterval timeInterval) {
+			public CollisionTester(FloatClosedInterval timeInterval, boolean parallel) {
 				this.timeInterval = timeInterval;
 				this.onContext = true;
 				this.collisionTestBodyPairResult = null;
+				this.pendingPairs = ( parallel ? new ArrayList<CollisionTestBodyPair>() : null );
 			}
 			
 			/* (non-Javadoc)
@@ -111,57 +366,11 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 			public void test(CollisionTestBodyPair bodyPairCollisionTest) {
 				if ( this.onContext ) {
 					if ( bodyPairCollisionTest.getResponse() != null ) {
-						final float minTime = ExtraMath.max(this.timeInterval.getMin(), bodyPairCollisionTest.getBodyPair().getElement1().getStartTime(),  bodyPairCollisionTest.getBodyPair().getElement2().getStartTime());
-						
-						if ( minTime <= this.timeInterval.getMax() ) {
-							final FloatClosedInterval selectedTimeInterval = new FloatClosedInterval(minTime, this.timeInterval.getMax());
-							
-							final float distance = bodyPairCollisionTest.getBodyPair().getElement1().instantShape(selectedTimeInterval.getMin()).perimetralDistance(bodyPairCollisionTest.getBodyPair().getElement2().instantShape(selectedTimeInterval.getMin()));
-							final FloatClosedInterval collisionDistanceInterval = CollisionTestBodyPairContainerAttacher.this.bodyPairCollisionTestContainer.getCollisionDistanceInterval();
-							Float upperTime = null, intermediateTime = null, lowerTime = null;
-							
-							CollisionTestBodyPairResult collisionTestBodyPairResult = null;
-							
-							final float minUpperBoundaryLimit = collisionDistanceInterval.linearInterpolation(4.75f / 5.0f);
-							
-							final float maxIntermediateRegionLimit = collisionDistanceInterval.linearInterpolation(3.0f / 5.0f);
-							final float minIntermediateRegionLimit = collisionDistanceInterval.linearInterpolation(2.0f / 5.0f);
-							
-							final float maxLowerBoundaryLimit = collisionDistanceInterval.linearInterpolation(0.25f / 5.0f);
-							
-							if ( bodyPairCollisionTest.getTestUpperBoundaryLimit() && ( distance >= minIntermediateRegionLimit ) && ( distance < minUpperBoundaryLimit ) ) {
-								upperTime = CollisionTestBodyPairContainerAttacher.this.pairCollisionDetector.testCollision(selectedTimeInterval, new FloatClosedInterval(minUpperBoundaryLimit, collisionDistanceInterval.getMax()), false, bodyPairCollisionTest.getBodyPair().getElement1(), bodyPairCollisionTest.getBodyPair().getElement2());
-							}
-							
-							if ( ( distance > maxIntermediateRegionLimit ) || ( distance < minIntermediateRegionLimit ) ) {
-								intermediateTime = CollisionTestBodyPairContainerAttacher.this.pairCollisionDetector.testCollision(selectedTimeInterval, new FloatClosedInterval(minIntermediateRegionLimit, maxIntermediateRegionLimit), true, bodyPairCollisionTest.getBodyPair().getElement1(), bodyPairCollisionTest.getBodyPair().getElement2());
-							}
-							
-							if ( bodyPairCollisionTest.getTestLowerBoundaryLimit() && ( distance <= maxIntermediateRegionLimit ) && ( distance > maxLowerBoundaryLimit ) ) {
-								lowerTime = CollisionTestBodyPairContainerAttacher.this.pairCollisionDetector.testCollision(selectedTimeInterval, new FloatClosedInterval(collisionDistanceInterval.getMin(), maxLowerBoundaryLimit), false, bodyPairCollisionTest.getBodyPair().getElement1(), bodyPairCollisionTest.getBodyPair().getElement2());
-							}
-							
-							if ( ( lowerTime != null ) || (intermediateTime != null) || ( upperTime != null ) ) {
-								CollisionTestBodyPairResult[] results = new CollisionTestBodyPairResult[3];
-								
-								results[0] = ( ( upperTime != null ) ? new CollisionTestBodyPairResult(bodyPairCollisionTest, upperTime, CollisionTestBodyPairResult.Type.UPPER ) : null );
-								results[1] = ( ( intermediateTime != null ) ? new CollisionTestBodyPairResult(bodyPairCollisionTest, intermediateTime, CollisionTestBodyPairResult.Type.INTERMEDIATE ) : null );
-								results[2] = ( ( lowerTime != null ) ? new CollisionTestBodyPairResult(bodyPairCollisionTest, lowerTime, CollisionTestBodyPairResult.Type.LOWER ) : null );
-								
-								for ( CollisionTestBodyPairResult eachCollisionTestBodyPairResult : results ) {
-									if ( eachCollisionTestBodyPairResult != null ) {
-										if ( ( collisionTestBodyPairResult == null ) || ( eachCollisionTestBodyPairResult.getTime() < collisionTestBodyPairResult.getTime() ) ) {
-											collisionTestBodyPairResult = eachCollisionTestBodyPairResult;
-										}
-									}
-								}
-							}
-							
-							if ( collisionTestBodyPairResult != null ) {
-								if ( ( this.collisionTestBodyPairResult == null ) || ( collisionTestBodyPairResult.getTime() < this.collisionTestBodyPairResult.getTime() ) ) {
-									this.collisionTestBodyPairResult = collisionTestBodyPairResult;
-								}
-							}
+						if ( this.pendingPairs != null ) {
+							this.pendingPairs.add(bodyPairCollisionTest);
+						}
+						else {
+							this.collisionTestBodyPairResult = earliestResult(this.collisionTestBodyPairResult, CollisionTestBodyPairContainerAttacher.this.testPair(bodyPairCollisionTest, this.timeInterval));
 						}
 					}
 				}
@@ -170,6 +379,15 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 				}
 			}
 			
+			/**
+			 * @post Testea los pares pendientes, si los hay, con el pool especificado
+			 */
+			public void testPendingPairs(ForkJoinPool forkJoinPool) {
+				if ( ( this.pendingPairs != null ) && ( !this.pendingPairs.isEmpty() ) ) {
+					this.collisionTestBodyPairResult = earliestResult(this.collisionTestBodyPairResult, forkJoinPool.invoke(new PairsTestTask(this.pendingPairs, 0, this.pendingPairs.size(), this.timeInterval)));
+				}
+			}
+			
 		}
 		
 		if ( this.temporalEventsManager.remainingEvents() ) {
@@ -179,9 +397,12 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 			if ( nextTime != lastTime ) {
 				final FloatClosedInterval timeInterval = new FloatClosedInterval(lastTime, nextTime);
 				
-				final CollisionTester collisionTester = new CollisionTester(timeInterval);
-				this.bodyPairCollisionTestContainer.getEmmiter().emitTests(collisionTester);
+				final ForkJoinPool forkJoinPool = this.forkJoinPool;
+				
+				final CollisionTester collisionTester = new CollisionTester(timeInterval, forkJoinPool != null);
+				this.bodyPairCollisionTestContainer.getEmmiter(timeInterval).emitTests(collisionTester);
 				collisionTester.onContext = false;
+				collisionTester.testPendingPairs(forkJoinPool);
 				
 				if ( collisionTester.collisionTestBodyPairResult != null  ) {
 					this.temporalEventsManager.addEvent(new TemporalEvent(collisionTester.collisionTestBodyPairResult.getTime()) {
@@ -189,7 +410,8 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 						@Override
 						protected void launch(TemporalEventsManager eventsManager) {
 							final CollisionResponse collisionResponse = collisionTester.collisionTestBodyPairResult.getCollisionTestBodyPair().getResponse();
-							final float time = collisionTester.collisionTestBodyPairResult.getTime();
+							// El tiempo de lanzamiento se desplaza si cambia el origen de tiempo
+							final float time = this.getLaunchTime();
 							
 							switch ( collisionTester.collisionTestBodyPairResult.getType() ) {
 								case UPPER:
@@ -203,7 +425,7 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 									break;
 							};
 							
-							CollisionTestBodyPairContainerAttacher.this.simulate();
+							eventsManager.notifyOnBatchEnd(CollisionTestBodyPairContainerAttacher.this.simulationListener);
 						}
 						
 					});
@@ -213,7 +435,7 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 
 						@Override
 						protected void launch(TemporalEventsManager eventsManager) {
-							CollisionTestBodyPairContainerAttacher.this.simulate();
+							eventsManager.notifyOnBatchEnd(CollisionTestBodyPairContainerAttacher.this.simulationListener);
 						}
 						
 					});
@@ -224,7 +446,7 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 
 					@Override
 					protected void launch(TemporalEventsManager eventsManager) {
-						CollisionTestBodyPairContainerAttacher.this.simulate();
+						eventsManager.notifyOnBatchEnd(CollisionTestBodyPairContainerAttacher.this.simulationListener);
 					}
 					
 				});
@@ -239,6 +461,10 @@ public final class CollisionTestBodyPairContainerAttacher implements Serializabl
 	 * @post Realiza la desasociación
 	 */
 	public void detach() {
+		if ( this.temporalEventsManager != null ) {
+			this.temporalEventsManager.removeRebaseListener(this.rebaseListener);
+		}
+		
 		CollisionTestBodyPairContainerAttacher.this.temporalEventsManager = null;
 	}
 }
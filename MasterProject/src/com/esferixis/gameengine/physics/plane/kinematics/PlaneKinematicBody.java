@@ -32,8 +32,11 @@
 package com.esferixis.gameengine.physics.plane.kinematics;
 
 import java.io.Serializable;
+import java.util.Set;
 
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapperTreeObserver;
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
 import com.esferixis.misc.strings.parser.ExpressionParser;
@@ -66,11 +69,33 @@ public abstract class PlaneKinematicBody<M extends PlaneKinematicMapper> impleme
 	
 	private M kinematicMapper;
 	
+	/**
+	 * Observador de los cambios hechos sobre el mismo mapeador cinemático
+	 * (Por ejemplo una nueva trayectoria)
+	 */
+	private final PlaneKinematicMapperTreeObserver kinematicMapperObserver;
+	
+	private int changesCount;
+	
 	/**
 	 * @post Crea el objeto cinemático con el mapeador especificado
 	 */
 	public PlaneKinematicBody(M planeKinematicMapper) {
 		this.collisionTestBodyPairContainer = null;
+		
+		this.kinematicMapperObserver = new PlaneKinematicMapperTreeObserver() {
+			/**
+			 * 
+			 */
+			private static final long serialVersionUID = -4069215925787364407L;
+
+			@Override
+			protected void notifyChange() {
+				PlaneKinematicBody.this.notifyChange();
+			}
+			
+		};
+		
 		this.setKinematicMapper(planeKinematicMapper);
 	}
 	
@@ -80,9 +105,17 @@ public abstract class PlaneKinematicBody<M extends PlaneKinematicMapper> impleme
 	public final void setKinematicMapper(M kinematicMapper) {
 		final M oldKinematicMapper = this.kinematicMapper;
 		
-		this.kinematicMapper = kinematicMapper;
-		
-		if ( this.kinematicMapper != oldKinematicMapper ) {
+		if ( kinematicMapper != oldKinematicMapper ) {
+			if ( this.kinematicMapperObserver.isAttached() ) {
+				this.kinematicMapperObserver.detach();
+			}
+			
+			this.kinematicMapper = kinematicMapper;
+			
+			if ( kinematicMapper != null ) {
+				this.kinematicMapperObserver.attach(kinematicMapper);
+			}
+			
 			this.notifyChange();
 		}
 	}
@@ -98,11 +131,32 @@ public abstract class PlaneKinematicBody<M extends PlaneKinematicMapper> impleme
 	 * @post Notifica un cambio
 	 */
 	protected final void notifyChange() {
+		this.changesCount++;
+		
 		if ( this.collisionTestBodyPairContainer != null ) {
 			this.collisionTestBodyPairContainer.notifyChange(this);
 		}
 	}
 	
+	/**
+	 * @post Devuelve la cantidad de cambios notificados.
+	 * 		 Sirve para saber si el cuerpo cambió desde la última consulta
+	 */
+	final int getChangesCount() {
+		return this.changesCount;
+	}
+	
+	/**
+	 * @pre El desplazamiento tiene que ser un número finito, y el conjunto no puede ser nulo
+	 * @post Resta el desplazamiento especificado a los tiempos del mapeador cinemático,
+	 * 		 sin desplazar los mapeadores que ya están en el conjunto especificado, y notifica el cambio.
+	 * 		 Al notificar el cambio se invalidan los horizontes seguros de los pares del cuerpo
+	 */
+	final void rebaseTime(float offset, Set<PlaneKinematicMapper> rebasedMappers) {
+		this.kinematicMapper.rebaseTime(offset, rebasedMappers);
+		this.notifyChange();
+	}
+	
 	/**
 	 * @pre El contenedor de pares de testeo no puede ser nulo, y no tiene que haber uno agregado previamente.
 	 * 		O tiene que ser el mismo.
@@ -177,6 +231,46 @@ public abstract class PlaneKinematicBody<M extends PlaneKinematicMapper> impleme
 	 */
 	protected abstract FiniteProportionalHolomorphicShape<?> instantShape_checked(float time);
 	
+	/**
+	 * @pre El cuerpo tiene que estar completo y la pose no puede ser nula
+	 * @post Especifica en la pose especificada la transformación del mapeador cinemático
+	 * 		 en el instante de tiempo especificado.
+	 * 		 Devuelve false si la transformación no puede representarse con una pose
+	 */
+	public final boolean instantPose(float time, PlanePose pose) {
+		this.checkComplete();
+		
+		return this.kinematicMapper.instantPose(time, pose);
+	}
+	
+	/**
+	 * @pre Ambos cuerpos tienen que estar completos, y ni el otro cuerpo ni las poses pueden ser nulos
+	 * @post Devuelve la distancia perimetral con el cuerpo especificado en el instante de tiempo especificado.
+	 * 		 Las poses especificadas se usan como almacenamiento temporal, su contenido
+	 * 		 posterior es indeterminado.
+	 */
+	public final float instantPerimetralDistance(PlaneKinematicBody<? extends PlaneKinematicMapper> other, float time, PlanePose pose, PlanePose otherPose) {
+		if ( ( other != null ) && ( pose != null ) && ( otherPose != null ) ) {
+			this.checkComplete();
+			other.checkComplete();
+			
+			return this.instantPerimetralDistance_checked(other, time, pose, otherPose);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ambos cuerpos están completos, y ni el otro cuerpo ni las poses son nulos
+	 * @post Devuelve la distancia perimetral con el cuerpo especificado en el instante de tiempo especificado.
+	 * 		 Las poses especificadas se usan como almacenamiento temporal.
+	 * 		 Por defecto calcula la distancia entre las figuras instantáneas
+	 */
+	protected float instantPerimetralDistance_checked(PlaneKinematicBody<? extends PlaneKinematicMapper> other, float time, PlanePose pose, PlanePose otherPose) {
+		return this.instantShape_checked(time).perimetralDistance(other.instantShape_checked(time));
+	}
+	
 	/**
 	 * @pre El cuerpo tiene que estar completo, y el intervalo de tiempo
 	 * 		no puede ser nulo.
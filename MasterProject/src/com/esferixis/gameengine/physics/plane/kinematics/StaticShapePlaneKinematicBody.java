@@ -34,6 +34,7 @@ package com.esferixis.gameengine.physics.plane.kinematics;
 import java.util.List;
 
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
 import com.esferixis.misc.strings.parser.ExpressionParser;
@@ -110,6 +111,30 @@ public final class StaticShapePlaneKinematicBody<S extends FiniteProportionalHol
 		return this.getKinematicMapper().instantPlaneMapper(time).transform(this.getShape());
 	}
 
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody#instantPerimetralDistance_checked(com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody, float, com.esferixis.gameengine.physics.plane.statics.PlanePose, com.esferixis.gameengine.physics.plane.statics.PlanePose)
+	 */
+	@Override
+	protected float instantPerimetralDistance_checked(PlaneKinematicBody<? extends PlaneKinematicMapper> other, float time, PlanePose pose, PlanePose otherPose) {
+		if ( ( other instanceof StaticShapePlaneKinematicBody ) && this.getKinematicMapper().instantPose(time, pose) && other.getKinematicMapper().instantPose(time, otherPose) ) {
+			final float scale = pose.getScale();
+			
+			if ( scale > 0.0f ) {
+				// Se transforma sólo la otra figura al espacio de esta figura, d(P1 S1, P2 S2) = escala(P1) * d(S1, P1^-1 P2 S2)
+				pose.invert();
+				otherPose.transform(pose);
+				
+				return scale * this.getShape().perimetralDistance( ((StaticShapePlaneKinematicBody<?, ?>) other).getShape().transform(otherPose.toMatrix()) );
+			}
+			else {
+				return super.instantPerimetralDistance_checked(other, time, pose, otherPose);
+			}
+		}
+		else {
+			return super.instantPerimetralDistance_checked(other, time, pose, otherPose);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see com.arielcarrizo.gameengine.physics.plane.kinematics.PlaneKinematicBody#getMaxDistanceTraveled_checked(com.arielcarrizo.math.intervalarithmetic.FloatClosedInterval)
 	 */
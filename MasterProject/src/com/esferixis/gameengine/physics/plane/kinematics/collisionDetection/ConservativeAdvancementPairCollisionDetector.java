@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.physics.plane.kinematics.collisionDetection;
+
+import com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.MirrorPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.StaticAffinePlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.TransformedPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.LinearRotation;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.Rotation;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.RotationPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.LinearTrajectory;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.Trajectory;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.TranslationPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+
+/**
+ * Detector de colisiones por avance conservativo.
+ * 
+ * Cuando la máxima distancia recorrida por cada cuerpo es proporcional al tiempo,
+ * (Traslación con trayectoria lineal, rotación lineal y mapeadores estáticos)
+ * calcula directamente el máximo avance de tiempo que no puede alcanzar la región de colisión,
+ * evaluando la distancia una sola vez por paso y sin crear las figuras instantáneas
+ * de ambos cuerpos.
+ * Para el resto de los mapeadores usa el detector por distancia.
+ * 
+ * @author ariel
+ *
+ */
+public final class ConservativeAdvancementPairCollisionDetector extends PairCollisionDetector {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -3927584019561174205L;
+	
+	// Poses de trabajo por hilo, el detector puede usarse desde varios hilos a la vez
+	private static final PlanePose.ThreadLocalPair scratchPoses = new PlanePose.ThreadLocalPair();
+	
+	/**
+	 * Cantidad máxima de pasos antes de recurrir al detector por distancia,
+	 * evita avanzar indefinidamente cuando los cuerpos se rozan sin entrar en la región
+	 */
+	private static final int MAX_STEPS = 64;
+	
+	private final DistancePairCollisionDetector fallbackDetector;
+	
+	/**
+	 * @post Crea un detector de colisiones
+	 */
+	public ConservativeAdvancementPairCollisionDetector() {
+		this.fallbackDetector = new DistancePairCollisionDetector();
+	}
+	
+	/**
+	 * @pre La cadena no puede ser nula
+	 * @post Parsea la cadena especificada
+	 */
+	public static ConservativeAdvancementPairCollisionDetector parse(String string) {
+		return new ConservativeAdvancementPairCollisionDetector();
+	}
+	
+	/**
+	 * @pre El mapeador y el cuerpo no pueden ser nulos
+	 * @post Devuelve la máxima distancia recorrida por unidad de tiempo por el cuerpo
+	 * 		 con el mapeador especificado, a partir del instante especificado,
+	 * 		 o NaN si no es constante o no se conoce
+	 */
+	private static float distanceRate(PlaneKinematicMapper mapper, final PlaneKinematicBody<? extends PlaneKinematicMapper> body, final float time) {
+		return mapper.accept(new PlaneKinematicMapper.Visitor<Float, RuntimeException>() {
+
+			@Override
+			public Float visit(TranslationPlaneKinematicMapper<? extends Trajectory> translationKinematicMapper) throws RuntimeException {
+				final Trajectory trajectory = translationKinematicMapper.getTrajectory();
+				
+				if ( trajectory instanceof LinearTrajectory ) {
+					return ((LinearTrajectory) trajectory).getVelocity().length();
+				}
+				else {
+					return Float.NaN;
+				}
+			}
+
+			@Override
+			public Float visit(RotationPlaneKinematicMapper<? extends Rotation> rotationKinematicMapper) throws RuntimeException {
+				final Rotation rotation = rotationKinematicMapper.getRotation();
+				
+				if ( rotation instanceof LinearRotation ) {
+					// La rotación es alrededor del origen, por lo tanto no cambia la distancia máxima al mismo
+					return Math.abs(((LinearRotation) rotation).getAngularVelocity()) * body.instantShape(time).maxDistanceToOrigin();
+				}
+				else {
+					return Float.NaN;
+				}
+			}
+
+			@Override
+			public Float visit(StaticAffinePlaneKinematicMapper staticAffinePlaneKinematicMapper) throws RuntimeException {
+				return 0.0f;
+			}
+
+			@Override
+			public Float visit(TransformedPlaneKinematicMapper<? extends PlaneKinematicMapper, ? extends PlaneKinematicMapper> transformedPlaneKinematicMapper) throws RuntimeException {
+				return Float.NaN;
+			}
+
+			@Override
+			public Float visit(MirrorPlaneKinematicMapper<? extends PlaneKinematicMapper> mirrorPlaneKinematicMapper) throws RuntimeException {
+				return distanceRate(mirrorPlaneKinematicMapper.getMirroredMapper(), body, time);
+			}
+			
+		});
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.collisionDetection.PairCollisionDetector#testCollision_internal(com.esferixis.math.intervalarithmetic.FloatClosedInterval, com.esferixis.math.intervalarithmetic.FloatClosedInterval, boolean, com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody, com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody)
+	 */
+	@Override
+	protected Float testCollision_internal(FloatClosedInterval timeInterval,
+			FloatClosedInterval collisionDistanceInterval, boolean inclusiveResult,
+			PlaneKinematicBody<? extends PlaneKinematicMapper> body1,
+			PlaneKinematicBody<? extends PlaneKinematicMapper> body2) {
+		
+		if ( ( timeInterval != null ) && ( body1 != null ) && ( body2 != null ) && ( collisionDistanceInterval != null ) ) {
+			final float startTime = timeInterval.getMin();
+			
+			final float rate = distanceRate(body1.getKinematicMapper(), body1, startTime) + distanceRate(body2.getKinematicMapper(), body2, startTime);
+			
+			final Float result;
+			
+			if ( !Float.isNaN(rate) ) {
+				final PlanePose[] poses = scratchPoses.get();
+				final PlanePose pose1 = poses[0];
+				final PlanePose pose2 = poses[1];
+				
+				final float firstDistance = body1.instantPerimetralDistance(body2, startTime, pose1, pose2);
+				
+				float time = startTime;
+				float distance = firstDistance;
+				
+				Float contactTime = null;
+				boolean terminate = false;
+				boolean fallback = false;
+				int steps = 0;
+				
+				do {
+					if ( collisionDistanceInterval.contains(distance) ) {
+						contactTime = time;
+						terminate = true;
+					}
+					else if ( rate == 0.0f ) {
+						terminate = true;
+					}
+					else {
+						final float gap;
+						
+						if ( distance > collisionDistanceInterval.getMax() ) {
+							gap = distance - collisionDistanceInterval.getMax();
+						}
+						else {
+							gap = collisionDistanceInterval.getMin() - distance;
+						}
+						
+						final float nextTime = time + gap / rate;
+						
+						if ( nextTime > timeInterval.getMax() ) {
+							terminate = true;
+						}
+						else if ( ( nextTime == time ) || ( ++steps > MAX_STEPS ) ) {
+							fallback = true;
+							terminate = true;
+						}
+						else {
+							time = nextTime;
+							distance = body1.instantPerimetralDistance(body2, time, pose1, pose2);
+						}
+					}
+				} while ( !terminate );
+				
+				if ( fallback ) {
+					contactTime = this.fallbackDetector.testCollision(new FloatClosedInterval(time, timeInterval.getMax()), collisionDistanceInterval, true, body1, body2);
+				}
+				
+				if ( ( contactTime != null ) && ( !inclusiveResult ) && ( firstDistance > collisionDistanceInterval.getMax() ) ) {
+					// Último instante en el que se garantiza que la distancia sigue por encima de la región
+					float duration = Math.min( ( firstDistance - collisionDistanceInterval.getMax() ) / rate, contactTime - startTime );
+					
+					while ( firstDistance - rate * duration <= collisionDistanceInterval.getMax() ) {
+						duration /= 2.0f;
+					}
+					
+					result = startTime + duration;
+				}
+				else {
+					result = contactTime;
+				}
+			}
+			else {
+				result = this.fallbackDetector.testCollision(timeInterval, collisionDistanceInterval, inclusiveResult, body1, body2);
+			}
+			
+			return result;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+}
@@ -34,6 +34,7 @@ package com.esferixis.gameengine.physics.plane.kinematics.collisionDetection;
 
 import com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody;
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
 
 /**
@@ -46,6 +47,9 @@ public final class DistancePairCollisionDetector extends PairCollisionDetector {
 	 */
 	private static final long serialVersionUID = 5267808946363848077L;
 	
+	// Poses de trabajo por hilo, el detector puede usarse desde varios hilos a la vez
+	private static final PlanePose.ThreadLocalPair scratchPoses = new PlanePose.ThreadLocalPair();
+	
 	/**
 	 * @post Crea un detector de colisiones
 	 */
@@ -82,8 +86,12 @@ public final class DistancePairCollisionDetector extends PairCollisionDetector {
 			
 			float firstDistance = 0.0f;
 			
+			final PlanePose[] poses = scratchPoses.get();
+			final PlanePose pose1 = poses[0];
+			final PlanePose pose2 = poses[1];
+			
 			do {
-				final float eachDistance = body1.instantShape(timeInterval.getMin()).perimetralDistance(body2.instantShape(timeInterval.getMin()));
+				final float eachDistance = body1.instantPerimetralDistance(body2, timeInterval.getMin(), pose1, pose2);
 				
 				if ( firstCycle ) {
 					firstDistance = eachDistance;
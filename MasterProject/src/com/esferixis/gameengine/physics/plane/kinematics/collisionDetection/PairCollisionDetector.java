@@ -65,6 +65,19 @@ public abstract class PairCollisionDetector implements Serializable {
 				}
 			}
 			
+		},
+		new FunctionParser<PairCollisionDetector>("ConservativeAdvancementPairCollisionDetector") {
+
+			@Override
+			public PairCollisionDetector parse(String string) throws ParseException {
+				if ( string.isEmpty() ) {
+					return new ConservativeAdvancementPairCollisionDetector();
+				}
+				else {
+					throw new ParseException("Expected no parameters");
+				}
+			}
+			
 		}
 	);
 	
@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.physics.plane.kinematics.containers;
+
+import java.io.Serializable;
+
+import com.esferixis.geometry.plane.finite.ConvexPolygon;
+import com.esferixis.geometry.plane.finite.FiniteAffineHolomorphicShape;
+import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
+import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShapeGroup;
+import com.esferixis.geometry.plane.finite.LineSegment;
+import com.esferixis.geometry.plane.finite.Point;
+import com.esferixis.math.Vector2f;
+
+/**
+ * Caja envolvente alineada a los ejes, mutable.
+ * Está pensada para ser reutilizada sin crear objetos nuevos en cada actualización.
+ * 
+ * @author ariel
+ *
+ */
+public final class AxisAlignedBoundingBox implements Serializable {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 3398517625573720497L;
+	
+	private float minX, minY, maxX, maxY;
+	
+	/**
+	 * Visitor que extiende la caja con los vértices de la figura afín envolvente
+	 */
+	private final class Extender implements FiniteAffineHolomorphicShape.Visitor<Void, RuntimeException>, Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -5270133964727064611L;
+
+		@Override
+		public Void visitPoint(FiniteAffineHolomorphicShape<Point> point) throws RuntimeException {
+			AxisAlignedBoundingBox.this.extend(point.getBackingShape().getPosition());
+			return null;
+		}
+
+		@Override
+		public Void visitLineSegment(FiniteAffineHolomorphicShape<LineSegment> lineSegment) throws RuntimeException {
+			AxisAlignedBoundingBox.this.extend(lineSegment.getBackingShape().getPoint1());
+			AxisAlignedBoundingBox.this.extend(lineSegment.getBackingShape().getPoint2());
+			return null;
+		}
+
+		@Override
+		public Void visitConvexPolygon(FiniteAffineHolomorphicShape<ConvexPolygon> convexPolygon) throws RuntimeException {
+			for ( Vector2f eachVertex : convexPolygon.getBackingShape().getVertices() ) {
+				AxisAlignedBoundingBox.this.extend(eachVertex);
+			}
+			return null;
+		}
+
+		@Override
+		public <S extends FiniteProportionalHolomorphicShape<?>> Void visitGroup(
+				FiniteAffineHolomorphicShape<FiniteProportionalHolomorphicShapeGroup<FiniteAffineHolomorphicShape<? extends S>>> group)
+				throws RuntimeException {
+			for ( FiniteAffineHolomorphicShape<? extends S> eachShape : group.getBackingShape().getShapes() ) {
+				eachShape.getBackingShape().getBoundingAffineHolomorphicShape().accept(this);
+			}
+			return null;
+		}
+		
+	}
+	
+	private final Extender extender;
+	
+	/**
+	 * @post Crea una caja vacía
+	 */
+	public AxisAlignedBoundingBox() {
+		this.extender = new Extender();
+		this.setEmpty();
+	}
+	
+	/**
+	 * @post Vacía la caja
+	 */
+	public void setEmpty() {
+		this.minX = Float.POSITIVE_INFINITY;
+		this.minY = Float.POSITIVE_INFINITY;
+		this.maxX = Float.NEGATIVE_INFINITY;
+		this.maxY = Float.NEGATIVE_INFINITY;
+	}
+	
+	/**
+	 * @post Devuelve si está vacía
+	 */
+	public boolean isEmpty() {
+		return ( this.minX > this.maxX ) || ( this.minY > this.maxY );
+	}
+	
+	/**
+	 * @pre El punto no puede ser nulo
+	 * @post Extiende la caja para que contenga el punto especificado
+	 */
+	public void extend(Vector2f point) {
+		if ( point != null ) {
+			this.minX = Math.min(this.minX, point.getX());
+			this.minY = Math.min(this.minY, point.getY());
+			this.maxX = Math.max(this.maxX, point.getX());
+			this.maxY = Math.max(this.maxY, point.getY());
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La figura no puede ser nula
+	 * @post Especifica la caja como la caja envolvente de la figura especificada
+	 */
+	public void set(FiniteProportionalHolomorphicShape<?> shape) {
+		if ( shape != null ) {
+			this.setEmpty();
+			shape.getBoundingAffineHolomorphicShape().accept(this.extender);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La caja no puede ser nula
+	 * @post Especifica la caja como una copia de la caja especificada
+	 */
+	public void set(AxisAlignedBoundingBox other) {
+		if ( other != null ) {
+			this.minX = other.minX;
+			this.minY = other.minY;
+			this.maxX = other.maxX;
+			this.maxY = other.maxY;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El margen no puede ser negativo
+	 * @post Agranda la caja con el margen especificado en cada dirección.
+	 * 		 Si está vacía no hace nada.
+	 */
+	public void dilate(float margin) {
+		if ( margin >= 0.0f ) {
+			if ( !this.isEmpty() ) {
+				this.minX -= margin;
+				this.minY -= margin;
+				this.maxX += margin;
+				this.maxY += margin;
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Expected non-negative margin");
+		}
+	}
+	
+	/**
+	 * @pre La caja no puede ser nula
+	 * @post Devuelve si se superpone con la caja especificada
+	 */
+	public boolean overlaps(AxisAlignedBoundingBox other) {
+		if ( other != null ) {
+			return ( this.minX <= other.maxX ) && ( other.minX <= this.maxX ) && ( this.minY <= other.maxY ) && ( other.minY <= this.maxY );
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la mínima coordenada x
+	 */
+	public float getMinX() {
+		return this.minX;
+	}
+	
+	/**
+	 * @post Devuelve la mínima coordenada y
+	 */
+	public float getMinY() {
+		return this.minY;
+	}
+	
+	/**
+	 * @post Devuelve la máxima coordenada x
+	 */
+	public float getMaxX() {
+		return this.maxX;
+	}
+	
+	/**
+	 * @post Devuelve la máxima coordenada y
+	 */
+	public float getMaxY() {
+		return this.maxY;
+	}
+	
+	/**
+	 * @post Devuelve una representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "AxisAlignedBoundingBox(" + this.minX + ", " + this.minY + ", " + this.maxX + ", " + this.maxY + ")";
+	}
+}
@@ -32,7 +32,7 @@
 
 package com.esferixis.gameengine.physics.plane.kinematics.containers;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import com.esferixis.gameengine.physics.plane.kinematics.CollisionResponse;
@@ -65,7 +65,7 @@ public final class LinearBodyPairCollisionTestPairContainer extends CollisionTes
 	 */
 	public LinearBodyPairCollisionTestPairContainer(FloatClosedInterval collisionDistanceInterval) {
 		super(collisionDistanceInterval);
-		this.collisionTestPairByBodyPair = new HashMap<BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>>, CollisionTestBodyPair>();
+		this.collisionTestPairByBodyPair = new LinkedHashMap<BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>>, CollisionTestBodyPair>();
 	}
 	
 	/* (non-Javadoc)
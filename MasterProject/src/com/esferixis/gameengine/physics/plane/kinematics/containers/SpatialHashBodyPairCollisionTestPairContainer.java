@@ -0,0 +1,534 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.physics.plane.kinematics.containers;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionResponse;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPair;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairEmmiter;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairTester;
+import com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+import com.esferixis.misc.collection.set.BinarySet;
+
+/**
+ * Contenedor de pares de testeo de colisión indexado por una grilla uniforme (Spatial hash).
+ * 
+ * Cada cuerpo se ubica en las celdas que cubre la caja envolvente de su región envolvente
+ * en una ventana de tiempo, y sólo se emiten los pares cuyas cajas se superponen.
+ * La caja de cada cuerpo se recalcula cuando el intervalo simulado sale de su ventana,
+ * o cuando el cuerpo notifica un cambio (Por ejemplo al cambiar de mapeador cinemático,
+ * o al cambiar la trayectoria del mismo mapeador).
+ * 
+ * Los pares se emiten en el orden en que fueron agregados, igual que en
+ * LinearBodyPairCollisionTestPairContainer, así cuando dos colisiones ocurren
+ * en el mismo instante se elige la misma.
+ * 
+ * @author ariel
+ *
+ */
+public final class SpatialHashBodyPairCollisionTestPairContainer extends CollisionTestBodyPairContainer {
+	
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -2742203658120947710L;
+	
+	/**
+	 * Máxima cantidad de celdas que puede ocupar un cuerpo, si las supera
+	 * se lo considera sobredimensionado y se lo prueba con todos sus pares.
+	 */
+	private static final int MAX_CELLS_PER_BODY = 64;
+	
+	private static final class Cell implements Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 5617395113549004581L;
+		
+		private final int x, y;
+		private final List<BodyEntry> entries;
+		
+		public Cell(int x, int y) {
+			this.x = x;
+			this.y = y;
+			this.entries = new ArrayList<BodyEntry>(4);
+		}
+	}
+	
+	/**
+	 * Par de testeo con el orden en que fue agregado
+	 */
+	private static final class PairEntry implements Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 3072741593356193854L;
+		
+		private final CollisionTestBodyPair testPair;
+		private final long order;
+		
+		public PairEntry(CollisionTestBodyPair testPair, long order) {
+			this.testPair = testPair;
+			this.order = order;
+		}
+	}
+	
+	private static final class PairEntryOrderComparator implements Comparator<PairEntry>, Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -1796268829451466036L;
+
+		@Override
+		public int compare(PairEntry pairEntry1, PairEntry pairEntry2) {
+			return ( pairEntry1.order < pairEntry2.order ) ? -1 : ( ( pairEntry1.order == pairEntry2.order ) ? 0 : 1 );
+		}
+	}
+	
+	private static final PairEntryOrderComparator PAIR_ENTRY_ORDER_COMPARATOR = new PairEntryOrderComparator();
+	
+	private static final class BodyEntry implements Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -1570497553580451394L;
+		
+		private final PlaneKinematicBody<? extends PlaneKinematicMapper> body;
+		private final int id;
+		private final Map<BodyEntry, PairEntry> pairEntryByOtherEntry;
+		
+		private final AxisAlignedBoundingBox boundingBox;
+		
+		private boolean valid;
+		private float windowMin, windowMax;
+		
+		private boolean binned;
+		private boolean oversized;
+		private int minCellX, minCellY, maxCellX, maxCellY;
+		
+		public BodyEntry(PlaneKinematicBody<? extends PlaneKinematicMapper> body, int id) {
+			this.body = body;
+			this.id = id;
+			this.pairEntryByOtherEntry = new HashMap<BodyEntry, PairEntry>();
+			this.boundingBox = new AxisAlignedBoundingBox();
+			this.valid = false;
+			this.binned = false;
+			this.oversized = false;
+		}
+	}
+	
+	private final float cellSize;
+	private final float timeWindowLength;
+	
+	private final Map<PlaneKinematicBody<? extends PlaneKinematicMapper>, BodyEntry> entryByBody;
+	private final Map<Long, Cell> cellByKey;
+	private final List<BodyEntry> oversizedEntries;
+	
+	private int nextEntryId;
+	private long nextPairOrder;
+	
+	/**
+	 * @pre El intervalo de distancia de colisión no puede ser nulo, el tamaño de celda tiene que ser positivo
+	 * 		y la longitud de la ventana de tiempo no puede ser negativa
+	 * @post Crea el contenedor de pares de colisión con el intervalo de distancia de colisión,
+	 * 		 el tamaño de celda y la longitud mínima de la ventana de tiempo de las cajas envolventes especificados.
+	 * 		 Con una ventana de longitud cero las cajas se calculan con el intervalo simulado.
+	 */
+	public SpatialHashBodyPairCollisionTestPairContainer(FloatClosedInterval collisionDistanceInterval, float cellSize, float timeWindowLength) {
+		super(collisionDistanceInterval);
+		
+		if ( cellSize > 0.0f ) {
+			if ( timeWindowLength >= 0.0f ) {
+				this.cellSize = cellSize;
+				this.timeWindowLength = timeWindowLength;
+				
+				this.entryByBody = new HashMap<PlaneKinematicBody<? extends PlaneKinematicMapper>, BodyEntry>();
+				this.cellByKey = new HashMap<Long, Cell>();
+				this.oversizedEntries = new ArrayList<BodyEntry>();
+				
+				this.nextEntryId = 0;
+				this.nextPairOrder = 0;
+			}
+			else {
+				throw new IllegalArgumentException("Expected non-negative time window length");
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Expected positive cell size");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el tamaño de celda
+	 */
+	public float getCellSize() {
+		return this.cellSize;
+	}
+	
+	/**
+	 * @post Devuelve la longitud mínima de la ventana de tiempo
+	 */
+	public float getTimeWindowLength() {
+		return this.timeWindowLength;
+	}
+	
+	/**
+	 * @post Devuelve la clave de la celda con las coordenadas especificadas
+	 */
+	private static long cellKey(int x, int y) {
+		return ( ( (long) x ) << 32 ) | ( y & 0xFFFFFFFFL );
+	}
+	
+	/**
+	 * @post Devuelve la entrada del cuerpo especificado, si no existe la crea
+	 */
+	private BodyEntry getOrCreateEntry(PlaneKinematicBody<? extends PlaneKinematicMapper> body) {
+		BodyEntry entry = this.entryByBody.get(body);
+		
+		if ( entry == null ) {
+			entry = new BodyEntry(body, this.nextEntryId++);
+			this.entryByBody.put(body, entry);
+		}
+		
+		return entry;
+	}
+	
+	/**
+	 * @post Quita la entrada especificada si no tiene pares
+	 */
+	private void removeEntryIfUnused(BodyEntry entry) {
+		if ( entry.pairEntryByOtherEntry.isEmpty() ) {
+			this.unbin(entry);
+			this.entryByBody.remove(entry.body);
+		}
+	}
+	
+	/**
+	 * @post Quita la entrada de las celdas que ocupa
+	 */
+	private void unbin(BodyEntry entry) {
+		if ( entry.binned ) {
+			for ( int y = entry.minCellY ; y <= entry.maxCellY ; y++ ) {
+				for ( int x = entry.minCellX ; x <= entry.maxCellX ; x++ ) {
+					final Long key = cellKey(x, y);
+					final Cell cell = this.cellByKey.get(key);
+					
+					cell.entries.remove(entry);
+					
+					if ( cell.entries.isEmpty() ) {
+						this.cellByKey.remove(key);
+					}
+				}
+			}
+			
+			entry.binned = false;
+		}
+		else if ( entry.oversized ) {
+			this.oversizedEntries.remove(entry);
+			entry.oversized = false;
+		}
+	}
+	
+	/**
+	 * @post Ubica la entrada en las celdas que cubre su caja envolvente
+	 */
+	private void bin(BodyEntry entry) {
+		final AxisAlignedBoundingBox box = entry.boundingBox;
+		
+		final double minCellX = Math.floor(box.getMinX() / this.cellSize);
+		final double minCellY = Math.floor(box.getMinY() / this.cellSize);
+		final double maxCellX = Math.floor(box.getMaxX() / this.cellSize);
+		final double maxCellY = Math.floor(box.getMaxY() / this.cellSize);
+		
+		final double cellsCount = ( maxCellX - minCellX + 1.0d ) * ( maxCellY - minCellY + 1.0d );
+		
+		if ( ( cellsCount <= MAX_CELLS_PER_BODY ) && ( minCellX >= Integer.MIN_VALUE ) && ( minCellY >= Integer.MIN_VALUE ) && ( maxCellX <= Integer.MAX_VALUE ) && ( maxCellY <= Integer.MAX_VALUE ) ) {
+			entry.minCellX = (int) minCellX;
+			entry.minCellY = (int) minCellY;
+			entry.maxCellX = (int) maxCellX;
+			entry.maxCellY = (int) maxCellY;
+			
+			for ( int y = entry.minCellY ; y <= entry.maxCellY ; y++ ) {
+				for ( int x = entry.minCellX ; x <= entry.maxCellX ; x++ ) {
+					final Long key = cellKey(x, y);
+					Cell cell = this.cellByKey.get(key);
+					
+					if ( cell == null ) {
+						cell = new Cell(x, y);
+						this.cellByKey.put(key, cell);
+					}
+					
+					cell.entries.add(entry);
+				}
+			}
+			
+			entry.binned = true;
+		}
+		else {
+			this.oversizedEntries.add(entry);
+			entry.oversized = true;
+		}
+	}
+	
+	/**
+	 * @post Actualiza la caja envolvente y las celdas de la entrada para el intervalo de tiempo especificado,
+	 * 		 si es necesario.
+	 * 		 Si el cuerpo no puede colisionar en el intervalo la quita de la grilla.
+	 */
+	private void update(BodyEntry entry, FloatClosedInterval timeInterval) {
+		boolean active = entry.body.isComplete();
+		
+		if ( active ) {
+			final float minTime = Math.max(timeInterval.getMin(), entry.body.getStartTime());
+			
+			if ( minTime <= timeInterval.getMax() ) {
+				if ( !entry.valid || ( minTime < entry.windowMin ) || ( timeInterval.getMax() > entry.windowMax ) ) {
+					this.unbin(entry);
+					
+					entry.windowMin = minTime;
+					entry.windowMax = Math.max(timeInterval.getMax(), minTime + this.timeWindowLength);
+					
+					entry.boundingBox.set(entry.body.boundingRegion(new FloatClosedInterval(entry.windowMin, entry.windowMax)));
+					entry.boundingBox.dilate(Math.max(this.getCollisionDistanceMax(), 0.0f) * 0.5f);
+					
+					this.bin(entry);
+					
+					entry.valid = true;
+				}
+			}
+			else {
+				active = false;
+			}
+		}
+		
+		if ( !active ) {
+			this.unbin(entry);
+			entry.valid = false;
+		}
+	}
+	
+	/**
+	 * @post Emite los pares especificados en el orden en que fueron agregados,
+	 * 		 porque el primero emitido gana entre colisiones simultáneas.
+	 * 		 Las celdas están en un mapa hash, así que su orden no sirve
+	 */
+	private static void emitInOrder(List<PairEntry> pairEntries, CollisionTestBodyPairTester kinematicEngineCollisionTester) {
+		Collections.sort(pairEntries, PAIR_ENTRY_ORDER_COMPARATOR);
+		
+		for ( PairEntry eachPairEntry : pairEntries ) {
+			kinematicEngineCollisionTester.test(eachPairEntry.testPair);
+		}
+	}
+	
+	/**
+	 * @post Devuelve la máxima distancia de colisión
+	 */
+	private float getCollisionDistanceMax() {
+		return this.getCollisionDistanceInterval().getMax();
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#setCollisionResponse_checked(com.esferixis.misc.collection.set.BinarySet, com.esferixis.gameengine.physics.plane.kinematics.CollisionResponse)
+	 */
+	@Override
+	protected CollisionResponse setCollisionResponse_checked(
+			BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>> pair,
+			CollisionResponse response) {
+		final CollisionResponse oldResponse;
+		
+		if ( response == null ) {
+			final BodyEntry entry1 = this.entryByBody.get(pair.getElement1());
+			final BodyEntry entry2 = this.entryByBody.get(pair.getElement2());
+			
+			if ( ( entry1 != null ) && ( entry2 != null ) ) {
+				final PairEntry oldPairEntry = entry1.pairEntryByOtherEntry.remove(entry2);
+				entry2.pairEntryByOtherEntry.remove(entry1);
+				
+				oldResponse = ( oldPairEntry != null ? oldPairEntry.testPair.getResponse() : null );
+				
+				this.removeEntryIfUnused(entry1);
+				this.removeEntryIfUnused(entry2);
+			}
+			else {
+				oldResponse = null;
+			}
+		}
+		else {
+			final BodyEntry entry1 = this.getOrCreateEntry(pair.getElement1());
+			final BodyEntry entry2 = this.getOrCreateEntry(pair.getElement2());
+			
+			final PairEntry oldPairEntry = entry1.pairEntryByOtherEntry.get(entry2);
+			
+			// Al reemplazar la respuesta se conserva el orden del par
+			final PairEntry pairEntry = new PairEntry(new CollisionTestBodyPair(pair, response), ( oldPairEntry != null ? oldPairEntry.order : this.nextPairOrder++ ) );
+			
+			entry1.pairEntryByOtherEntry.put(entry2, pairEntry);
+			entry2.pairEntryByOtherEntry.put(entry1, pairEntry);
+			
+			oldResponse = ( oldPairEntry != null ? oldPairEntry.testPair.getResponse() : null );
+		}
+		
+		return oldResponse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#getCollisionResponse_checked(com.esferixis.misc.collection.set.BinarySet)
+	 */
+	@Override
+	protected CollisionResponse getCollisionResponse_checked(
+			BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>> pair) {
+		final BodyEntry entry1 = this.entryByBody.get(pair.getElement1());
+		final BodyEntry entry2 = this.entryByBody.get(pair.getElement2());
+		CollisionResponse collisionResponse = null;
+		
+		if ( ( entry1 != null ) && ( entry2 != null ) ) {
+			final PairEntry pairEntry = entry1.pairEntryByOtherEntry.get(entry2);
+			
+			if ( pairEntry != null ) {
+				collisionResponse = pairEntry.testPair.getResponse();
+			}
+		}
+		
+		return collisionResponse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#notifyChange(com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody)
+	 */
+	@Override
+	protected void notifyChange(PlaneKinematicBody<? extends PlaneKinematicMapper> planeKinematicBody) {
+		final BodyEntry entry = this.entryByBody.get(planeKinematicBody);
+		
+		if ( entry != null ) {
+			entry.valid = false;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#getEmmiter()
+	 */
+	@Override
+	protected CollisionTestBodyPairEmmiter getEmmiter() {
+		return new CollisionTestBodyPairEmmiter() {
+
+			@Override
+			public void emitTests(CollisionTestBodyPairTester kinematicEngineCollisionTester) {
+				final List<PairEntry> pairEntries = new ArrayList<PairEntry>();
+				
+				for ( BodyEntry eachEntry : SpatialHashBodyPairCollisionTestPairContainer.this.entryByBody.values() ) {
+					for ( Map.Entry<BodyEntry, PairEntry> eachPairEntry : eachEntry.pairEntryByOtherEntry.entrySet() ) {
+						if ( eachEntry.id < eachPairEntry.getKey().id ) {
+							pairEntries.add(eachPairEntry.getValue());
+						}
+					}
+				}
+				
+				emitInOrder(pairEntries, kinematicEngineCollisionTester);
+			}
+			
+		};
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#getEmmiter(com.esferixis.math.intervalarithmetic.FloatClosedInterval)
+	 */
+	@Override
+	protected CollisionTestBodyPairEmmiter getEmmiter(final FloatClosedInterval timeInterval) {
+		if ( timeInterval != null ) {
+			return new CollisionTestBodyPairEmmiter() {
+	
+				@Override
+				public void emitTests(CollisionTestBodyPairTester kinematicEngineCollisionTester) {
+					final SpatialHashBodyPairCollisionTestPairContainer container = SpatialHashBodyPairCollisionTestPairContainer.this;
+					
+					for ( BodyEntry eachEntry : container.entryByBody.values() ) {
+						container.update(eachEntry, timeInterval);
+					}
+					
+					final List<PairEntry> pairEntries = new ArrayList<PairEntry>();
+					
+					for ( Cell eachCell : container.cellByKey.values() ) {
+						final List<BodyEntry> entries = eachCell.entries;
+						
+						for ( int i = 0 ; i<entries.size(); i++ ) {
+							final BodyEntry entry1 = entries.get(i);
+							
+							for ( int j = i+1 ; j<entries.size(); j++ ) {
+								final BodyEntry entry2 = entries.get(j);
+								
+								// Se emite sólo en la primera celda compartida, para no repetir pares
+								if ( ( Math.max(entry1.minCellX, entry2.minCellX) == eachCell.x ) && ( Math.max(entry1.minCellY, entry2.minCellY) == eachCell.y ) ) {
+									if ( entry1.boundingBox.overlaps(entry2.boundingBox) ) {
+										final PairEntry pairEntry = entry1.pairEntryByOtherEntry.get(entry2);
+										
+										if ( pairEntry != null ) {
+											pairEntries.add(pairEntry);
+										}
+									}
+								}
+							}
+						}
+					}
+					
+					for ( BodyEntry eachOversizedEntry : container.oversizedEntries ) {
+						for ( Map.Entry<BodyEntry, PairEntry> eachPairEntry : eachOversizedEntry.pairEntryByOtherEntry.entrySet() ) {
+							final BodyEntry otherEntry = eachPairEntry.getKey();
+							
+							if ( otherEntry.valid && ( !otherEntry.oversized || ( eachOversizedEntry.id < otherEntry.id ) ) ) {
+								if ( eachOversizedEntry.boundingBox.overlaps(otherEntry.boundingBox) ) {
+									pairEntries.add(eachPairEntry.getValue());
+								}
+							}
+						}
+					}
+					
+					emitInOrder(pairEntries, kinematicEngineCollisionTester);
+				}
+				
+			};
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+}
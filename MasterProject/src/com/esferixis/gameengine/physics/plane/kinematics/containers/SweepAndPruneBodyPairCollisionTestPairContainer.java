@@ -0,0 +1,594 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.physics.plane.kinematics.containers;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionResponse;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPair;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairEmmiter;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairTester;
+import com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+import com.esferixis.misc.collection.set.BinarySet;
+
+/**
+ * Contenedor de pares de testeo de colisión con barrido y poda (Sweep and prune).
+ * 
+ * Mantiene, para cada eje, los extremos de las cajas envolventes de las regiones envolventes
+ * de los cuerpos ordenados en arrays primitivos.
+ * Entre simulaciones sucesivas los extremos se reordenan por inserción, ya que en general
+ * los cuerpos se mueven poco entre eventos, y la actualización de los arrays no crea objetos.
+ * El barrido se hace sobre el eje con mayor dispersión de cuerpos.
+ * 
+ * Al igual que en el contenedor por grilla, las cajas se recalculan cuando el intervalo
+ * simulado sale de su ventana de tiempo, o cuando el cuerpo notifica un cambio.
+ * 
+ * @author ariel
+ *
+ */
+public final class SweepAndPruneBodyPairCollisionTestPairContainer extends CollisionTestBodyPairContainer {
+	
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 6075836181520474937L;
+	
+	private static final int INITIAL_CAPACITY = 16;
+	
+	private static final class BodyEntry implements Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 7309283000405834573L;
+		
+		private final PlaneKinematicBody<? extends PlaneKinematicMapper> body;
+		private final Map<BodyEntry, CollisionTestBodyPair> testPairByOtherEntry;
+		
+		private int slot;
+		
+		private boolean valid;
+		private float windowMin, windowMax;
+		
+		public BodyEntry(PlaneKinematicBody<? extends PlaneKinematicMapper> body, int slot) {
+			this.body = body;
+			this.testPairByOtherEntry = new HashMap<BodyEntry, CollisionTestBodyPair>();
+			this.slot = slot;
+			this.valid = false;
+		}
+	}
+	
+	private final float timeWindowLength;
+	
+	private final AxisAlignedBoundingBox boundingBox;
+	
+	private final Map<PlaneKinematicBody<? extends PlaneKinematicMapper>, BodyEntry> entryByBody;
+	
+	private int entriesCount;
+	private BodyEntry[] entryBySlot;
+	
+	private boolean[] activeBySlot;
+	private float[] minXBySlot, minYBySlot, maxXBySlot, maxYBySlot;
+	
+	/**
+	 * Cada extremo se codifica como (slot << 1) | (1 si es máximo, 0 si es mínimo)
+	 */
+	private int[] endpointsX, endpointsY;
+	private float[] endpointValuesX, endpointValuesY;
+	
+	private int[] activeSlots;
+	private int[] activePositionBySlot;
+	
+	private boolean sweepOnXAxis;
+	
+	/**
+	 * @pre El intervalo de distancia de colisión no puede ser nulo y la longitud de la ventana
+	 * 		de tiempo no puede ser negativa
+	 * @post Crea el contenedor de pares de colisión con el intervalo de distancia de colisión
+	 * 		 y la longitud mínima de la ventana de tiempo de las cajas envolventes especificados.
+	 * 		 Con una ventana de longitud cero las cajas se calculan con el intervalo simulado.
+	 */
+	public SweepAndPruneBodyPairCollisionTestPairContainer(FloatClosedInterval collisionDistanceInterval, float timeWindowLength) {
+		super(collisionDistanceInterval);
+		
+		if ( timeWindowLength >= 0.0f ) {
+			this.timeWindowLength = timeWindowLength;
+			this.boundingBox = new AxisAlignedBoundingBox();
+			this.entryByBody = new HashMap<PlaneKinematicBody<? extends PlaneKinematicMapper>, BodyEntry>();
+			
+			this.entriesCount = 0;
+			this.allocateArrays(INITIAL_CAPACITY);
+			this.sweepOnXAxis = true;
+		}
+		else {
+			throw new IllegalArgumentException("Expected non-negative time window length");
+		}
+	}
+	
+	/**
+	 * @post Devuelve la longitud mínima de la ventana de tiempo
+	 */
+	public float getTimeWindowLength() {
+		return this.timeWindowLength;
+	}
+	
+	/**
+	 * @post Crea los arrays con la capacidad especificada, conservando
+	 * 		 el contenido de los existentes
+	 */
+	private void allocateArrays(int capacity) {
+		final int oldCapacity = ( this.entryBySlot != null ? this.entryBySlot.length : 0 );
+		
+		final BodyEntry[] entryBySlot = new BodyEntry[capacity];
+		final boolean[] activeBySlot = new boolean[capacity];
+		final float[] minXBySlot = new float[capacity];
+		final float[] minYBySlot = new float[capacity];
+		final float[] maxXBySlot = new float[capacity];
+		final float[] maxYBySlot = new float[capacity];
+		final int[] endpointsX = new int[capacity * 2];
+		final int[] endpointsY = new int[capacity * 2];
+		final float[] endpointValuesX = new float[capacity * 2];
+		final float[] endpointValuesY = new float[capacity * 2];
+		final int[] activeSlots = new int[capacity];
+		final int[] activePositionBySlot = new int[capacity];
+		
+		if ( oldCapacity != 0 ) {
+			System.arraycopy(this.entryBySlot, 0, entryBySlot, 0, oldCapacity);
+			System.arraycopy(this.activeBySlot, 0, activeBySlot, 0, oldCapacity);
+			System.arraycopy(this.minXBySlot, 0, minXBySlot, 0, oldCapacity);
+			System.arraycopy(this.minYBySlot, 0, minYBySlot, 0, oldCapacity);
+			System.arraycopy(this.maxXBySlot, 0, maxXBySlot, 0, oldCapacity);
+			System.arraycopy(this.maxYBySlot, 0, maxYBySlot, 0, oldCapacity);
+			System.arraycopy(this.endpointsX, 0, endpointsX, 0, oldCapacity * 2);
+			System.arraycopy(this.endpointsY, 0, endpointsY, 0, oldCapacity * 2);
+			System.arraycopy(this.endpointValuesX, 0, endpointValuesX, 0, oldCapacity * 2);
+			System.arraycopy(this.endpointValuesY, 0, endpointValuesY, 0, oldCapacity * 2);
+		}
+		
+		this.entryBySlot = entryBySlot;
+		this.activeBySlot = activeBySlot;
+		this.minXBySlot = minXBySlot;
+		this.minYBySlot = minYBySlot;
+		this.maxXBySlot = maxXBySlot;
+		this.maxYBySlot = maxYBySlot;
+		this.endpointsX = endpointsX;
+		this.endpointsY = endpointsY;
+		this.endpointValuesX = endpointValuesX;
+		this.endpointValuesY = endpointValuesY;
+		this.activeSlots = activeSlots;
+		this.activePositionBySlot = activePositionBySlot;
+	}
+	
+	/**
+	 * @post Devuelve la entrada del cuerpo especificado, si no existe la crea
+	 */
+	private BodyEntry getOrCreateEntry(PlaneKinematicBody<? extends PlaneKinematicMapper> body) {
+		BodyEntry entry = this.entryByBody.get(body);
+		
+		if ( entry == null ) {
+			if ( this.entriesCount == this.entryBySlot.length ) {
+				this.allocateArrays(this.entryBySlot.length * 2);
+			}
+			
+			final int slot = this.entriesCount++;
+			entry = new BodyEntry(body, slot);
+			
+			this.entryBySlot[slot] = entry;
+			this.activeBySlot[slot] = false;
+			this.setInactiveBox(slot);
+			
+			// Los extremos inactivos van al final, por lo tanto los arrays siguen ordenados
+			final int endpointIndex = slot * 2;
+			this.endpointsX[endpointIndex] = slot << 1;
+			this.endpointsX[endpointIndex+1] = ( slot << 1 ) | 1;
+			this.endpointsY[endpointIndex] = slot << 1;
+			this.endpointsY[endpointIndex+1] = ( slot << 1 ) | 1;
+			this.endpointValuesX[endpointIndex] = Float.POSITIVE_INFINITY;
+			this.endpointValuesX[endpointIndex+1] = Float.POSITIVE_INFINITY;
+			this.endpointValuesY[endpointIndex] = Float.POSITIVE_INFINITY;
+			this.endpointValuesY[endpointIndex+1] = Float.POSITIVE_INFINITY;
+			
+			this.entryByBody.put(body, entry);
+		}
+		
+		return entry;
+	}
+	
+	/**
+	 * @post Quita la entrada especificada si no tiene pares
+	 */
+	private void removeEntryIfUnused(BodyEntry entry) {
+		if ( entry.testPairByOtherEntry.isEmpty() ) {
+			final int slot = entry.slot;
+			final int lastSlot = this.entriesCount - 1;
+			
+			removeEndpoints(this.endpointsX, this.endpointValuesX, this.entriesCount * 2, slot);
+			removeEndpoints(this.endpointsY, this.endpointValuesY, this.entriesCount * 2, slot);
+			
+			if ( slot != lastSlot ) {
+				final BodyEntry lastEntry = this.entryBySlot[lastSlot];
+				
+				this.entryBySlot[slot] = lastEntry;
+				lastEntry.slot = slot;
+				
+				this.activeBySlot[slot] = this.activeBySlot[lastSlot];
+				this.minXBySlot[slot] = this.minXBySlot[lastSlot];
+				this.minYBySlot[slot] = this.minYBySlot[lastSlot];
+				this.maxXBySlot[slot] = this.maxXBySlot[lastSlot];
+				this.maxYBySlot[slot] = this.maxYBySlot[lastSlot];
+				
+				renameEndpoints(this.endpointsX, ( this.entriesCount - 1 ) * 2, lastSlot, slot);
+				renameEndpoints(this.endpointsY, ( this.entriesCount - 1 ) * 2, lastSlot, slot);
+			}
+			
+			this.entryBySlot[lastSlot] = null;
+			this.entriesCount--;
+			
+			this.entryByBody.remove(entry.body);
+		}
+	}
+	
+	/**
+	 * @post Quita los extremos del slot especificado, conservando el orden
+	 */
+	private static void removeEndpoints(int[] endpoints, float[] endpointValues, int endpointsCount, int slot) {
+		int j = 0;
+		
+		for ( int i = 0 ; i<endpointsCount; i++ ) {
+			if ( ( endpoints[i] >>> 1 ) != slot ) {
+				endpoints[j] = endpoints[i];
+				endpointValues[j] = endpointValues[i];
+				j++;
+			}
+		}
+	}
+	
+	/**
+	 * @post Reemplaza el slot de los extremos del slot viejo por el slot nuevo
+	 */
+	private static void renameEndpoints(int[] endpoints, int endpointsCount, int oldSlot, int newSlot) {
+		for ( int i = 0 ; i<endpointsCount; i++ ) {
+			if ( ( endpoints[i] >>> 1 ) == oldSlot ) {
+				endpoints[i] = ( newSlot << 1 ) | ( endpoints[i] & 1 );
+			}
+		}
+	}
+	
+	/**
+	 * @post Especifica una caja inactiva en el slot especificado
+	 */
+	private void setInactiveBox(int slot) {
+		this.minXBySlot[slot] = Float.POSITIVE_INFINITY;
+		this.minYBySlot[slot] = Float.POSITIVE_INFINITY;
+		this.maxXBySlot[slot] = Float.POSITIVE_INFINITY;
+		this.maxYBySlot[slot] = Float.POSITIVE_INFINITY;
+	}
+	
+	/**
+	 * @post Actualiza la caja envolvente de la entrada para el intervalo de tiempo especificado,
+	 * 		 si es necesario.
+	 * 		 Si el cuerpo no puede colisionar en el intervalo la desactiva.
+	 */
+	private void update(BodyEntry entry, FloatClosedInterval timeInterval) {
+		final int slot = entry.slot;
+		boolean active = entry.body.isComplete();
+		
+		if ( active ) {
+			final float minTime = Math.max(timeInterval.getMin(), entry.body.getStartTime());
+			
+			if ( minTime <= timeInterval.getMax() ) {
+				if ( !entry.valid || ( minTime < entry.windowMin ) || ( timeInterval.getMax() > entry.windowMax ) ) {
+					entry.windowMin = minTime;
+					entry.windowMax = Math.max(timeInterval.getMax(), minTime + this.timeWindowLength);
+					
+					this.boundingBox.set(entry.body.boundingRegion(new FloatClosedInterval(entry.windowMin, entry.windowMax)));
+					this.boundingBox.dilate(Math.max(this.getCollisionDistanceInterval().getMax(), 0.0f) * 0.5f);
+					
+					this.minXBySlot[slot] = this.boundingBox.getMinX();
+					this.minYBySlot[slot] = this.boundingBox.getMinY();
+					this.maxXBySlot[slot] = this.boundingBox.getMaxX();
+					this.maxYBySlot[slot] = this.boundingBox.getMaxY();
+					
+					entry.valid = true;
+				}
+			}
+			else {
+				active = false;
+			}
+		}
+		
+		if ( !active ) {
+			entry.valid = false;
+			this.setInactiveBox(slot);
+		}
+		
+		this.activeBySlot[slot] = active;
+	}
+	
+	/**
+	 * @post Actualiza los valores de los extremos con las cajas de cada slot
+	 */
+	private static void refreshEndpointValues(int[] endpoints, float[] endpointValues, int endpointsCount, float[] minBySlot, float[] maxBySlot) {
+		for ( int i = 0 ; i<endpointsCount; i++ ) {
+			final int eachEndpoint = endpoints[i];
+			
+			if ( ( eachEndpoint & 1 ) == 0 ) {
+				endpointValues[i] = minBySlot[eachEndpoint >>> 1];
+			}
+			else {
+				endpointValues[i] = maxBySlot[eachEndpoint >>> 1];
+			}
+		}
+	}
+	
+	/**
+	 * @post Ordena los extremos por inserción, a igual valor los mínimos quedan antes que
+	 * 		 los máximos.
+	 * 		 Es lineal cuando los extremos están casi ordenados.
+	 */
+	private static void insertionSort(int[] endpoints, float[] endpointValues, int endpointsCount) {
+		for ( int i = 1 ; i<endpointsCount; i++ ) {
+			final int endpoint = endpoints[i];
+			final float value = endpointValues[i];
+			
+			int j = i - 1;
+			
+			while ( ( j >= 0 ) && ( ( endpointValues[j] > value ) || ( ( endpointValues[j] == value ) && ( ( endpoints[j] & 1 ) > ( endpoint & 1 ) ) ) ) ) {
+				endpoints[j+1] = endpoints[j];
+				endpointValues[j+1] = endpointValues[j];
+				j--;
+			}
+			
+			endpoints[j+1] = endpoint;
+			endpointValues[j+1] = value;
+		}
+	}
+	
+	/**
+	 * @post Actualiza las cajas y los extremos para el intervalo de tiempo especificado,
+	 * 		 y elige el eje de barrido
+	 */
+	private void refresh(FloatClosedInterval timeInterval) {
+		double sumX = 0.0d, sumY = 0.0d, sumSqX = 0.0d, sumSqY = 0.0d;
+		int activeCount = 0;
+		
+		for ( int slot = 0 ; slot < this.entriesCount ; slot++ ) {
+			this.update(this.entryBySlot[slot], timeInterval);
+			
+			if ( this.activeBySlot[slot] ) {
+				final double centerX = ( (double) this.minXBySlot[slot] + this.maxXBySlot[slot] ) * 0.5d;
+				final double centerY = ( (double) this.minYBySlot[slot] + this.maxYBySlot[slot] ) * 0.5d;
+				
+				sumX += centerX;
+				sumY += centerY;
+				sumSqX += centerX * centerX;
+				sumSqY += centerY * centerY;
+				activeCount++;
+			}
+		}
+		
+		final int endpointsCount = this.entriesCount * 2;
+		
+		refreshEndpointValues(this.endpointsX, this.endpointValuesX, endpointsCount, this.minXBySlot, this.maxXBySlot);
+		refreshEndpointValues(this.endpointsY, this.endpointValuesY, endpointsCount, this.minYBySlot, this.maxYBySlot);
+		
+		insertionSort(this.endpointsX, this.endpointValuesX, endpointsCount);
+		insertionSort(this.endpointsY, this.endpointValuesY, endpointsCount);
+		
+		if ( activeCount != 0 ) {
+			final double varianceX = sumSqX / activeCount - ( sumX / activeCount ) * ( sumX / activeCount );
+			final double varianceY = sumSqY / activeCount - ( sumY / activeCount ) * ( sumY / activeCount );
+			
+			this.sweepOnXAxis = ( varianceX >= varianceY );
+		}
+	}
+	
+	/**
+	 * @post Efectúa el barrido emitiendo los pares superpuestos en el tester especificado
+	 */
+	private void sweep(CollisionTestBodyPairTester tester) {
+		final int[] endpoints;
+		final float[] otherMinBySlot, otherMaxBySlot;
+		
+		if ( this.sweepOnXAxis ) {
+			endpoints = this.endpointsX;
+			otherMinBySlot = this.minYBySlot;
+			otherMaxBySlot = this.maxYBySlot;
+		}
+		else {
+			endpoints = this.endpointsY;
+			otherMinBySlot = this.minXBySlot;
+			otherMaxBySlot = this.maxXBySlot;
+		}
+		
+		final int endpointsCount = this.entriesCount * 2;
+		int activeCount = 0;
+		
+		for ( int i = 0 ; i<endpointsCount; i++ ) {
+			final int eachEndpoint = endpoints[i];
+			final int slot = eachEndpoint >>> 1;
+			
+			if ( this.activeBySlot[slot] ) {
+				if ( ( eachEndpoint & 1 ) == 0 ) {
+					final BodyEntry entry = this.entryBySlot[slot];
+					
+					for ( int k = 0 ; k<activeCount; k++ ) {
+						final int otherSlot = this.activeSlots[k];
+						
+						if ( ( otherMinBySlot[slot] <= otherMaxBySlot[otherSlot] ) && ( otherMinBySlot[otherSlot] <= otherMaxBySlot[slot] ) ) {
+							final CollisionTestBodyPair testPair = entry.testPairByOtherEntry.get(this.entryBySlot[otherSlot]);
+							
+							if ( testPair != null ) {
+								tester.test(testPair);
+							}
+						}
+					}
+					
+					this.activePositionBySlot[slot] = activeCount;
+					this.activeSlots[activeCount++] = slot;
+				}
+				else {
+					final int position = this.activePositionBySlot[slot];
+					final int lastSlot = this.activeSlots[--activeCount];
+					
+					this.activeSlots[position] = lastSlot;
+					this.activePositionBySlot[lastSlot] = position;
+				}
+			}
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#setCollisionResponse_checked(com.esferixis.misc.collection.set.BinarySet, com.esferixis.gameengine.physics.plane.kinematics.CollisionResponse)
+	 */
+	@Override
+	protected CollisionResponse setCollisionResponse_checked(
+			BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>> pair,
+			CollisionResponse response) {
+		final CollisionResponse oldResponse;
+		
+		if ( response == null ) {
+			final BodyEntry entry1 = this.entryByBody.get(pair.getElement1());
+			final BodyEntry entry2 = this.entryByBody.get(pair.getElement2());
+			
+			if ( ( entry1 != null ) && ( entry2 != null ) ) {
+				final CollisionTestBodyPair oldTestPair = entry1.testPairByOtherEntry.remove(entry2);
+				entry2.testPairByOtherEntry.remove(entry1);
+				
+				oldResponse = ( oldTestPair != null ? oldTestPair.getResponse() : null );
+				
+				this.removeEntryIfUnused(entry1);
+				this.removeEntryIfUnused(entry2);
+			}
+			else {
+				oldResponse = null;
+			}
+		}
+		else {
+			final BodyEntry entry1 = this.getOrCreateEntry(pair.getElement1());
+			final BodyEntry entry2 = this.getOrCreateEntry(pair.getElement2());
+			
+			final CollisionTestBodyPair testPair = new CollisionTestBodyPair(pair, response);
+			
+			final CollisionTestBodyPair oldTestPair = entry1.testPairByOtherEntry.put(entry2, testPair);
+			entry2.testPairByOtherEntry.put(entry1, testPair);
+			
+			oldResponse = ( oldTestPair != null ? oldTestPair.getResponse() : null );
+		}
+		
+		return oldResponse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#getCollisionResponse_checked(com.esferixis.misc.collection.set.BinarySet)
+	 */
+	@Override
+	protected CollisionResponse getCollisionResponse_checked(
+			BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>> pair) {
+		final BodyEntry entry1 = this.entryByBody.get(pair.getElement1());
+		final BodyEntry entry2 = this.entryByBody.get(pair.getElement2());
+		CollisionResponse collisionResponse = null;
+		
+		if ( ( entry1 != null ) && ( entry2 != null ) ) {
+			final CollisionTestBodyPair collisionTestBodyPair = entry1.testPairByOtherEntry.get(entry2);
+			
+			if ( collisionTestBodyPair != null ) {
+				collisionResponse = collisionTestBodyPair.getResponse();
+			}
+		}
+		
+		return collisionResponse;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#notifyChange(com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody)
+	 */
+	@Override
+	protected void notifyChange(PlaneKinematicBody<? extends PlaneKinematicMapper> planeKinematicBody) {
+		final BodyEntry entry = this.entryByBody.get(planeKinematicBody);
+		
+		if ( entry != null ) {
+			entry.valid = false;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#getEmmiter()
+	 */
+	@Override
+	protected CollisionTestBodyPairEmmiter getEmmiter() {
+		return new CollisionTestBodyPairEmmiter() {
+
+			@Override
+			public void emitTests(CollisionTestBodyPairTester kinematicEngineCollisionTester) {
+				final SweepAndPruneBodyPairCollisionTestPairContainer container = SweepAndPruneBodyPairCollisionTestPairContainer.this;
+				
+				for ( int slot = 0 ; slot < container.entriesCount ; slot++ ) {
+					final BodyEntry eachEntry = container.entryBySlot[slot];
+					
+					for ( Map.Entry<BodyEntry, CollisionTestBodyPair> eachPairEntry : eachEntry.testPairByOtherEntry.entrySet() ) {
+						if ( eachEntry.slot < eachPairEntry.getKey().slot ) {
+							kinematicEngineCollisionTester.test(eachPairEntry.getValue());
+						}
+					}
+				}
+			}
+			
+		};
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer#getEmmiter(com.esferixis.math.intervalarithmetic.FloatClosedInterval)
+	 */
+	@Override
+	protected CollisionTestBodyPairEmmiter getEmmiter(final FloatClosedInterval timeInterval) {
+		if ( timeInterval != null ) {
+			return new CollisionTestBodyPairEmmiter() {
+	
+				@Override
+				public void emitTests(CollisionTestBodyPairTester kinematicEngineCollisionTester) {
+					SweepAndPruneBodyPairCollisionTestPairContainer.this.refresh(timeInterval);
+					SweepAndPruneBodyPairCollisionTestPairContainer.this.sweep(kinematicEngineCollisionTester);
+				}
+				
+			};
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+}
@@ -32,6 +32,9 @@
 
 package com.esferixis.gameengine.physics.plane.kinematics.mapper;
 
+import java.util.Set;
+
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalPlaneMapper;
 import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
@@ -100,6 +103,14 @@ public final class MirrorPlaneKinematicMapper<M extends PlaneKinematicMapper> ex
 	public ProportionalPlaneMapper instantPlaneMapper(float time) {
 		return this.mirroredMapper.instantPlaneMapper(time);
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#applyInstantTransform(float, com.esferixis.gameengine.physics.plane.statics.PlanePose)
+	 */
+	@Override
+	protected boolean applyInstantTransform(float time, PlanePose pose) {
+		return this.mirroredMapper.applyInstantTransform(time, pose);
+	}
 
 	/* (non-Javadoc)
 	 * @see com.arielcarrizo.gameengine.physics.plane.kinematics.kinematicMapper.PlaneKinematicMapper#shapeWithBoundingPerimeter_internal(com.arielcarrizo.geometry.plane.finite.FiniteProportionalHolomorphicShape, com.arielcarrizo.math.intervalarithmetic.FloatClosedInterval)
@@ -154,4 +165,12 @@ public final class MirrorPlaneKinematicMapper<M extends PlaneKinematicMapper> ex
 		return this.mirroredMapper.getStartTime();
 	}
 	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#rebaseTime_internal(float, java.util.Set)
+	 */
+	@Override
+	protected void rebaseTime_internal(float offset, Set<PlaneKinematicMapper> rebasedMappers) {
+		this.mirroredMapper.rebaseTime(offset, rebasedMappers);
+	}
+	
 }
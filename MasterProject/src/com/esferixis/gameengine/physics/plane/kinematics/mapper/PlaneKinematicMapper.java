@@ -33,11 +33,15 @@
 package com.esferixis.gameengine.physics.plane.kinematics.mapper;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.Rotation;
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.RotationPlaneKinematicMapper;
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.Trajectory;
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.TranslationPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalPlaneMapper;
 import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
@@ -111,6 +115,32 @@ public abstract class PlaneKinematicMapper implements Serializable {
 	 */
 	public abstract ProportionalPlaneMapper instantPlaneMapper(float time);
 	
+	/**
+	 * @pre La pose no puede ser nula
+	 * @post Especifica en la pose especificada la transformación para el instante de tiempo
+	 * 		 especificado, sin crear el mapeador de plano.
+	 * 		 Devuelve false si la transformación no puede representarse con una pose,
+	 * 		 en ese caso el contenido de la pose es indeterminado
+	 */
+	public final boolean instantPose(float time, PlanePose pose) {
+		if ( pose != null ) {
+			pose.setIdentity();
+			
+			return this.applyInstantTransform(time, pose);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La pose no es nula
+	 * @post Aplica la transformación para el instante de tiempo especificado después
+	 * 		 de la transformación de la pose especificada.
+	 * 		 Devuelve false si la transformación no puede representarse con una pose
+	 */
+	protected abstract boolean applyInstantTransform(float time, PlanePose pose);
+	
 	/**
 	 * @post Devuelve una figura que tenga un perímetro envolvente para la figura
 	 * 		 especificada, en el intervalo de tiempo
@@ -221,6 +251,45 @@ public abstract class PlaneKinematicMapper implements Serializable {
 	 */
 	public abstract float getStartTime();
 	
+	/**
+	 * @pre El desplazamiento tiene que ser un número finito
+	 * @post Resta el desplazamiento especificado a todos los tiempos del mapeador,
+	 * 		 incluyendo los de los mapeadores que envuelve, notificando el cambio
+	 * 		 a los observadores.
+	 * 		 Se usa al cambiar el origen de tiempo del motor de eventos temporales
+	 */
+	public final void rebaseTime(float offset) {
+		this.rebaseTime(offset, Collections.newSetFromMap(new IdentityHashMap<PlaneKinematicMapper, Boolean>()));
+	}
+	
+	/**
+	 * @pre El desplazamiento tiene que ser un número finito, y el conjunto no puede ser nulo
+	 * @post Resta el desplazamiento especificado a todos los tiempos del mapeador,
+	 * 		 incluyendo los de los mapeadores que envuelve, notificando el cambio
+	 * 		 a los observadores.
+	 * 		 Los envoltorios siempre desplazan a los mapeadores que envuelven.
+	 * 		 Los mapeadores que ya están en el conjunto especificado no se desplazan,
+	 * 		 y los desplazados se agregan, de modo que un mapeador compartido
+	 * 		 se desplaza una sola vez por cada cambio de origen de tiempo
+	 */
+	public final void rebaseTime(float offset, Set<PlaneKinematicMapper> rebasedMappers) {
+		if ( rebasedMappers != null ) {
+			if ( rebasedMappers.add(this) ) {
+				this.rebaseTime_internal(offset, rebasedMappers);
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El conjunto no es nulo
+	 * @post Resta el desplazamiento especificado a los tiempos del mapeador,
+	 * 		 y desplaza a los mapeadores que envuelve con el conjunto especificado
+	 */
+	protected abstract void rebaseTime_internal(float offset, Set<PlaneKinematicMapper> rebasedMappers);
+	
 	/**
 	 * @pre La cadena no puede ser nula
 	 * @post Parsea un mapeador cinemático en la cadena especificada
@@ -0,0 +1,300 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.gameengine.physics.plane.kinematics.mapper;
+
+import java.io.Serializable;
+
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.Rotation;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.RotationPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.RotationPlaneKinematicMapperObserver;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.Trajectory;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.TranslationPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.TranslationPlaneKinematicMapperObserver;
+import com.esferixis.math.ProportionalMatrix3f;
+
+/**
+ * Observador de un mapeador cinemático y de todos los mapeadores que lo componen.
+ * 
+ * Notifica cualquier cambio hecho sobre alguno de ellos (Por ejemplo una nueva
+ * trayectoria en el mismo mapeador de traslación), y sigue a los mapeadores
+ * que reemplazan a los componentes.
+ * Los mapeadores notifican los cambios antes de aplicarlos, así que sólo sirve
+ * para invalidar lo que se recalcula después.
+ * 
+ * @author ariel
+ *
+ */
+public abstract class PlaneKinematicMapperTreeObserver implements Serializable {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 3541826317590348210L;
+	
+	/**
+	 * Nodo del árbol de observadores
+	 */
+	private interface Node extends Serializable {
+		/**
+		 * @post Desasocia el observador del nodo y los de sus hijos
+		 */
+		public void detachTree();
+	}
+	
+	private final class TranslationNode<T extends Trajectory> extends TranslationPlaneKinematicMapperObserver<T> implements Node {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -6338137709611236405L;
+		
+		public TranslationNode(TranslationPlaneKinematicMapper<T> mapper) {
+			this.attach(mapper);
+		}
+		
+		@Override
+		protected void notifyTrajectoryChange(T trajectory) {
+			PlaneKinematicMapperTreeObserver.this.notifyChange();
+		}
+		
+		@Override
+		public void detachTree() {
+			this.detach();
+		}
+	}
+	
+	private final class RotationNode<R extends Rotation> extends RotationPlaneKinematicMapperObserver<R> implements Node {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 7924409156318257046L;
+		
+		public RotationNode(RotationPlaneKinematicMapper<R> mapper) {
+			this.attach(mapper);
+		}
+		
+		@Override
+		protected void notifyRotationChange(R newRotation) {
+			PlaneKinematicMapperTreeObserver.this.notifyChange();
+		}
+		
+		@Override
+		public void detachTree() {
+			this.detach();
+		}
+	}
+	
+	private final class StaticAffineNode extends StaticAffineKinematicMapperObserver implements Node {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -2287951770451290962L;
+		
+		public StaticAffineNode(StaticAffinePlaneKinematicMapper mapper) {
+			this.attach(mapper);
+		}
+		
+		@Override
+		protected void notifyTransformMatrixChange(ProportionalMatrix3f newTransformMatrix) {
+			PlaneKinematicMapperTreeObserver.this.notifyChange();
+		}
+		
+		@Override
+		public void detachTree() {
+			this.detach();
+		}
+	}
+	
+	private final class TransformedNode extends TransformedPlaneKinematicMapperObserver implements Node {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 4461580337410675122L;
+		
+		private Node originalNode;
+		private Node transformerNode;
+		
+		public TransformedNode(TransformedPlaneKinematicMapper<? extends PlaneKinematicMapper, ? extends PlaneKinematicMapper> mapper) {
+			this.originalNode = createNode(mapper.getOriginalMapper());
+			this.transformerNode = createNode(mapper.getTransformerMapper());
+			this.attach(mapper);
+		}
+		
+		@Override
+		protected void notifyOriginalMapperChange(PlaneKinematicMapper originalMapper) {
+			this.originalNode.detachTree();
+			this.originalNode = createNode(originalMapper);
+			PlaneKinematicMapperTreeObserver.this.notifyChange();
+		}
+		
+		@Override
+		protected void notifyTransformerMapperChange(PlaneKinematicMapper transformerMapper) {
+			this.transformerNode.detachTree();
+			this.transformerNode = createNode(transformerMapper);
+			PlaneKinematicMapperTreeObserver.this.notifyChange();
+		}
+		
+		@Override
+		public void detachTree() {
+			this.detach();
+			this.originalNode.detachTree();
+			this.transformerNode.detachTree();
+		}
+	}
+	
+	private final class MirrorNode extends MirrorPlaneKinematicMapperObserver implements Node {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -8816047131297411437L;
+		
+		private Node mirroredNode;
+		
+		public MirrorNode(MirrorPlaneKinematicMapper<? extends PlaneKinematicMapper> mapper) {
+			this.mirroredNode = createNode(mapper.getMirroredMapper());
+			this.attach(mapper);
+		}
+		
+		@Override
+		protected void notifyMirroredMapperChange(PlaneKinematicMapper newMirroredMapper) {
+			this.mirroredNode.detachTree();
+			this.mirroredNode = createNode(newMirroredMapper);
+			PlaneKinematicMapperTreeObserver.this.notifyChange();
+		}
+		
+		@Override
+		public void detachTree() {
+			this.detach();
+			this.mirroredNode.detachTree();
+		}
+	}
+	
+	private Node rootNode;
+	
+	/**
+	 * @post Crea el observador, sin asociar
+	 */
+	public PlaneKinematicMapperTreeObserver() {
+		this.rootNode = null;
+	}
+	
+	/**
+	 * @post Crea el nodo que observa el mapeador especificado y sus componentes
+	 */
+	private Node createNode(PlaneKinematicMapper mapper) {
+		return mapper.accept(new PlaneKinematicMapper.Visitor<Node, RuntimeException>() {
+
+			@Override
+			public Node visit(TranslationPlaneKinematicMapper<? extends Trajectory> translationKinematicMapper) {
+				return createTranslationNode(translationKinematicMapper);
+			}
+
+			@Override
+			public Node visit(RotationPlaneKinematicMapper<? extends Rotation> rotationKinematicMapper) {
+				return createRotationNode(rotationKinematicMapper);
+			}
+
+			@Override
+			public Node visit(StaticAffinePlaneKinematicMapper staticAffinePlaneKinematicMapper) {
+				return new StaticAffineNode(staticAffinePlaneKinematicMapper);
+			}
+
+			@Override
+			public Node visit(TransformedPlaneKinematicMapper<? extends PlaneKinematicMapper, ? extends PlaneKinematicMapper> transformedPlaneKinematicMapper) {
+				return new TransformedNode(transformedPlaneKinematicMapper);
+			}
+
+			@Override
+			public Node visit(MirrorPlaneKinematicMapper<? extends PlaneKinematicMapper> mirrorPlaneKinematicMapper) {
+				return new MirrorNode(mirrorPlaneKinematicMapper);
+			}
+			
+		});
+	}
+	
+	/**
+	 * @post Crea el nodo del mapeador de traslación especificado
+	 */
+	private <T extends Trajectory> Node createTranslationNode(TranslationPlaneKinematicMapper<T> mapper) {
+		return new TranslationNode<T>(mapper);
+	}
+	
+	/**
+	 * @post Crea el nodo del mapeador de rotación especificado
+	 */
+	private <R extends Rotation> Node createRotationNode(RotationPlaneKinematicMapper<R> mapper) {
+		return new RotationNode<R>(mapper);
+	}
+	
+	/**
+	 * @pre El mapeador no puede ser nulo, y no tiene que estar asociado
+	 * @post Lo asocia al mapeador especificado
+	 */
+	public final void attach(PlaneKinematicMapper mapper) {
+		if ( mapper != null ) {
+			if ( this.rootNode == null ) {
+				this.rootNode = this.createNode(mapper);
+			}
+			else {
+				throw new IllegalStateException("Expected detached observer");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Tiene que estar asociado
+	 * @post Lo desasocia
+	 */
+	public final void detach() {
+		if ( this.rootNode != null ) {
+			this.rootNode.detachTree();
+			this.rootNode = null;
+		}
+		else {
+			throw new IllegalStateException("Expected attached observer");
+		}
+	}
+	
+	/**
+	 * @post Devuelve si está asociado
+	 */
+	public final boolean isAttached() {
+		return ( this.rootNode != null );
+	}
+	
+	/**
+	 * @post Notifica que cambió el mapeador asociado o alguno de sus componentes.
+	 * 		 Se llama antes de aplicar el cambio
+	 */
+	protected abstract void notifyChange();
+}
@@ -32,6 +32,9 @@
 
 package com.esferixis.gameengine.physics.plane.kinematics.mapper;
 
+import java.util.Set;
+
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalAffineMapper2d;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalPlaneMapper;
 import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
@@ -54,6 +57,13 @@ public final class StaticAffinePlaneKinematicMapper extends PlaneKinematicMapper
 	
 	private ProportionalMatrix3f transformMatrix;
 	
+	/**
+	 * Pose equivalente a la matriz de transformación, sólo es válida si es una semejanza.
+	 * Se reutiliza en cada cambio de matriz
+	 */
+	private final PlanePose transformPose = new PlanePose();
+	private boolean isSimilarity;
+	
 	/**
 	 * @pre El mapeador de plano no puede ser nulo
 	 * @post Crea el mapeador con la matriz proporcional de transformación
@@ -85,6 +95,8 @@ public final class StaticAffinePlaneKinematicMapper extends PlaneKinematicMapper
 				
 			});
 			this.transformMatrix = newTransformMatrix;
+			
+			this.isSimilarity = this.transformPose.set(newTransformMatrix);
 		}
 		else {
 			throw new NullPointerException();
@@ -99,6 +111,21 @@ public final class StaticAffinePlaneKinematicMapper extends PlaneKinematicMapper
 		return new ProportionalAffineMapper2d(this.transformMatrix);
 	}
 	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#applyInstantTransform(float, com.esferixis.gameengine.physics.plane.statics.PlanePose)
+	 */
+	@Override
+	protected boolean applyInstantTransform(float time, PlanePose pose) {
+		if ( this.isSimilarity ) {
+			pose.transform(this.transformPose);
+			
+			return true;
+		}
+		else {
+			return false;
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.arielcarrizo.gameengine.physics.plane.kinematics.KinematicMapper#boundingRegion_internal(com.arielcarrizo.geometry.plane.ProportionalHolomorphicShape, com.arielcarrizo.math.intervalarithmetic.FloatClosedInterval)
 	 */
@@ -172,4 +199,12 @@ public final class StaticAffinePlaneKinematicMapper extends PlaneKinematicMapper
 	public float getStartTime() {
 		return Float.NEGATIVE_INFINITY;
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#rebaseTime_internal(float, java.util.Set)
+	 */
+	@Override
+	protected void rebaseTime_internal(float offset, Set<PlaneKinematicMapper> rebasedMappers) {
+		// No depende del tiempo
+	}
 }
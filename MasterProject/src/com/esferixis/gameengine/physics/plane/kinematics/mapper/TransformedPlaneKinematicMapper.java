@@ -33,7 +33,9 @@
 package com.esferixis.gameengine.physics.plane.kinematics.mapper;
 
 import java.util.List;
+import java.util.Set;
 
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalPlaneMapper;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalTransformedMapper2d;
 import com.esferixis.geometry.plane.finite.Circumference;
@@ -131,6 +133,14 @@ public final class TransformedPlaneKinematicMapper<O extends PlaneKinematicMappe
 	public ProportionalPlaneMapper instantPlaneMapper(float time) {
 		return new ProportionalTransformedMapper2d(this.originalMapper.instantPlaneMapper(time), this.transformerMapper.instantPlaneMapper(time));
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#applyInstantTransform(float, com.esferixis.gameengine.physics.plane.statics.PlanePose)
+	 */
+	@Override
+	protected boolean applyInstantTransform(float time, PlanePose pose) {
+		return this.originalMapper.applyInstantTransform(time, pose) && this.transformerMapper.applyInstantTransform(time, pose);
+	}
 
 	/* (non-Javadoc)
 	 * @see com.esferixis.gameengine.physics.plane.kinematics.KinematicMapper#boundingRegion_internal(com.esferixis.geometry.plane.ProportionalHolomorphicShape, com.esferixis.math.intervalarithmetic.FloatClosedInterval)
@@ -206,4 +216,13 @@ public final class TransformedPlaneKinematicMapper<O extends PlaneKinematicMappe
 	public float getStartTime() {
 		return Math.max(this.originalMapper.getStartTime(), this.transformerMapper.getStartTime());
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#rebaseTime_internal(float, java.util.Set)
+	 */
+	@Override
+	protected void rebaseTime_internal(float offset, Set<PlaneKinematicMapper> rebasedMappers) {
+		this.originalMapper.rebaseTime(offset, rebasedMappers);
+		this.transformerMapper.rebaseTime(offset, rebasedMappers);
+	}
 }
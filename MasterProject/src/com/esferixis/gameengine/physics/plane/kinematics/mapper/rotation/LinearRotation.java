@@ -109,6 +109,14 @@ public final class LinearRotation extends Rotation {
 		return this.startAngle + (time - this.getStartTime()) * this.angularVelocity;
 	}
 	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.Rotation#rebased(float)
+	 */
+	@Override
+	public LinearRotation rebased(float offset) {
+		return new LinearRotation(this.getStartTime() - offset, this.startAngle, this.angularVelocity);
+	}
+	
 	/**
 	 * @pre La cadena de carácteres no puede ser nula
 	 * @post Parsea la rotación lineal en la cadena de carácteres especificada
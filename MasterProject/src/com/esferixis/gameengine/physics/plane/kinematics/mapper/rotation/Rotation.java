@@ -83,6 +83,13 @@ public abstract class Rotation implements Serializable {
 	 */
 	public abstract FloatClosedInterval getAngleInterval(FloatClosedInterval timeInterval);
 	
+	/**
+	 * @pre El desplazamiento tiene que ser un número finito
+	 * @post Devuelve una rotación de la misma clase, con los mismos ángulos
+	 * 		 y con los tiempos desplazados restando el desplazamiento especificado
+	 */
+	public abstract Rotation rebased(float offset);
+	
 	/**
 	 * @post Devuelve el tiempo de comienzo
 	 */
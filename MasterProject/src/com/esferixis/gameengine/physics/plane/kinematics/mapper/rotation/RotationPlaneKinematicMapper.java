@@ -35,8 +35,10 @@ package com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalAffineMapper2d;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalPlaneMapper;
 import com.esferixis.geometry.Geometry;
@@ -119,6 +121,16 @@ public final class RotationPlaneKinematicMapper<R extends Rotation> extends Plan
 		return new ProportionalAffineMapper2d(Matrix3f.IDENTITY.rotate(this.rotation.getAngle(time)));
 	}
 	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#applyInstantTransform(float, com.esferixis.gameengine.physics.plane.statics.PlanePose)
+	 */
+	@Override
+	protected boolean applyInstantTransform(float time, PlanePose pose) {
+		pose.rotate(this.rotation.getAngle(time));
+		
+		return true;
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.esferixis.gameengine.physics.plane.kinematics.KinematicMapper#boundingRegion_internal(com.esferixis.geometry.plane.ProportionalHolomorphicShape, com.esferixis.math.intervalarithmetic.FloatClosedInterval)
 	 */
@@ -522,4 +534,13 @@ public final class RotationPlaneKinematicMapper<R extends Rotation> extends Plan
 	public float getStartTime() {
 		return this.rotation.getStartTime();
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#rebaseTime_internal(float, java.util.Set)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void rebaseTime_internal(float offset, Set<PlaneKinematicMapper> rebasedMappers) {
+		this.setRotation( (R) this.rotation.rebased(offset) );
+	}
 }
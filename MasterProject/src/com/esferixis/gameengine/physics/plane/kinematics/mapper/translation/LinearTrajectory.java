@@ -34,6 +34,7 @@ package com.esferixis.gameengine.physics.plane.kinematics.mapper.translation;
 
 import java.util.List;
 
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
 import com.esferixis.geometry.plane.finite.LineSegment;
 import com.esferixis.math.Vector2f;
@@ -100,6 +101,29 @@ public final class LinearTrajectory extends Trajectory {
 		return this.startPosition.add(this.velocity.scale(time-this.getStartTime()));
 	}
 
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.Trajectory#rebased(float)
+	 */
+	@Override
+	public LinearTrajectory rebased(float offset) {
+		return new LinearTrajectory(this.getStartTime() - offset, this.startPosition, this.velocity);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.Trajectory#applyInstantTranslation(float, com.esferixis.gameengine.physics.plane.statics.PlanePose)
+	 */
+	@Override
+	public void applyInstantTranslation(float time, PlanePose pose) {
+		if ( pose != null ) {
+			final float elapsedTime = time - this.getStartTime();
+			
+			pose.translate(this.startPosition.getX() + this.velocity.getX() * elapsedTime, this.startPosition.getY() + this.velocity.getY() * elapsedTime);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see com.esferixis.gameengine.physics.plane.kinematics.translation.Trajectory#intervalShape(com.esferixis.math.intervalarithmetic.FloatClosedInterval)
 	 */
@@ -34,6 +34,7 @@ package com.esferixis.gameengine.physics.plane.kinematics.mapper.translation;
 
 import java.io.Serializable;
 
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
 import com.esferixis.math.Vector2f;
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
@@ -101,6 +102,31 @@ public abstract class Trajectory implements Serializable {
 	 */
 	public abstract Vector2f getInstantVelocity(float time);
 	
+	/**
+	 * @pre El desplazamiento tiene que ser un número finito
+	 * @post Devuelve una trayectoria de la misma clase, con el mismo recorrido
+	 * 		 y con los tiempos desplazados restando el desplazamiento especificado
+	 */
+	public abstract Trajectory rebased(float offset);
+	
+	/**
+	 * @pre La pose no puede ser nula, y el instante de tiempo no puede ser menor al tiempo
+	 * 	    de comienzo de la trayectoria
+	 * @post Aplica la traslación a la posición del instante de tiempo especificado, después
+	 * 		 de la transformación de la pose especificada.
+	 * 		 Si no se cumple la precondición del tiempo el resultado es indeterminado.
+	 */
+	public void applyInstantTranslation(float time, PlanePose pose) {
+		if ( pose != null ) {
+			final Vector2f position = this.getInstantPosition(time);
+			
+			pose.translate(position.getX(), position.getY());
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
 	/**
 	 * @pre El intervalo de tiempo no puede ser nulo y no puede comenzar
 	 * 		antes que la trayectoria
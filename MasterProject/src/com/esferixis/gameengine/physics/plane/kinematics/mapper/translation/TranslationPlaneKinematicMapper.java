@@ -32,8 +32,11 @@
 
 package com.esferixis.gameengine.physics.plane.kinematics.mapper.translation;
 
+import java.util.Set;
+
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.StaticAffinePlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalAffineMapper2d;
 import com.esferixis.gameengine.physics.plane.statics.ProportionalPlaneMapper;
 import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
@@ -101,6 +104,16 @@ public final class TranslationPlaneKinematicMapper<T extends Trajectory> extends
 		return new ProportionalAffineMapper2d(Matrix3f.IDENTITY.translate(this.getTrajectory().getInstantPosition(time)));
 	}
 	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#applyInstantTransform(float, com.esferixis.gameengine.physics.plane.statics.PlanePose)
+	 */
+	@Override
+	protected boolean applyInstantTransform(float time, PlanePose pose) {
+		this.getTrajectory().applyInstantTranslation(time, pose);
+		
+		return true;
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.esferixis.gameengine.physics.plane.kinematics.KinematicMapper#boundingRegion_internal(com.esferixis.geometry.plane.ProportionalHolomorphicShape, com.esferixis.math.intervalarithmetic.FloatClosedInterval)
 	 */
@@ -175,5 +188,14 @@ public final class TranslationPlaneKinematicMapper<T extends Trajectory> extends
 	public float getStartTime() {
 		return this.trajectory.getStartTime();
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper#rebaseTime_internal(float, java.util.Set)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void rebaseTime_internal(float offset, Set<PlaneKinematicMapper> rebasedMappers) {
+		this.setTrajectory( (T) this.trajectory.rebased(offset) );
+	}
 }
 
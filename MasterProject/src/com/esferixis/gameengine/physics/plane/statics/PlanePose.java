@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.physics.plane.statics;
+
+import java.io.Serializable;
+
+import com.esferixis.math.Matrix3f;
+import com.esferixis.math.ProportionalMatrix3f;
+import com.esferixis.math.Vector2f;
+
+/**
+ * Pose de plano mutable.
+ * 
+ * Representa una transformación de semejanza (Escala uniforme, rotación y traslación, sin reflexión)
+ * como p -> w * p + t, donde w es un número complejo y t una traslación.
+ * Está pensada para que quien la usa la cree una vez y la reutilice,
+ * sin crear objetos en cada operación.
+ * 
+ * @author ariel
+ *
+ */
+public final class PlanePose implements Serializable {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 3530416174385902267L;
+	
+	/**
+	 * Tolerancia relativa para considerar que una matriz es una semejanza
+	 */
+	private static final float SIMILARITY_TOLERANCE = 1e-5f;
+	
+	/**
+	 * Par de poses de trabajo por hilo, para usar en caminos críticos
+	 * que pueden ejecutarse en paralelo sin crear poses en cada llamada
+	 */
+	public static final class ThreadLocalPair extends ThreadLocal<PlanePose[]> {
+		/* (non-Javadoc)
+		 * @see java.lang.ThreadLocal#initialValue()
+		 */
+		@Override
+		protected PlanePose[] initialValue() {
+			return new PlanePose[] { new PlanePose(), new PlanePose() };
+		}
+	}
+	
+	private float a, b;
+	private float translationX, translationY;
+	
+	/**
+	 * @post Crea la pose identidad
+	 */
+	public PlanePose() {
+		this.setIdentity();
+	}
+	
+	/**
+	 * @post Especifica la identidad
+	 */
+	public void setIdentity() {
+		this.a = 1.0f;
+		this.b = 0.0f;
+		this.translationX = 0.0f;
+		this.translationY = 0.0f;
+	}
+	
+	/**
+	 * @pre La pose no puede ser nula
+	 * @post Copia la pose especificada
+	 */
+	public void set(PlanePose other) {
+		if ( other != null ) {
+			this.a = other.a;
+			this.b = other.b;
+			this.translationX = other.translationX;
+			this.translationY = other.translationY;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Especifica la transformación de la matriz especificada y devuelve true si es
+	 * 		 una semejanza sin reflexión.
+	 * 		 Caso contrario devuelve false y no modifica la pose
+	 */
+	public boolean set(Matrix3f matrix) {
+		if ( matrix != null ) {
+			final Vector2f origin = matrix.transformPoint(Vector2f.ZERO);
+			final Vector2f xAxis = matrix.transformPoint(new Vector2f(1.0f, 0.0f)).sub(origin);
+			final Vector2f yAxis = matrix.transformPoint(new Vector2f(0.0f, 1.0f)).sub(origin);
+			
+			final float error = Math.abs(yAxis.getX() + xAxis.getY()) + Math.abs(yAxis.getY() - xAxis.getX());
+			final boolean isSimilarity = ( error <= SIMILARITY_TOLERANCE * ( Math.abs(xAxis.getX()) + Math.abs(xAxis.getY()) ) );
+			
+			if ( isSimilarity ) {
+				this.a = xAxis.getX();
+				this.b = xAxis.getY();
+				this.translationX = origin.getX();
+				this.translationY = origin.getY();
+			}
+			
+			return isSimilarity;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Aplica la traslación especificada después de la transformación actual
+	 */
+	public void translate(float x, float y) {
+		this.translationX += x;
+		this.translationY += y;
+	}
+	
+	/**
+	 * @post Aplica la rotación alrededor del origen especificada después de la transformación actual
+	 */
+	public void rotate(float angle) {
+		final float cos = (float) Math.cos(angle);
+		final float sin = (float) Math.sin(angle);
+		
+		final float newA = cos * this.a - sin * this.b;
+		final float newB = sin * this.a + cos * this.b;
+		final float newTranslationX = cos * this.translationX - sin * this.translationY;
+		final float newTranslationY = sin * this.translationX + cos * this.translationY;
+		
+		this.a = newA;
+		this.b = newB;
+		this.translationX = newTranslationX;
+		this.translationY = newTranslationY;
+	}
+	
+	/**
+	 * @post Aplica la escala uniforme especificada después de la transformación actual
+	 */
+	public void scale(float factor) {
+		this.a *= factor;
+		this.b *= factor;
+		this.translationX *= factor;
+		this.translationY *= factor;
+	}
+	
+	/**
+	 * @pre La pose no puede ser nula
+	 * @post Aplica la pose especificada después de la transformación actual
+	 */
+	public void transform(PlanePose other) {
+		if ( other != null ) {
+			final float newA = other.a * this.a - other.b * this.b;
+			final float newB = other.b * this.a + other.a * this.b;
+			final float newTranslationX = other.transformX(this.translationX, this.translationY);
+			final float newTranslationY = other.transformY(this.translationX, this.translationY);
+			
+			this.a = newA;
+			this.b = newB;
+			this.translationX = newTranslationX;
+			this.translationY = newTranslationY;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La escala no puede ser cero
+	 * @post Invierte la transformación
+	 */
+	public void invert() {
+		final float squaredScale = this.a * this.a + this.b * this.b;
+		
+		if ( squaredScale != 0.0f ) {
+			final float inverseA = this.a / squaredScale;
+			final float inverseB = -this.b / squaredScale;
+			
+			final float newTranslationX = -( inverseA * this.translationX - inverseB * this.translationY );
+			final float newTranslationY = -( inverseB * this.translationX + inverseA * this.translationY );
+			
+			this.a = inverseA;
+			this.b = inverseB;
+			this.translationX = newTranslationX;
+			this.translationY = newTranslationY;
+		}
+		else {
+			throw new IllegalStateException("Non invertible pose");
+		}
+	}
+	
+	/**
+	 * @post Devuelve la componente x de la transformación del punto especificado
+	 */
+	public float transformX(float x, float y) {
+		return this.a * x - this.b * y + this.translationX;
+	}
+	
+	/**
+	 * @post Devuelve la componente y de la transformación del punto especificado
+	 */
+	public float transformY(float x, float y) {
+		return this.b * x + this.a * y + this.translationY;
+	}
+	
+	/**
+	 * @post Devuelve la escala
+	 */
+	public float getScale() {
+		return (float) Math.sqrt(this.a * this.a + this.b * this.b);
+	}
+	
+	/**
+	 * @post Devuelve el ángulo de rotación
+	 */
+	public float getAngle() {
+		return (float) Math.atan2(this.b, this.a);
+	}
+	
+	/**
+	 * @post Devuelve la componente x de la traslación
+	 */
+	public float getTranslationX() {
+		return this.translationX;
+	}
+	
+	/**
+	 * @post Devuelve la componente y de la traslación
+	 */
+	public float getTranslationY() {
+		return this.translationY;
+	}
+	
+	/**
+	 * @post Devuelve si es una traslación pura
+	 */
+	public boolean isTranslation() {
+		return ( this.a == 1.0f ) && ( this.b == 0.0f );
+	}
+	
+	/**
+	 * @post Crea la matriz equivalente
+	 */
+	public ProportionalMatrix3f toMatrix() {
+		ProportionalMatrix3f matrix = Matrix3f.IDENTITY;
+		
+		if ( !this.isTranslation() ) {
+			matrix = matrix.scale(this.getScale()).rotate(this.getAngle());
+		}
+		
+		return matrix.translate(new Vector2f(this.translationX, this.translationY));
+	}
+	
+	/**
+	 * @post Devuelve una representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "PlanePose(" + this.getScale() + ", " + this.getAngle() + ", " + this.translationX + ", " + this.translationY + ")";
+	}
+}
@@ -31,6 +31,8 @@
  */
 package com.esferixis.gameengine.physics.time;
 
+import java.io.Serializable;
+
 /**
  * @author ariel
  *
@@ -48,6 +50,32 @@ public final class NestedTemporalEventsEngine extends TemporalEventsEngine {
 	
 	private TemporalEvent exteriorTemporalEvent;
 	
+	/**
+	 * Receptor que propaga los cambios de origen de tiempo del contenedor.
+	 * Desplaza el tiempo de referencia exterior, y también el tiempo interior,
+	 * los eventos pendientes y los receptores del motor anidado, de modo que
+	 * el tiempo interior tampoco crece sin límite
+	 */
+	private final class ExteriorRebaseListener implements TemporalEventsRebaseListener, Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -1424503577209727151L;
+
+		@Override
+		public void notifyRebase(float offset) {
+			final NestedTemporalEventsEngine engine = NestedTemporalEventsEngine.this;
+			
+			// Primero el tiempo actual, los receptores pueden consultarlo
+			engine.exteriorReferenceTime -= offset;
+			engine.interiorStartTime -= offset;
+			engine.rebaseEvents(offset);
+		}
+	}
+	
+	// Sólo está agregado en el contenedor mientras el motor está en marcha
+	private final ExteriorRebaseListener exteriorRebaseListener;
+	
 	/**
 	 * @post Crea el motor de eventos temporales anidado, con el manejador de eventos
 	 * 		 temporales, y el tiempo de comienzo interno especificado
@@ -58,6 +86,7 @@ public final class NestedTemporalEventsEngine extends TemporalEventsEngine {
 			this.exteriorReferenceTime = 0;
 			this.interiorStartTime = interiorStartTime;
 			this.exteriorTemporalEvent = null;
+			this.exteriorRebaseListener = new ExteriorRebaseListener();
 		}
 		else {
 			throw new NullPointerException();
@@ -70,6 +99,7 @@ public final class NestedTemporalEventsEngine extends TemporalEventsEngine {
 	public void start() {
 		if ( !this.running ) {
 			this.exteriorReferenceTime = this.containerTemporalEventsManager.getCurrentTime();
+			this.containerTemporalEventsManager.addRebaseListener(this.exteriorRebaseListener);
 			
 			this.prepareNextExteriorEvent();
 			
@@ -85,6 +115,7 @@ public final class NestedTemporalEventsEngine extends TemporalEventsEngine {
 			this.cancelPendingExteriorEvent();
 			
 			this.interiorStartTime = this.getCurrentTime();
+			this.containerTemporalEventsManager.removeRebaseListener(this.exteriorRebaseListener);
 			
 			this.running = false;
 		}
@@ -95,18 +126,28 @@ public final class NestedTemporalEventsEngine extends TemporalEventsEngine {
 	 */
 	private void prepareNextExteriorEvent() {
 		if ( this.getEventsManager().remainingEvents() ) {
-		
-			this.exteriorTemporalEvent = new TemporalEvent(this.exteriorReferenceTime + this.getEventsManager().getNearestEventTime() - this.getEventsManager().getCurrentTime()) {
-
-				@Override
-				protected void launch(TemporalEventsManager eventsManager) {
-					NestedTemporalEventsEngine.this.launchNearestEvent();
-					NestedTemporalEventsEngine.this.prepareNextExteriorEvent();
-				}
-				
-			};
+			final float exteriorLaunchTime = this.exteriorReferenceTime + this.getEventsManager().getNearestEventTime() - this.getEventsManager().getCurrentTime();
 			
-			this.containerTemporalEventsManager.addEvent(this.exteriorTemporalEvent);
+			if ( this.exteriorTemporalEvent == null ) {
+				this.exteriorTemporalEvent = new TemporalEvent(exteriorLaunchTime) {
+	
+					@Override
+					protected void launch(TemporalEventsManager eventsManager) {
+						NestedTemporalEventsEngine.this.launchNearestEvent();
+						NestedTemporalEventsEngine.this.prepareNextExteriorEvent();
+					}
+					
+				};
+				
+				this.containerTemporalEventsManager.addEvent(this.exteriorTemporalEvent);
+			}
+			else {
+				// Reutiliza el evento exterior, moviéndolo sin quitarlo
+				this.containerTemporalEventsManager.rescheduleEvent(this.exteriorTemporalEvent, exteriorLaunchTime);
+			}
+		}
+		else {
+			this.cancelPendingExteriorEvent();
 		}
 	}
 	
@@ -126,7 +167,6 @@ public final class NestedTemporalEventsEngine extends TemporalEventsEngine {
 	@Override
 	protected void notifyLastEventToBeLaunchedChange() {
 		if ( this.running ) {
-			this.cancelPendingExteriorEvent();
 			this.prepareNextExteriorEvent();
 		}
 	}
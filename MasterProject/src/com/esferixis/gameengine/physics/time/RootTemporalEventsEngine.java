@@ -33,8 +33,6 @@
 package com.esferixis.gameengine.physics.time;
 
 import java.io.Serializable;
-import java.util.PriorityQueue;
-import java.util.Queue;
 
 /**
  * Máquina de estados temporales
@@ -50,11 +48,50 @@ public final class RootTemporalEventsEngine extends TemporalEventsEngine impleme
 	
 	private float currentTime;
 	
+	private float rebaseThreshold;
+	
 	/**
 	 * @post Crea una máquina
 	 */
 	public RootTemporalEventsEngine() {
 		this.currentTime = -Float.MAX_VALUE;
+		this.rebaseThreshold = Float.POSITIVE_INFINITY;
+	}
+	
+	/**
+	 * @pre El umbral tiene que ser positivo
+	 * @post Especifica el umbral de tiempo a partir del cual, antes de lanzar
+	 * 		 el próximo evento, el origen de tiempo se mueve al tiempo actual.
+	 * 		 Permite sesiones de larga duración sin perder precisión en los tiempos.
+	 * 		 Si es infinito, nunca cambia el origen de tiempo (Por defecto)
+	 */
+	public void setRebaseThreshold(float rebaseThreshold) {
+		if ( rebaseThreshold > 0.0f ) {
+			this.rebaseThreshold = rebaseThreshold;
+		}
+		else {
+			throw new IllegalArgumentException("Expected positive threshold");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el umbral de tiempo a partir del cual se mueve
+	 * 		 el origen de tiempo
+	 */
+	public float getRebaseThreshold() {
+		return this.rebaseThreshold;
+	}
+	
+	/**
+	 * @pre El desplazamiento tiene que ser un número finito,
+	 * 		y no puede llamarse durante un lote de eventos
+	 * @post Resta el desplazamiento especificado al tiempo actual y a los
+	 * 		 tiempos de lanzamiento de todos los eventos pendientes,
+	 * 		 y notifica a los receptores de cambio de origen de tiempo
+	 */
+	public void rebase(float offset) {
+		this.rebaseEvents(offset);
+		this.currentTime -= offset;
 	}
 
 	/**
@@ -70,6 +107,10 @@ public final class RootTemporalEventsEngine extends TemporalEventsEngine impleme
 			
 				while ( this.running ) {
 					if ( this.getEventsManager().remainingEvents() ) {
+						if ( this.currentTime >= this.rebaseThreshold ) {
+							this.rebase(this.currentTime);
+						}
+						
 						this.currentTime = this.getEventsManager().getNearestEventTime();
 						this.launchNearestEvent();
 					}
@@ -33,7 +33,10 @@
 package com.esferixis.gameengine.physics.time;
 
 public abstract class TemporalEvent implements Comparable<TemporalEvent>{
-	protected final float launchTime; // Tiempo de lanzamiento
+	private float launchTime; // Tiempo de lanzamiento
+	
+	TemporalEventsHeap heap; // Montículo que lo contiene, es nulo si no está agregado
+	int heapIndex; // Posición en el montículo
 	
 	/**
 	 * @pre La sesión no puede ser nula y el tiempo tiene que ser un número finito
@@ -42,6 +45,8 @@ public abstract class TemporalEvent implements Comparable<TemporalEvent>{
 	public TemporalEvent(float launchTime) {
 		if ( !Float.isInfinite(launchTime) && !Float.isNaN(launchTime) ) {
 			this.launchTime = launchTime;
+			this.heap = null;
+			this.heapIndex = -1;
 		}
 		else {
 			throw new IllegalArgumentException();
@@ -55,6 +60,16 @@ public abstract class TemporalEvent implements Comparable<TemporalEvent>{
 		return this.launchTime;
 	}
 	
+	/**
+	 * @pre El tiempo tiene que ser un número finito
+	 * @post Especifica el instante de tiempo en que sucederá el evento.
+	 * 		 Sólo lo usan el montículo y el motor de eventos, que
+	 * 		 mantienen su copia del tiempo sincronizada
+	 */
+	void setLaunchTime(float launchTime) {
+		this.launchTime = launchTime;
+	}
+	
 	/**
 	 * @post Dispara el evento con el manejador de eventos especificado
 	 */
@@ -32,8 +32,8 @@
 package com.esferixis.gameengine.physics.time;
 
 import java.io.Serializable;
-import java.util.PriorityQueue;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author ariel
@@ -46,17 +46,27 @@ public abstract class TemporalEventsEngine implements Serializable {
 	 */
 	private static final long serialVersionUID = 3846771343446828852L;
 	
-	private final Queue<TemporalEvent> timeEventsQueue;
+	private final TemporalEventsHeap timeEventsQueue;
 	
 	private final TemporalEventsManager eventsManager;
 	
 	protected boolean running;
 	
+	private boolean batchLaunching;
+	private boolean launchingBatch;
+	private final List<TemporalEventsBatchListener> pendingBatchListeners;
+	
+	private final List<TemporalEventsRebaseListener> rebaseListeners;
+	
 	/**
 	 * @post Crea una máquina
 	 */
 	public TemporalEventsEngine() {
-		this.timeEventsQueue = new PriorityQueue<TemporalEvent>();
+		this.timeEventsQueue = new TemporalEventsHeap();
+		this.batchLaunching = false;
+		this.launchingBatch = false;
+		this.pendingBatchListeners = new ArrayList<TemporalEventsBatchListener>();
+		this.rebaseListeners = new ArrayList<TemporalEventsRebaseListener>();
 		
 		this.eventsManager = new TemporalEventsManager() {
 
@@ -75,7 +85,7 @@ public abstract class TemporalEventsEngine implements Serializable {
 				final float result;
 				
 				if ( this.remainingEvents() ) {
-					result = TemporalEventsEngine.this.timeEventsQueue.peek().getLaunchTime();
+					result = TemporalEventsEngine.this.timeEventsQueue.peekLaunchTime();
 				}
 				else {
 					throw new IllegalStateException("Expected remaining events");
@@ -87,17 +97,74 @@ public abstract class TemporalEventsEngine implements Serializable {
 			@Override
 			public void addEvent(TemporalEvent temporalEvent) {
 				if ( temporalEvent != null ) {
-					if ( temporalEvent.getLaunchTime() >= this.getCurrentTime() ) {
-						final float oldNearestEventTime = ( this.remainingEvents() ? this.getNearestEventTime() : Float.POSITIVE_INFINITY );
+					if ( temporalEvent.heap == null ) {
+						if ( temporalEvent.getLaunchTime() >= this.getCurrentTime() ) {
+							final TemporalEventsHeap timeEventsQueue = TemporalEventsEngine.this.timeEventsQueue;
+							
+							timeEventsQueue.add(temporalEvent);
+							
+							if ( timeEventsQueue.peek() == temporalEvent ) {
+								TemporalEventsEngine.this.notifyLastEventToBeLaunchedChange();
+							}
+						}
+						else {
+							throw new IllegalArgumentException("Attemped to add an past event");
+						}
+					}
+					else if ( temporalEvent.heap != TemporalEventsEngine.this.timeEventsQueue ) {
+						throw new IllegalStateException("Attemped to add an event of another engine");
+					}
+				}
+				else {
+					throw new NullPointerException();
+				}
+			}
+
+			@Override
+			public void removeEvent(TemporalEvent temporalEvent) {
+				if ( temporalEvent != null ) {
+					final TemporalEventsHeap timeEventsQueue = TemporalEventsEngine.this.timeEventsQueue;
+					
+					if ( timeEventsQueue.contains(temporalEvent) ) {
+						final boolean wasNearestEvent = ( timeEventsQueue.peek() == temporalEvent );
 						
-						TemporalEventsEngine.this.timeEventsQueue.add(temporalEvent);
+						timeEventsQueue.remove(temporalEvent);
 						
-						if ( temporalEvent.getLaunchTime() <= oldNearestEventTime ) {
+						if ( wasNearestEvent ) {
 							TemporalEventsEngine.this.notifyLastEventToBeLaunchedChange();
 						}
 					}
+				}
+				else {
+					throw new NullPointerException();
+				}
+			}
+			
+			@Override
+			public void rescheduleEvent(TemporalEvent temporalEvent, float newLaunchTime) {
+				if ( temporalEvent != null ) {
+					if ( !Float.isInfinite(newLaunchTime) && !Float.isNaN(newLaunchTime) && ( newLaunchTime >= this.getCurrentTime() ) ) {
+						final TemporalEventsHeap timeEventsQueue = TemporalEventsEngine.this.timeEventsQueue;
+						
+						if ( timeEventsQueue.contains(temporalEvent) ) {
+							final boolean wasNearestEvent = ( timeEventsQueue.peek() == temporalEvent );
+							
+							timeEventsQueue.reschedule(temporalEvent, newLaunchTime);
+							
+							if ( wasNearestEvent || ( timeEventsQueue.peek() == temporalEvent ) ) {
+								TemporalEventsEngine.this.notifyLastEventToBeLaunchedChange();
+							}
+						}
+						else if ( temporalEvent.heap == null ) {
+							temporalEvent.setLaunchTime(newLaunchTime);
+							this.addEvent(temporalEvent);
+						}
+						else {
+							throw new IllegalStateException("Attemped to reschedule an event of another engine");
+						}
+					}
 					else {
-						throw new IllegalArgumentException("Attemped to add an past event");
+						throw new IllegalArgumentException("Invalid launch time");
 					}
 				}
 				else {
@@ -106,12 +173,41 @@ public abstract class TemporalEventsEngine implements Serializable {
 			}
 
 			@Override
-			public void removeEvent(TemporalEvent temporalEvent) {
-				final TemporalEvent oldNearestEvent = TemporalEventsEngine.this.timeEventsQueue.peek();
-				TemporalEventsEngine.this.timeEventsQueue.remove(temporalEvent);
-				
-				if ( temporalEvent == oldNearestEvent ) {
-					TemporalEventsEngine.this.notifyLastEventToBeLaunchedChange();
+			public void notifyOnBatchEnd(TemporalEventsBatchListener listener) {
+				if ( listener != null ) {
+					if ( TemporalEventsEngine.this.launchingBatch ) {
+						if ( !TemporalEventsEngine.this.pendingBatchListeners.contains(listener) ) {
+							TemporalEventsEngine.this.pendingBatchListeners.add(listener);
+						}
+					}
+					else {
+						listener.notifyBatchEnd(this);
+					}
+				}
+				else {
+					throw new NullPointerException();
+				}
+			}
+
+			@Override
+			public void addRebaseListener(TemporalEventsRebaseListener listener) {
+				if ( listener != null ) {
+					if ( !TemporalEventsEngine.this.rebaseListeners.contains(listener) ) {
+						TemporalEventsEngine.this.rebaseListeners.add(listener);
+					}
+				}
+				else {
+					throw new NullPointerException();
+				}
+			}
+
+			@Override
+			public void removeRebaseListener(TemporalEventsRebaseListener listener) {
+				if ( listener != null ) {
+					TemporalEventsEngine.this.rebaseListeners.remove(listener);
+				}
+				else {
+					throw new NullPointerException();
 				}
 			}
 
@@ -132,6 +228,54 @@ public abstract class TemporalEventsEngine implements Serializable {
 		return this.eventsManager;
 	}
 	
+	/**
+	 * @post Especifica si los eventos con el mismo tiempo de lanzamiento se lanzan
+	 * 		 en un solo lote.
+	 * 		 En ese caso los receptores de fin de lote se notifican una sola vez
+	 * 		 después de lanzar todos los eventos del lote.
+	 * 		 Por defecto está desactivado
+	 */
+	public final void setBatchLaunching(boolean batchLaunching) {
+		this.batchLaunching = batchLaunching;
+	}
+	
+	/**
+	 * @post Devuelve si los eventos con el mismo tiempo de lanzamiento se lanzan
+	 * 		 en un solo lote
+	 */
+	public final boolean isBatchLaunching() {
+		return this.batchLaunching;
+	}
+	
+	/**
+	 * @pre El desplazamiento tiene que ser un número finito, y no tiene que
+	 * 		haber un lote de eventos en curso
+	 * @post Resta el desplazamiento especificado a los tiempos de lanzamiento
+	 * 		 de todos los eventos pendientes, y notifica a los receptores de cambio
+	 * 		 de origen de tiempo.
+	 * 		 El tiempo actual tiene que desplazarse de la misma manera
+	 */
+	protected final void rebaseEvents(float offset) {
+		if ( !Float.isInfinite(offset) && !Float.isNaN(offset) ) {
+			if ( !this.launchingBatch ) {
+				this.timeEventsQueue.shiftLaunchTimes(offset);
+				
+				// Los receptores pueden quitarse durante la notificación
+				final TemporalEventsRebaseListener[] listeners = this.rebaseListeners.toArray(new TemporalEventsRebaseListener[this.rebaseListeners.size()]);
+				
+				for ( TemporalEventsRebaseListener eachListener : listeners ) {
+					eachListener.notifyRebase(offset);
+				}
+			}
+			else {
+				throw new IllegalStateException("Cannot rebase while launching a batch");
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Invalid offset");
+		}
+	}
+	
 	/**
 	 * @post Notifica un cambio en el último evento a lanzarse
 	 */
@@ -151,17 +295,44 @@ public abstract class TemporalEventsEngine implements Serializable {
 	
 	/**
 	 * @pre Tiene que haber eventos
-	 * @post Lanza el evento más cercano
+	 * @post Lanza el evento más cercano.
+	 * 		 Si se lanzan eventos por lotes, lanza todos los eventos con el mismo
+	 * 		 tiempo de lanzamiento, incluidos los que se agreguen durante el lote,
+	 * 		 y después notifica a los receptores de fin de lote
 	 */
 	protected final void launchNearestEvent() {
 		if ( this.getEventsManager().remainingEvents() ) {
-			final TemporalEvent nearestEvent = this.timeEventsQueue.poll();
-			
-			if (nearestEvent != null ) {
-				nearestEvent.launch(this.getEventsManager());
+			if ( this.batchLaunching && !this.launchingBatch ) {
+				final float batchTime = this.timeEventsQueue.peekLaunchTime();
+				
+				this.pendingBatchListeners.clear();
+				this.launchingBatch = true;
+				
+				try {
+					do {
+						this.timeEventsQueue.poll().launch(this.getEventsManager());
+					} while ( ( !this.timeEventsQueue.isEmpty() ) && ( this.timeEventsQueue.peekLaunchTime() == batchTime ) );
+				}
+				finally {
+					this.launchingBatch = false;
+				}
+				
+				// Notifica a los receptores una sola vez, los que se especifiquen durante la notificación se notifican inmediatamente
+				for ( int i = 0 ; i < this.pendingBatchListeners.size() ; i++ ) {
+					this.pendingBatchListeners.get(i).notifyBatchEnd(this.getEventsManager());
+				}
+				
+				this.pendingBatchListeners.clear();
 			}
 			else {
-				throw new RuntimeException("Fatal error: No temporal events left");
+				final TemporalEvent nearestEvent = this.timeEventsQueue.poll();
+				
+				if (nearestEvent != null ) {
+					nearestEvent.launch(this.getEventsManager());
+				}
+				else {
+					throw new RuntimeException("Fatal error: No temporal events left");
+				}
 			}
 		}
 		else {
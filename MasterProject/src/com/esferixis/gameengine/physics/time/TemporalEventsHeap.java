@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.physics.time;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Montículo d-ario indexado de eventos temporales.
+ * Los tiempos de lanzamiento se guardan en un arreglo de flotantes paralelo,
+ * y cada evento recuerda su posición en el montículo, de modo que quitar
+ * y reprogramar un evento es O(log n)
+ * 
+ * @author ariel
+ *
+ */
+public final class TemporalEventsHeap implements Serializable {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -3390126400417462514L;
+	
+	private static final int ARITY = 4;
+	private static final int INITIAL_CAPACITY = 16;
+	
+	private TemporalEvent[] events;
+	private float[] launchTimes;
+	private int size;
+	
+	/**
+	 * @post Crea el montículo vacío
+	 */
+	public TemporalEventsHeap() {
+		this.events = new TemporalEvent[INITIAL_CAPACITY];
+		this.launchTimes = new float[INITIAL_CAPACITY];
+		this.size = 0;
+	}
+	
+	/**
+	 * @post Devuelve si está vacío
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de eventos
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * @pre El evento no puede ser nulo
+	 * @post Devuelve si contiene el evento especificado
+	 */
+	public boolean contains(TemporalEvent event) {
+		return event.heap == this;
+	}
+	
+	/**
+	 * @post Devuelve el evento más cercano, si no hay devuelve null
+	 */
+	public TemporalEvent peek() {
+		return ( this.size != 0 ? this.events[0] : null );
+	}
+	
+	/**
+	 * @pre No tiene que estar vacío
+	 * @post Devuelve el tiempo de lanzamiento del evento más cercano
+	 */
+	public float peekLaunchTime() {
+		return this.launchTimes[0];
+	}
+	
+	/**
+	 * @pre El evento no puede ser nulo, y no tiene que estar en ningún montículo
+	 * @post Agrega el evento especificado
+	 */
+	public void add(TemporalEvent event) {
+		if ( this.size == this.events.length ) {
+			final int newCapacity = this.events.length * 2;
+			
+			this.events = Arrays.copyOf(this.events, newCapacity);
+			this.launchTimes = Arrays.copyOf(this.launchTimes, newCapacity);
+		}
+		
+		event.heap = this;
+		this.place(this.size, event, event.getLaunchTime());
+		this.size++;
+		
+		this.siftUp(this.size-1);
+	}
+	
+	/**
+	 * @post Quita y devuelve el evento más cercano, si no hay devuelve null
+	 */
+	public TemporalEvent poll() {
+		final TemporalEvent result;
+		
+		if ( this.size != 0 ) {
+			result = this.events[0];
+			this.removeAt(0);
+		}
+		else {
+			result = null;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @pre El evento tiene que estar en el montículo
+	 * @post Quita el evento especificado
+	 */
+	public void remove(TemporalEvent event) {
+		this.removeAt(event.heapIndex);
+	}
+	
+	/**
+	 * @pre El evento tiene que estar en el montículo, y el tiempo
+	 * 		tiene que ser un número finito
+	 * @post Cambia el tiempo de lanzamiento del evento especificado, y lo
+	 * 		 mueve a la posición que le corresponde sin quitarlo
+	 */
+	public void reschedule(TemporalEvent event, float newLaunchTime) {
+		final int index = event.heapIndex;
+		final float oldLaunchTime = this.launchTimes[index];
+		
+		event.setLaunchTime(newLaunchTime);
+		this.launchTimes[index] = newLaunchTime;
+		
+		if ( newLaunchTime < oldLaunchTime ) {
+			this.siftUp(index);
+		}
+		else {
+			this.siftDown(index);
+		}
+	}
+	
+	/**
+	 * @pre El desplazamiento tiene que ser un número finito
+	 * @post Resta el desplazamiento especificado al tiempo de lanzamiento de todos los eventos.
+	 * 		 Como la resta con redondeo es monótona, se conserva el orden del montículo
+	 */
+	public void shiftLaunchTimes(float offset) {
+		for ( int i = 0 ; i < this.size ; i++ ) {
+			final float launchTime = this.launchTimes[i] - offset;
+			
+			this.launchTimes[i] = launchTime;
+			this.events[i].setLaunchTime(launchTime);
+		}
+	}
+	
+	/**
+	 * @post Quita el evento en la posición especificada
+	 */
+	private void removeAt(int index) {
+		final TemporalEvent removedEvent = this.events[index];
+		
+		this.size--;
+		
+		if ( index != this.size ) {
+			final TemporalEvent lastEvent = this.events[this.size];
+			
+			this.place(index, lastEvent, this.launchTimes[this.size]);
+			this.events[this.size] = null;
+			
+			this.siftDown(index);
+			
+			if ( this.events[index] == lastEvent ) {
+				this.siftUp(index);
+			}
+		}
+		else {
+			this.events[this.size] = null;
+		}
+		
+		removedEvent.heap = null;
+		removedEvent.heapIndex = -1;
+	}
+	
+	/**
+	 * @post Sube el evento en la posición especificada hasta su lugar
+	 */
+	private void siftUp(int index) {
+		final TemporalEvent event = this.events[index];
+		final float launchTime = this.launchTimes[index];
+		
+		while ( index > 0 ) {
+			final int parentIndex = (index - 1) / ARITY;
+			
+			if ( launchTime < this.launchTimes[parentIndex] ) {
+				this.place(index, this.events[parentIndex], this.launchTimes[parentIndex]);
+				index = parentIndex;
+			}
+			else {
+				break;
+			}
+		}
+		
+		this.place(index, event, launchTime);
+	}
+	
+	/**
+	 * @post Baja el evento en la posición especificada hasta su lugar
+	 */
+	private void siftDown(int index) {
+		final TemporalEvent event = this.events[index];
+		final float launchTime = this.launchTimes[index];
+		
+		int firstChildIndex;
+		
+		while ( ( firstChildIndex = index * ARITY + 1 ) < this.size ) {
+			final int endChildIndex = Math.min(firstChildIndex + ARITY, this.size);
+			
+			// Busca el hijo más cercano
+			int nearestChildIndex = firstChildIndex;
+			for ( int childIndex = firstChildIndex + 1 ; childIndex < endChildIndex ; childIndex++ ) {
+				if ( this.launchTimes[childIndex] < this.launchTimes[nearestChildIndex] ) {
+					nearestChildIndex = childIndex;
+				}
+			}
+			
+			if ( this.launchTimes[nearestChildIndex] < launchTime ) {
+				this.place(index, this.events[nearestChildIndex], this.launchTimes[nearestChildIndex]);
+				index = nearestChildIndex;
+			}
+			else {
+				break;
+			}
+		}
+		
+		this.place(index, event, launchTime);
+	}
+	
+	/**
+	 * @post Ubica el evento con el tiempo especificado en la posición especificada
+	 */
+	private void place(int index, TemporalEvent event, float launchTime) {
+		this.events[index] = event;
+		this.launchTimes[index] = launchTime;
+		event.heapIndex = index;
+	}
+}
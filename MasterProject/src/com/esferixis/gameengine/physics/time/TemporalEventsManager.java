@@ -77,4 +77,35 @@ public abstract class TemporalEventsManager implements Serializable {
 	 * 		 no hace nada
 	 */
 	public abstract void removeEvent(TemporalEvent temporalEvent);
+	
+	/**
+	 * @pre El evento temporal no puede ser nulo, y el tiempo de lanzamiento
+	 * 		tiene que ser un número finito y no puede estar en el pasado
+	 * @post Cambia el tiempo de lanzamiento del evento temporal especificado,
+	 * 		 sin quitarlo y volverlo a agregar.
+	 * 		 Si no está agregado, lo agrega con el tiempo especificado
+	 */
+	public abstract void rescheduleEvent(TemporalEvent temporalEvent, float newLaunchTime);
+	
+	/**
+	 * @pre El receptor no puede ser nulo
+	 * @post Si hay un lote de eventos simultáneos en curso, notifica al receptor especificado
+	 * 		 una sola vez cuando termina el lote, aunque se lo especifique varias veces.
+	 * 		 Si no, lo notifica inmediatamente
+	 */
+	public abstract void notifyOnBatchEnd(TemporalEventsBatchListener listener);
+	
+	/**
+	 * @pre El receptor no puede ser nulo
+	 * @post Agrega el receptor de cambio de origen de tiempo especificado,
+	 * 		 si está agregado no hace nada
+	 */
+	public abstract void addRebaseListener(TemporalEventsRebaseListener listener);
+	
+	/**
+	 * @pre El receptor no puede ser nulo
+	 * @post Quita el receptor de cambio de origen de tiempo especificado,
+	 * 		 si no está agregado no hace nada
+	 */
+	public abstract void removeRebaseListener(TemporalEventsRebaseListener listener);
 }
@@ -232,4 +232,34 @@ final class ProtectedRenderEngineBackend extends RenderEngineBackend {
 		this.checkContext();
 		return this.target.isLoaded(meshLayersConfig);
 	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.backend.RenderEngineBackend#getLoadedSize(com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh)
+	 */
+	@Override
+	public <V extends Vectorf> long getLoadedSize(Mesh<V, ? extends Data<V, ? extends MeshTriangleVertex<V>>> mesh)
+			throws NullPointerException, MissingMeshLoadException {
+		this.checkContext();
+		return this.target.getLoadedSize(mesh);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.backend.RenderEngineBackend#getLoadedSize(com.esferixis.gameengine.renderengine.backend.texture.Texture)
+	 */
+	@Override
+	public <V extends Vectorf, P extends RasterPicture<V>> long getLoadedSize(Texture<P> texture)
+			throws NullPointerException, MissingTextureLoadException {
+		this.checkContext();
+		return this.target.getLoadedSize(texture);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.backend.RenderEngineBackend#getLoadedSize(com.esferixis.gameengine.renderengine.backend.meshLayers.MeshLayersConfig)
+	 */
+	@Override
+	public long getLoadedSize(MeshLayersConfig meshLayersConfig)
+			throws NullPointerException, MissingTextureMappingConfigLoadException {
+		this.checkContext();
+		return this.target.getLoadedSize(meshLayersConfig);
+	}
 }
@@ -125,6 +125,13 @@ public abstract class RenderEngineBackend {
 	 */
 	public abstract <V extends Vectorf> boolean isLoaded(Mesh<V, ? extends Mesh.Data<V, ? extends MeshTriangleVertex<V>>> mesh) throws NullPointerException;
 	
+	/**
+	 * @pre La malla no puede ser nula y tiene que estar cargada
+	 * @post Devuelve la cantidad de bytes que ocupa la malla especificada
+	 * 		 en la memoria del dispositivo de rendering
+	 */
+	public abstract <V extends Vectorf> long getLoadedSize(Mesh<V, ? extends Mesh.Data<V, ? extends MeshTriangleVertex<V>>> mesh) throws NullPointerException, MissingMeshLoadException;
+	
 	/**
 	 * @pre La textura no puede ser nula y no tiene que estar cargada
 	 * @post Carga la textura especificada
@@ -168,6 +175,13 @@ public abstract class RenderEngineBackend {
 	 */
 	public abstract <V extends Vectorf, P extends RasterPicture<V>> boolean isLoaded(Texture<P> texture);
 	
+	/**
+	 * @pre La textura no puede ser nula y tiene que estar cargada
+	 * @post Devuelve la cantidad de bytes que ocupa la textura especificada
+	 * 		 en la memoria del dispositivo de rendering
+	 */
+	public abstract <V extends Vectorf, P extends RasterPicture<V>> long getLoadedSize(Texture<P> texture) throws NullPointerException, MissingTextureLoadException;
+	
 	/**
 	 * @pre La configuración de mapeo de textura no puede ser nula y no puede estar cargada
 	 * @post Carga la configuración de mapeo de textura especificada
@@ -189,6 +203,13 @@ public abstract class RenderEngineBackend {
 	 */
 	public abstract boolean isLoaded(MeshLayersConfig meshLayersConfig) throws NullPointerException;
 	
+	/**
+	 * @pre La configuración de capas de malla no puede ser nula y tiene que estar cargada
+	 * @post Devuelve la cantidad de bytes que ocupa la configuración de capas de malla
+	 * 		 especificada en la memoria del dispositivo de rendering
+	 */
+	public abstract long getLoadedSize(MeshLayersConfig meshLayersConfig) throws NullPointerException, MissingTextureMappingConfigLoadException;
+	
 	/**
 	 * @post Devuelve la ventana de renderización de pantalla
 	 */
@@ -72,8 +72,23 @@ public final class Mesh<V extends Vectorf, D extends Mesh.Data<V, ?>> extends Lo
 		 * @param triangles
 		 */
 		public Data(List< MeshTriangle<V, P> > triangles) {
+			this(triangles, true);
+		}
+		
+		/**
+		 * @pre Los triángulos no pueden ser nulos
+		 * @post Crea los datos con los triángulos especificados.
+		 * 		 Si no se copian se usa la lista especificada, que tiene que ser inmutable,
+		 * 		 y así puede ser una vista perezosa de datos empaquetados
+		 */
+		protected Data(List< MeshTriangle<V, P> > triangles, boolean copyTriangles) {
 			if ( triangles != null ) {
-				this.triangles = Collections.unmodifiableList( new ArrayList< MeshTriangle<V, P> >(triangles) );
+				if ( copyTriangles ) {
+					this.triangles = Collections.unmodifiableList( new ArrayList< MeshTriangle<V, P> >(triangles) );
+				}
+				else {
+					this.triangles = Collections.unmodifiableList(triangles);
+				}
 			}
 			else {
 				throw new NullPointerException();
@@ -87,6 +102,14 @@ public final class Mesh<V extends Vectorf, D extends Mesh.Data<V, ?>> extends Lo
 			return this.triangles;
 		}
 		
+		/**
+		 * @post Devuelve los datos de vértices empaquetados, o null si no hay.
+		 * 		 Por defecto no hay
+		 */
+		public PackedVertexData getPackedVertexData() {
+			return null;
+		}
+		
 		/**
 		 * @post Visita con el visitor de dimensionalidad especificado
 		 */
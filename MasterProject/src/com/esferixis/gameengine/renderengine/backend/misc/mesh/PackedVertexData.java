@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.renderengine.backend.misc.mesh;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Datos de vértices ya empaquetados, listos para enviarse
+ * a un buffer de vértices sin convertirlos.
+ * 
+ * Los vértices son flotantes little-endian con todos los atributos
+ * intercalados, y los índices son enteros sin signo little-endian
+ * de 16 o 32 bits.
+ * 
+ * @author ariel
+ *
+ */
+public final class PackedVertexData {
+	private final ByteBuffer vertices;
+	private final ByteBuffer indices;
+	private final int[] attributesComponents;
+	private final int componentsPerVertex;
+	private final int indexSize;
+	
+	/**
+	 * @pre Los buffers y la cantidad de componentes de los atributos no pueden ser nulos,
+	 * 		tiene que haber al menos un atributo (La posición) y todos tienen que tener
+	 * 		una cantidad positiva de componentes, y el tamaño de índice tiene que ser 2 o 4.
+	 * 		Los bytes restantes de cada buffer tienen que ser múltiplos del tamaño
+	 * 		de vértice y de índice respectivamente
+	 * @post Crea los datos con los buffers de vértices e índices, la cantidad de
+	 * 		 componentes de cada atributo intercalado, en orden y empezando por la
+	 * 		 posición, y el tamaño de índice especificados.
+	 * 		 Los buffers se comparten, no se copian
+	 */
+	public PackedVertexData(ByteBuffer vertices, ByteBuffer indices, int[] attributesComponents, int indexSize) {
+		if ( ( vertices != null ) && ( indices != null ) && ( attributesComponents != null ) ) {
+			if ( attributesComponents.length == 0 ) {
+				throw new IllegalArgumentException("Expected at least the position attribute");
+			}
+			
+			int componentsPerVertex = 0;
+			for ( int eachComponents : attributesComponents ) {
+				if ( eachComponents <= 0 ) {
+					throw new IllegalArgumentException("Expected positive attribute components");
+				}
+				
+				componentsPerVertex += eachComponents;
+			}
+			
+			if ( ( indexSize != 2 ) && ( indexSize != 4 ) ) {
+				throw new IllegalArgumentException("Expected 2 or 4 bytes index size");
+			}
+			
+			if ( ( vertices.remaining() % ( componentsPerVertex * 4 ) ) != 0 ) {
+				throw new IllegalArgumentException("Vertices buffer length isn't multiple of vertex size");
+			}
+			
+			if ( ( indices.remaining() % indexSize ) != 0 ) {
+				throw new IllegalArgumentException("Indices buffer length isn't multiple of index size");
+			}
+			
+			this.vertices = vertices.slice().order(ByteOrder.LITTLE_ENDIAN);
+			this.indices = indices.slice().order(ByteOrder.LITTLE_ENDIAN);
+			this.attributesComponents = attributesComponents.clone();
+			this.componentsPerVertex = componentsPerVertex;
+			this.indexSize = indexSize;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve una vista de sólo lectura de los vértices
+	 */
+	public ByteBuffer getVertices() {
+		return this.vertices.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * @post Devuelve una vista de sólo lectura de los índices
+	 */
+	public ByteBuffer getIndices() {
+		return this.indices.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de atributos intercalados
+	 */
+	public int getAttributesCount() {
+		return this.attributesComponents.length;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de componentes del atributo con el índice especificado.
+	 * 		 El primero es la posición
+	 */
+	public int getAttributeComponents(int attributeIndex) {
+		return this.attributesComponents[attributeIndex];
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de componentes por vértice
+	 */
+	public int getComponentsPerVertex() {
+		return this.componentsPerVertex;
+	}
+	
+	/**
+	 * @post Devuelve el tamaño de índice en bytes
+	 */
+	public int getIndexSize() {
+		return this.indexSize;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de vértices
+	 */
+	public int getVerticesCount() {
+		return this.vertices.remaining() / ( this.componentsPerVertex * 4 );
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de índices
+	 */
+	public int getIndicesCount() {
+		return this.indices.remaining() / this.indexSize;
+	}
+}
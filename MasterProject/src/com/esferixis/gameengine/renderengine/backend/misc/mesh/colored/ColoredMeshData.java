@@ -36,6 +36,7 @@ import java.util.List;
 import com.esferixis.gameengine.renderengine.backend.meshLayers.MeshLayersConfig;
 import com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh;
 import com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.PackedVertexData;
 import com.esferixis.math.Vectorf;
 
 /**
@@ -44,6 +45,7 @@ import com.esferixis.math.Vectorf;
  */
 public final class ColoredMeshData<V extends Vectorf> extends Mesh.Data<V, ColoredMeshVertex<V> > {
 	private final MeshLayersConfig meshLayersConfig;
+	private final PackedVertexData packedVertexData;
 	
 	/**
 	 * @pre Los triángulos y la configuración de mapeado de textura no pueden ser nulos.
@@ -53,15 +55,35 @@ public final class ColoredMeshData<V extends Vectorf> extends Mesh.Data<V, Color
 	 * @param triangles
 	 */
 	public ColoredMeshData(List<MeshTriangle<V, ColoredMeshVertex<V>>> triangles, MeshLayersConfig meshLayersConfig) {
-		super(triangles);
+		this(triangles, meshLayersConfig, null);
+	}
+	
+	/**
+	 * @pre Los triángulos y la configuración de capas no pueden ser nulos.
+	 * 		Los triángulos tienen que tener un mapeado adecuado, y si hay
+	 * 		datos de vértices empaquetados tienen que corresponder a los triángulos,
+	 * 		con la posición y los atributos de cada capa intercalados en ese orden
+	 * @post Crea la malla con los triángulos, la configuración de capas y los datos
+	 * 		 de vértices empaquetados especificados.
+	 * 		 Los datos empaquetados son opcionales, sirven para no tener que
+	 * 		 empaquetar los triángulos de nuevo al cargar la malla.
+	 * 		 Si hay datos empaquetados los triángulos no se copian ni se verifican,
+	 * 		 así pueden ser una vista perezosa e inmutable de ellos
+	 */
+	public ColoredMeshData(List<MeshTriangle<V, ColoredMeshVertex<V>>> triangles, MeshLayersConfig meshLayersConfig, PackedVertexData packedVertexData) {
+		super(triangles, packedVertexData == null);
 		
 		if ( meshLayersConfig != null ) {
 			this.meshLayersConfig = meshLayersConfig;
+			this.packedVertexData = packedVertexData;
 			
-			for ( MeshTriangle<V, ColoredMeshVertex<V>> eachTriangle : triangles) {
-				this.meshLayersConfig.checkVertexLayersData(eachTriangle.getPoint1().getVertexLayersData());
-				this.meshLayersConfig.checkVertexLayersData(eachTriangle.getPoint2().getVertexLayersData());
-				this.meshLayersConfig.checkVertexLayersData(eachTriangle.getPoint3().getVertexLayersData());
+			// Los datos empaquetados ya tienen la disposición de las capas, no hace falta recorrer los triángulos
+			if ( packedVertexData == null ) {
+				for ( MeshTriangle<V, ColoredMeshVertex<V>> eachTriangle : triangles) {
+					this.meshLayersConfig.checkVertexLayersData(eachTriangle.getPoint1().getVertexLayersData());
+					this.meshLayersConfig.checkVertexLayersData(eachTriangle.getPoint2().getVertexLayersData());
+					this.meshLayersConfig.checkVertexLayersData(eachTriangle.getPoint3().getVertexLayersData());
+				}
 			}
 		}
 		else {
@@ -75,6 +97,14 @@ public final class ColoredMeshData<V extends Vectorf> extends Mesh.Data<V, Color
 	public MeshLayersConfig getMeshLayersConfig() {
 		return this.meshLayersConfig;
 	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh.Data#getPackedVertexData()
+	 */
+	@Override
+	public PackedVertexData getPackedVertexData() {
+		return this.packedVertexData;
+	}
 
 	/* (non-Javadoc)
 	 * @see com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh.Data#accept(com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh.Data.Visitor)
@@ -33,13 +33,21 @@
 package com.esferixis.gameengine.renderengine.backend.texture;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import com.esferixis.gameengine.renderengine.backend.LoadableBackendObject;
+import com.esferixis.gameengine.renderengine.picture.MipmapChain;
 import com.esferixis.gameengine.renderengine.picture.ProceduralPicture2d;
 import com.esferixis.gameengine.renderengine.picture.ProceduralPicture3d;
 import com.esferixis.gameengine.renderengine.picture.RasterPicture;
 import com.esferixis.gameengine.renderengine.picture.RasterPicture2d;
 import com.esferixis.gameengine.renderengine.picture.RasterPicture3d;
+import com.esferixis.gameengine.renderengine.texture.TextureQualitySettings;
 import com.esferixis.math.Vector2f;
 import com.esferixis.math.Vector3f;
 import com.esferixis.math.Vector4f;
@@ -59,6 +67,18 @@ public final class Texture<P extends RasterPicture<? extends Vectorf>> extends L
 	private final DataLoader<P> pictureLoader;
 	private final DynamicFieldsContainer dynamicFieldsContainer;
 	
+	private boolean mipmapChainCaching;
+	private MipmapChain<P> cachedMipmapChain;
+	
+	/**
+	 * Cadena de mipmaps precargada.
+	 * Se genera en el thread de precarga, junto con la imagen
+	 */
+	private volatile MipmapChain<P> prefetchedMipmapChain;
+	
+	private boolean atlasAllowed;
+	private final Set<TextureObject<P>> textureObjects;
+	
 	public static final Texture<RasterPicture2d> BLANKTEXTURE2D = new Texture<RasterPicture2d>(
 			(new ProceduralPicture2d<Vector4f>() {
 
@@ -89,6 +109,13 @@ public final class Texture<P extends RasterPicture<? extends Vectorf>> extends L
 		if ( pictureLoader != null ) {
 			this.pictureLoader = pictureLoader;
 			this.dynamicFieldsContainer = new DynamicFieldsContainer();
+			
+			this.mipmapChainCaching = false;
+			this.cachedMipmapChain = null;
+			this.prefetchedMipmapChain = null;
+			
+			this.atlasAllowed = true;
+			this.textureObjects = Collections.newSetFromMap(new WeakHashMap<TextureObject<P>, Boolean>());
 		}
 		else {
 			throw new NullPointerException();
@@ -102,6 +129,153 @@ public final class Texture<P extends RasterPicture<? extends Vectorf>> extends L
 		return this.pictureLoader.get();
 	}
 	
+	/**
+	 * @pre La imagen no puede ser nula, y tiene que ser la imagen de la textura
+	 * @post Devuelve la cadena de mipmaps de la imagen especificada.
+	 * 		 Usa la cadena conservada o la precargada si las hay, si no la genera
+	 * 		 en paralelo con el pool especificado (Si es nulo, secuencialmente).
+	 * 		 Si el "caching" de la cadena está habilitado, sólo se genera la primera vez
+	 */
+	public synchronized MipmapChain<P> getMipmapChain(P picture, ForkJoinPool forkJoinPool) {
+		if ( picture != null ) {
+			MipmapChain<P> result = this.cachedMipmapChain;
+			
+			if ( result == null ) {
+				final MipmapChain<P> prefetchedMipmapChain = this.prefetchedMipmapChain;
+				
+				if ( ( prefetchedMipmapChain != null ) && ( prefetchedMipmapChain.getLevel(0) == picture ) ) {
+					result = prefetchedMipmapChain;
+				}
+				else {
+					result = MipmapChain.create(picture, forkJoinPool);
+				}
+				
+				if ( this.mipmapChainCaching ) {
+					this.cachedMipmapChain = result;
+				}
+			}
+			
+			return result;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La imagen no puede ser nula, y tiene que ser la imagen de la textura
+	 * @post Si algún objeto de textura que la referencia usa mipmaps y no hay una
+	 * 		 cadena conservada, genera secuencialmente la cadena de mipmaps de la
+	 * 		 imagen especificada y la precarga.
+	 * 		 Se llama desde el thread de precarga, así la carga sólo tiene que subirla
+	 */
+	public void prefetchMipmapChain(P picture) {
+		if ( picture != null ) {
+			final boolean generate;
+			
+			synchronized ( this ) {
+				generate = ( this.cachedMipmapChain == null ) && this.requiresMipmapChain();
+			}
+			
+			if ( generate ) {
+				this.prefetchedMipmapChain = MipmapChain.create(picture, null);
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Descarta la cadena de mipmaps precargada
+	 */
+	public void discardPrefetchedMipmapChain() {
+		this.prefetchedMipmapChain = null;
+	}
+	
+	/**
+	 * @post Devuelve si algún objeto de textura que la referencia usa un filtro
+	 * 		 de disminución con mipmaps
+	 */
+	public synchronized boolean requiresMipmapChain() {
+		boolean result = false;
+		
+		for ( TextureObject<P> eachTextureObject : this.textureObjects ) {
+			final TextureQualitySettings.MinFilter minFilter = eachTextureObject.getQualitySettings().getMinFilter();
+			
+			if ( !( minFilter.equals(TextureQualitySettings.MinFilter.NEAREST) || minFilter.equals(TextureQualitySettings.MinFilter.LINEAR) ) ) {
+				result = true;
+				break;
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Especifica si se conserva la cadena de mipmaps generada, para no
+	 * 		 volver a generarla en cada carga (Por defecto no se conserva).
+	 * 		 Si se deshabilita, se descarta la cadena conservada
+	 */
+	public synchronized void setMipmapChainCaching(boolean mipmapChainCaching) {
+		this.mipmapChainCaching = mipmapChainCaching;
+		
+		if ( !mipmapChainCaching ) {
+			this.cachedMipmapChain = null;
+		}
+	}
+	
+	/**
+	 * @post Devuelve si se conserva la cadena de mipmaps generada
+	 */
+	public synchronized boolean isMipmapChainCaching() {
+		return this.mipmapChainCaching;
+	}
+	
+	/**
+	 * @post Especifica si la textura puede ubicarse en un atlas de texturas
+	 * 		 (Por defecto puede).
+	 * 		 Sólo afecta a las cargas posteriores
+	 */
+	public synchronized void setAtlasAllowed(boolean atlasAllowed) {
+		this.atlasAllowed = atlasAllowed;
+	}
+	
+	/**
+	 * @post Devuelve si la textura puede ubicarse en un atlas de texturas
+	 */
+	public synchronized boolean isAtlasAllowed() {
+		return this.atlasAllowed;
+	}
+	
+	/**
+	 * @pre El objeto de textura no puede ser nulo
+	 * @post Registra el objeto de textura especificado como uno que la referencia
+	 */
+	synchronized void addTextureObject(TextureObject<P> textureObject) {
+		if ( textureObject != null ) {
+			this.textureObjects.add(textureObject);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Quita el objeto de textura especificado de los que la referencian
+	 */
+	synchronized void removeTextureObject(TextureObject<P> textureObject) {
+		this.textureObjects.remove(textureObject);
+	}
+	
+	/**
+	 * @post Devuelve una copia de los objetos de textura que la referencian.
+	 * 		 Los que ya no se usan se descartan solos
+	 */
+	public synchronized List<TextureObject<P>> getTextureObjects() {
+		return Collections.unmodifiableList(new ArrayList<TextureObject<P>>(this.textureObjects));
+	}
+	
 	/**
 	 * @post Devuelve el contenedor de miembros dinámicos
 	 */
@@ -115,6 +115,8 @@ public abstract class TextureObject<P extends RasterPicture<?>> {
 			this.qualitySettings = essence.qualitySettings;
 		
 			this.dynamicFieldsContainer = new DynamicFieldsContainer();
+			
+			this.texture.addTextureObject(this);
 		}
 		else {
 			throw new NullPointerException();
@@ -158,6 +160,9 @@ public abstract class TextureObject<P extends RasterPicture<?>> {
 				throw e;
 			}
 			
+			this.texture.removeTextureObject(this);
+			texture.addTextureObject(this);
+			
 			this.texture = texture;
 		}
 		else {
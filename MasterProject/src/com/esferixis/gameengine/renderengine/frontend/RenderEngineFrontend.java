@@ -50,8 +50,18 @@ import com.esferixis.misc.loadingmanager.LoadingManager;
 public final class RenderEngineFrontend {
 	private final RenderEngineBackend renderEngineBackend;
 	
+	private final RenderEngineFrontendLoadableObjectLoadingStrategy loadingStrategy;
 	private final LoadingManager<RenderEngineFrontendLoadableObject> loadingManager;
 	
+	/**
+	 * Presupuesto por defecto de bytes a cargar por frame con carga asincrónica
+	 */
+	public static final long DEFAULT_UPLOAD_BUDGET_PER_FRAME = 4 * 1024 * 1024;
+	
+	private boolean asynchronousLoading;
+	private long uploadBudgetPerFrame;
+	private RenderEngineFrontendResourceStreamer resourceStreamer;
+	
 	private boolean destroyed;
 	
 	public static final class Accesor {
@@ -88,6 +98,33 @@ public final class RenderEngineFrontend {
 			}
 		}
 		
+		/**
+		 * @post Pide los objetos especificados en el frontend especificado,
+		 * 		 y devuelve si se pueden usar.
+		 * 		 Con carga sincrónica los carga y siempre devuelve verdadero
+		 */
+		public boolean requestLoadableObjects(RenderEngineFrontend renderEngineFrontend, Collection<RenderEngineFrontendLoadableObject> objects) {
+			if ( ( renderEngineFrontend != null ) && ( objects != null ) ) {
+				return renderEngineFrontend.requestLoadableObjects(objects);
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+		/**
+		 * @post Carga los objetos precargados del frontend especificado,
+		 * 		 dentro del presupuesto por frame
+		 */
+		public void processStreamedObjects(RenderEngineFrontend renderEngineFrontend) {
+			if ( renderEngineFrontend != null ) {
+				renderEngineFrontend.processStreamedObjects();
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
 		/**
 		 * @post Devuelve el backend
 		 */
@@ -105,7 +142,11 @@ public final class RenderEngineFrontend {
 	private RenderEngineFrontend(RenderEngineBackend renderEngineBackend, RenderEngineFrontendConfiguration configuration) {
 		if ( ( renderEngineBackend != null ) && ( configuration != null ) ) {
 			this.renderEngineBackend = renderEngineBackend;
-			this.loadingManager = new LinkedMruLoadingManager<RenderEngineFrontendLoadableObject>(new RenderEngineFrontendLoadableObjectLoadingStrategy(this.renderEngineBackend), Long.MAX_VALUE, configuration.getMaxMemoryToUse());
+			this.loadingStrategy = new RenderEngineFrontendLoadableObjectLoadingStrategy(this.renderEngineBackend);
+			this.loadingManager = new LinkedMruLoadingManager<RenderEngineFrontendLoadableObject>(this.loadingStrategy, Long.MAX_VALUE, configuration.getMaxMemoryToUse());
+			this.asynchronousLoading = false;
+			this.uploadBudgetPerFrame = DEFAULT_UPLOAD_BUDGET_PER_FRAME;
+			this.resourceStreamer = null;
 			this.screenRenderingFrame = PackageAccesors.renderingFrameAccesor.get().create(this, this.renderEngineBackend.getScreenRenderingFrame());
 			this.destroyed = false;
 		}
@@ -157,6 +198,140 @@ public final class RenderEngineFrontend {
 		}
 	}
 	
+	/**
+	 * @post Pide los objetos especificados, y devuelve si se pueden usar.
+	 * 		 Con carga sincrónica los carga y siempre devuelve verdadero.
+	 * 		 Con carga asincrónica devuelve si están cargados, y si no
+	 * 		 pide su precarga en segundo plano
+	 */
+	private boolean requestLoadableObjects(Collection<RenderEngineFrontendLoadableObject> objects) {
+		final boolean resident;
+		
+		if ( this.asynchronousLoading ) {
+			resident = this.resourceStreamer.request(objects);
+		}
+		else {
+			this.prepareLoadableObjects(objects);
+			resident = true;
+		}
+		
+		return resident;
+	}
+	
+	/**
+	 * @post Carga los objetos precargados, dentro del presupuesto por frame
+	 */
+	private void processStreamedObjects() {
+		if ( this.resourceStreamer != null ) {
+			this.resourceStreamer.processFinishedObjects();
+		}
+	}
+	
+	/**
+	 * @post Especifica si carga los objetos asincrónicamente.
+	 * 		 Si lo hace, los datos se leen y decodifican en threads de fondo,
+	 * 		 se cargan en el backend dentro del presupuesto de bytes por frame,
+	 * 		 y los objetos que dependen de datos no cargados no se dibujan
+	 */
+	public void setAsynchronousLoading(boolean asynchronousLoading) {
+		this.checkNotDestroyed();
+		
+		if ( asynchronousLoading && ( this.resourceStreamer == null ) ) {
+			this.resourceStreamer = new RenderEngineFrontendResourceStreamer(this.loadingManager, this.loadingStrategy, this.uploadBudgetPerFrame);
+		}
+		
+		this.asynchronousLoading = asynchronousLoading;
+	}
+	
+	/**
+	 * @post Devuelve si carga los objetos asincrónicamente
+	 */
+	public boolean isAsynchronousLoading() {
+		return this.asynchronousLoading;
+	}
+	
+	/**
+	 * @pre El presupuesto tiene que ser positivo
+	 * @post Especifica el presupuesto de bytes a cargar por frame con carga asincrónica
+	 */
+	public void setUploadBudgetPerFrame(long uploadBudgetPerFrame) {
+		if ( uploadBudgetPerFrame > 0 ) {
+			this.uploadBudgetPerFrame = uploadBudgetPerFrame;
+			
+			if ( this.resourceStreamer != null ) {
+				this.resourceStreamer.setUploadBudgetPerFrame(uploadBudgetPerFrame);
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Expected positive number");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el presupuesto de bytes a cargar por frame con carga asincrónica
+	 */
+	public long getUploadBudgetPerFrame() {
+		return this.uploadBudgetPerFrame;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes cargados asincrónicamente en el último frame
+	 */
+	public long getLastFrameStreamedBytes() {
+		final long bytes;
+		
+		if ( this.resourceStreamer != null ) {
+			bytes = this.resourceStreamer.getLastFrameUploadedBytes();
+		}
+		else {
+			bytes = 0;
+		}
+		
+		return bytes;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de objetos pendientes de carga asincrónica
+	 */
+	public int getPendingStreamedObjectsCount() {
+		final int count;
+		
+		if ( this.resourceStreamer != null ) {
+			count = this.resourceStreamer.getPendingObjectsCount();
+		}
+		else {
+			count = 0;
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de objetos cuya carga asincrónica falló.
+	 * 		 No se vuelven a pedir hasta que se olviden las fallas
+	 */
+	public int getFailedStreamedObjectsCount() {
+		final int count;
+		
+		if ( this.resourceStreamer != null ) {
+			count = this.resourceStreamer.getFailedObjectsCount();
+		}
+		else {
+			count = 0;
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * @post Olvida las cargas asincrónicas fallidas, para que se reintenten
+	 */
+	public void clearFailedStreamedObjects() {
+		if ( this.resourceStreamer != null ) {
+			this.resourceStreamer.clearFailedObjects();
+		}
+	}
+	
 	/**
 	 * @post Devuelve la ventana de renderización de pantalla
 	 */
@@ -169,6 +344,10 @@ public final class RenderEngineFrontend {
 	 * @post Destruye el sistema de frontend
 	 */
 	private void destroy() {
+		if ( this.resourceStreamer != null ) {
+			this.resourceStreamer.destroy();
+		}
+		
 		this.loadingManager.destroy();
 		this.destroyed = true;
 	}
@@ -146,20 +146,42 @@ class RenderEngineFrontendLoadableObjectLoadingStrategy implements LoadingStrate
 	 */
 	@Override
 	public long getOccupiedSpace(RenderEngineFrontendLoadableObject element) {
+		/**
+		 * Si está cargado es lo que ocupa en el backend, registrado al cargarlo,
+		 * así es el mismo hasta que se descargue.
+		 * Si no, se estima con los metadatos
+		 */
+		final Long loadedSize = element.getCore().getProfile(this.renderEngineBackend).getLoadedSize();
+		
+		if ( loadedSize != null ) {
+			return loadedSize;
+		}
+		else {
+			return this.estimateOccupiedSpace(element);
+		}
+	}
+	
+	/**
+	 * @post Estima los bytes que ocupa el objeto especificado al cargarlo,
+	 * 		 sólo con los metadatos
+	 */
+	private long estimateOccupiedSpace(RenderEngineFrontendLoadableObject element) {
 		return element.accept(new RenderEngineFrontendLoadableObject.Visitor<Long, RuntimeException>() {
 
 			@Override
 			public Long visit(MeshLayersConfig meshLayersConfig) throws RuntimeException {
-				return ( 1024 + (long) meshLayersConfig.getLayers().size() * 64 );
+				// No tiene buffers, sólo el descriptor de sus capas
+				return 1024 + (long) meshLayersConfig.getLayers().size() * 64;
 			}
 
 			@Override
 			public Long visit(Texture<?> texture) throws RuntimeException {
-				return (long) ( texture.getLoader().getDataLength() + 512 );
+				return (long) texture.getLoader().getDataLength();
 			}
 
 			@Override
 			public Long visit(Mesh<?, ?> mesh) throws RuntimeException {
+				// Calculado con la configuración de capas y la cantidad de triángulos
 				return (long) mesh.getDataLoader().getDataLength();
 			}
 			
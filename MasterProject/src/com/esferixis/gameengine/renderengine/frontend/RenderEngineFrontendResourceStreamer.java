@@ -0,0 +1,348 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.esferixis.gameengine.renderengine.frontend;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.esferixis.gameengine.renderengine.frontend.implementation.core.Core;
+import com.esferixis.misc.loader.DataLoadingErrorException;
+import com.esferixis.misc.loadingmanager.LoadingManager;
+import com.esferixis.misc.loadingmanager.LoadingStrategy;
+
+/**
+ * Streamer de objetos cargables.
+ * 
+ * Lee y decodifica los datos de los objetos pedidos en threads de fondo,
+ * y en cada frame carga en el backend los que terminaron, hasta agotar
+ * el presupuesto de bytes por frame.
+ * 
+ * Salvo la precarga, todas las operaciones tienen que hacerse desde el thread
+ * del backend.
+ * 
+ * @author ariel
+ *
+ */
+final class RenderEngineFrontendResourceStreamer {
+	private final LoadingManager<RenderEngineFrontendLoadableObject> loadingManager;
+	private final LoadingStrategy<RenderEngineFrontendLoadableObject> loadingStrategy;
+	
+	private final ExecutorService executor;
+	
+	// Objetos con precarga pedida que todavía no se cargaron
+	private final Set<RenderEngineFrontendLoadableObject> pendingObjects;
+	
+	// Precargas terminadas, escritas por los threads de fondo
+	private final Queue<PrefetchTask> finishedTasks;
+	
+	// Objetos cuya precarga o carga falló, con el error, para no volver a pedirlos
+	private final Map<RenderEngineFrontendLoadableObject, Throwable> failedObjects;
+	
+	/**
+	 * Indica si se destruyó.
+	 * Las tareas que terminan después descartan sus datos precargados
+	 */
+	private volatile boolean destroyed;
+	
+	private long uploadBudgetPerFrame;
+	private long lastFrameUploadedBytes;
+	
+	/**
+	 * Tarea de precarga
+	 */
+	private final class PrefetchTask implements Runnable {
+		private final RenderEngineFrontendLoadableObject object;
+		private final Core<?, ?> core;
+		
+		private Throwable error;
+		
+		/**
+		 * @post Crea la tarea con el objeto y el núcleo especificados
+		 */
+		public PrefetchTask(RenderEngineFrontendLoadableObject object, Core<?, ?> core) {
+			this.object = object;
+			this.core = core;
+			this.error = null;
+		}
+		
+		@Override
+		public void run() {
+			try {
+				this.core.prefetch();
+			}
+			catch (Throwable e) {
+				this.error = e;
+			}
+			finally {
+				// La cola publica el error al thread del backend
+				RenderEngineFrontendResourceStreamer.this.finishedTasks.add(this);
+				
+				/**
+				 * Si se destruyó el streamer puede que ya haya vaciado la cola,
+				 * así que la vacía la tarea.
+				 * Como se encola antes de leer el indicador, nunca queda una sin descartar
+				 */
+				if ( RenderEngineFrontendResourceStreamer.this.destroyed ) {
+					RenderEngineFrontendResourceStreamer.this.discardFinishedTasks();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @pre El administrador de carga y la estrategia no pueden ser nulos,
+	 * 		y el presupuesto tiene que ser positivo
+	 * @post Crea el streamer con el administrador de carga, la estrategia
+	 * 		 y el presupuesto de bytes por frame especificados
+	 */
+	public RenderEngineFrontendResourceStreamer(LoadingManager<RenderEngineFrontendLoadableObject> loadingManager, LoadingStrategy<RenderEngineFrontendLoadableObject> loadingStrategy, long uploadBudgetPerFrame) {
+		if ( ( loadingManager != null ) && ( loadingStrategy != null ) ) {
+			this.loadingManager = loadingManager;
+			this.loadingStrategy = loadingStrategy;
+			this.setUploadBudgetPerFrame(uploadBudgetPerFrame);
+			
+			this.executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()-1), new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					final Thread thread = new Thread(runnable, "Render engine resource streamer");
+					thread.setDaemon(true);
+					return thread;
+				}
+				
+			});
+			
+			this.pendingObjects = new HashSet<RenderEngineFrontendLoadableObject>();
+			this.finishedTasks = new ConcurrentLinkedQueue<PrefetchTask>();
+			this.failedObjects = new HashMap<RenderEngineFrontendLoadableObject, Throwable>();
+			this.destroyed = false;
+			this.lastFrameUploadedBytes = 0;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El presupuesto tiene que ser positivo
+	 * @post Especifica el presupuesto de bytes a cargar por frame
+	 */
+	public void setUploadBudgetPerFrame(long uploadBudgetPerFrame) {
+		if ( uploadBudgetPerFrame > 0 ) {
+			this.uploadBudgetPerFrame = uploadBudgetPerFrame;
+		}
+		else {
+			throw new IllegalArgumentException("Expected positive number");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el presupuesto de bytes a cargar por frame
+	 */
+	public long getUploadBudgetPerFrame() {
+		return this.uploadBudgetPerFrame;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes cargados en el último frame
+	 */
+	public long getLastFrameUploadedBytes() {
+		return this.lastFrameUploadedBytes;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de objetos pendientes de carga
+	 */
+	public int getPendingObjectsCount() {
+		return this.pendingObjects.size();
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de objetos cuya precarga o carga falló
+	 */
+	public int getFailedObjectsCount() {
+		return this.failedObjects.size();
+	}
+	
+	/**
+	 * @post Olvida las precargas fallidas, para que los objetos se vuelvan
+	 * 		 a pedir en el próximo pedido
+	 */
+	public void clearFailedObjects() {
+		this.failedObjects.clear();
+	}
+	
+	/**
+	 * @pre Los objetos no pueden ser nulos
+	 * @post Devuelve si todos los objetos especificados están cargados.
+	 * 		 Si lo están los marca como usados, y si no pide la precarga
+	 * 		 de los que falten.
+	 * 		 No vuelve a pedir los objetos cuya precarga falló
+	 */
+	public boolean request(Collection<RenderEngineFrontendLoadableObject> objects) {
+		boolean resident = true;
+		
+		for ( RenderEngineFrontendLoadableObject eachObject : objects ) {
+			if ( !this.loadingStrategy.isLoaded(eachObject) ) {
+				resident = false;
+				
+				if ( !this.failedObjects.containsKey(eachObject) && this.pendingObjects.add(eachObject) ) {
+					// El núcleo se obtiene acá porque se crea perezosamente
+					this.executor.execute(new PrefetchTask(eachObject, eachObject.getCore()));
+				}
+			}
+		}
+		
+		if ( resident ) {
+			try {
+				this.loadingManager.loadElements(objects);
+			} catch (DataLoadingErrorException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		
+		return resident;
+	}
+	
+	/**
+	 * @post Carga en el backend los objetos precargados, en el orden en que terminaron,
+	 * 		 mientras entren en el presupuesto de bytes por frame.
+	 * 		 El primero que no entra queda para el próximo frame, salvo que no se haya
+	 * 		 cargado nada en este, para que los objetos más grandes que el presupuesto
+	 * 		 no queden esperando indefinidamente.
+	 * 		 Las precargas y cargas fallidas no interrumpen el frame, se registran
+	 * 		 para no volver a pedirlas y se informan con la cantidad de objetos fallidos
+	 */
+	public void processFinishedObjects() {
+		long remainingBudget = this.uploadBudgetPerFrame;
+		this.lastFrameUploadedBytes = 0;
+		
+		boolean uploaded = false;
+		
+		PrefetchTask task;
+		
+		while ( ( task = this.finishedTasks.peek() ) != null ) {
+			if ( task.error != null ) {
+				this.finishedTasks.poll();
+				this.pendingObjects.remove(task.object);
+				
+				this.fail(task, task.error);
+			}
+			else if ( !this.loadingStrategy.isLoaded(task.object) ) {
+				// Sin cargar el tamaño se estima con los metadatos
+				final long bytes = this.loadingStrategy.getOccupiedSpace(task.object);
+				
+				if ( ( bytes <= remainingBudget ) || !uploaded ) {
+					this.finishedTasks.poll();
+					this.pendingObjects.remove(task.object);
+					
+					boolean loaded = false;
+					
+					try {
+						this.loadingManager.loadElements(Collections.singleton(task.object));
+						loaded = true;
+					} catch (DataLoadingErrorException e) {
+						this.fail(task, e);
+					} catch (RuntimeException e) {
+						this.fail(task, e);
+					}
+					
+					if ( loaded ) {
+						// Cargado es lo que ocupa en el backend
+						final long loadedBytes = this.loadingStrategy.getOccupiedSpace(task.object);
+						
+						remainingBudget -= loadedBytes;
+						this.lastFrameUploadedBytes += loadedBytes;
+						uploaded = true;
+					}
+				}
+				else {
+					// No entra, queda para el próximo frame
+					break;
+				}
+			}
+			else {
+				// Se cargó por otro camino mientras se precargaba
+				this.finishedTasks.poll();
+				this.pendingObjects.remove(task.object);
+				
+				task.core.discardPrefetchedData();
+			}
+		}
+	}
+	
+	/**
+	 * @post Registra la falla de la tarea especificada con el error especificado,
+	 * 		 para no volver a pedir el objeto, y descarta sus datos precargados
+	 */
+	private void fail(PrefetchTask task, Throwable error) {
+		task.core.discardPrefetchedData();
+		this.failedObjects.put(task.object, error);
+	}
+	
+	/**
+	 * @post Descarta las precargas terminadas.
+	 * 		 Puede llamarse desde cualquier thread
+	 */
+	private void discardFinishedTasks() {
+		PrefetchTask task;
+		
+		while ( ( task = this.finishedTasks.poll() ) != null ) {
+			task.core.discardPrefetchedData();
+		}
+	}
+	
+	/**
+	 * @post Destruye el streamer, descartando las precargas pendientes.
+	 * 		 Las que estén en curso se descartan al terminar
+	 */
+	public void destroy() {
+		this.destroyed = true;
+		this.executor.shutdownNow();
+		
+		this.discardFinishedTasks();
+		
+		this.pendingObjects.clear();
+		this.failedObjects.clear();
+	}
+}
@@ -37,6 +37,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.esferixis.gameengine.renderengine.frontend.RenderEngineFrontendLoadableObject;
+import com.esferixis.misc.loader.DataLoadingErrorException;
 
 /**
  * @author ariel
@@ -70,6 +71,23 @@ public abstract class Core<C extends Core<C, P>, P extends RenderEngineBackendPr
 		return this.dependencies;
 	}
 	
+	/**
+	 * @post Lee y decodifica los datos en memoria principal, sin usar el backend,
+	 * 		 para que la carga posterior no tenga que hacerlo.
+	 * 		 Puede llamarse desde cualquier thread.
+	 * 		 Por defecto no hace nada
+	 */
+	public void prefetch() throws DataLoadingErrorException {
+		
+	}
+	
+	/**
+	 * @post Descarta los datos precargados, si los hay
+	 */
+	public void discardPrefetchedData() {
+		
+	}
+	
 	/**
 	 * @post Registra el perfil
 	 */
@@ -54,6 +54,9 @@ public abstract class RenderEngineBackendProfile<C extends Core<C, P>, P extends
 	private final UserCount userCount;
 	private final LoadingStrategy.Observer localLoadingStrategyObserver;
 	
+	// Bytes que ocupa en el backend, registrados al cargarlo. Si no está cargado es nulo
+	private Long loadedSize;
+	
 	/**
 	 * @post Crea el perfil con el núcleo y el backend de renderización especificados
 	 * @param renderEngineBackend
@@ -64,6 +67,7 @@ public abstract class RenderEngineBackendProfile<C extends Core<C, P>, P extends
 			this.core = core;
 			
 			this.userCount = new UserCount();
+			this.loadedSize = null;
 	
 			this.localLoadingStrategyObserver = new LoadingStrategy.Observer() {
 
@@ -94,7 +98,8 @@ public abstract class RenderEngineBackendProfile<C extends Core<C, P>, P extends
 	}
 	
 	/**
-	 * @post Carga el objeto, considerando las dependencias
+	 * @post Carga el objeto, considerando las dependencias, y registra los bytes
+	 * 		 que ocupa en el backend
 	 */
 	public final void load() throws PlatformServiceManagerException, DataLoadingErrorException, OutOfMemoryException, NullPointerException {
 		final List<RenderEngineFrontendLoadableObject> incrementedUserCountDependencies = new ArrayList<RenderEngineFrontendLoadableObject>(this.core.getDependencies());
@@ -112,6 +117,8 @@ public abstract class RenderEngineBackendProfile<C extends Core<C, P>, P extends
 		}
 		
 		this.load_internal();
+		
+		this.loadedSize = this.getLoadedSize_internal();
 	}
 	
 	/**
@@ -125,6 +132,16 @@ public abstract class RenderEngineBackendProfile<C extends Core<C, P>, P extends
 		}
 		
 		this.unload_internal();
+		
+		this.loadedSize = null;
+	}
+	
+	/**
+	 * @post Devuelve los bytes que ocupa en el backend, registrados al cargarlo.
+	 * 		 Si no está cargado devuelve null
+	 */
+	public final Long getLoadedSize() {
+		return this.loadedSize;
 	}
 	
 	/**
@@ -141,4 +158,10 @@ public abstract class RenderEngineBackendProfile<C extends Core<C, P>, P extends
 	 * @post Devuelve si está cargado
 	 */
 	public abstract boolean isLoaded();
+	
+	/**
+	 * @pre Tiene que estar cargado
+	 * @post Devuelve los bytes que ocupa en el backend
+	 */
+	protected abstract long getLoadedSize_internal();
 }
@@ -31,6 +31,7 @@
  */
 package com.esferixis.gameengine.renderengine.frontend.implementation.mesh;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -70,6 +71,13 @@ public final class MeshCore<V extends Vectorf, D extends Mesh.Data<V, ?>> extend
 	private final Mesh<V, D> mesh;
 	private final com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh<V, ?> backend;
 	
+	/**
+	 * Datos precargados.
+	 * Se decodifican sin tomar ningún lock y se publican acá, así leerlos
+	 * desde el thread del backend no espera a que termine una precarga
+	 */
+	private volatile D prefetchedData;
+	
 	// Clase de acceso de implementación
 	public static final class Accesor {
 		private Accesor() {}
@@ -97,7 +105,7 @@ public final class MeshCore<V extends Vectorf, D extends Mesh.Data<V, ?>> extend
 			@Override
 			protected com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh.Data<?, ?> get_internal()
 					throws DataLoadingErrorException {
-				return mesh.getDataLoader().get().accept(new DimensionVisitor<com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh.Data<?, ?>, RuntimeException>() {
+				return MeshCore.this.getData().accept(new DimensionVisitor<com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh.Data<?, ?>, RuntimeException>() {
 
 					@Override
 					public com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh.Data<?, ?> visit3d(
@@ -121,13 +129,42 @@ public final class MeshCore<V extends Vectorf, D extends Mesh.Data<V, ?>> extend
 								
 								final com.esferixis.gameengine.renderengine.backend.meshLayers.MeshLayersConfig meshLayersConfigBacker = PackageAccesors.meshLayerConfigAccesor.get().getCore(meshLayersConfig).getBackend();
 								
-								final List<com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle<V, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V>>> triangleBackers = new ArrayList<com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle<V, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V>>>();
+								final List<com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle<V, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V>>> triangleBackers;
 								
-								for ( MeshTriangle<V, ColoredMeshVertex<V>> eachTriangle : meshData.getTriangles() ) {
-									triangleBackers.add(new com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle<V, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V>>(createVertexBacker(meshLayersConfig, eachTriangle.getPoint1()), createVertexBacker(meshLayersConfig, eachTriangle.getPoint2()), createVertexBacker(meshLayersConfig, eachTriangle.getPoint3())));
+								if ( meshData.getPackedVertexData() != null ) {
+									/**
+									 * Los vértices empaquetados se envían tal como están,
+									 * los triángulos sólo se convierten si alguien los pide
+									 */
+									final List<MeshTriangle<V, ColoredMeshVertex<V>>> triangles = meshData.getTriangles();
+									
+									triangleBackers = new AbstractList<com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle<V, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V>>>() {
+
+										@Override
+										public com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle<V, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V>> get(int index) {
+											return createTriangleBacker(meshLayersConfig, triangles.get(index));
+										}
+
+										@Override
+										public int size() {
+											return triangles.size();
+										}
+										
+									};
+								}
+								else {
+									triangleBackers = new ArrayList<com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle<V, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V>>>();
+									
+									for ( MeshTriangle<V, ColoredMeshVertex<V>> eachTriangle : meshData.getTriangles() ) {
+										triangleBackers.add(createTriangleBacker(meshLayersConfig, eachTriangle));
+									}
 								}
 								
-								return new com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshData(triangleBackers, meshLayersConfigBacker);
+								return new com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshData(triangleBackers, meshLayersConfigBacker, meshData.getPackedVertexData());
+							}
+							
+							private com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle<V, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V>> createTriangleBacker(final MeshLayersConfig meshLayersConfig, final MeshTriangle<V, ColoredMeshVertex<V>> triangle) {
+								return new com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle<V, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V>>(createVertexBacker(meshLayersConfig, triangle.getPoint1()), createVertexBacker(meshLayersConfig, triangle.getPoint2()), createVertexBacker(meshLayersConfig, triangle.getPoint3()));
 							}
 							
 							private com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex<V> createVertexBacker(final MeshLayersConfig meshLayersConfig, final ColoredMeshVertex<V> coloredMeshVertex) throws RuntimeException {
@@ -177,6 +214,42 @@ public final class MeshCore<V extends Vectorf, D extends Mesh.Data<V, ?>> extend
 		});
 	}
 	
+	/**
+	 * @post Devuelve los datos de la malla, precargados si los hay
+	 */
+	private D getData() throws DataLoadingErrorException {
+		D data = this.prefetchedData;
+		
+		if ( data == null ) {
+			data = this.mesh.getDataLoader().get();
+		}
+		
+		return data;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.implementation.core.Core#prefetch()
+	 */
+	@Override
+	public void prefetch() throws DataLoadingErrorException {
+		if ( this.prefetchedData == null ) {
+			/**
+			 * Decodifica una sola vez, si el tamaño no se conoce por los metadatos
+			 * el cargador lo calcula con los datos decodificados
+			 */
+			final D data = this.mesh.getDataLoader().get();
+			this.prefetchedData = data;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.implementation.core.Core#discardPrefetchedData()
+	 */
+	@Override
+	public void discardPrefetchedData() {
+		this.prefetchedData = null;
+	}
+	
 	/**
 	 * @post Devuelve el backend
 	 */
@@ -198,7 +271,7 @@ public final class MeshCore<V extends Vectorf, D extends Mesh.Data<V, ?>> extend
 	@Override
 	protected Collection<RenderEngineFrontendLoadableObject> createDependienciesCollection() {
 		try {
-			return mesh.getDataLoader().get().accept(new DimensionVisitor<Collection<RenderEngineFrontendLoadableObject>, RuntimeException>() {
+			return this.getData().accept(new DimensionVisitor<Collection<RenderEngineFrontendLoadableObject>, RuntimeException>() {
 
 				@Override
 				public Collection<RenderEngineFrontendLoadableObject> visit3d(
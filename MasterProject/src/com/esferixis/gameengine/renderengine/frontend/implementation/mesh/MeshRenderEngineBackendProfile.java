@@ -60,7 +60,12 @@ public final class MeshRenderEngineBackendProfile<V extends Vectorf, D extends M
 	@Override
 	public void load_internal() throws PlatformServiceManagerException, DataLoadingErrorException, OutOfMemoryException,
 			NullPointerException {
-		this.renderEngineBackend.load( (com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh) this.core.getBackend());
+		try {
+			this.renderEngineBackend.load( (com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh) this.core.getBackend());
+		}
+		finally {
+			this.core.discardPrefetchedData();
+		}
 	}
 
 	/* (non-Javadoc)
@@ -78,4 +83,12 @@ public final class MeshRenderEngineBackendProfile<V extends Vectorf, D extends M
 	public boolean isLoaded() {
 		return this.renderEngineBackend.isLoaded( (com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh) this.core.getBackend());
 	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.implementation.core.RenderEngineBackendProfile#getLoadedSize_internal()
+	 */
+	@Override
+	protected long getLoadedSize_internal() {
+		return this.renderEngineBackend.getLoadedSize( (com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh) this.core.getBackend());
+	}
 }
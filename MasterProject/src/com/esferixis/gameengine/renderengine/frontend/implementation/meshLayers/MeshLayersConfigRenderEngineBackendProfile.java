@@ -77,4 +77,12 @@ public final class MeshLayersConfigRenderEngineBackendProfile extends RenderEngi
 		return this.renderEngineBackend.isLoaded(this.core.getBackend());
 	}
 
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.implementation.core.RenderEngineBackendProfile#getLoadedSize_internal()
+	 */
+	@Override
+	protected long getLoadedSize_internal() {
+		return this.renderEngineBackend.getLoadedSize(this.core.getBackend());
+	}
+
 }
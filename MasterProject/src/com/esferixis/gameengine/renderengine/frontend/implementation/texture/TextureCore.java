@@ -45,6 +45,7 @@ import com.esferixis.math.Vectorf;
 import com.esferixis.misc.accesor.AccesorHolder;
 import com.esferixis.misc.accesor.AccesorWhiteList;
 import com.esferixis.misc.loader.AbstractDataLoader;
+import com.esferixis.misc.loader.DataLoadingErrorException;
 import com.esferixis.misc.loadingmanager.LoadingStrategy;
 
 /**
@@ -52,8 +53,16 @@ import com.esferixis.misc.loadingmanager.LoadingStrategy;
  *
  */
 public final class TextureCore<P extends RasterPicture<? extends Vectorf>> extends Core<TextureCore<P>, TextureRenderEngineBackendProfile<P>> {
+	private final Texture<P> texture;
 	private final com.esferixis.gameengine.renderengine.backend.texture.Texture<P> backend;
 	
+	/**
+	 * Imagen precargada.
+	 * Se decodifica sin tomar ningún lock y se publica acá, así leerla
+	 * desde el thread del backend no espera a que termine una precarga
+	 */
+	private volatile P prefetchedPicture;
+	
 	private final Map<com.esferixis.gameengine.renderengine.backend.RenderEngineBackend, TextureRenderEngineBackendProfile<P>> renderEngineBackendProfileByEngine;
 	
 	// Clase de acceso de implementación
@@ -78,7 +87,15 @@ public final class TextureCore<P extends RasterPicture<? extends Vectorf>> exten
 	 */
 	private TextureCore(Texture<P> texture) {
 		if ( texture != null ) {
-			this.backend = new com.esferixis.gameengine.renderengine.backend.texture.Texture<P>(texture.getLoader());
+			this.texture = texture;
+			this.backend = new com.esferixis.gameengine.renderengine.backend.texture.Texture<P>(new AbstractDataLoader<P>() {
+
+				@Override
+				protected P get_internal() throws DataLoadingErrorException {
+					return TextureCore.this.getPicture();
+				}
+				
+			});
 			
 			this.renderEngineBackendProfileByEngine = new HashMap<com.esferixis.gameengine.renderengine.backend.RenderEngineBackend, TextureRenderEngineBackendProfile<P>>(1);
 		}
@@ -87,6 +104,43 @@ public final class TextureCore<P extends RasterPicture<? extends Vectorf>> exten
 		}
 	}
 	
+	/**
+	 * @post Devuelve la imagen, precargada si la hay
+	 */
+	private P getPicture() throws DataLoadingErrorException {
+		P picture = this.prefetchedPicture;
+		
+		if ( picture == null ) {
+			picture = this.texture.getLoader().get();
+		}
+		
+		return picture;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.implementation.core.Core#prefetch()
+	 */
+	@Override
+	public void prefetch() throws DataLoadingErrorException {
+		if ( this.prefetchedPicture == null ) {
+			final P picture = this.texture.getLoader().get();
+			
+			// Generar la cadena de mipmaps acá, así no se genera en el thread del backend
+			this.backend.prefetchMipmapChain(picture);
+			
+			this.prefetchedPicture = picture;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.implementation.core.Core#discardPrefetchedData()
+	 */
+	@Override
+	public void discardPrefetchedData() {
+		this.prefetchedPicture = null;
+		this.backend.discardPrefetchedMipmapChain();
+	}
+	
 	/**
 	 * @post Devuelve el backend
 	 */
@@ -69,7 +69,12 @@ public final class TextureRenderEngineBackendProfile<P extends RasterPicture<? e
 	 * @throws PlatformServiceManagerException, DataLoadingErrorException, NullPointerException, OutOfMemoryException, LoadedTextureLoadAttemptException
 	 */
 	public void load_internal() throws PlatformServiceManagerException, DataLoadingErrorException, OutOfMemoryException, NullPointerException {
-		this.renderEngineBackend.load( (com.esferixis.gameengine.renderengine.backend.texture.Texture) this.textureCore.getBackend());
+		try {
+			this.renderEngineBackend.load( (com.esferixis.gameengine.renderengine.backend.texture.Texture) this.textureCore.getBackend());
+		}
+		finally {
+			this.textureCore.discardPrefetchedData();
+		}
 	}
 	
 	/**
@@ -86,4 +91,12 @@ public final class TextureRenderEngineBackendProfile<P extends RasterPicture<? e
 	public boolean isLoaded() {
 		return this.renderEngineBackend.isLoaded( (com.esferixis.gameengine.renderengine.backend.texture.Texture) this.textureCore.getBackend());
 	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.implementation.core.RenderEngineBackendProfile#getLoadedSize_internal()
+	 */
+	@Override
+	protected long getLoadedSize_internal() {
+		return this.renderEngineBackend.getLoadedSize( (com.esferixis.gameengine.renderengine.backend.texture.Texture) this.textureCore.getBackend());
+	}
 }
@@ -99,8 +99,23 @@ public final class Mesh<V extends Vectorf, D extends Mesh.Data<V, ?>> extends Re
 		 * @param triangles
 		 */
 		public Data(List< MeshTriangle<V, P> > triangles) {
+			this(triangles, true);
+		}
+		
+		/**
+		 * @pre Los triángulos no pueden ser nulos
+		 * @post Crea los datos con los triángulos especificados.
+		 * 		 Si no se copian se usa la lista especificada, que tiene que ser inmutable,
+		 * 		 y así puede ser una vista perezosa de datos empaquetados
+		 */
+		protected Data(List< MeshTriangle<V, P> > triangles, boolean copyTriangles) {
 			if ( triangles != null ) {
-				this.triangles = Collections.unmodifiableList( new ArrayList< MeshTriangle<V, P> >(triangles) );
+				if ( copyTriangles ) {
+					this.triangles = Collections.unmodifiableList( new ArrayList< MeshTriangle<V, P> >(triangles) );
+				}
+				else {
+					this.triangles = Collections.unmodifiableList(triangles);
+				}
 			}
 			else {
 				throw new NullPointerException();
@@ -181,7 +196,12 @@ public final class Mesh<V extends Vectorf, D extends Mesh.Data<V, ?>> extends Re
 	/**
 	 * @pre El cargador de elementos no puede ser nulo y tiene que dar
 	 * 		triángulos con las mismas propiedades
-	 * @post Crea la malla con el cargador especificado
+	 * @post Crea la malla con el cargador especificado.
+	 * 		 Para calcular el tamaño tiene que leer los datos, si se conocen
+	 * 		 la configuración de capas y la cantidad de triángulos conviene
+	 * 		 especificarlos.
+	 * 		 El tamaño se calcula con los primeros datos leídos, así que después
+	 * 		 de leerlos no hace falta volver a hacerlo
 	 */
 	public Mesh(final DataLoader<D> dataLoader) {
 		if ( dataLoader != null ) {
@@ -192,96 +212,136 @@ public final class Mesh<V extends Vectorf, D extends Mesh.Data<V, ?>> extends Re
 				 */
 				private static final long serialVersionUID = -560407964162973782L;
 				
-				private Integer size=null;
+				// Puede calcularse en el thread de precarga
+				private volatile Integer size=null;
 
 				@Override
 				public D get() throws DataLoadingErrorException {
-					return dataLoader.get();
+					final D meshData = dataLoader.get();
+					
+					if ( size == null ) {
+						final MeshLayersConfig meshLayersConfig = meshData.accept(new Mesh.Data.Visitor<V, MeshLayersConfig, RuntimeException>() {
+
+							@Override
+							public MeshLayersConfig visit(ColoredMeshData<V> meshData) throws RuntimeException {
+								return meshData.getMeshLayersConfig();
+							}
+							
+						});
+						
+						size = Mesh.getDataLength(meshLayersConfig, meshData.getTriangles().size());
+					}
+					
+					return meshData;
 				}
 
 				@Override
 				public int getDataLength() {
 					if ( size == null ) {
-						final D meshData;
-						
 						try {
-							meshData = this.get();
+							this.get();
 						} catch (DataLoadingErrorException e) {
 							throw new RuntimeException(e);
 						}
-						
-						size = Float.SIZE * 4 + meshData.accept(new Mesh.Data.DimensionVisitor<Integer, RuntimeException>() {
-
-							@Override
-							public Integer visit3d(
-									Mesh.Data<Vector3f, MeshTriangleVertex<Vector3f>> meshData)
-									throws RuntimeException {
-								return meshData.accept(new Mesh.Data.Visitor<Vector3f, Integer, RuntimeException>() {
-
-									@Override
-									public Integer visit(
-											ColoredMeshData<Vector3f> meshData)
-											throws RuntimeException {
-										return Float.SIZE * 4 + getLayerDataSpacePerVertex(meshData.getMeshLayersConfig());
-									}
-									
-								});
-							}
+					}
+					
+					return size;
+				}
+				
+			};
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El cargador de elementos y la configuración de capas no pueden ser nulos,
+	 * 		el cargador tiene que dar triángulos con las mismas propiedades y con
+	 * 		la configuración de capas especificada, y la cantidad de triángulos
+	 * 		no puede ser negativa
+	 * @post Crea la malla con el cargador especificado, calculando el tamaño con
+	 * 		 la configuración de capas y la cantidad de triángulos especificadas,
+	 * 		 sin leer los datos
+	 */
+	public Mesh(final DataLoader<D> dataLoader, MeshLayersConfig meshLayersConfig, int trianglesCount) {
+		if ( ( dataLoader != null ) && ( meshLayersConfig != null ) ) {
+			if ( trianglesCount >= 0 ) {
+				final int size = getDataLength(meshLayersConfig, trianglesCount);
+				
+				this.meshCore = null;
+				this.dataLoader = new SerializableLengthedDataLoader<D>() {
+					/**
+					 * 
+					 */
+					private static final long serialVersionUID = 4175061523869208373L;
 
-							@Override
-							public Integer visit2d(
-									Mesh.Data<Vector2f, MeshTriangleVertex<Vector2f>> meshData)
-									throws RuntimeException {
-								return meshData.accept(new Mesh.Data.Visitor<Vector2f, Integer, RuntimeException>() {
+					@Override
+					public D get() throws DataLoadingErrorException {
+						return dataLoader.get();
+					}
 
-									@Override
-									public Integer visit(
-											ColoredMeshData<Vector2f> meshData)
-											throws RuntimeException {
-										return Float.SIZE * 4 + getLayerDataSpacePerVertex(meshData.getMeshLayersConfig());
-									}
-									
-								});
-							}
-							
-							private int getLayerDataSpacePerVertex(MeshLayersConfig meshLayersConfig) {
-								int totalSpace = 0;
-								
-								for ( MeshLayer<? extends LayerVertexData> eachMeshLayer : meshLayersConfig.getLayers() ) {
-									totalSpace += eachMeshLayer.accept( new MeshLayer.Visitor<Long, RuntimeException>() {
+					@Override
+					public int getDataLength() {
+						return size;
+					}
+					
+				};
+			}
+			else {
+				throw new IllegalArgumentException("Negative triangles count");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La configuración de capas no puede ser nula y la cantidad de triángulos
+	 * 		no puede ser negativa
+	 * @post Devuelve la cantidad de bytes de los datos de una malla con la configuración
+	 * 		 de capas y la cantidad de triángulos especificadas.
+	 * 		 Sirve para que los cargadores informen su tamaño sin leer los datos
+	 */
+	public static int getDataLength(MeshLayersConfig meshLayersConfig, int trianglesCount) {
+		if ( meshLayersConfig != null ) {
+			if ( trianglesCount >= 0 ) {
+				final long floatBytes = Float.SIZE / 8;
+				
+				// Posición
+				long bytesPerVertex = floatBytes * 4;
+				
+				for ( MeshLayer<? extends LayerVertexData> eachMeshLayer : meshLayersConfig.getLayers() ) {
+					bytesPerVertex += eachMeshLayer.accept( new MeshLayer.Visitor<Long, RuntimeException>() {
 
-										@Override
-										public Long visit(SimpleTextureLayer<?> layer) throws RuntimeException {
-											return (long) ( Float.SIZE * 4 );
-										}
+						@Override
+						public Long visit(SimpleTextureLayer<?> layer) throws RuntimeException {
+							return floatBytes * 4;
+						}
 
-										@Override
-										public Long visit(VertexColoredMeshLayer layer) throws RuntimeException {
-											return (long) ( Float.SIZE * 4 );
-										}
+						@Override
+						public Long visit(VertexColoredMeshLayer layer) throws RuntimeException {
+							return floatBytes * 4;
+						}
 
-										@Override
-										public Long visit(UniformColoredMeshLayer layer) throws RuntimeException {
-											return (long) 0;
-										}
-										
-									});
-									
-									if ( eachMeshLayer.getMaskColorField() != null ) {
-										totalSpace += (long) ( Float.SIZE * 4 );
-									}
-								}
-								
-								return totalSpace;
-							}
-							
-						});
-					}
+						@Override
+						public Long visit(UniformColoredMeshLayer layer) throws RuntimeException {
+							return (long) 0;
+						}
+						
+					});
 					
-					return size;
+					if ( eachMeshLayer.getMaskColorField() != null ) {
+						bytesPerVertex += floatBytes * 4;
+					}
 				}
 				
-			};
+				return (int) Math.min( (long) Integer.MAX_VALUE, (long) trianglesCount * 3 * bytesPerVertex );
+			}
+			else {
+				throw new IllegalArgumentException("Negative triangles count");
+			}
 		}
 		else {
 			throw new NullPointerException();
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.renderengine.frontend.misc.mesh.loaders;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.Mesh;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshData;
+import com.esferixis.misc.loader.DataLoadingErrorException;
+
+/**
+ * Convertidor de mallas serializadas al formato empaquetado.
+ * 
+ * Acepta archivos con datos de malla coloreada serializados, o con
+ * una malla serializada cuyo cargador pueda ejecutarse fuera del motor.
+ * 
+ * @author ariel
+ *
+ */
+public final class PackedMeshConverter {
+	private PackedMeshConverter() {}
+	
+	/**
+	 * @pre Los archivos no pueden ser nulos
+	 * @post Lee los datos de la malla serializada del archivo de entrada especificado,
+	 * 		 los escribe empaquetados en el archivo de salida especificado y devuelve
+	 * 		 los datos leídos
+	 */
+	public static ColoredMeshData<?> convert(File inputFile, File outputFile) throws IOException, DataLoadingErrorException {
+		if ( ( inputFile != null ) && ( outputFile != null ) ) {
+			final Object object;
+			
+			final ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(inputFile)));
+			try {
+				object = inputStream.readObject();
+			} catch (ClassNotFoundException e) {
+				throw new IOException(e);
+			}
+			finally {
+				inputStream.close();
+			}
+			
+			final Object meshData;
+			
+			if ( object instanceof Mesh ) {
+				meshData = ( (Mesh<?, ?>) object ).getDataLoader().get();
+			}
+			else {
+				meshData = object;
+			}
+			
+			if ( meshData instanceof ColoredMeshData ) {
+				final ColoredMeshData<?> coloredMeshData = (ColoredMeshData<?>) meshData;
+				PackedMeshWriter.write(coloredMeshData, outputFile);
+				
+				return coloredMeshData;
+			}
+			else {
+				throw new IOException("Unsupported serialized object: " + object.getClass().getName());
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Convierte cada par de archivos de entrada y salida especificados
+	 */
+	public static void main(String[] args) throws IOException, DataLoadingErrorException {
+		if ( ( args.length == 0 ) || ( ( args.length % 2 ) != 0 ) ) {
+			System.err.println("Usage: PackedMeshConverter <serialized mesh> <packed mesh> [<serialized mesh> <packed mesh> ...]");
+			System.exit(1);
+		}
+		
+		for ( int i = 0 ; i < args.length ; i += 2 ) {
+			final File inputFile = new File(args[i]);
+			final File outputFile = new File(args[i+1]);
+			
+			final ColoredMeshData<?> meshData = convert(inputFile, outputFile);
+			
+			System.out.println(inputFile + " -> " + outputFile + ": " + meshData.getTriangles().size() + " triangles, " + inputFile.length() + " -> " + outputFile.length() + " bytes");
+		}
+	}
+}
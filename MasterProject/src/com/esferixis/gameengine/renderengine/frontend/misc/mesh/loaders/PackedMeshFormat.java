@@ -0,0 +1,322 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.renderengine.frontend.misc.mesh.loaders;
+
+import java.nio.ByteBuffer;
+
+import com.esferixis.gameengine.renderengine.exception.InvalidPackedMeshFormat;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayersConfig;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.SimpleTextureLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.TextureObject3dLayerDataField;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.UniformColoredMeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexColoredMeshLayer;
+
+/**
+ * Formato binario de malla coloreada empaquetada.
+ * 
+ * Todos los valores son little-endian. Primero está la cabecera,
+ * con el número mágico, la versión, la cantidad de dimensiones de
+ * la posición, la cantidad de capas, la cantidad de componentes
+ * flotantes de cada capa, la cantidad de vértices, el tamaño de
+ * índice (2 o 4 bytes) y la cantidad de índices, todos enteros de 32 bits.
+ * 
+ * Después están los vértices únicos, con la posición y los atributos
+ * de cada capa intercalados, y por último los índices de los triángulos.
+ * 
+ * @author ariel
+ *
+ */
+public final class PackedMeshFormat {
+	/**
+	 * Número mágico ("EPMF")
+	 */
+	public static final int MAGIC = 0x464D5045;
+	
+	/**
+	 * Versión del formato
+	 */
+	public static final int VERSION = 1;
+	
+	/**
+	 * Cantidad máxima de vértices que pueden indexarse con 16 bits
+	 */
+	static final int MAX_SHORT_INDEXED_VERTICES = 65536;
+	
+	private PackedMeshFormat() {}
+	
+	/**
+	 * Cabecera
+	 */
+	public static final class Header {
+		private final int dimensions;
+		private final int[] layersComponents;
+		private final int verticesCount;
+		private final int indexSize;
+		private final int indicesCount;
+		
+		/**
+		 * @pre La cantidad de componentes de las capas no puede ser nula
+		 * @post Crea la cabecera con la cantidad de dimensiones, la cantidad de componentes
+		 * 		 de cada capa, la cantidad de vértices, el tamaño de índice y la cantidad de
+		 * 		 índices especificados
+		 */
+		Header(int dimensions, int[] layersComponents, int verticesCount, int indexSize, int indicesCount) {
+			if ( layersComponents != null ) {
+				if ( ( dimensions != 2 ) && ( dimensions != 3 ) ) {
+					throw new InvalidPackedMeshFormat("Expected 2 or 3 dimensions");
+				}
+				
+				for ( int eachComponents : layersComponents ) {
+					if ( eachComponents < 0 ) {
+						throw new InvalidPackedMeshFormat("Negative layer components count");
+					}
+				}
+				
+				if ( ( verticesCount < 0 ) || ( indicesCount < 0 ) || ( ( indicesCount % 3 ) != 0 ) ) {
+					throw new InvalidPackedMeshFormat("Invalid vertices or indices count");
+				}
+				
+				if ( ( indexSize != 2 ) && ( indexSize != 4 ) ) {
+					throw new InvalidPackedMeshFormat("Expected 2 or 4 bytes index size");
+				}
+				
+				this.dimensions = dimensions;
+				this.layersComponents = layersComponents.clone();
+				this.verticesCount = verticesCount;
+				this.indexSize = indexSize;
+				this.indicesCount = indicesCount;
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+		/**
+		 * @pre El buffer no puede ser nulo y tiene que ser little-endian
+		 * @post Lee la cabecera desde la posición actual del buffer especificado,
+		 * 		 dejándolo en el comienzo de los vértices
+		 */
+		static Header read(ByteBuffer buffer) {
+			if ( buffer != null ) {
+				if ( buffer.remaining() < 16 ) {
+					throw new InvalidPackedMeshFormat("Truncated header");
+				}
+				
+				if ( buffer.getInt() != MAGIC ) {
+					throw new InvalidPackedMeshFormat("Bad magic number");
+				}
+				
+				final int version = buffer.getInt();
+				if ( version != VERSION ) {
+					throw new InvalidPackedMeshFormat("Unsupported version " + version);
+				}
+				
+				final int dimensions = buffer.getInt();
+				final int layersCount = buffer.getInt();
+				
+				if ( ( layersCount < 0 ) || ( buffer.remaining() < ( (long) layersCount + 3 ) * 4 ) ) {
+					throw new InvalidPackedMeshFormat("Truncated header");
+				}
+				
+				final int[] layersComponents = new int[layersCount];
+				for ( int i = 0 ; i < layersCount ; i++ ) {
+					layersComponents[i] = buffer.getInt();
+				}
+				
+				final int verticesCount = buffer.getInt();
+				final int indexSize = buffer.getInt();
+				final int indicesCount = buffer.getInt();
+				
+				return new Header(dimensions, layersComponents, verticesCount, indexSize, indicesCount);
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+		/**
+		 * @pre El buffer no puede ser nulo, tiene que ser little-endian y
+		 * 		tener lugar para la cabecera
+		 * @post Escribe la cabecera en la posición actual del buffer especificado
+		 */
+		void write(ByteBuffer buffer) {
+			buffer.putInt(MAGIC);
+			buffer.putInt(VERSION);
+			buffer.putInt(this.dimensions);
+			buffer.putInt(this.layersComponents.length);
+			
+			for ( int eachComponents : this.layersComponents ) {
+				buffer.putInt(eachComponents);
+			}
+			
+			buffer.putInt(this.verticesCount);
+			buffer.putInt(this.indexSize);
+			buffer.putInt(this.indicesCount);
+		}
+		
+		/**
+		 * @post Devuelve la cantidad de dimensiones de la posición
+		 */
+		public int getDimensions() {
+			return this.dimensions;
+		}
+		
+		/**
+		 * @post Devuelve la cantidad de capas
+		 */
+		public int getLayersCount() {
+			return this.layersComponents.length;
+		}
+		
+		/**
+		 * @post Devuelve la cantidad de componentes de la capa con el índice especificado
+		 */
+		public int getLayerComponents(int layerIndex) {
+			return this.layersComponents[layerIndex];
+		}
+		
+		/**
+		 * @post Devuelve la cantidad de componentes flotantes por vértice
+		 */
+		public int getComponentsPerVertex() {
+			int result = this.dimensions;
+			
+			for ( int eachComponents : this.layersComponents ) {
+				result += eachComponents;
+			}
+			
+			return result;
+		}
+		
+		/**
+		 * @post Devuelve la cantidad de vértices únicos
+		 */
+		public int getVerticesCount() {
+			return this.verticesCount;
+		}
+		
+		/**
+		 * @post Devuelve el tamaño de índice en bytes
+		 */
+		public int getIndexSize() {
+			return this.indexSize;
+		}
+		
+		/**
+		 * @post Devuelve la cantidad de índices
+		 */
+		public int getIndicesCount() {
+			return this.indicesCount;
+		}
+		
+		/**
+		 * @post Devuelve la cantidad de triángulos
+		 */
+		public int getTrianglesCount() {
+			return this.indicesCount / 3;
+		}
+		
+		/**
+		 * @post Devuelve la longitud de la cabecera en bytes
+		 */
+		public int getLength() {
+			return ( 7 + this.layersComponents.length ) * 4;
+		}
+		
+		/**
+		 * @post Devuelve la longitud de los vértices en bytes
+		 */
+		public long getVerticesLength() {
+			return (long) this.verticesCount * this.getComponentsPerVertex() * 4;
+		}
+		
+		/**
+		 * @post Devuelve la longitud de los índices en bytes
+		 */
+		public long getIndicesLength() {
+			return (long) this.indicesCount * this.indexSize;
+		}
+		
+		/**
+		 * @post Devuelve la longitud total del archivo en bytes
+		 */
+		public long getFileLength() {
+			return this.getLength() + this.getVerticesLength() + this.getIndicesLength();
+		}
+	}
+	
+	/**
+	 * @pre La configuración de capas no puede ser nula
+	 * @post Devuelve la cantidad de componentes flotantes por vértice de cada capa
+	 * 		 de la configuración especificada, en el mismo orden en el que el
+	 * 		 backend intercala los atributos
+	 */
+	public static int[] getLayersComponents(MeshLayersConfig meshLayersConfig) {
+		if ( meshLayersConfig != null ) {
+			final int[] result = new int[meshLayersConfig.getLayers().size()];
+			int i = 0;
+			
+			for ( MeshLayer<?> eachLayer : meshLayersConfig.getLayers() ) {
+				result[i++] = eachLayer.accept(new MeshLayer.Visitor<Integer, RuntimeException>() {
+
+					@Override
+					public Integer visit(SimpleTextureLayer<?> layer) throws RuntimeException {
+						if ( layer.getTextureObjectField() instanceof TextureObject3dLayerDataField ) {
+							return 3;
+						}
+						else {
+							return 2;
+						}
+					}
+
+					@Override
+					public Integer visit(VertexColoredMeshLayer layer) throws RuntimeException {
+						return 4;
+					}
+
+					@Override
+					public Integer visit(UniformColoredMeshLayer layer) throws RuntimeException {
+						return 0;
+					}
+					
+				});
+			}
+			
+			return result;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+}
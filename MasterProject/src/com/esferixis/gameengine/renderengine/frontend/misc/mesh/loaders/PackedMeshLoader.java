@@ -0,0 +1,385 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.renderengine.frontend.misc.mesh.loaders;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.PackedVertexData;
+import com.esferixis.gameengine.renderengine.exception.InvalidPackedMeshFormat;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.LayerVertexData;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayersConfig;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.SimpleTextureLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.SimpleTextureLayerVertexData;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.UniformColoredMeshLayerVertexData;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexColoredMeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexColoredMeshLayerVertexData;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexLayersData;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.Mesh;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.MeshTriangle;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshData;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshVertex;
+import com.esferixis.math.Vector2f;
+import com.esferixis.math.Vector3f;
+import com.esferixis.math.Vector4f;
+import com.esferixis.math.Vectorf;
+import com.esferixis.misc.loader.AbstractDataLoader;
+import com.esferixis.misc.loader.DataLoadingErrorException;
+import com.esferixis.misc.loader.SerializableLengthedDataLoader;
+
+/**
+ * Cargador de mallas coloreadas en formato empaquetado.
+ * 
+ * Mapea el archivo en memoria y adjunta a los datos de la malla
+ * los vértices y los índices tal como están en el archivo, para que
+ * el backend los envíe directamente sin volver a empaquetarlos.
+ * 
+ * @author ariel
+ *
+ */
+public final class PackedMeshLoader<V extends Vectorf> extends AbstractDataLoader<ColoredMeshData<V>> implements SerializableLengthedDataLoader<ColoredMeshData<V>> {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 2207395165813962871L;
+	
+	private final File file;
+	private final MeshLayersConfig meshLayersConfig;
+	
+	private transient Integer dataLength;
+	
+	/**
+	 * @pre Ni el archivo ni la configuración de capas pueden ser nulos
+	 * @post Crea el cargador con el archivo y la configuración de capas especificados
+	 */
+	public PackedMeshLoader(File file, MeshLayersConfig meshLayersConfig) {
+		if ( ( file != null ) && ( meshLayersConfig != null ) ) {
+			this.file = file;
+			this.meshLayersConfig = meshLayersConfig;
+			this.dataLength = null;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve el archivo
+	 */
+	public File getFile() {
+		return this.file;
+	}
+	
+	/**
+	 * @post Devuelve la configuración de capas
+	 */
+	public MeshLayersConfig getMeshLayersConfig() {
+		return this.meshLayersConfig;
+	}
+	
+	/**
+	 * @post Mapea el archivo en memoria, en modo sólo lectura y little-endian
+	 */
+	private ByteBuffer map() throws IOException {
+		final RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r");
+		
+		try {
+			final FileChannel channel = randomAccessFile.getChannel();
+			
+			// El mapeo sigue siendo válido después de cerrar el canal
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+	
+	/**
+	 * @post Lee la cabecera del archivo mapeado especificado y verifica que
+	 * 		 corresponda a la configuración de capas y a la longitud del archivo
+	 */
+	private PackedMeshFormat.Header readHeader(ByteBuffer data) {
+		final PackedMeshFormat.Header header = PackedMeshFormat.Header.read(data);
+		
+		final int[] expectedLayersComponents = PackedMeshFormat.getLayersComponents(this.meshLayersConfig);
+		final int[] layersComponents = new int[header.getLayersCount()];
+		
+		for ( int i = 0 ; i < layersComponents.length ; i++ ) {
+			layersComponents[i] = header.getLayerComponents(i);
+		}
+		
+		if ( !Arrays.equals(expectedLayersComponents, layersComponents) ) {
+			throw new InvalidPackedMeshFormat("Layers layout doesn't match the mesh layers config");
+		}
+		
+		if ( header.getFileLength() != data.limit() ) {
+			throw new InvalidPackedMeshFormat("Unexpected file length");
+		}
+		
+		return header;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.misc.loader.LengthedDataLoader#getDataLength()
+	 */
+	@Override
+	public int getDataLength() {
+		if ( this.dataLength == null ) {
+			final PackedMeshFormat.Header header;
+			
+			try {
+				header = this.readHeader(this.map());
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+			
+			this.dataLength = Mesh.getDataLength(this.meshLayersConfig, header.getTrianglesCount());
+		}
+		
+		return this.dataLength;
+	}
+
+	/**
+	 * Lista de triángulos que los decodifica de los datos mapeados a medida que se piden,
+	 * sin guardarlos.
+	 * Al serializarse se reemplaza por una lista con todos los triángulos
+	 */
+	private static final class PackedTriangleList<V extends Vectorf> extends AbstractList<MeshTriangle<V, ColoredMeshVertex<V>>> implements Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 4911893205637446617L;
+		
+		private final transient PackedMeshFormat.Header header;
+		private final transient MeshLayersConfig meshLayersConfig;
+		private final transient ByteBuffer vertices;
+		private final transient ByteBuffer indices;
+		
+		/**
+		 * @post Crea la lista con la cabecera, la configuración de capas y los buffers
+		 * 		 de vértices e índices especificados
+		 */
+		public PackedTriangleList(PackedMeshFormat.Header header, MeshLayersConfig meshLayersConfig, ByteBuffer vertices, ByteBuffer indices) {
+			this.header = header;
+			this.meshLayersConfig = meshLayersConfig;
+			this.vertices = vertices;
+			this.indices = indices;
+		}
+		
+		/**
+		 * @post Devuelve el índice de vértice con el índice especificado
+		 */
+		private int getIndex(int i) {
+			final int index;
+			
+			if ( this.header.getIndexSize() == 2 ) {
+				index = this.indices.getShort(i * 2) & 0xFFFF;
+			}
+			else {
+				index = this.indices.getInt(i * 4);
+			}
+			
+			return index;
+		}
+		
+		/**
+		 * @post Decodifica el vértice con el índice especificado
+		 */
+		private ColoredMeshVertex<V> getVertex(int vertexIndex) {
+			int offset = vertexIndex * this.header.getComponentsPerVertex() * 4;
+			
+			final V position = (V) readVector(this.vertices, offset, this.header.getDimensions());
+			offset += this.header.getDimensions() * 4;
+			
+			final List<LayerVertexData> layersData = new ArrayList<LayerVertexData>(this.header.getLayersCount());
+			
+			int layerIndex = 0;
+			for ( MeshLayer<?> eachLayer : this.meshLayersConfig.getLayers() ) {
+				final int layerComponents = this.header.getLayerComponents(layerIndex++);
+				
+				if ( eachLayer instanceof SimpleTextureLayer ) {
+					layersData.add(new SimpleTextureLayerVertexData<Vectorf>(readVector(this.vertices, offset, layerComponents)));
+				}
+				else if ( eachLayer instanceof VertexColoredMeshLayer ) {
+					layersData.add(new VertexColoredMeshLayerVertexData( (Vector4f) readVector(this.vertices, offset, layerComponents) ));
+				}
+				else {
+					layersData.add(new UniformColoredMeshLayerVertexData());
+				}
+				
+				offset += layerComponents * 4;
+			}
+			
+			return new ColoredMeshVertex<V>(position, new VertexLayersData(layersData));
+		}
+		
+		@Override
+		public MeshTriangle<V, ColoredMeshVertex<V>> get(int triangleIndex) {
+			if ( ( triangleIndex >= 0 ) && ( triangleIndex < this.size() ) ) {
+				return new MeshTriangle<V, ColoredMeshVertex<V>>(this.getVertex(this.getIndex(triangleIndex * 3)), this.getVertex(this.getIndex(triangleIndex * 3 + 1)), this.getVertex(this.getIndex(triangleIndex * 3 + 2)));
+			}
+			else {
+				throw new IndexOutOfBoundsException();
+			}
+		}
+		
+		@Override
+		public int size() {
+			return this.header.getTrianglesCount();
+		}
+		
+		/**
+		 * @post Reemplaza la lista al serializarla
+		 */
+		private Object writeReplace() {
+			return new ArrayList<MeshTriangle<V, ColoredMeshVertex<V>>>(this);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.misc.loader.AbstractDataLoader#get_internal()
+	 */
+	@Override
+	protected ColoredMeshData<V> get_internal() throws DataLoadingErrorException {
+		final ByteBuffer data;
+		
+		try {
+			data = this.map();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		
+		final PackedMeshFormat.Header header = this.readHeader(data);
+		
+		// Vértices e índices tal como están en el archivo
+		data.position(header.getLength());
+		data.limit( (int) ( header.getLength() + header.getVerticesLength() ) );
+		final ByteBuffer vertices = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+		
+		data.limit( (int) header.getFileLength() );
+		data.position( (int) ( header.getLength() + header.getVerticesLength() ) );
+		final ByteBuffer indices = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+		
+		// Verifica los índices ahora, porque los triángulos se decodifican después
+		for ( int i = 0 ; i < header.getIndicesCount() ; i++ ) {
+			final int index;
+			
+			if ( header.getIndexSize() == 2 ) {
+				index = indices.getShort(i * 2) & 0xFFFF;
+			}
+			else {
+				index = indices.getInt(i * 4);
+			}
+			
+			if ( ( index < 0 ) || ( index >= header.getVerticesCount() ) ) {
+				throw new InvalidPackedMeshFormat("Vertex index out of range");
+			}
+		}
+		
+		// La posición y las capas con valores por vértice, en el orden en que están intercalados
+		final List<Integer> attributesComponents = new ArrayList<Integer>(header.getLayersCount() + 1);
+		attributesComponents.add(header.getDimensions());
+		
+		for ( int i = 0 ; i < header.getLayersCount() ; i++ ) {
+			if ( header.getLayerComponents(i) != 0 ) {
+				attributesComponents.add(header.getLayerComponents(i));
+			}
+		}
+		
+		final int[] attributesComponentsArray = new int[attributesComponents.size()];
+		for ( int i = 0 ; i < attributesComponentsArray.length ; i++ ) {
+			attributesComponentsArray[i] = attributesComponents.get(i);
+		}
+		
+		return new ColoredMeshData<V>(new PackedTriangleList<V>(header, this.meshLayersConfig, vertices, indices), this.meshLayersConfig, new PackedVertexData(vertices, indices, attributesComponentsArray, header.getIndexSize()));
+	}
+	
+	/**
+	 * @pre La cantidad de componentes tiene que ser 2, 3 o 4
+	 * @post Lee un vector con la cantidad de componentes especificada
+	 * 		 desde la posición en bytes especificada del buffer especificado,
+	 * 		 sin cambiar su posición actual
+	 */
+	private static Vectorf readVector(ByteBuffer buffer, int offset, int componentsCount) {
+		final Vectorf result;
+		
+		switch ( componentsCount ) {
+		case 2:
+			result = new Vector2f(buffer.getFloat(offset), buffer.getFloat(offset + 4));
+			break;
+		case 3:
+			result = new Vector3f(buffer.getFloat(offset), buffer.getFloat(offset + 4), buffer.getFloat(offset + 8));
+			break;
+		case 4:
+			result = new Vector4f(buffer.getFloat(offset), buffer.getFloat(offset + 4), buffer.getFloat(offset + 8), buffer.getFloat(offset + 12));
+			break;
+		default:
+			throw new InvalidPackedMeshFormat("Unexpected components count " + componentsCount);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Devuelve el hash
+	 */
+	@Override
+	public int hashCode() {
+		return this.file.hashCode() * 31 + this.meshLayersConfig.hashCode();
+	}
+	
+	/**
+	 * @post Devuelve si es igual al objeto especificado
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if ( ( other != null ) && ( other instanceof PackedMeshLoader ) ) {
+			final PackedMeshLoader<?> otherLoader = (PackedMeshLoader<?>) other;
+			
+			return otherLoader.file.equals(this.file) && otherLoader.meshLayersConfig.equals(this.meshLayersConfig);
+		}
+		else {
+			return false;
+		}
+	}
+}
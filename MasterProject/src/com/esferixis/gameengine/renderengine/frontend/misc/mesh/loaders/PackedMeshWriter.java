@@ -0,0 +1,276 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.renderengine.frontend.misc.mesh.loaders;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.SimpleTextureLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.SimpleTextureLayerVertexData;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.UniformColoredMeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexColoredMeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexColoredMeshLayerVertexData;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.MeshTriangle;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshData;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshVertex;
+import com.esferixis.math.Vectorf;
+import com.esferixis.misc.ElementProcessor;
+
+/**
+ * Escritor de mallas coloreadas en formato empaquetado
+ * 
+ * @author ariel
+ *
+ */
+public final class PackedMeshWriter {
+	/**
+	 * Clave de vértice para detectar vértices idénticos
+	 */
+	private static final class VertexKey {
+		private final float[] components;
+		private final int hashCode;
+		
+		/**
+		 * @post Crea la clave con los componentes especificados
+		 */
+		public VertexKey(float[] components) {
+			this.components = components;
+			this.hashCode = Arrays.hashCode(components);
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+		
+		@Override
+		public boolean equals(Object other) {
+			return ( other instanceof VertexKey ) && ( ( (VertexKey) other ).hashCode == this.hashCode ) && Arrays.equals( ( (VertexKey) other ).components, this.components);
+		}
+	}
+	
+	private PackedMeshWriter() {}
+	
+	/**
+	 * @pre Los datos de la malla no pueden ser nulos y tienen que tener al menos un triángulo
+	 * @post Empaqueta los datos de la malla especificada, sin repetir los vértices idénticos,
+	 * 		 y devuelve un buffer little-endian con el archivo completo
+	 */
+	public static <V extends Vectorf> ByteBuffer pack(ColoredMeshData<V> meshData) {
+		if ( meshData != null ) {
+			final List<MeshTriangle<V, ColoredMeshVertex<V>>> triangles = meshData.getTriangles();
+			
+			if ( triangles.isEmpty() ) {
+				throw new IllegalArgumentException("Expected at least one triangle");
+			}
+			
+			final int dimensions = triangles.get(0).getPoint1().getPosition().store().length;
+			final int[] layersComponents = PackedMeshFormat.getLayersComponents(meshData.getMeshLayersConfig());
+			final List<ElementProcessor<ColoredMeshVertex<V>, Vectorf>> layerReaders = createLayerReaders(meshData);
+			
+			int componentsPerVertex = dimensions;
+			for ( int eachComponents : layersComponents ) {
+				componentsPerVertex += eachComponents;
+			}
+			
+			// Deduplica los vértices
+			final Map<VertexKey, Integer> indexPerVertex = new HashMap<VertexKey, Integer>();
+			final List<float[]> uniqueVertices = new ArrayList<float[]>();
+			final int[] indices = new int[triangles.size() * 3];
+			
+			float[] components = new float[componentsPerVertex];
+			int i = 0;
+			
+			for ( MeshTriangle<V, ColoredMeshVertex<V>> eachTriangle : triangles ) {
+				for ( ColoredMeshVertex<V> eachPoint : eachTriangle.getPoints() ) {
+					final FloatBuffer componentsBuffer = FloatBuffer.wrap(components);
+					eachPoint.getPosition().store(componentsBuffer);
+					
+					for ( ElementProcessor<ColoredMeshVertex<V>, Vectorf> eachReader : layerReaders ) {
+						final Vectorf value = eachReader.process(eachPoint);
+						
+						if ( value != null ) {
+							value.store(componentsBuffer);
+						}
+					}
+					
+					final VertexKey key = new VertexKey(components);
+					Integer index = indexPerVertex.get(key);
+					
+					if ( index == null ) {
+						index = uniqueVertices.size();
+						indexPerVertex.put(key, index);
+						uniqueVertices.add(components);
+						
+						components = new float[componentsPerVertex];
+					}
+					
+					indices[i++] = index;
+				}
+			}
+			
+			final int indexSize;
+			if ( uniqueVertices.size() <= PackedMeshFormat.MAX_SHORT_INDEXED_VERTICES ) {
+				indexSize = 2;
+			}
+			else {
+				indexSize = 4;
+			}
+			
+			final PackedMeshFormat.Header header = new PackedMeshFormat.Header(dimensions, layersComponents, uniqueVertices.size(), indexSize, indices.length);
+			
+			final long fileLength = header.getFileLength();
+			if ( fileLength > Integer.MAX_VALUE ) {
+				throw new IllegalArgumentException("Mesh too big to be packed");
+			}
+			
+			final ByteBuffer result = ByteBuffer.allocate( (int) fileLength ).order(ByteOrder.LITTLE_ENDIAN);
+			header.write(result);
+			
+			for ( float[] eachVertex : uniqueVertices ) {
+				for ( float eachComponent : eachVertex ) {
+					result.putFloat(eachComponent);
+				}
+			}
+			
+			if ( indexSize == 2 ) {
+				for ( int eachIndex : indices ) {
+					result.putShort( (short) eachIndex );
+				}
+			}
+			else {
+				for ( int eachIndex : indices ) {
+					result.putInt(eachIndex);
+				}
+			}
+			
+			result.flip();
+			
+			return result;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los datos de la malla y el archivo no pueden ser nulos
+	 * @post Escribe los datos de la malla especificada en el archivo especificado
+	 */
+	public static <V extends Vectorf> void write(ColoredMeshData<V> meshData, File file) throws IOException {
+		if ( ( meshData != null ) && ( file != null ) ) {
+			final ByteBuffer data = pack(meshData);
+			
+			final FileOutputStream outputStream = new FileOutputStream(file);
+			try {
+				final FileChannel channel = outputStream.getChannel();
+				
+				while ( data.hasRemaining() ) {
+					channel.write(data);
+				}
+			}
+			finally {
+				outputStream.close();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Crea los lectores de los valores por vértice de cada capa de la malla especificada.
+	 * 		 Las capas sin valores por vértice devuelven null
+	 */
+	private static <V extends Vectorf> List<ElementProcessor<ColoredMeshVertex<V>, Vectorf>> createLayerReaders(ColoredMeshData<V> meshData) {
+		final List<ElementProcessor<ColoredMeshVertex<V>, Vectorf>> result = new ArrayList<ElementProcessor<ColoredMeshVertex<V>, Vectorf>>();
+		
+		int i = 0;
+		for ( MeshLayer<?> eachLayer : meshData.getMeshLayersConfig().getLayers() ) {
+			final int layerIndex = i++;
+			
+			result.add(eachLayer.accept(new MeshLayer.Visitor<ElementProcessor<ColoredMeshVertex<V>, Vectorf>, RuntimeException>() {
+
+				@Override
+				public ElementProcessor<ColoredMeshVertex<V>, Vectorf> visit(SimpleTextureLayer<?> layer) throws RuntimeException {
+					return new ElementProcessor<ColoredMeshVertex<V>, Vectorf>() {
+
+						@Override
+						public Vectorf process(ColoredMeshVertex<V> point) {
+							return ( (SimpleTextureLayerVertexData<?>) point.getVertexLayersData().getLayersData().get(layerIndex) ).getPosition();
+						}
+						
+					};
+				}
+
+				@Override
+				public ElementProcessor<ColoredMeshVertex<V>, Vectorf> visit(VertexColoredMeshLayer layer) throws RuntimeException {
+					return new ElementProcessor<ColoredMeshVertex<V>, Vectorf>() {
+
+						@Override
+						public Vectorf process(ColoredMeshVertex<V> point) {
+							return ( (VertexColoredMeshLayerVertexData) point.getVertexLayersData().getLayersData().get(layerIndex) ).getColor();
+						}
+						
+					};
+				}
+
+				@Override
+				public ElementProcessor<ColoredMeshVertex<V>, Vectorf> visit(UniformColoredMeshLayer layer) throws RuntimeException {
+					return new ElementProcessor<ColoredMeshVertex<V>, Vectorf>() {
+
+						@Override
+						public Vectorf process(ColoredMeshVertex<V> point) {
+							return null;
+						}
+						
+					};
+				}
+				
+			}));
+		}
+		
+		return result;
+	}
+}
@@ -0,0 +1,616 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.renderengine.frontend.plane.kinematics.containers;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.esferixis.gameengine.physics.plane.kinematics.containers.AxisAlignedBoundingBox;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapperTreeObserver;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayersConfigProfile;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.Mesh;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshData;
+import com.esferixis.gameengine.renderengine.frontend.plane.kinematics.InstantKinematicRenderer;
+import com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects.KinematicMeshObject2d;
+import com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects.KinematicMeshObject2dObserver;
+import com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects.KinematicRenderPlaneObject;
+import com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects.KinematicRenderPlaneObjectObserver;
+import com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects.KinematicShapeObject;
+import com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects.KinematicShapeObjectObserver;
+import com.esferixis.gameengine.renderengine.plane.shape.ColorDistribution;
+import com.esferixis.geometry.plane.finite.FiniteAffineHolomorphicShape;
+import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
+import com.esferixis.math.Vector2f;
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+
+/**
+ * Contenedor de objetos cinemáticos indexado por una grilla uniforme (Spatial hash).
+ * 
+ * Cada objeto se ubica en las celdas que cubre la caja envolvente de su región envolvente
+ * en una ventana de tiempo, y al renderizar sólo se recorren las celdas que cubre
+ * la caja envolvente del área interseccionante.
+ * La caja de cada objeto se recalcula cuando el instante renderizado sale de su ventana,
+ * o cuando cambia el mapeador cinemático del objeto, alguno de sus componentes
+ * (Por ejemplo una nueva trayectoria), o su figura.
+ * 
+ * Los objetos se renderizan en el orden en que fueron agregados, igual que en
+ * LinearKinematicRenderPlaneObjectContainer.
+ * 
+ * @author ariel
+ *
+ */
+public final class SpatialHashKinematicRenderPlaneObjectContainer extends RenderizableKinematicRenderPlaneObjectContainer {
+	
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 6409335587466791850L;
+	
+	/**
+	 * Máxima cantidad de celdas que puede ocupar un objeto, si las supera
+	 * se lo considera sobredimensionado y se lo prueba en cada renderización.
+	 */
+	private static final int MAX_CELLS_PER_OBJECT = 64;
+	
+	private static final class ObjectEntry implements Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 2204563095116325977L;
+		
+		private final KinematicRenderPlaneObject object;
+		private final int id;
+		private KinematicRenderPlaneObjectObserver<?> observer;
+		private PlaneKinematicMapperTreeObserver kinematicMapperObserver;
+		
+		private final AxisAlignedBoundingBox boundingBox;
+		
+		private boolean dirty;
+		private float windowMin, windowMax;
+		private ExpirationNode expirationNode;
+		
+		private boolean binned;
+		private boolean oversized;
+		private int minCellX, minCellY, maxCellX, maxCellY;
+		
+		private int renderStamp;
+		
+		public ObjectEntry(KinematicRenderPlaneObject object, int id) {
+			this.object = object;
+			this.id = id;
+			this.boundingBox = new AxisAlignedBoundingBox();
+			this.dirty = false;
+			this.expirationNode = null;
+			this.binned = false;
+			this.oversized = false;
+			this.renderStamp = 0;
+		}
+	}
+	
+	/**
+	 * Nodo de la cola de vencimientos.
+	 * Si ya no es el nodo de la entrada se descarta al desencolarlo.
+	 */
+	private static final class ExpirationNode implements Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -3322839512405939711L;
+		
+		private final ObjectEntry entry;
+		private final float time;
+		
+		public ExpirationNode(ObjectEntry entry, float time) {
+			this.entry = entry;
+			this.time = time;
+		}
+	}
+	
+	private static final class ExpirationNodeComparator implements Comparator<ExpirationNode>, Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 4880961036129962540L;
+
+		@Override
+		public int compare(ExpirationNode node1, ExpirationNode node2) {
+			return Float.compare(node1.time, node2.time);
+		}
+	}
+	
+	private static final class ObjectEntryOrderComparator implements Comparator<ObjectEntry>, Serializable {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -6010911693606283160L;
+
+		@Override
+		public int compare(ObjectEntry entry1, ObjectEntry entry2) {
+			return ( entry1.id < entry2.id ) ? -1 : ( ( entry1.id == entry2.id ) ? 0 : 1 );
+		}
+	}
+	
+	private static final ObjectEntryOrderComparator OBJECT_ENTRY_ORDER_COMPARATOR = new ObjectEntryOrderComparator();
+	
+	private final float cellSize;
+	private final float timeWindowLength;
+	
+	private final Map<KinematicRenderPlaneObject, ObjectEntry> entryByObject;
+	private final Map<Long, List<ObjectEntry>> entriesByCellKey;
+	private final List<ObjectEntry> oversizedEntries;
+	private final List<ObjectEntry> dirtyEntries;
+	private final PriorityQueue<ExpirationNode> expirationQueue;
+	
+	private final AxisAlignedBoundingBox visionBox;
+	private final List<ObjectEntry> visibleEntries;
+	
+	private int nextEntryId;
+	private int renderStamp;
+	private float lastRenderTime;
+	
+	public Factory<SpatialHashKinematicRenderPlaneObjectContainer> FACTORY = new Factory<SpatialHashKinematicRenderPlaneObjectContainer>() {
+
+		@Override
+		public SpatialHashKinematicRenderPlaneObjectContainer create() {
+			return new SpatialHashKinematicRenderPlaneObjectContainer(SpatialHashKinematicRenderPlaneObjectContainer.this.cellSize, SpatialHashKinematicRenderPlaneObjectContainer.this.timeWindowLength);
+		}
+		
+	};
+	
+	/**
+	 * @pre El tamaño de celda tiene que ser positivo y la longitud de la ventana de tiempo
+	 * 		no puede ser negativa
+	 * @post Crea el contenedor con el tamaño de celda y la longitud de la ventana de tiempo
+	 * 		 de las cajas envolventes especificados.
+	 * 		 Con una ventana de longitud cero las cajas se recalculan en cada instante distinto
+	 */
+	public SpatialHashKinematicRenderPlaneObjectContainer(float cellSize, float timeWindowLength) {
+		if ( cellSize > 0.0f ) {
+			if ( timeWindowLength >= 0.0f ) {
+				this.cellSize = cellSize;
+				this.timeWindowLength = timeWindowLength;
+				
+				this.entryByObject = new HashMap<KinematicRenderPlaneObject, ObjectEntry>();
+				this.entriesByCellKey = new HashMap<Long, List<ObjectEntry>>();
+				this.oversizedEntries = new ArrayList<ObjectEntry>();
+				this.dirtyEntries = new ArrayList<ObjectEntry>();
+				this.expirationQueue = new PriorityQueue<ExpirationNode>(16, new ExpirationNodeComparator());
+				
+				this.visionBox = new AxisAlignedBoundingBox();
+				this.visibleEntries = new ArrayList<ObjectEntry>();
+				
+				this.nextEntryId = 0;
+				this.renderStamp = 0;
+				this.lastRenderTime = Float.NaN;
+			}
+			else {
+				throw new IllegalArgumentException("Expected non-negative time window length");
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Expected positive cell size");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el tamaño de celda
+	 */
+	public float getCellSize() {
+		return this.cellSize;
+	}
+	
+	/**
+	 * @post Devuelve la longitud de la ventana de tiempo
+	 */
+	public float getTimeWindowLength() {
+		return this.timeWindowLength;
+	}
+	
+	/**
+	 * @post Devuelve la clave de la celda con las coordenadas especificadas
+	 */
+	private static long cellKey(int x, int y) {
+		return ( ( (long) x ) << 32 ) | ( y & 0xFFFFFFFFL );
+	}
+	
+	/**
+	 * @post Marca la entrada para que se recalcule en la próxima renderización
+	 */
+	private void markDirty(ObjectEntry entry) {
+		if ( !entry.dirty ) {
+			entry.dirty = true;
+			this.dirtyEntries.add(entry);
+		}
+	}
+	
+	/**
+	 * @post Crea el observador que marca la entrada especificada cuando
+	 * 		 cambia el mapeador cinemático o alguno de sus componentes
+	 */
+	private PlaneKinematicMapperTreeObserver createKinematicMapperObserver(final ObjectEntry entry) {
+		return new PlaneKinematicMapperTreeObserver() {
+			/**
+			 * 
+			 */
+			private static final long serialVersionUID = -2719466184260347131L;
+
+			@Override
+			protected void notifyChange() {
+				markDirty(entry);
+			}
+			
+		};
+	}
+	
+	/**
+	 * @post Asocia el observador del mapeador cinemático de la entrada especificada
+	 * 		 al mapeador especificado, desasociándolo del anterior.
+	 * 		 Si el mapeador es nulo sólo lo desasocia
+	 */
+	private static void attachKinematicMapperObserver(ObjectEntry entry, PlaneKinematicMapper kinematicMapper) {
+		if ( entry.kinematicMapperObserver.isAttached() ) {
+			entry.kinematicMapperObserver.detach();
+		}
+		
+		if ( kinematicMapper != null ) {
+			entry.kinematicMapperObserver.attach(kinematicMapper);
+		}
+	}
+	
+	/**
+	 * @post Crea el observador que marca la entrada especificada cuando
+	 * 		 cambia el mapeador cinemático o la figura del objeto,
+	 * 		 y que asocia el observador del mapeador cinemático al nuevo mapeador
+	 */
+	private KinematicRenderPlaneObjectObserver<?> createObserver(final ObjectEntry entry) {
+		return entry.object.accept(new KinematicRenderPlaneObject.Visitor<KinematicRenderPlaneObjectObserver<?>, RuntimeException>() {
+
+			@Override
+			public KinematicRenderPlaneObjectObserver<?> visit(KinematicMeshObject2d kinematicMeshObject2d) {
+				final KinematicMeshObject2dObserver observer = new KinematicMeshObject2dObserver() {
+					/**
+					 * 
+					 */
+					private static final long serialVersionUID = 1925770813617431460L;
+
+					@Override
+					protected void notifyMeshChange(Mesh<Vector2f, ColoredMeshData<Vector2f>> mesh) {
+						markDirty(entry);
+					}
+
+					@Override
+					protected void notifyMeshLayersConfigProfileChange(MeshLayersConfigProfile meshLayersConfigProfile) {
+						
+					}
+
+					@Override
+					protected void notifyKinematicMapperChange(PlaneKinematicMapper newKinematicMapper) {
+						markDirty(entry);
+						attachKinematicMapperObserver(entry, newKinematicMapper);
+					}
+					
+				};
+				
+				observer.attach(kinematicMeshObject2d);
+				
+				return observer;
+			}
+
+			@Override
+			public KinematicRenderPlaneObjectObserver<?> visit(KinematicShapeObject kinematicShapeObject) {
+				final KinematicShapeObjectObserver observer = new KinematicShapeObjectObserver() {
+					/**
+					 * 
+					 */
+					private static final long serialVersionUID = -6849532301287769146L;
+
+					@Override
+					protected void notifyShapeChange(FiniteProportionalHolomorphicShape<?> shape) {
+						markDirty(entry);
+					}
+
+					@Override
+					protected void notifyColorDistributionChange(ColorDistribution colorDistribution) {
+						
+					}
+
+					@Override
+					protected void notifyKinematicMapperChange(PlaneKinematicMapper newKinematicMapper) {
+						markDirty(entry);
+						attachKinematicMapperObserver(entry, newKinematicMapper);
+					}
+					
+				};
+				
+				observer.attach(kinematicShapeObject);
+				
+				return observer;
+			}
+			
+		});
+	}
+	
+	/**
+	 * @post Quita la entrada de las celdas que ocupa
+	 */
+	private void unbin(ObjectEntry entry) {
+		if ( entry.binned ) {
+			for ( int y = entry.minCellY ; y <= entry.maxCellY ; y++ ) {
+				for ( int x = entry.minCellX ; x <= entry.maxCellX ; x++ ) {
+					final Long key = cellKey(x, y);
+					final List<ObjectEntry> cellEntries = this.entriesByCellKey.get(key);
+					
+					cellEntries.remove(entry);
+					
+					if ( cellEntries.isEmpty() ) {
+						this.entriesByCellKey.remove(key);
+					}
+				}
+			}
+			
+			entry.binned = false;
+		}
+		else if ( entry.oversized ) {
+			this.oversizedEntries.remove(entry);
+			entry.oversized = false;
+		}
+	}
+	
+	/**
+	 * @post Ubica la entrada en las celdas que cubre su caja envolvente
+	 */
+	private void bin(ObjectEntry entry) {
+		final AxisAlignedBoundingBox box = entry.boundingBox;
+		
+		final double minCellX = Math.floor(box.getMinX() / this.cellSize);
+		final double minCellY = Math.floor(box.getMinY() / this.cellSize);
+		final double maxCellX = Math.floor(box.getMaxX() / this.cellSize);
+		final double maxCellY = Math.floor(box.getMaxY() / this.cellSize);
+		
+		final double cellsCount = ( maxCellX - minCellX + 1.0d ) * ( maxCellY - minCellY + 1.0d );
+		
+		if ( ( cellsCount <= MAX_CELLS_PER_OBJECT ) && ( minCellX >= Integer.MIN_VALUE ) && ( minCellY >= Integer.MIN_VALUE ) && ( maxCellX <= Integer.MAX_VALUE ) && ( maxCellY <= Integer.MAX_VALUE ) ) {
+			entry.minCellX = (int) minCellX;
+			entry.minCellY = (int) minCellY;
+			entry.maxCellX = (int) maxCellX;
+			entry.maxCellY = (int) maxCellY;
+			
+			for ( int y = entry.minCellY ; y <= entry.maxCellY ; y++ ) {
+				for ( int x = entry.minCellX ; x <= entry.maxCellX ; x++ ) {
+					final Long key = cellKey(x, y);
+					List<ObjectEntry> cellEntries = this.entriesByCellKey.get(key);
+					
+					if ( cellEntries == null ) {
+						cellEntries = new ArrayList<ObjectEntry>(4);
+						this.entriesByCellKey.put(key, cellEntries);
+					}
+					
+					cellEntries.add(entry);
+				}
+			}
+			
+			entry.binned = true;
+		}
+		else {
+			this.oversizedEntries.add(entry);
+			entry.oversized = true;
+		}
+	}
+	
+	/**
+	 * @post Recalcula la caja envolvente y las celdas de la entrada con una ventana
+	 * 		 de tiempo que empieza en el instante especificado.
+	 * 		 Si el objeto no tiene mapeador cinemático o no tiene figura envolvente
+	 * 		 lo quita de la grilla, porque no se renderiza
+	 */
+	private void update(ObjectEntry entry, float time) {
+		this.unbin(entry);
+		entry.expirationNode = null;
+		
+		final PlaneKinematicMapper kinematicMapper = entry.object.getKinematicMapper();
+		
+		if ( kinematicMapper != null ) {
+			final FiniteAffineHolomorphicShape<?> boundingShape = entry.object.getBoundingShape();
+			
+			if ( boundingShape != null ) {
+				entry.windowMin = time;
+				entry.windowMax = time + this.timeWindowLength;
+				
+				entry.boundingBox.set(kinematicMapper.boundingRegion(boundingShape, new FloatClosedInterval(entry.windowMin, entry.windowMax)));
+				
+				this.bin(entry);
+				
+				entry.expirationNode = new ExpirationNode(entry, entry.windowMax);
+				this.expirationQueue.add(entry.expirationNode);
+			}
+		}
+	}
+	
+	/**
+	 * @post Actualiza las entradas marcadas y las que tienen la ventana de tiempo
+	 * 		 vencida para el instante especificado.
+	 * 		 Si el instante es anterior al último renderizado actualiza todas las entradas
+	 */
+	private void refresh(float time) {
+		if ( time < this.lastRenderTime ) {
+			this.expirationQueue.clear();
+			
+			for ( ObjectEntry eachEntry : this.entryByObject.values() ) {
+				eachEntry.dirty = false;
+				this.update(eachEntry, time);
+			}
+			
+			this.dirtyEntries.clear();
+		}
+		else {
+			for ( ObjectEntry eachEntry : this.dirtyEntries ) {
+				eachEntry.dirty = false;
+				this.update(eachEntry, time);
+			}
+			
+			this.dirtyEntries.clear();
+			
+			// Recalcula las entradas con la ventana vencida, descartando los nodos viejos
+			while ( ( !this.expirationQueue.isEmpty() ) && ( this.expirationQueue.peek().time < time ) ) {
+				final ExpirationNode node = this.expirationQueue.poll();
+				
+				if ( node.entry.expirationNode == node ) {
+					this.update(node.entry, time);
+				}
+			}
+		}
+		
+		this.lastRenderTime = time;
+	}
+	
+	/**
+	 * @post Agrega la entrada a las entradas visibles si no fue agregada en esta
+	 * 		 renderización y su caja se superpone con la caja de visión
+	 */
+	private void collect(ObjectEntry entry) {
+		if ( entry.renderStamp != this.renderStamp ) {
+			entry.renderStamp = this.renderStamp;
+			
+			if ( entry.boundingBox.overlaps(this.visionBox) ) {
+				this.visibleEntries.add(entry);
+			}
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.plane.kinematics.containers.RenderizableKinematicRenderPlaneObjectContainer#render_checked(com.esferixis.gameengine.renderengine.frontend.plane.kinematics.InstantKinematicRenderer, com.esferixis.geometry.plane.finite.FiniteAffineHolomorphicShape)
+	 */
+	@Override
+	protected void render_checked(InstantKinematicRenderer instantKinematicRenderer,
+			FiniteAffineHolomorphicShape<?> intersectingAreaShape) {
+		this.refresh(instantKinematicRenderer.getTime());
+		
+		this.visionBox.set(intersectingAreaShape);
+		this.renderStamp++;
+		
+		for ( ObjectEntry eachEntry : this.oversizedEntries ) {
+			this.collect(eachEntry);
+		}
+		
+		final double minCellX = Math.floor(this.visionBox.getMinX() / this.cellSize);
+		final double minCellY = Math.floor(this.visionBox.getMinY() / this.cellSize);
+		final double maxCellX = Math.floor(this.visionBox.getMaxX() / this.cellSize);
+		final double maxCellY = Math.floor(this.visionBox.getMaxY() / this.cellSize);
+		
+		final double cellsCount = ( maxCellX - minCellX + 1.0d ) * ( maxCellY - minCellY + 1.0d );
+		
+		// Si el área cubre más celdas que las ocupadas recorre las ocupadas
+		if ( cellsCount <= this.entriesByCellKey.size() ) {
+			for ( int y = (int) minCellY ; y <= (int) maxCellY ; y++ ) {
+				for ( int x = (int) minCellX ; x <= (int) maxCellX ; x++ ) {
+					final List<ObjectEntry> cellEntries = this.entriesByCellKey.get(cellKey(x, y));
+					
+					if ( cellEntries != null ) {
+						for ( ObjectEntry eachEntry : cellEntries ) {
+							this.collect(eachEntry);
+						}
+					}
+				}
+			}
+		}
+		else {
+			for ( List<ObjectEntry> eachCellEntries : this.entriesByCellKey.values() ) {
+				for ( ObjectEntry eachEntry : eachCellEntries ) {
+					this.collect(eachEntry);
+				}
+			}
+		}
+		
+		// Conserva el orden de agregado
+		Collections.sort(this.visibleEntries, OBJECT_ENTRY_ORDER_COMPARATOR);
+		
+		for ( ObjectEntry eachEntry : this.visibleEntries ) {
+			instantKinematicRenderer.render(eachEntry.object);
+		}
+		
+		this.visibleEntries.clear();
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.plane.kinematics.containers.KinematicRenderPlaneObjectContainer#addObject_checked(com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects.KinematicRenderPlaneObject)
+	 */
+	@Override
+	protected void addObject_checked(KinematicRenderPlaneObject kinematicRenderPlaneObject) {
+		if ( !this.entryByObject.containsKey(kinematicRenderPlaneObject) ) {
+			final ObjectEntry entry = new ObjectEntry(kinematicRenderPlaneObject, this.nextEntryId++);
+			
+			entry.observer = this.createObserver(entry);
+			entry.kinematicMapperObserver = this.createKinematicMapperObserver(entry);
+			attachKinematicMapperObserver(entry, kinematicRenderPlaneObject.getKinematicMapper());
+			this.entryByObject.put(kinematicRenderPlaneObject, entry);
+			
+			this.markDirty(entry);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.plane.kinematics.containers.KinematicRenderPlaneObjectContainer#removeObject_checked(com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects.KinematicRenderPlaneObject)
+	 */
+	@Override
+	protected void removeObject_checked(KinematicRenderPlaneObject kinematicRenderPlaneObject) {
+		final ObjectEntry entry = this.entryByObject.remove(kinematicRenderPlaneObject);
+		
+		if ( entry != null ) {
+			entry.observer.detach();
+			attachKinematicMapperObserver(entry, null);
+			
+			this.unbin(entry);
+			entry.expirationNode = null;
+			
+			if ( entry.dirty ) {
+				this.dirtyEntries.remove(entry);
+				entry.dirty = false;
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.frontend.plane.kinematics.containers.KinematicRenderPlaneObjectContainer#isObjectPresent_checked(com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects.KinematicRenderPlaneObject)
+	 */
+	@Override
+	protected boolean isObjectPresent_checked(KinematicRenderPlaneObject kinematicRenderPlaneObject) {
+		return this.entryByObject.containsKey(kinematicRenderPlaneObject);
+	}
+}
@@ -31,6 +31,10 @@
  */
 package com.esferixis.gameengine.renderengine.frontend.plane.kinematics.objects;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
 import com.esferixis.gameengine.physics.plane.statics.PlaneMapper;
 import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayersConfigProfile;
@@ -42,8 +46,6 @@ import com.esferixis.gameengine.renderengine.frontend.plane.staticstage.StaticPl
 import com.esferixis.gameengine.renderengine.frontend.plane.staticstage.mesh.StaticMeshObject2d;
 import com.esferixis.geometry.plane.finite.ConvexPolygon;
 import com.esferixis.geometry.plane.finite.FiniteAffineHolomorphicShape;
-import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
-import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShapeGroup;
 import com.esferixis.math.Vector2f;
 import com.esferixis.misc.ElementCallback;
 import com.esferixis.misc.loader.DataLoadingErrorException;
@@ -59,6 +61,12 @@ public final class KinematicMeshObject2d extends KinematicRenderPlaneObject {
 	 */
 	private static final long serialVersionUID = 3831456056996527781L;
 	
+	/**
+	 * Figuras envolventes cargadas de cada malla, se comparten entre todos los objetos
+	 * que usan la misma malla, de modo que los datos de cada malla se leen una sola vez
+	 */
+	private static final Map<Mesh<Vector2f, ColoredMeshData<Vector2f>>, FiniteAffineHolomorphicShape<?>> boundingShapeByMesh = Collections.synchronizedMap(new WeakHashMap<Mesh<Vector2f, ColoredMeshData<Vector2f>>, FiniteAffineHolomorphicShape<?>>());
+	
 	final ObserverManager<KinematicMeshObject2d, KinematicMeshObject2dObserver> observerManager = new ObserverManager<>(this, KinematicMeshObject2dObserver.class);
 	
 	private Mesh<Vector2f, ColoredMeshData<Vector2f>> mesh;
@@ -110,6 +118,7 @@ public final class KinematicMeshObject2d extends KinematicRenderPlaneObject {
 			
 		});
 		this.mesh = mesh;
+		this.invalidateBoundingShape();
 	}
 	
 	/**
@@ -150,21 +159,77 @@ public final class KinematicMeshObject2d extends KinematicRenderPlaneObject {
 	 */
 	@Override
 	protected FiniteAffineHolomorphicShape<?> loadBoundingShape() {
-		ColoredMeshData<Vector2f> meshData;
+		FiniteAffineHolomorphicShape<?> boundingShape;
+		
+		if ( this.mesh != null ) {
+			boundingShape = boundingShapeByMesh.get(this.mesh);
+			
+			if ( boundingShape == null ) {
+				boundingShape = createBoundingShape(this.mesh);
+				
+				if ( boundingShape != null ) {
+					boundingShapeByMesh.put(this.mesh, boundingShape);
+				}
+			}
+		}
+		else {
+			boundingShape = null;
+		}
+		
+		return boundingShape;
+	}
+	
+	/**
+	 * @pre La malla no puede ser nula
+	 * @post Crea la figura envolvente de la malla especificada, el rectángulo
+	 * 		 alineado a los ejes que contiene todos sus vértices.
+	 * 		 Es una sola figura convexa en lugar de un polígono por triángulo,
+	 * 		 alcanza para descartar los objetos que no se ven.
+	 * 		 Si la malla no tiene triángulos devuelve null
+	 */
+	private static FiniteAffineHolomorphicShape<?> createBoundingShape(Mesh<Vector2f, ColoredMeshData<Vector2f>> mesh) {
+		final ColoredMeshData<Vector2f> meshData;
 		try {
-			meshData = this.mesh.getDataLoader().get();
+			meshData = mesh.getDataLoader().get();
 		} catch (DataLoadingErrorException e) {
 			throw new RuntimeException(e);
 		}
 		
-		final FiniteAffineHolomorphicShape<ConvexPolygon>[] resultShapes = new FiniteAffineHolomorphicShape[meshData.getTriangles().size()];
+		final FiniteAffineHolomorphicShape<?> result;
 		
-		int i = 0;
-		for ( MeshTriangle<Vector2f, ColoredMeshVertex<Vector2f>> eachTriangle : meshData.getTriangles() ) {
-			resultShapes[i++] = new ConvexPolygon(eachTriangle.getPoint1().getPosition(), eachTriangle.getPoint2().getPosition(), eachTriangle.getPoint3().getPosition()).castToAffine();
+		if ( !meshData.getTriangles().isEmpty() ) {
+			// Mínimo x, mínimo y, máximo x, máximo y
+			final float[] bounds = new float[]{ Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY };
+			
+			for ( MeshTriangle<Vector2f, ColoredMeshVertex<Vector2f>> eachTriangle : meshData.getTriangles() ) {
+				includePoint(bounds, eachTriangle.getPoint1().getPosition());
+				includePoint(bounds, eachTriangle.getPoint2().getPosition());
+				includePoint(bounds, eachTriangle.getPoint3().getPosition());
+			}
+			
+			result = new ConvexPolygon(
+				new Vector2f(bounds[0], bounds[1]),
+				new Vector2f(bounds[2], bounds[1]),
+				new Vector2f(bounds[2], bounds[3]),
+				new Vector2f(bounds[0], bounds[3])
+			).castToAffine();
+		}
+		else {
+			result = null;
 		}
 		
-		return FiniteProportionalHolomorphicShapeGroup.castToAffine(new FiniteProportionalHolomorphicShapeGroup<FiniteAffineHolomorphicShape<? extends ConvexPolygon>>(resultShapes));
+		return result;
+	}
+	
+	/**
+	 * @post Extiende los límites especificados (Mínimo x, mínimo y, máximo x, máximo y)
+	 * 		 para que incluyan el punto especificado
+	 */
+	private static void includePoint(float[] bounds, Vector2f point) {
+		bounds[0] = Math.min(bounds[0], point.getX());
+		bounds[1] = Math.min(bounds[1], point.getY());
+		bounds[2] = Math.max(bounds[2], point.getX());
+		bounds[3] = Math.max(bounds[3], point.getY());
 	}
 
 	/* (non-Javadoc)
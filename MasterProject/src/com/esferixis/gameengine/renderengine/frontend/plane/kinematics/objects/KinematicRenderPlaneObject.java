@@ -35,6 +35,8 @@ import java.io.Serializable;
 
 import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
 import com.esferixis.gameengine.physics.plane.statics.PlaneMapper;
+import com.esferixis.gameengine.physics.plane.statics.PlanePose;
+import com.esferixis.gameengine.physics.plane.statics.ProportionalAffineMapper2d;
 import com.esferixis.gameengine.renderengine.frontend.plane.staticstage.StaticPlaneObjectRenderer;
 import com.esferixis.geometry.plane.finite.FiniteAffineHolomorphicShape;
 import com.esferixis.misc.ElementCallback;
@@ -62,6 +64,9 @@ public abstract class KinematicRenderPlaneObject implements Serializable {
 	
 	private transient FiniteAffineHolomorphicShape<?> boundingShape = null;
 	
+	private transient PlanePose instantPose = null;
+	private transient ProportionalAffineMapper2d instantPlaneMapper = null;
+	
 	public static final class Accesor {
 		private Accesor() {}
 		
@@ -125,7 +130,19 @@ public abstract class KinematicRenderPlaneObject implements Serializable {
 	protected final void render(StaticPlaneObjectRenderer objectRenderer, float time) {
 		if ( objectRenderer != null ) {
 			if ( this.kinematicMapper != null ) {
-				this.render_internal(objectRenderer, this.kinematicMapper.instantPlaneMapper(time), time);
+				if ( this.instantPose == null ) {
+					this.instantPose = new PlanePose();
+					this.instantPlaneMapper = new ProportionalAffineMapper2d();
+				}
+				
+				// Reutiliza el mapeador instantáneo si la pose es representable
+				if ( this.kinematicMapper.instantPose(time, this.instantPose) ) {
+					this.instantPlaneMapper.setTransformMatrix(this.instantPose.toMatrix());
+					this.render_internal(objectRenderer, this.instantPlaneMapper, time);
+				}
+				else {
+					this.render_internal(objectRenderer, this.kinematicMapper.instantPlaneMapper(time), time);
+				}
 			}
 		}
 		else {
@@ -136,17 +153,21 @@ public abstract class KinematicRenderPlaneObject implements Serializable {
 	/**
 	 * @pre Asegura que el renderizador no puede ser nulo
 	 * @post Renderiza el objeto con el renderizador, el mapeador de plano instantáneo, y el
-	 * 		 instante de tiempo especificado
+	 * 		 instante de tiempo especificado.
+	 * 		 El mapeador de plano instantáneo puede ser reutilizado en los
+	 * 		 siguientes cuadros, por lo tanto no tiene que retenerse
 	 */
 	protected abstract void render_internal(StaticPlaneObjectRenderer objectRenderer, PlaneMapper instantPlaneMapper, float time);
 	
 	/**
-	 * @post Carga la figura envolvente
+	 * @post Carga la figura envolvente.
+	 * 		 Si no hay nada que envolver devuelve null
 	 */
 	protected abstract FiniteAffineHolomorphicShape<?> loadBoundingShape();
 	
 	/**
-	 * @post Devuelve la figura envolvente
+	 * @post Devuelve la figura envolvente.
+	 * 		 Si no hay nada que envolver devuelve null
 	 */
 	public final FiniteAffineHolomorphicShape<?> getBoundingShape() {
 		if ( this.boundingShape == null ) {
@@ -156,6 +177,14 @@ public abstract class KinematicRenderPlaneObject implements Serializable {
 		return this.boundingShape;
 	}
 	
+	/**
+	 * @post Descarta la figura envolvente cargada, para que se vuelva a cargar
+	 * 		 la próxima vez que se la pida
+	 */
+	protected final void invalidateBoundingShape() {
+		this.boundingShape = null;
+	}
+	
 	/**
 	 * @post Notifica a los observadores
 	 */
@@ -93,6 +93,7 @@ public final class KinematicShapeObject extends KinematicRenderPlaneObject {
 			
 		});
 		this.shape = shape;
+		this.invalidateBoundingShape();
 	}
 	
 	/**
@@ -141,7 +142,16 @@ public final class KinematicShapeObject extends KinematicRenderPlaneObject {
 	 */
 	@Override
 	protected FiniteAffineHolomorphicShape<?> loadBoundingShape() {
-		return this.shape.getBoundingAffineHolomorphicShape();
+		final FiniteAffineHolomorphicShape<?> boundingShape;
+		
+		if ( this.shape != null ) {
+			boundingShape = this.shape.getBoundingAffineHolomorphicShape();
+		}
+		else {
+			boundingShape = null;
+		}
+		
+		return boundingShape;
 	}
 
 	/* (non-Javadoc)
@@ -127,6 +127,9 @@ public final class RenderingFrame {
 			@Override
 			protected void render_internal(
 					final com.esferixis.gameengine.renderengine.backend.renderingFrame.RenderingFrameRenderer backendRenderer) {
+				// Carga los objetos precargados en segundo plano, dentro del presupuesto del frame
+				PackageAccesors.renderEngineFrontendAccesor.get().processStreamedObjects(RenderingFrame.this.renderEngineFrontend);
+				
 				emmiter.render(new RenderingFrameRenderer() {
 
 					@Override
@@ -143,6 +146,7 @@ public final class RenderingFrame {
 								planeRendererEmmiter.render(new StaticPlaneObjectRenderer() {
 									private Mesh<?, ?> lastMesh = null;
 									private MeshLayersConfigProfile lastMeshLayersConfigProfile = null;
+									private boolean lastDependenciesResident = false;
 									
 									private com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh<Vector2f, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshData<Vector2f>> lastMeshBackend = null;
 									
@@ -159,12 +163,13 @@ public final class RenderingFrame {
 													lastMeshLayersConfigProfile = meshObject2d.getMeshLayersConfigProfile();
 												}
 												
-												if ( ( meshObject2d.getMesh() != lastMesh ) || meshLayersConfigCore.getAttachedProfileDependenciesChangeFlagValue() ) {
+												// Con carga asincrónica se vuelven a pedir mientras no estén cargadas
+												if ( ( meshObject2d.getMesh() != lastMesh ) || meshLayersConfigCore.getAttachedProfileDependenciesChangeFlagValue() || ( !lastDependenciesResident ) ) {
 													final Collection<RenderEngineFrontendLoadableObject> dependencies = new ArrayList<RenderEngineFrontendLoadableObject>(meshLayersConfigCore.getAttachedProfileDependencies().size()+1);
 													dependencies.add(meshObject2d.getMesh());
 													dependencies.addAll(meshLayersConfigCore.getAttachedProfileDependencies());
 													
-													PackageAccesors.renderEngineFrontendAccesor.get().prepareLoadableObjects(RenderingFrame.this.renderEngineFrontend, dependencies);
+													lastDependenciesResident = PackageAccesors.renderEngineFrontendAccesor.get().requestLoadableObjects(RenderingFrame.this.renderEngineFrontend, dependencies);
 													
 													meshLayersConfigCore.clearAttachedProfileDependenciesChangeFlag();
 												}
@@ -174,7 +179,11 @@ public final class RenderingFrame {
 													lastMeshBackend = (com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh<Vector2f, com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshData<Vector2f>>) PackageAccesors.meshAccesor.get().getCore(meshObject2d.getMesh()).getBackend();
 												}
 												
-												backendObjectRenderer.render(new com.esferixis.gameengine.renderengine.backend.plane.mesh.MeshObject2d(lastMeshBackend, meshObject2d.getMapper()));
+												// Los objetos con dependencias no cargadas no se dibujan
+												if ( lastDependenciesResident ) {
+													backendObjectRenderer.render(new com.esferixis.gameengine.renderengine.backend.plane.mesh.MeshObject2d(lastMeshBackend, meshObject2d.getMapper()));
+												}
+												
 												return null;
 											}
 
@@ -146,6 +146,37 @@ public final class Texture<P extends RasterPicture<? extends Vectorf>> extends R
 	public SerializableLengthedDataLoader<P> getLoader() {
 		return this.loader;
 	}
+	
+	/**
+	 * @post Especifica si se conserva la cadena de mipmaps generada junto a la textura,
+	 * 		 para no volver a generarla en cada carga (Por defecto no se conserva)
+	 */
+	public void setMipmapChainCaching(boolean mipmapChainCaching) {
+		this.getCore().getBackend().setMipmapChainCaching(mipmapChainCaching);
+	}
+	
+	/**
+	 * @post Devuelve si se conserva la cadena de mipmaps generada junto a la textura
+	 */
+	public boolean isMipmapChainCaching() {
+		return this.getCore().getBackend().isMipmapChainCaching();
+	}
+	
+	/**
+	 * @post Especifica si la textura puede compartir un atlas de texturas con otras
+	 * 		 (Por defecto puede, si los objetos de textura que la usan lo permiten).
+	 * 		 Sólo afecta a las cargas posteriores
+	 */
+	public void setAtlasAllowed(boolean atlasAllowed) {
+		this.getCore().getBackend().setAtlasAllowed(atlasAllowed);
+	}
+	
+	/**
+	 * @post Devuelve si la textura puede compartir un atlas de texturas con otras
+	 */
+	public boolean isAtlasAllowed() {
+		return this.getCore().getBackend().isAtlasAllowed();
+	}
 
 	/* (non-Javadoc)
 	 * @see com.esferixis.gameengine.renderengine.frontend.RenderEngineFrontendObject#hashCode()
@@ -0,0 +1,372 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.renderengine.picture;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.esferixis.gameengine.renderengine.picture.RasterPicture.ComponentFormat;
+import com.esferixis.misc.nio.BufferUtils;
+
+/**
+ * Cadena de mipmaps de una imagen.
+ * 
+ * El nivel cero es la imagen original, y cada nivel siguiente
+ * tiene la mitad de las dimensiones del anterior (Truncando, con mínimo uno),
+ * hasta llegar a un pixel.
+ * Cada pixel es el promedio de los pixels que cubre en el nivel anterior,
+ * ponderado por la fracción cubierta de cada uno. En dimensiones impares
+ * cada pixel cubre parcialmente un tercer pixel, así no se pierde la
+ * última fila o columna.
+ * 
+ * @author ariel
+ *
+ */
+public final class MipmapChain<P extends RasterPicture<?>> {
+	// Cantidad mínima de pixels a generar por tarea
+	private static final int TASK_PIXELS_THRESHOLD = 4096;
+	
+	private final List<P> levels;
+	private final long dataLength;
+	
+	/**
+	 * Filtro de reducción sobre un eje
+	 */
+	private static final class AxisFilter {
+		private final int tapsCount;
+		private final int[] offsets;
+		private final int[] weights;
+		private final int denominator;
+		
+		/**
+		 * @pre Las dimensiones tienen que ser positivas y la dimensión tiene que ser
+		 * 		la mitad de la dimensión fuente (Truncando, con mínimo uno)
+		 * @post Crea el filtro con la dimensión fuente, la dimensión, y la distancia
+		 * 		 en bytes entre pixels consecutivos de la fuente especificados.
+		 * 		 Si la dimensión fuente es par cada pixel es el promedio de dos.
+		 * 		 Si es impar (2n+1) cada pixel x cubre (2n+1)/n pixels fuente, con
+		 * 		 pesos n-x, n y x+1 sobre los pixels 2x, 2x+1 y 2x+2
+		 */
+		public AxisFilter(int sourceSize, int size, int stride) {
+			if ( sourceSize == 1 ) {
+				this.tapsCount = 1;
+				this.denominator = 1;
+			}
+			else if ( sourceSize % 2 == 0 ) {
+				this.tapsCount = 2;
+				this.denominator = 2;
+			}
+			else {
+				this.tapsCount = 3;
+				this.denominator = sourceSize;
+			}
+			
+			this.offsets = new int[this.tapsCount * size];
+			this.weights = new int[this.tapsCount * size];
+			
+			for ( int x = 0 ; x < size ; x++ ) {
+				for ( int i = 0 ; i < this.tapsCount ; i++ ) {
+					final int weight;
+					
+					if ( this.tapsCount == 3 ) {
+						if ( i == 0 ) {
+							weight = size - x;
+						}
+						else if ( i == 1 ) {
+							weight = size;
+						}
+						else {
+							weight = x + 1;
+						}
+					}
+					else {
+						weight = 1;
+					}
+					
+					this.offsets[x * this.tapsCount + i] = ( 2 * x + i ) * stride;
+					this.weights[x * this.tapsCount + i] = weight;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Nivel en proceso de generación
+	 */
+	private static final class LevelGenerator {
+		private final ByteBuffer source;
+		private final ByteBuffer destination;
+		private final ComponentFormat componentFormat;
+		private final int pixelSize;
+		private final int width, height, depth;
+		private final AxisFilter filterX, filterY, filterZ;
+		
+		/**
+		 * @post Crea el generador con la imagen fuente, sus dimensiones, y las dimensiones del nivel especificados
+		 */
+		public LevelGenerator(RasterPicture<?> source, int sourceWidth, int sourceHeight, int sourceDepth, int width, int height, int depth) {
+			this.source = source.getData().duplicate().order(ByteOrder.nativeOrder());
+			this.componentFormat = source.getComponentFormat();
+			this.pixelSize = source.getPixelFormat().getPixelSize();
+			
+			this.width = width;
+			this.height = height;
+			this.depth = depth;
+			
+			this.filterX = new AxisFilter(sourceWidth, width, this.pixelSize);
+			this.filterY = new AxisFilter(sourceHeight, height, sourceWidth * this.pixelSize);
+			this.filterZ = new AxisFilter(sourceDepth, depth, sourceWidth * sourceHeight * this.pixelSize);
+			
+			this.destination = BufferUtils.createByteBuffer(width * height * depth * this.pixelSize * this.componentFormat.getSize()).order(ByteOrder.nativeOrder());
+		}
+		
+		/**
+		 * @post Devuelve la cantidad de filas (Filas por profundidad)
+		 */
+		public int getRowsCount() {
+			return this.height * this.depth;
+		}
+		
+		/**
+		 * @post Genera las filas en el intervalo especificado
+		 */
+		public void generateRows(int rowStart, int rowEnd) {
+			final int componentSize = this.componentFormat.getSize();
+			
+			final AxisFilter filterX = this.filterX;
+			final AxisFilter filterY = this.filterY;
+			final AxisFilter filterZ = this.filterZ;
+			
+			final long denominator = (long) filterX.denominator * filterY.denominator * filterZ.denominator;
+			
+			for ( int row = rowStart ; row < rowEnd ; row++ ) {
+				final int y = row % this.height;
+				final int z = row / this.height;
+				
+				for ( int x = 0 ; x < this.width ; x++ ) {
+					final int destinationOffset = ( ( row * this.width ) + x ) * this.pixelSize;
+					
+					for ( int c = 0 ; c < this.pixelSize ; c++ ) {
+						if ( this.componentFormat == ComponentFormat.BYTE ) {
+							long sum = 0;
+							
+							for ( int k = z * filterZ.tapsCount ; k < ( z + 1 ) * filterZ.tapsCount ; k++ ) {
+								for ( int j = y * filterY.tapsCount ; j < ( y + 1 ) * filterY.tapsCount ; j++ ) {
+									final long weightZY = (long) filterZ.weights[k] * filterY.weights[j];
+									final int offsetZY = filterZ.offsets[k] + filterY.offsets[j] + c;
+									
+									for ( int i = x * filterX.tapsCount ; i < ( x + 1 ) * filterX.tapsCount ; i++ ) {
+										sum += weightZY * filterX.weights[i] * ( this.source.get(offsetZY + filterX.offsets[i]) & 0xFF );
+									}
+								}
+							}
+							
+							this.destination.put(destinationOffset + c, (byte) ( ( sum + denominator / 2 ) / denominator ) );
+						}
+						else {
+							double sum = 0.0;
+							
+							for ( int k = z * filterZ.tapsCount ; k < ( z + 1 ) * filterZ.tapsCount ; k++ ) {
+								for ( int j = y * filterY.tapsCount ; j < ( y + 1 ) * filterY.tapsCount ; j++ ) {
+									final double weightZY = (double) filterZ.weights[k] * filterY.weights[j];
+									final int offsetZY = filterZ.offsets[k] + filterY.offsets[j] + c;
+									
+									for ( int i = x * filterX.tapsCount ; i < ( x + 1 ) * filterX.tapsCount ; i++ ) {
+										sum += weightZY * filterX.weights[i] * this.source.getFloat( ( offsetZY + filterX.offsets[i] ) * componentSize );
+									}
+								}
+							}
+							
+							this.destination.putFloat( ( destinationOffset + c ) * componentSize, (float) ( sum / denominator ) );
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tarea de generación de filas de un nivel
+	 */
+	private static final class LevelTask extends RecursiveAction {
+		private static final long serialVersionUID = -2873390263407162125L;
+		
+		private final LevelGenerator levelGenerator;
+		private final int rowStart, rowEnd;
+		
+		/**
+		 * @post Crea la tarea con el generador y el intervalo de filas especificado
+		 */
+		public LevelTask(LevelGenerator levelGenerator, int rowStart, int rowEnd) {
+			this.levelGenerator = levelGenerator;
+			this.rowStart = rowStart;
+			this.rowEnd = rowEnd;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			final int rows = this.rowEnd - this.rowStart;
+			
+			if ( ( rows > 1 ) && ( rows * this.levelGenerator.width > TASK_PIXELS_THRESHOLD ) ) {
+				final int middle = this.rowStart + rows / 2;
+				invokeAll(new LevelTask(this.levelGenerator, this.rowStart, middle), new LevelTask(this.levelGenerator, middle, this.rowEnd));
+			}
+			else {
+				this.levelGenerator.generateRows(this.rowStart, this.rowEnd);
+			}
+		}
+	}
+	
+	/**
+	 * @post Crea la cadena con los niveles especificados
+	 */
+	private MipmapChain(List<P> levels) {
+		this.levels = Collections.unmodifiableList(levels);
+		
+		long dataLength = 0;
+		for ( P eachLevel : levels ) {
+			dataLength += eachLevel.getData().capacity();
+		}
+		this.dataLength = dataLength;
+	}
+	
+	/**
+	 * @post Genera el nivel con el generador especificado, en paralelo con el pool
+	 * 		 especificado, o secuencialmente si es nulo
+	 */
+	private static void generate(LevelGenerator levelGenerator, ForkJoinPool forkJoinPool) {
+		if ( forkJoinPool != null ) {
+			forkJoinPool.invoke(new LevelTask(levelGenerator, 0, levelGenerator.getRowsCount()));
+		}
+		else {
+			levelGenerator.generateRows(0, levelGenerator.getRowsCount());
+		}
+	}
+	
+	/**
+	 * @pre La imagen no puede ser nula
+	 * @post Crea la cadena de mipmaps de la imagen especificada.
+	 * 		 Cada nivel se genera en paralelo con el pool especificado,
+	 * 		 si es nulo se genera secuencialmente
+	 */
+	@SuppressWarnings("unchecked")
+	public static <P extends RasterPicture<?>> MipmapChain<P> create(P picture, final ForkJoinPool forkJoinPool) {
+		if ( picture != null ) {
+			return (MipmapChain<P>) picture.accept(new RasterPicture.Visitor<MipmapChain<?>>() {
+
+				@Override
+				public MipmapChain<?> visit(RasterPicture2d picture) {
+					final List<RasterPicture2d> levels = new ArrayList<RasterPicture2d>();
+					levels.add(picture);
+					
+					RasterPicture2d lastLevel = picture;
+					
+					while ( ( lastLevel.getWidth() > 1 ) || ( lastLevel.getHeight() > 1 ) ) {
+						final int width = Math.max(1, lastLevel.getWidth() / 2);
+						final int height = Math.max(1, lastLevel.getHeight() / 2);
+						
+						final LevelGenerator levelGenerator = new LevelGenerator(lastLevel, lastLevel.getWidth(), lastLevel.getHeight(), 1, width, height, 1);
+						generate(levelGenerator, forkJoinPool);
+						
+						lastLevel = new RasterPicture2d(picture.getPixelFormat(), picture.getComponentFormat(), width, height, levelGenerator.destination);
+						levels.add(lastLevel);
+					}
+					
+					return new MipmapChain<RasterPicture2d>(levels);
+				}
+
+				@Override
+				public MipmapChain<?> visit(RasterPicture3d picture) {
+					final List<RasterPicture3d> levels = new ArrayList<RasterPicture3d>();
+					levels.add(picture);
+					
+					RasterPicture3d lastLevel = picture;
+					
+					while ( ( lastLevel.getWidth() > 1 ) || ( lastLevel.getHeight() > 1 ) || ( lastLevel.getDepth() > 1 ) ) {
+						final int width = Math.max(1, lastLevel.getWidth() / 2);
+						final int height = Math.max(1, lastLevel.getHeight() / 2);
+						final int depth = Math.max(1, lastLevel.getDepth() / 2);
+						
+						final LevelGenerator levelGenerator = new LevelGenerator(lastLevel, lastLevel.getWidth(), lastLevel.getHeight(), lastLevel.getDepth(), width, height, depth);
+						generate(levelGenerator, forkJoinPool);
+						
+						lastLevel = new RasterPicture3d(picture.getPixelFormat(), picture.getComponentFormat(), width, height, depth, levelGenerator.destination);
+						levels.add(lastLevel);
+					}
+					
+					return new MipmapChain<RasterPicture3d>(levels);
+				}
+				
+			});
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de niveles, incluyendo la imagen original
+	 */
+	public int getLevelsCount() {
+		return this.levels.size();
+	}
+	
+	/**
+	 * @post Devuelve el nivel especificado, el nivel cero es la imagen original
+	 */
+	public P getLevel(int level) {
+		return this.levels.get(level);
+	}
+	
+	/**
+	 * @post Devuelve los niveles
+	 */
+	public List<P> getLevels() {
+		return this.levels;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes de todos los niveles
+	 */
+	public long getDataLength() {
+		return this.dataLength;
+	}
+}
@@ -58,8 +58,10 @@ public interface GL21 {
 	public static final int GL_TRIANGLE_STRIP = 7;
 	
 	public static final int GL_CULL_FACE = 2884;
+	public static final int GL_CULL_FACE_MODE = 2885;
 	public static final int GL_FRONT = 1028;
 	public static final int GL_BACK = 1029;
+	public static final int GL_FRONT_AND_BACK = 1032;
 	
 	public static final int GL_DOUBLE = 5130;
 	public static final int GL_FLOAT = 5126;
@@ -67,6 +69,8 @@ public interface GL21 {
 	public static final int GL_BYTE = 5120;
 	public static final int GL_UNSIGNED_BYTE = 5121;
 	public static final int GL_SHORT = 5122;
+	public static final int GL_UNSIGNED_SHORT = 5123;
+	public static final int GL_UNSIGNED_INT = 5125;
 	
 	public static final int GL_BLEND = 3042;
 	public static final int GL_SRC_COLOR = 768;
@@ -83,6 +87,7 @@ public interface GL21 {
 	public static final int GL_ONE_MINUS_CONSTANT_ALPHA = 32772;
 	public static final int GL_SRC_ALPHA_SATURATE = 776;
 	
+	public static final int GL_MAX_TEXTURE_SIZE = 3379;
 	public static final int GL_MAX_TEXTURE_IMAGE_UNITS = 34930;
 	public static final int GL_MAX_COMBINED_TEXTURE_IMAGE_UNITS = 35661;
 	public static final int GL_MAX_VARYING_FLOATS = 35659;
@@ -179,6 +184,7 @@ public interface GL21 {
 	public static final int GL_INFO_LOG_LENGTH = 35716;
 	
 	public static final int GL_ARRAY_BUFFER = 34962;
+	public static final int GL_ELEMENT_ARRAY_BUFFER = 34963;
 	
 	public static final int GL_STATIC_DRAW = 35044;
 	public static final int GL_DYNAMIC_DRAW = 35048;
@@ -240,6 +246,8 @@ public interface GL21 {
 	
 	public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, java.nio.ByteBuffer pixels);
 	
+	public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, java.nio.ByteBuffer pixels);
+	
 	public void glTexParameter(int target, int pname, FloatBuffer param);
 	
 	public void glTexParameter(int target, int pname, IntBuffer param);
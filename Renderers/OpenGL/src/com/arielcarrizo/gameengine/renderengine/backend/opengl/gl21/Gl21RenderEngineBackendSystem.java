@@ -121,13 +121,40 @@ public final class Gl21RenderEngineBackendSystem extends GlRenderEngineBackendSy
 	
 	private static final boolean debug = false;
 	
+	/**
+	 * Tamaño por defecto del buffer intermedio de streaming de atributos en vértices
+	 */
+	public static final int DEFAULT_STREAMING_BUFFER_VERTICES = 1024;
+	
+	/**
+	 * Tamaño por defecto del buffer circular de streaming de atributos en vértices
+	 */
+	public static final int DEFAULT_STREAMING_RING_VERTICES = 64 * 1024;
+	
 	/**
 	 * @pre La implementación de OpenGL y el administrador
 	 * 		de pantalla no pueden ser nulos
 	 * @post Crea el engine de rendering con la implementación de
-	 * 		 OpenGL y el administrador de pantalla especificados
+	 * 		 OpenGL y el administrador de pantalla especificados,
+	 * 		 con los tamaños de streaming de atributos por defecto
 	 */
 	public Gl21RenderEngineBackendSystem(GL21 gl, DisplayManager displayManager) throws PlatformServiceManagerException {
+		this(gl, displayManager, DEFAULT_STREAMING_BUFFER_VERTICES, DEFAULT_STREAMING_RING_VERTICES);
+	}
+	
+	/**
+	 * @pre La implementación de OpenGL y el administrador
+	 * 		de pantalla no pueden ser nulos, el tamaño de buffer intermedio
+	 * 		de streaming tiene que ser positivo y el del buffer circular no puede ser menor
+	 * @post Crea el engine de rendering con la implementación de
+	 * 		 OpenGL, el administrador de pantalla, y los tamaños de buffer
+	 * 		 intermedio y circular de streaming de atributos (en vértices) especificados
+	 */
+	public Gl21RenderEngineBackendSystem(GL21 gl, DisplayManager displayManager, int streamingBufferVertices, int streamingRingVertices) throws PlatformServiceManagerException {
+		if ( ( streamingBufferVertices <= 0 ) || ( streamingRingVertices < streamingBufferVertices ) ) {
+			throw new IllegalArgumentException("Invalid streaming buffer sizes");
+		}
+		
 		if ( gl != null ) {
 			if ( debug ) {
 				final GL21 originalGL = gl;
@@ -156,7 +183,7 @@ public final class Gl21RenderEngineBackendSystem extends GlRenderEngineBackendSy
 			try {				
 				this.shaderProgramContainerSwitcher = new ShaderProgramContainer.Switcher(this.gl);
 				
-				this.attributeStreamManager = new AttributeStreamManager(this.gl, 1024);
+				this.attributeStreamManager = new AttributeStreamManager(this.gl, streamingBufferVertices, streamingRingVertices);
 				
 				this.layeredGeometryRenderererSubsystem = new LayeredGeometryRendererSubsystem(this);
 				this.planeRenderingSubsystem = new PlaneRenderingSubsystem(this);
@@ -353,6 +380,33 @@ public final class Gl21RenderEngineBackendSystem extends GlRenderEngineBackendSy
 							throw new NullPointerException();
 						}
 					}
+
+					@Override
+					public <V extends Vectorf> long getLoadedSize(
+							Mesh<V, ? extends Data<V, ? extends MeshTriangleVertex<V>>> mesh)
+							throws NullPointerException, MissingMeshLoadException {
+						return Gl21RenderEngineBackendSystem.this.getMeshBacker(mesh).getUploadedBytes();
+					}
+
+					@Override
+					public <V extends Vectorf, P extends RasterPicture<V>> long getLoadedSize(Texture<P> texture)
+							throws NullPointerException, MissingTextureLoadException {
+						if ( this.isLoaded(texture) ) {
+							return Gl21RenderEngineBackendSystem.this.getTextureBacker(texture).getUploadedBytes();
+						}
+						else {
+							throw new MissingTextureLoadException();
+						}
+					}
+
+					@Override
+					public long getLoadedSize(MeshLayersConfig meshLayersConfig)
+							throws NullPointerException, MissingTextureMappingConfigLoadException {
+						// Sólo chequea que esté cargada, no tiene buffers propios y los programas de shaders se comparten
+						Gl21RenderEngineBackendSystem.this.getMeshLayersConfigBacker(meshLayersConfig);
+						
+						return 0;
+					}
 				};
 			}
 			catch (GLException e) {
@@ -56,9 +56,10 @@ public abstract class AttributeStream<T> {
 	
 	protected interface Visitor<R> {
 		public R visit(Vector2fAttributeStream stream);
+		public R visit(Vector4fAttributeStream stream);
 	}
 	
-	protected static final ConcreteInstanceClassIndexer<AttributeStream<?>> CONCRETEINSTANCECLASSINDEXER = new ConcreteInstanceClassIndexer<AttributeStream<?>>( (Class< AttributeStream<?> >) (Class<?>) AttributeStream.class, 1) {
+	protected static final ConcreteInstanceClassIndexer<AttributeStream<?>> CONCRETEINSTANCECLASSINDEXER = new ConcreteInstanceClassIndexer<AttributeStream<?>>( (Class< AttributeStream<?> >) (Class<?>) AttributeStream.class, 2) {
 
 		@Override
 		public int classIndex(AttributeStream<?> attributeStream) {
@@ -68,6 +69,11 @@ public abstract class AttributeStream<T> {
 				public Integer visit(Vector2fAttributeStream stream) {
 					return 0;
 				}
+
+				@Override
+				public Integer visit(Vector4fAttributeStream stream) {
+					return 1;
+				}
 				
 			});
 		}
@@ -227,21 +233,24 @@ public abstract class AttributeStream<T> {
 	 * 		 al vértice en construcción
 	 */
 	public final void send(T value) {
+		final int startPosition = this.beginSending();
+		this.send_internal(value);
+		this.endSending(startPosition, value);
+	}
+	
+	/**
+	 * @pre Tiene que tener una ubicación asignada desde el administrador.
+	 * 		Sólo puede enviarse un valor a cada vértice
+	 * @post Prepara el envío del dato del vértice en construcción,
+	 * 		 y devuelve la posición de escritura inicial
+	 */
+	protected final int beginSending() {
 		if ( this.manager != null ) {
 			this.manager.checkStreaming();
 			if ( !this.sended ) {
 				this.manager.notifySendValueEvent();
 				
-				int startPosition = this.getVbo().getByteBuffer().position();
-				this.send_internal(value);
-				this.getVbo().getByteBuffer().position(startPosition + this.realValueSize);
-				
-				this.sended = true;
-				
-				if ( this.keyToStoreValue != null ) {
-					this.storedValuePerKey.put(this.keyToStoreValue, value);
-					this.keyToStoreValue = null;
-				}
+				return this.getVbo().getByteBuffer().position();
 			}
 			else {
 				throw new IllegalStateException("Vertex attribute value has been sended");
@@ -252,6 +261,33 @@ public abstract class AttributeStream<T> {
 		}
 	}
 	
+	/**
+	 * @post Devuelve si el valor que se está enviando tiene que almacenarse
+	 */
+	protected final boolean isStoringValue() {
+		return ( this.keyToStoreValue != null );
+	}
+	
+	/**
+	 * @pre El valor sólo puede ser nulo si no tiene que almacenarse
+	 * @post Termina el envío del dato, escrito desde la posición inicial especificada
+	 */
+	protected final void endSending(int startPosition, T value) {
+		this.getVbo().getByteBuffer().position(startPosition + this.realValueSize);
+		
+		this.sended = true;
+		
+		if ( this.keyToStoreValue != null ) {
+			if ( value != null ) {
+				this.storedValuePerKey.put(this.keyToStoreValue, value);
+				this.keyToStoreValue = null;
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+	}
+	
 	/**
 	 * @post Devuelve si envió el dato
 	 */
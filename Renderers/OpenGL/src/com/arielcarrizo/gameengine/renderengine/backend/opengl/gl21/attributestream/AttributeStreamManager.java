@@ -43,14 +43,37 @@ import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GL21;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GLObject;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.globjects.shader.ShaderProgram;
 
+/**
+ * Administrador de streams de atributos.
+ * 
+ * Los vértices se acumulan en buffers intermedios de tamaño fijo, que al llenarse
+ * se suben a un buffer circular en cada VBO sin dibujar. Cada dibujo empieza en el
+ * desplazamiento actual del buffer circular, y sólo se corta cuando el buffer
+ * circular no tiene más lugar. Al volver al principio se descarta el almacenamiento
+ * de los VBOs (Orphaning).
+ * Con un buffer circular del mismo tamaño que el intermedio se comporta como un
+ * buffer simple, que se descarta en cada dibujo.
+ */
 public class AttributeStreamManager extends GLObject {
 	private final int bufferVertexSize;
+	private final int ringVertexSize;
 	private final List< Stack<StreamingVbo> > freeVbosPerAttributeStreamClassIndex;
 	private final List<AttributeStream<?>> activeAttributeStreams;
 	
+	// Vértices en los buffers intermedios
 	private int vertexCount;
+	
+	// Vértices del dibujo en curso, subidos o en los buffers intermedios
+	private int drawVertexCount;
 	private int vertexCountLimit;
 	
+	// Desplazamiento del dibujo en curso en el buffer circular
+	private int ringVertexOffset;
+	
+	private int drawsCount;
+	private int uploadsCount;
+	private int orphansCount;
+	
 	private int remainingMinVertices;
 	
 	private static final Object repeatFirstKey = new Object();
@@ -90,12 +113,24 @@ public class AttributeStreamManager extends GLObject {
 	/**
 	 * @pre La implementación de OpenGL no puede ser nula y la cantidad de vértices tiene que ser positiva
 	 * @post Crea el administrador del streamer de atributos con el tamaño
-	 * 		 de buffer especificado en cantidad de vértices
+	 * 		 de buffer especificado en cantidad de vértices, y un buffer circular
+	 * 		 del mismo tamaño
 	 */
 	public AttributeStreamManager(GL21 gl, int bufferVertexSize) {
+		this(gl, bufferVertexSize, bufferVertexSize);
+	}
+	
+	/**
+	 * @pre La implementación de OpenGL no puede ser nula, la cantidad de vértices del buffer
+	 * 		intermedio tiene que ser positiva, y la del buffer circular no puede ser menor
+	 * @post Crea el administrador del streamer de atributos con el tamaño de buffer intermedio
+	 * 		 y de buffer circular especificados en cantidad de vértices
+	 */
+	public AttributeStreamManager(GL21 gl, int bufferVertexSize, int ringVertexSize) {
 		super(gl);
-		if ( bufferVertexSize > 0 ) {
+		if ( ( bufferVertexSize > 0 ) && ( ringVertexSize >= bufferVertexSize ) ) {
 			this.bufferVertexSize = bufferVertexSize;
+			this.ringVertexSize = ringVertexSize;
 			
 			List< Stack<StreamingVbo> > freeVbosPerAttributeStreamClassIndex = new ArrayList<Stack<StreamingVbo>>(AttributeStream.CONCRETEINSTANCECLASSINDEXER.getConcreteClassesCount());
 			for ( int i = 0 ; i < AttributeStream.CONCRETEINSTANCECLASSINDEXER.getConcreteClassesCount() ; i++ ) {
@@ -107,6 +142,12 @@ public class AttributeStreamManager extends GLObject {
 			
 			this.drawingMode = null;
 			this.vertexCount = 0;
+			this.drawVertexCount = 0;
+			this.ringVertexOffset = 0;
+			
+			this.drawsCount = 0;
+			this.uploadsCount = 0;
+			this.orphansCount = 0;
 			
 			this.attributeStreamConfig = null;
 		}
@@ -115,6 +156,53 @@ public class AttributeStreamManager extends GLObject {
 		}
 	}
 	
+	/**
+	 * @post Devuelve el tamaño del buffer intermedio en vértices
+	 */
+	public int getBufferVertexSize() {
+		return this.bufferVertexSize;
+	}
+	
+	/**
+	 * @post Devuelve el tamaño del buffer circular en vértices
+	 */
+	public int getRingVertexSize() {
+		return this.ringVertexSize;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de dibujos hechos desde la última
+	 * 		 vez que se reiniciaron las estadísticas
+	 */
+	public int getDrawsCount() {
+		return this.drawsCount;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de subidas de buffers intermedios hechas
+	 * 		 desde la última vez que se reiniciaron las estadísticas
+	 */
+	public int getUploadsCount() {
+		return this.uploadsCount;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de veces que se volvió al principio del
+	 * 		 buffer circular desde la última vez que se reiniciaron las estadísticas
+	 */
+	public int getOrphansCount() {
+		return this.orphansCount;
+	}
+	
+	/**
+	 * @post Reinicia las estadísticas
+	 */
+	public void resetStatistics() {
+		this.drawsCount = 0;
+		this.uploadsCount = 0;
+		this.orphansCount = 0;
+	}
+	
 	/**
 	 * @post Devuelve la alineación de componentes
 	 */
@@ -186,7 +274,7 @@ public class AttributeStreamManager extends GLObject {
 						
 						requiredComponentsPerVertex = (int) (requiredComponentsPerVertex / this.getComponentAlignment()) * this.getComponentAlignment();
 						
-						vbo = new StreamingVbo(this.gl, requiredComponentsPerVertex * attributeStream.getComponentSize() * this.bufferVertexSize, attributeStream.getComponentSize(), attributeStream.getGLType() );
+						vbo = new StreamingVbo(this.gl, requiredComponentsPerVertex * attributeStream.getComponentSize(), this.bufferVertexSize, this.ringVertexSize, attributeStream.getComponentSize(), attributeStream.getGLType() );
 					}
 					else {
 						vbo = vboStack.pop();
@@ -211,7 +299,7 @@ public class AttributeStreamManager extends GLObject {
 	}
 	
 	void notifySendValueEvent() {
-		if ( ( !this.drawingMode.repeatKeys.isEmpty() ) && ( !this.firstVertexInStream ) && ( this.vertexCount == 0 ) && this.firstVertexInBufferEvent ) {
+		if ( ( !this.drawingMode.repeatKeys.isEmpty() ) && ( !this.firstVertexInStream ) && ( this.drawVertexCount == 0 ) && this.firstVertexInBufferEvent ) {
 			this.firstVertexInBufferEvent = false;
 			
 			for ( AttributeStream<?> eachAttributeStream : this.activeAttributeStreams ) {
@@ -224,6 +312,7 @@ public class AttributeStreamManager extends GLObject {
 	
 	private void clearVboBuffers() {
 		this.vertexCount = 0;
+		this.drawVertexCount = 0;
 		
 		for ( AttributeStream<?> eachAttributeStream : this.activeAttributeStreams ) {
 			eachAttributeStream.getVbo().getByteBuffer().clear();
@@ -239,13 +328,12 @@ public class AttributeStreamManager extends GLObject {
 		this.checkNotStreaming();
 		
 		if ( drawingMode != null ) {
-			
-			this.vertexCountLimit = (this.bufferVertexSize / drawingMode.vertexGranulanity) * drawingMode.vertexGranulanity;
-			
 			this.notifyNewVertex();
 			
 			this.drawingMode = drawingMode;
 			
+			this.prepareDraw();
+			
 			this.remainingMinVertices = this.drawingMode.minVertices;
 			
 			this.firstVertexInStream = true;
@@ -271,40 +359,85 @@ public class AttributeStreamManager extends GLObject {
 			}
 		}
 		
-		if ( this.vertexCount == this.vertexCountLimit ) {
-			this.doDrawing();
-			this.firstVertexInBufferEvent = true;
-		}
-		else if ( this.vertexCount == this.vertexCountLimit-1 ) {
-			this.registerMoment(repeatLastKey);
-		}
-		else if ( this.vertexCount == this.vertexCountLimit-2 ) {
-			this.registerMoment(repeatNSub1Key);
-		}
-		
 		this.firstVertexInStream = false;
 		
 		this.vertexCount++;
+		this.drawVertexCount++;
 		
 		if ( this.remainingMinVertices > 0 ) this.remainingMinVertices--;
 		
+		// Si se llenó el buffer circular dibuja, sin perder el vértice terminado
+		if ( this.drawVertexCount == this.vertexCountLimit ) {
+			this.doDrawing();
+			this.prepareDraw();
+			this.firstVertexInBufferEvent = true;
+		}
+		else {
+			// Si se llenó el buffer intermedio lo sube sin dibujar
+			if ( this.vertexCount == this.bufferVertexSize ) {
+				this.uploadBuffers();
+			}
+			
+			if ( this.drawVertexCount == this.vertexCountLimit-1 ) {
+				this.registerMoment(repeatLastKey);
+			}
+			else if ( this.drawVertexCount == this.vertexCountLimit-2 ) {
+				this.registerMoment(repeatNSub1Key);
+			}
+		}
+		
 		this.notifyNewVertex();
 	}
 	
 	/**
-	 * @post Actualiza los Vbo y realiza el renderizado
+	 * @post Prepara el próximo dibujo.
+	 * 		 Si no queda lugar para un buffer intermedio en el buffer circular
+	 * 		 descarta el almacenamiento de los VBOs y vuelve al principio.
+	 * 		 Después calcula el límite de vértices del dibujo
 	 */
-	private void doDrawing() {
-		if ( this.vertexCount != 0 ) {
+	private void prepareDraw() {
+		if ( this.ringVertexSize - this.ringVertexOffset < this.bufferVertexSize ) {
 			for ( AttributeStream<?> eachAttributeStream : this.activeAttributeStreams ) {
-				eachAttributeStream.getVbo().update();
+				eachAttributeStream.getVbo().orphan();
 			}
 			
-			//this.clearVboBuffers();
+			this.ringVertexOffset = 0;
+			this.orphansCount++;
+		}
+		
+		this.vertexCountLimit = ( ( this.ringVertexSize - this.ringVertexOffset ) / this.drawingMode.vertexGranulanity ) * this.drawingMode.vertexGranulanity;
+	}
+	
+	/**
+	 * @post Sube los buffers intermedios al buffer circular, a continuación
+	 * 		 de los vértices ya subidos del dibujo en curso
+	 */
+	private void uploadBuffers() {
+		if ( this.vertexCount != 0 ) {
+			final int vertexOffset = this.ringVertexOffset + this.drawVertexCount - this.vertexCount;
 			
-			this.gl.glDrawArrays(this.drawingMode.glDrawingType, 0, this.vertexCount);
+			for ( AttributeStream<?> eachAttributeStream : this.activeAttributeStreams ) {
+				eachAttributeStream.getVbo().update(vertexOffset);
+			}
 			
 			this.vertexCount = 0;
+			this.uploadsCount++;
+		}
+	}
+	
+	/**
+	 * @post Sube lo que queda en los buffers intermedios y realiza el renderizado
+	 * 		 del dibujo en curso, avanzando el desplazamiento en el buffer circular
+	 */
+	private void doDrawing() {
+		if ( this.drawVertexCount != 0 ) {
+			this.uploadBuffers();
+			
+			this.gl.glDrawArrays(this.drawingMode.glDrawingType, this.ringVertexOffset, this.drawVertexCount);
+			
+			this.ringVertexOffset += this.drawVertexCount;
+			this.drawVertexCount = 0;
+			this.drawsCount++;
 		}
 		
 	}
@@ -325,7 +458,7 @@ public class AttributeStreamManager extends GLObject {
 			}
 		}
 		
-		if ( ( this.remainingMinVertices == 0 ) && ( this.vertexCount % this.drawingMode.vertexGranulanity == 0 ) ) {
+		if ( ( this.remainingMinVertices == 0 ) && ( this.drawVertexCount % this.drawingMode.vertexGranulanity == 0 ) ) {
 			this.doDrawing();
 			
 			this.drawingMode = null;
@@ -38,35 +38,47 @@ import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GLObject;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.errorchecker.GLErrorChecker;
 import com.esferixis.misc.nio.BufferUtils;
 
+/**
+ * VBO de streaming.
+ * 
+ * Los valores se escriben en un buffer intermedio, que se sube a un buffer
+ * circular en el VBO a partir del desplazamiento que indique el administrador.
+ * Sólo se descarta el almacenamiento del VBO (Orphaning) cuando el administrador
+ * vuelve al principio del buffer circular.
+ */
 final class StreamingVbo extends GLObject {
 	private int vboId;
 	
 	private final ByteBuffer byteBuffer;
 	
+	private final int vertexStride;
+	private final int ringSizeInBytes;
+	
 	private final int componentsPerVertex;
 	private final int glType;
 	
-	private static final boolean simpleUpload = false;
-	
 	/**
-	 * @post Crea el vbo de streaming con el tamaño y el tipo especificado
-	 * @param size
+	 * @pre El tamaño de vértice tiene que ser positivo, y la capacidad del buffer
+	 * 		circular tiene que ser mayor o igual que la del buffer intermedio
+	 * @post Crea el vbo de streaming con el tamaño de vértice en bytes, la capacidad
+	 * 		 del buffer intermedio y del buffer circular en vértices, y el tipo especificados
 	 */
-	public StreamingVbo(GL21 gl, int sizeInBytes, int componentsPerVertex, int glType) {
+	public StreamingVbo(GL21 gl, int vertexStride, int bufferVertexSize, int ringVertexSize, int componentsPerVertex, int glType) {
 		super(gl);
-		if ( sizeInBytes > 0 ) {
+		if ( ( vertexStride > 0 ) && ( bufferVertexSize > 0 ) && ( ringVertexSize >= bufferVertexSize ) ) {
+			this.vertexStride = vertexStride;
+			this.ringSizeInBytes = vertexStride * ringVertexSize;
+			
 			this.componentsPerVertex = componentsPerVertex;
 			this.glType = glType;
 			
-			this.byteBuffer = BufferUtils.createByteBuffer(sizeInBytes);
+			this.byteBuffer = BufferUtils.createByteBuffer(vertexStride * bufferVertexSize);
 			
 			this.vboId = this.gl.glGenBuffers();
 			
-			if ( !simpleUpload ) {
-				this.gl.glBindBuffer(GL21.GL_ARRAY_BUFFER, this.vboId);
-				this.gl.glBufferData(GL21.GL_ARRAY_BUFFER, this.byteBuffer.capacity(), GL21.GL_DYNAMIC_DRAW);
-				this.checkGLError();
-			}
+			this.gl.glBindBuffer(GL21.GL_ARRAY_BUFFER, this.vboId);
+			this.gl.glBufferData(GL21.GL_ARRAY_BUFFER, this.ringSizeInBytes, GL21.GL_DYNAMIC_DRAW);
+			this.checkGLError();
 		}
 		else {
 			throw new IllegalArgumentException("Invalid buffer size");
@@ -81,22 +93,26 @@ final class StreamingVbo extends GLObject {
 	}
 	
 	/**
-	 * @post Actualiza el buffer hasta la posición de escritura,
-	 * 		 y "rebobina" la posición de escritura.
+	 * @post Descarta el almacenamiento del VBO, para poder volver a escribir desde
+	 * 		 el principio sin esperar a los dibujos pendientes
 	 */
-	public void update() {
+	public void orphan() {
 		this.gl.glBindBuffer(GL21.GL_ARRAY_BUFFER, this.vboId);
-		
+		this.gl.glBufferData(GL21.GL_ARRAY_BUFFER, this.ringSizeInBytes, GL21.GL_DYNAMIC_DRAW);
+	}
+	
+	/**
+	 * @pre Los vértices escritos tienen que entrar en el buffer circular a partir del
+	 * 		desplazamiento especificado
+	 * @post Sube el buffer intermedio hasta la posición de escritura, a partir del
+	 * 		 desplazamiento en vértices especificado, y "rebobina" la posición de escritura.
+	 */
+	public void update(int vertexOffset) {
 		this.byteBuffer.flip();
-		this.byteBuffer.rewind();
 		
-		if ( simpleUpload ) {
-			this.gl.glBufferData(GL21.GL_ARRAY_BUFFER, this.byteBuffer, GL21.GL_DYNAMIC_DRAW);
-			this.checkGLError();
-		}
-		else {
-			this.gl.glBufferData(GL21.GL_ARRAY_BUFFER, this.byteBuffer.capacity(), GL21.GL_DYNAMIC_DRAW);
-			this.gl.glBufferSubData(GL21.GL_ARRAY_BUFFER, 0, this.byteBuffer);
+		if ( this.byteBuffer.hasRemaining() ) {
+			this.gl.glBindBuffer(GL21.GL_ARRAY_BUFFER, this.vboId);
+			this.gl.glBufferSubData(GL21.GL_ARRAY_BUFFER, (long) vertexOffset * this.vertexStride, this.byteBuffer);
 		}
 		
 		this.byteBuffer.clear();
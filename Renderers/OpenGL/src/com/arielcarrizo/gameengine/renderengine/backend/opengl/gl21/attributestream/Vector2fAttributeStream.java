@@ -31,6 +31,8 @@
  */
 package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream;
 
+import java.nio.ByteBuffer;
+
 import com.esferixis.math.Vector2f;
 
 public final class Vector2fAttributeStream extends FloatAttributeStream<Vector2f> {
@@ -42,6 +44,22 @@ public final class Vector2fAttributeStream extends FloatAttributeStream<Vector2f
 	public Vector2fAttributeStream() {
 		super(2);
 	}
+	
+	/**
+	 * @pre Tiene que tener una ubicación asignada desde el administrador.
+	 * 		Sólo puede enviarse un valor a cada vértice
+	 * @post Envía el vector con las coordenadas especificadas, sin crear
+	 * 		 el vector salvo que tenga que almacenarse para repetirlo
+	 */
+	public void send(float x, float y) {
+		final int startPosition = this.beginSending();
+		
+		final ByteBuffer byteBuffer = this.getVbo().getByteBuffer();
+		byteBuffer.putFloat(x);
+		byteBuffer.putFloat(y);
+		
+		this.endSending(startPosition, this.isStoringValue() ? new Vector2f(x, y) : null);
+	}
 
 	/* (non-Javadoc)
 	 * @see com.esferixis.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStream#accept(com.esferixis.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStream.Visitor)
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream;
+
+import java.nio.ByteBuffer;
+
+import com.esferixis.math.Vector4f;
+
+public final class Vector4fAttributeStream extends FloatAttributeStream<Vector4f> {
+
+	/**
+	 * @post Crea el stream de vectores 4d de atributos
+	 * @param attributeSize
+	 */
+	public Vector4fAttributeStream() {
+		super(4);
+	}
+	
+	/**
+	 * @pre Tiene que tener una ubicación asignada desde el administrador.
+	 * 		Sólo puede enviarse un valor a cada vértice
+	 * @post Envía el vector con las coordenadas especificadas, sin crear
+	 * 		 el vector salvo que tenga que almacenarse para repetirlo
+	 */
+	public void send(float x, float y, float z, float w) {
+		final int startPosition = this.beginSending();
+		
+		final ByteBuffer byteBuffer = this.getVbo().getByteBuffer();
+		byteBuffer.putFloat(x);
+		byteBuffer.putFloat(y);
+		byteBuffer.putFloat(z);
+		byteBuffer.putFloat(w);
+		
+		this.endSending(startPosition, this.isStoringValue() ? new Vector4f(x, y, z, w) : null);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStream#accept(com.esferixis.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStream.Visitor)
+	 */
+	@Override
+	protected <V> V accept(
+			com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStream.Visitor<V> visitor) {
+		return visitor.visit(this);
+	}
+}
@@ -45,7 +45,15 @@ public final class ColoredMeshBacker<V extends Vectorf> extends MeshBacker<V, Co
 	private final LayersVertexDataBacker layersVertexDataBacker;
 	
 	public ColoredMeshBacker(Gl21RenderEngineBackendSystem renderEngineBackend, ColoredMeshData<V> meshData) throws GLException {
-		super(renderEngineBackend, meshData);
+		this(renderEngineBackend, meshData, new InterleavedVertexBuffer.Builder<V, ColoredMeshVertex<V>>(renderEngineBackend.getGL(), meshData));
+	}
+	
+	/**
+	 * @post Crea el "backer" con la malla especificada, con todos los atributos
+	 * 		 intercalados en el buffer de vértices del constructor especificado
+	 */
+	private ColoredMeshBacker(Gl21RenderEngineBackendSystem renderEngineBackend, ColoredMeshData<V> meshData, InterleavedVertexBuffer.Builder<V, ColoredMeshVertex<V>> vertexBufferBuilder) throws GLException {
+		super(renderEngineBackend, meshData, vertexBufferBuilder);
 		this.layersVertexDataBacker = new LayersVertexDataBacker(renderEngineBackend, meshData.getMeshLayersConfig(), meshData, new ElementProcessor<ColoredMeshVertex<V>, VertexLayersData>() {
 
 			@Override
@@ -53,7 +61,10 @@ public final class ColoredMeshBacker<V extends Vectorf> extends MeshBacker<V, Co
 				return element.getVertexLayersData();
 			}
 			
-		});
+		}, vertexBufferBuilder);
+		
+		vertexBufferBuilder.setPackedVertexData(meshData.getPackedVertexData());
+		this.buildVertexBuffer(vertexBufferBuilder);
 	}
 
 	/**
@@ -42,7 +42,17 @@ public final class GLAttribute extends GLObject {
 	private final int attributeSize;
 	private final int dataType;
 	
+	/**
+	 * Indica si el VBO es compartido con otros atributos,
+	 * en cuyo caso su dueño es el buffer de vértices intercalados
+	 */
+	private final boolean interleaved;
+	
+	private final long bytes;
+	
 	private int vboId;
+	private int stride;
+	private int offset;
 	
 	public class Manager {
 		private Manager() {
@@ -60,7 +70,9 @@ public final class GLAttribute extends GLObject {
 		 * @post Destruye el atributo
 		 */
 		public void destroy() {
-			GLAttribute.this.gl.glDeleteBuffers(GLAttribute.this.vboId);
+			if ( !GLAttribute.this.interleaved ) {
+				GLAttribute.this.gl.glDeleteBuffers(GLAttribute.this.vboId);
+			}
 			GLAttribute.this.vboId = 0;
 		}
 	}
@@ -84,7 +96,90 @@ public final class GLAttribute extends GLObject {
 		this.attributeSize = vboGenerator.getSizePerPoint();
 		this.dataType = vboGenerator.glDataType;
 		
+		this.interleaved = false;
+		this.bytes = (long) meshData.getTriangles().size() * 3 * this.attributeSize * getDataTypeSize(this.dataType);
 		this.vboId = vboGenerator.generateVbo(this.gl, meshData);
+		this.stride = 0;
+		this.offset = 0;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes de un componente del tipo de datos de OpenGL especificado
+	 */
+	private static int getDataTypeSize(int dataType) {
+		final int size;
+		
+		switch ( dataType ) {
+		case GL21.GL_BYTE:
+		case GL21.GL_UNSIGNED_BYTE:
+			size = 1;
+			break;
+		case GL21.GL_SHORT:
+		case GL21.GL_UNSIGNED_SHORT:
+			size = 2;
+			break;
+		case GL21.GL_INT:
+		case GL21.GL_UNSIGNED_INT:
+		case GL21.GL_FLOAT:
+			size = 4;
+			break;
+		case GL21.GL_DOUBLE:
+			size = 8;
+			break;
+		default:
+			throw new IllegalArgumentException("Unexpected data type");
+		}
+		
+		return size;
+	}
+	
+	/**
+	 * @post Crea el atributo intercalado con la cantidad de componentes especificada,
+	 * 		 sin VBO hasta que se construya el buffer de vértices intercalados
+	 */
+	private GLAttribute(GL21 gl, int attributeSize) {
+		super(gl);
+		
+		this.attributeSize = attributeSize;
+		this.dataType = GL21.GL_FLOAT;
+		
+		this.interleaved = true;
+		this.bytes = 0;
+		this.vboId = 0;
+		this.stride = 0;
+		this.offset = 0;
+	}
+	
+	/**
+	 * @post Crea el atributo intercalado con la cantidad de componentes especificada
+	 * 		 y devuelve su administrador
+	 */
+	static GLAttribute.Manager createInterleaved(GL21 gl, int attributeSize) {
+		return ( new GLAttribute(gl, attributeSize) ).new Manager();
+	}
+	
+	/**
+	 * @pre Tiene que ser intercalado
+	 * @post Asocia el atributo al VBO intercalado especificado, con la distancia
+	 * 		 entre vértices y el desplazamiento en bytes especificados
+	 */
+	void bindInterleaved(int vboId, int stride, int offset) {
+		if ( this.interleaved ) {
+			this.vboId = vboId;
+			this.stride = stride;
+			this.offset = offset;
+		}
+		else {
+			throw new IllegalStateException("Expected interleaved attribute");
+		}
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes del VBO propio.
+	 * 		 Los intercalados no tienen, porque su dueño es el buffer de vértices intercalados
+	 */
+	public long getBytes() {
+		return this.bytes;
 	}
 	
 	/**
@@ -93,7 +188,7 @@ public final class GLAttribute extends GLObject {
 	protected final void send(int location) {
 		if ( this.vboId != 0 ) {
 			this.gl.glBindBuffer(GL21.GL_ARRAY_BUFFER, this.vboId);
-			this.gl.glVertexAttribPointer(location, this.attributeSize, this.dataType, false, 0, 0);
+			this.gl.glVertexAttribPointer(location, this.attributeSize, this.dataType, false, this.stride, this.offset);
 		}
 		else {
 			throw new IllegalStateException("Cannot use destroyed attribute");
@@ -0,0 +1,432 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GL21;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GLObject;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangleVertex;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.PackedVertexData;
+import com.esferixis.math.Vectorf;
+import com.esferixis.misc.ElementProcessor;
+import com.esferixis.misc.nio.BufferUtils;
+
+/**
+ * Buffer de vértices intercalados e indexados.
+ * 
+ * Guarda todos los atributos de cada vértice contiguos en un solo VBO,
+ * sin repetir los vértices idénticos, y un buffer de índices
+ * de 16 o 32 bits con los triángulos.
+ * 
+ * Si la malla tiene datos de vértices ya empaquetados con la misma
+ * disposición se envían directamente, sin deduplicar ni convertir.
+ * 
+ * @author ariel
+ *
+ */
+public final class InterleavedVertexBuffer extends GLObject {
+	/**
+	 * Cantidad máxima de vértices que pueden indexarse con 16 bits
+	 */
+	private static final int MAX_SHORT_INDEXED_VERTICES = 65536;
+	
+	/**
+	 * Constructor del buffer de vértices intercalados
+	 */
+	public static final class Builder<V extends Vectorf, P extends MeshTriangleVertex<V>> {
+		private final class AttributeEntry {
+			private final GLAttribute.Manager attributeManager;
+			private final int componentsCount;
+			private final ElementProcessor<? super P, ? extends Vectorf> valueReader;
+			
+			/**
+			 * @post Crea la entrada con el administrador de atributo, la cantidad de componentes
+			 * 		 y el lector de valores especificados
+			 */
+			public AttributeEntry(GLAttribute.Manager attributeManager, int componentsCount, ElementProcessor<? super P, ? extends Vectorf> valueReader) {
+				this.attributeManager = attributeManager;
+				this.componentsCount = componentsCount;
+				this.valueReader = valueReader;
+			}
+		}
+		
+		/**
+		 * Clave de vértice para detectar vértices idénticos
+		 */
+		private static final class VertexKey {
+			private final float[] components;
+			private final int hashCode;
+			
+			/**
+			 * @post Crea la clave con los componentes especificados
+			 */
+			public VertexKey(float[] components) {
+				this.components = components;
+				this.hashCode = Arrays.hashCode(components);
+			}
+			
+			@Override
+			public int hashCode() {
+				return this.hashCode;
+			}
+			
+			@Override
+			public boolean equals(Object other) {
+				return ( other instanceof VertexKey ) && ( ( (VertexKey) other ).hashCode == this.hashCode ) && Arrays.equals( ( (VertexKey) other ).components, this.components);
+			}
+		}
+		
+		private final GL21 gl;
+		private final Mesh.Data<V, ? extends P> meshData;
+		private final List<AttributeEntry> attributeEntries;
+		private int componentsPerVertex;
+		private PackedVertexData packedVertexData;
+		private boolean built;
+		
+		/**
+		 * @pre Ni la implementación de OpenGL ni los datos de la malla pueden ser nulos
+		 * @post Crea el constructor con la implementación de OpenGL y los datos de la malla especificados
+		 */
+		public Builder(GL21 gl, Mesh.Data<V, ? extends P> meshData) {
+			if ( ( gl != null ) && ( meshData != null ) ) {
+				this.gl = gl;
+				this.meshData = meshData;
+				this.attributeEntries = new ArrayList<AttributeEntry>();
+				this.componentsPerVertex = 0;
+				this.packedVertexData = null;
+				this.built = false;
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+		/**
+		 * @pre El lector de valores no puede ser nulo, la cantidad de componentes
+		 * 		tiene que ser positiva y no tiene que haberse construido el buffer
+		 * @post Agrega un atributo con la cantidad de componentes flotantes y el lector
+		 * 		 de valores especificado, y devuelve su administrador.
+		 * 		 El atributo se puede usar después de construir el buffer
+		 */
+		public GLAttribute.Manager addAttribute(int componentsCount, ElementProcessor<? super P, ? extends Vectorf> valueReader) {
+			if ( valueReader != null ) {
+				if ( componentsCount <= 0 ) {
+					throw new IllegalArgumentException("Expected positive components count");
+				}
+				
+				if ( this.built ) {
+					throw new IllegalStateException("Vertex buffer already built");
+				}
+				
+				final GLAttribute.Manager attributeManager = GLAttribute.createInterleaved(this.gl, componentsCount);
+				this.attributeEntries.add(new AttributeEntry(attributeManager, componentsCount, valueReader));
+				this.componentsPerVertex += componentsCount;
+				
+				return attributeManager;
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+		/**
+		 * @pre No tiene que haberse construido el buffer
+		 * @post Especifica los datos de vértices empaquetados de la malla, o null si no hay.
+		 * 		 Si al construir el buffer la disposición coincide con la de los atributos
+		 * 		 agregados, y la plataforma es little-endian, se envían directamente
+		 */
+		public void setPackedVertexData(PackedVertexData packedVertexData) {
+			if ( this.built ) {
+				throw new IllegalStateException("Vertex buffer already built");
+			}
+			
+			this.packedVertexData = packedVertexData;
+		}
+		
+		/**
+		 * @post Devuelve si se pueden usar los datos de vértices empaquetados.
+		 * 		 Los atributos empaquetados tienen que coincidir uno por uno, en orden
+		 * 		 y en cantidad de componentes, con los agregados
+		 */
+		private boolean canUsePackedVertexData() {
+			boolean result = ( this.packedVertexData != null ) &&
+					( this.packedVertexData.getAttributesCount() == this.attributeEntries.size() ) &&
+					( this.packedVertexData.getIndicesCount() == this.meshData.getTriangles().size() * 3 ) &&
+					( ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN );
+			
+			for ( int i = 0 ; result && ( i < this.attributeEntries.size() ) ; i++ ) {
+				result = ( this.packedVertexData.getAttributeComponents(i) == this.attributeEntries.get(i).componentsCount );
+			}
+			
+			return result;
+		}
+		
+		/**
+		 * @pre No tiene que haberse construido el buffer
+		 * @post Construye el buffer de vértices intercalados, asociando
+		 * 		 los atributos agregados
+		 */
+		public InterleavedVertexBuffer build() {
+			if ( this.built ) {
+				throw new IllegalStateException("Vertex buffer already built");
+			}
+			
+			this.built = true;
+			
+			final InterleavedVertexBuffer result;
+			
+			if ( this.canUsePackedVertexData() ) {
+				result = new InterleavedVertexBuffer(this.gl, this.packedVertexData);
+			}
+			else {
+				result = this.buildFromTriangles();
+			}
+			
+			int offset = 0;
+			for ( AttributeEntry eachEntry : this.attributeEntries ) {
+				eachEntry.attributeManager.getAttribute().bindInterleaved(result.vboId, this.componentsPerVertex * 4, offset);
+				offset += eachEntry.componentsCount * 4;
+			}
+			
+			return result;
+		}
+		
+		/**
+		 * @post Construye el buffer de vértices intercalados leyendo los atributos de
+		 * 		 los triángulos y deduplicando los vértices
+		 */
+		private InterleavedVertexBuffer buildFromTriangles() {
+			final List<? extends MeshTriangle<V, ? extends P>> triangles = this.meshData.getTriangles();
+			final int indicesCount = triangles.size() * 3;
+			
+			final Map<VertexKey, Integer> indexPerVertex = new HashMap<VertexKey, Integer>();
+			final List<float[]> uniqueVertices = new ArrayList<float[]>();
+			final int[] indices = new int[indicesCount];
+			
+			float[] components = new float[this.componentsPerVertex];
+			int i = 0;
+			
+			for ( MeshTriangle<V, ? extends P> eachTriangle : triangles ) {
+				for ( P eachPoint : eachTriangle.getPoints() ) {
+					// Lee los componentes de todos los atributos del vértice
+					final FloatBuffer componentsBuffer = FloatBuffer.wrap(components);
+					for ( AttributeEntry eachEntry : this.attributeEntries ) {
+						eachEntry.valueReader.process(eachPoint).store(componentsBuffer);
+					}
+					
+					final VertexKey key = new VertexKey(components);
+					Integer index = indexPerVertex.get(key);
+					
+					if ( index == null ) {
+						index = uniqueVertices.size();
+						indexPerVertex.put(key, index);
+						uniqueVertices.add(components);
+						
+						components = new float[this.componentsPerVertex];
+					}
+					
+					indices[i++] = index;
+				}
+			}
+			
+			return new InterleavedVertexBuffer(this.gl, uniqueVertices, this.componentsPerVertex, indices);
+		}
+	}
+	
+	private int vboId;
+	private int indexBufferId;
+	private final int indexType;
+	private final int indicesCount;
+	private final int verticesCount;
+	private final long bytes;
+	
+	/**
+	 * @post Crea el buffer con la implementación de OpenGL, los vértices únicos,
+	 * 		 la cantidad de componentes por vértice y los índices especificados
+	 */
+	private InterleavedVertexBuffer(GL21 gl, List<float[]> uniqueVertices, int componentsPerVertex, int[] indices) {
+		super(gl);
+		
+		final int stride = componentsPerVertex * 4;
+		
+		this.verticesCount = uniqueVertices.size();
+		this.indicesCount = indices.length;
+		
+		// Datos de vértices intercalados
+		{
+			final FloatBuffer vertexData = BufferUtils.createByteBuffer(this.verticesCount * stride).asFloatBuffer();
+			
+			for ( float[] eachVertex : uniqueVertices ) {
+				vertexData.put(eachVertex);
+			}
+			
+			vertexData.flip();
+			
+			this.vboId = this.gl.glGenBuffers();
+			this.gl.glBindBuffer(GL21.GL_ARRAY_BUFFER, this.vboId);
+			this.gl.glBufferData(GL21.GL_ARRAY_BUFFER, vertexData, GL21.GL_STATIC_DRAW);
+			this.gl.glBindBuffer(GL21.GL_ARRAY_BUFFER, 0);
+		}
+		
+		// Índices, de 16 bits si alcanzan
+		{
+			final int indexSize;
+			final ByteBuffer indexData;
+			
+			if ( this.verticesCount <= MAX_SHORT_INDEXED_VERTICES ) {
+				indexSize = 2;
+				this.indexType = GL21.GL_UNSIGNED_SHORT;
+				indexData = BufferUtils.createByteBuffer(this.indicesCount * indexSize);
+				
+				for ( int eachIndex : indices ) {
+					indexData.putShort( (short) eachIndex );
+				}
+			}
+			else {
+				indexSize = 4;
+				this.indexType = GL21.GL_UNSIGNED_INT;
+				indexData = BufferUtils.createByteBuffer(this.indicesCount * indexSize);
+				
+				for ( int eachIndex : indices ) {
+					indexData.putInt(eachIndex);
+				}
+			}
+			
+			indexData.flip();
+			
+			this.indexBufferId = this.gl.glGenBuffers();
+			this.gl.glBindBuffer(GL21.GL_ELEMENT_ARRAY_BUFFER, this.indexBufferId);
+			this.gl.glBufferData(GL21.GL_ELEMENT_ARRAY_BUFFER, indexData, GL21.GL_STATIC_DRAW);
+			this.gl.glBindBuffer(GL21.GL_ELEMENT_ARRAY_BUFFER, 0);
+			
+			this.bytes = (long) this.verticesCount * stride + (long) this.indicesCount * indexSize;
+		}
+	}
+	
+	/**
+	 * @post Crea el buffer con la implementación de OpenGL y los datos de vértices
+	 * 		 empaquetados especificados, enviándolos sin copiarlos
+	 */
+	private InterleavedVertexBuffer(GL21 gl, PackedVertexData packedVertexData) {
+		super(gl);
+		
+		final ByteBuffer vertexData = packedVertexData.getVertices();
+		final ByteBuffer indexData = packedVertexData.getIndices();
+		
+		this.verticesCount = packedVertexData.getVerticesCount();
+		this.indicesCount = packedVertexData.getIndicesCount();
+		
+		if ( packedVertexData.getIndexSize() == 2 ) {
+			this.indexType = GL21.GL_UNSIGNED_SHORT;
+		}
+		else {
+			this.indexType = GL21.GL_UNSIGNED_INT;
+		}
+		
+		this.bytes = (long) vertexData.remaining() + (long) indexData.remaining();
+		
+		this.vboId = this.gl.glGenBuffers();
+		this.gl.glBindBuffer(GL21.GL_ARRAY_BUFFER, this.vboId);
+		this.gl.glBufferData(GL21.GL_ARRAY_BUFFER, vertexData, GL21.GL_STATIC_DRAW);
+		this.gl.glBindBuffer(GL21.GL_ARRAY_BUFFER, 0);
+		
+		this.indexBufferId = this.gl.glGenBuffers();
+		this.gl.glBindBuffer(GL21.GL_ELEMENT_ARRAY_BUFFER, this.indexBufferId);
+		this.gl.glBufferData(GL21.GL_ELEMENT_ARRAY_BUFFER, indexData, GL21.GL_STATIC_DRAW);
+		this.gl.glBindBuffer(GL21.GL_ELEMENT_ARRAY_BUFFER, 0);
+	}
+	
+	/**
+	 * @post Verifica que no haya sido destruido
+	 */
+	private void checkDestroyed() {
+		if ( this.vboId == 0 ) {
+			throw new IllegalStateException("Cannot use destroyed vertex buffer");
+		}
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de vértices únicos
+	 */
+	public int getVerticesCount() {
+		return this.verticesCount;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de índices
+	 */
+	public int getIndicesCount() {
+		return this.indicesCount;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes ocupados por los buffers
+	 */
+	public long getBytes() {
+		return this.bytes;
+	}
+	
+	/**
+	 * @pre Los atributos tienen que haberse enviado
+	 * @post Dibuja los triángulos con los índices
+	 */
+	public void drawTriangles() {
+		this.checkDestroyed();
+		
+		this.gl.glBindBuffer(GL21.GL_ELEMENT_ARRAY_BUFFER, this.indexBufferId);
+		this.gl.glDrawElements(GL21.GL_TRIANGLES, this.indicesCount, this.indexType, 0);
+	}
+	
+	/**
+	 * @post Destruye el buffer
+	 */
+	public void destroy() {
+		this.checkDestroyed();
+		
+		this.gl.glDeleteBuffers(this.vboId);
+		this.gl.glDeleteBuffers(this.indexBufferId);
+		
+		this.vboId = 0;
+		this.indexBufferId = 0;
+	}
+}
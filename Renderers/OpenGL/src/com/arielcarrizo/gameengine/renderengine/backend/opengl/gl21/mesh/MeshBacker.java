@@ -31,6 +31,11 @@
  */
 package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh;
 
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Logger;
 
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.GLException;
@@ -39,7 +44,9 @@ import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GLObject;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendObject;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendSystem;
 import com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangle;
 import com.esferixis.gameengine.renderengine.backend.misc.mesh.MeshTriangleVertex;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.PackedVertexData;
 import com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh.Data;
 import com.esferixis.math.Vector2f;
 import com.esferixis.math.Vector3f;
@@ -53,6 +60,12 @@ import com.esferixis.misc.ElementProcessor;
 public abstract class MeshBacker<V extends Vectorf, P extends MeshTriangleVertex<V>, D extends Mesh.Data<V, P>> extends Gl21RenderEngineBackendObject {
 	protected final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 	
+	/**
+	 * Cantidad máxima de vértices de las mallas cuyos vértices
+	 * se conservan para enviarlos por stream de atributos
+	 */
+	public static final int MAX_STREAMING_VERTICES = 96;
+	
 	public final class AttributeSender {
 		private boolean validContext;
 		
@@ -95,6 +108,11 @@ public abstract class MeshBacker<V extends Vectorf, P extends MeshTriangleVertex
 	private boolean destroyed;
 	private final GLAttribute.Manager positionAttributeManager;
 	private final int trianglesCount;
+	private final List<V> streamingPositions;
+	private InterleavedVertexBuffer vertexBuffer;
+	
+	private float boundingSphereCenterX, boundingSphereCenterY, boundingSphereCenterZ;
+	private float boundingSphereRadius;
 	
 	/**
 	 * @pre La implementación de OpenGL y la malla no pueden ser nulas
@@ -102,38 +120,211 @@ public abstract class MeshBacker<V extends Vectorf, P extends MeshTriangleVertex
 	 * @param essence
 	 */
 	public MeshBacker(Gl21RenderEngineBackendSystem renderEngineBackend, D meshData) throws GLException {
+		this(renderEngineBackend, meshData, null);
+	}
+	
+	/**
+	 * @pre La implementación de OpenGL y la malla no pueden ser nulas
+	 * @post Crea el "backer" con la malla y el constructor de buffer de vértices intercalados especificados.
+	 * 		 Si hay constructor el atributo de posición se agrega a él, y la subclase tiene que
+	 * 		 construir el buffer después de agregar los suyos.
+	 * 		 Si es nulo cada atributo tiene su propio VBO y se dibuja sin índices
+	 */
+	protected MeshBacker(Gl21RenderEngineBackendSystem renderEngineBackend, D meshData, final InterleavedVertexBuffer.Builder<V, P> vertexBufferBuilder) throws GLException {
 		super(renderEngineBackend);
 		if ( meshData != null ) {
 			this.destroyed = false;
+			this.vertexBuffer = null;
 			
-			this.positionAttributeManager = meshData.accept(new Mesh.Data.DimensionVisitor<GLAttribute.Manager, GLException>() {
+			if ( vertexBufferBuilder != null ) {
+				final int positionComponents = meshData.accept(new Mesh.Data.DimensionVisitor<Integer, RuntimeException>() {
 
-				@Override
-				public GLAttribute.Manager visit3d(Data<Vector3f, MeshTriangleVertex<Vector3f>> meshData) throws GLException {
-					return GLAttribute.create(gl, meshData, new Vector3fPropertyFloatBufferAttributeVboGenerator<MeshTriangleVertex<Vector3f>>(new ElementProcessor<MeshTriangleVertex<Vector3f>, Vector3f>() {
+					@Override
+					public Integer visit3d(Data<Vector3f, MeshTriangleVertex<Vector3f>> meshData) {
+						return 3;
+					}
+
+					@Override
+					public Integer visit2d(Data<Vector2f, MeshTriangleVertex<Vector2f>> meshData) {
+						return 2;
+					}
+				});
+				
+				this.positionAttributeManager = vertexBufferBuilder.addAttribute(positionComponents, new ElementProcessor<P, V>() {
+
+					@Override
+					public V process(P point) {
+						return point.getPosition();
+					}
+					
+				});
+			}
+			else {
+				this.positionAttributeManager = meshData.accept(new Mesh.Data.DimensionVisitor<GLAttribute.Manager, GLException>() {
 
-						@Override
-						public Vector3f process(MeshTriangleVertex<Vector3f> point) {
-							return point.getPosition();
-						} 
+					@Override
+					public GLAttribute.Manager visit3d(Data<Vector3f, MeshTriangleVertex<Vector3f>> meshData) throws GLException {
+						return GLAttribute.create(gl, meshData, new Vector3fPropertyFloatBufferAttributeVboGenerator<MeshTriangleVertex<Vector3f>>(new ElementProcessor<MeshTriangleVertex<Vector3f>, Vector3f>() {
+
+							@Override
+							public Vector3f process(MeshTriangleVertex<Vector3f> point) {
+								return point.getPosition();
+							} 
 						
-					}));
-				}
+						}));
+					}
 
-				@Override
-				public GLAttribute.Manager visit2d(Data<Vector2f, MeshTriangleVertex<Vector2f>> meshData) throws GLException {
-					return GLAttribute.create(gl, meshData, new Vector2fPropertyFloatBufferAttributeVboGenerator<MeshTriangleVertex<Vector2f>>(new ElementProcessor<MeshTriangleVertex<Vector2f>, Vector2f>() {
+					@Override
+					public GLAttribute.Manager visit2d(Data<Vector2f, MeshTriangleVertex<Vector2f>> meshData) throws GLException {
+						return GLAttribute.create(gl, meshData, new Vector2fPropertyFloatBufferAttributeVboGenerator<MeshTriangleVertex<Vector2f>>(new ElementProcessor<MeshTriangleVertex<Vector2f>, Vector2f>() {
 						
-						@Override
-						public Vector2f process(MeshTriangleVertex<Vector2f> point) {
-							return point.getPosition();
-						} 
+							@Override
+							public Vector2f process(MeshTriangleVertex<Vector2f> point) {
+								return point.getPosition();
+							} 
 						
-					}));
+						}));
+					}
+				});
+			}
+			
+			this.trianglesCount = meshData.getTriangles().size();
+			
+			this.streamingPositions = streamingValues(meshData, new ElementProcessor<P, V>() {
+
+				@Override
+				public V process(P point) {
+					return point.getPosition();
 				}
+				
 			});
 			
-			this.trianglesCount = meshData.getTriangles().size();
+			this.computeBoundingSphere(meshData);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Calcula la esfera envolvente de las posiciones de la malla, en el
+	 * 		 espacio del objeto.
+	 * 		 Toma como centro el de la caja envolvente, y como radio la mayor
+	 * 		 distancia del centro a un vértice.
+	 * 		 Las mallas de dos dimensiones quedan en el plano z = 0.
+	 * 		 Si la malla tiene vértices empaquetados las posiciones se leen de ellos,
+	 * 		 sin recorrer los triángulos
+	 */
+	private void computeBoundingSphere(D meshData) {
+		final float[] positions = positions(meshData);
+		
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+		
+		for ( int i = 0 ; i < positions.length ; i += 3 ) {
+			minX = Math.min(minX, positions[i]);
+			minY = Math.min(minY, positions[i+1]);
+			minZ = Math.min(minZ, positions[i+2]);
+			maxX = Math.max(maxX, positions[i]);
+			maxY = Math.max(maxY, positions[i+1]);
+			maxZ = Math.max(maxZ, positions[i+2]);
+		}
+		
+		if ( minX <= maxX ) {
+			this.boundingSphereCenterX = ( minX + maxX ) * 0.5f;
+			this.boundingSphereCenterY = ( minY + maxY ) * 0.5f;
+			this.boundingSphereCenterZ = ( minZ + maxZ ) * 0.5f;
+			
+			float squaredRadius = 0.0f;
+			
+			for ( int i = 0 ; i < positions.length ; i += 3 ) {
+				final float dx = positions[i] - this.boundingSphereCenterX;
+				final float dy = positions[i+1] - this.boundingSphereCenterY;
+				final float dz = positions[i+2] - this.boundingSphereCenterZ;
+				
+				squaredRadius = Math.max(squaredRadius, dx * dx + dy * dy + dz * dz);
+			}
+			
+			this.boundingSphereRadius = (float) Math.sqrt(squaredRadius);
+		}
+		else {
+			// Malla vacía
+			this.boundingSphereCenterX = 0.0f;
+			this.boundingSphereCenterY = 0.0f;
+			this.boundingSphereCenterZ = 0.0f;
+			this.boundingSphereRadius = 0.0f;
+		}
+	}
+	
+	/**
+	 * @post Devuelve las posiciones de los vértices de la malla especificada,
+	 * 		 con tres componentes cada una (z = 0 en dos dimensiones).
+	 * 		 Si la malla tiene vértices empaquetados devuelve los vértices únicos,
+	 * 		 sino los de cada triángulo
+	 */
+	private static <W extends Vectorf, Q extends MeshTriangleVertex<W>> float[] positions(Mesh.Data<W, Q> meshData) {
+		final PackedVertexData packedVertexData = meshData.getPackedVertexData();
+		final float[] result;
+		
+		if ( packedVertexData != null ) {
+			final ByteBuffer vertices = packedVertexData.getVertices();
+			final int positionComponents = packedVertexData.getAttributeComponents(0);
+			final int vertexSize = packedVertexData.getComponentsPerVertex() * 4;
+			
+			result = new float[packedVertexData.getVerticesCount() * 3];
+			
+			for ( int i = 0 ; i < packedVertexData.getVerticesCount() ; i++ ) {
+				for ( int j = 0 ; j < positionComponents ; j++ ) {
+					result[i * 3 + j] = vertices.getFloat(i * vertexSize + j * 4);
+				}
+			}
+		}
+		else {
+			final FloatBuffer positionBuffer;
+			
+			result = new float[meshData.getTriangles().size() * 9];
+			positionBuffer = FloatBuffer.wrap(result);
+			
+			for ( MeshTriangle<W, Q> eachTriangle : meshData.getTriangles() ) {
+				for ( Q eachPoint : eachTriangle.getPoints() ) {
+					final int offset = positionBuffer.position();
+					
+					eachPoint.getPosition().store(positionBuffer);
+					positionBuffer.position(offset + 3);
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @pre Ninguno de los parámetros puede ser nulo
+	 * @post Devuelve una lista inmodificable con los valores leídos de los vértices
+	 * 		 de la malla especificada, en el orden de dibujado.
+	 * 		 Si la malla tiene más vértices que el máximo para streaming, o tiene vértices
+	 * 		 empaquetados (Que se envían tal como están), devuelve null
+	 */
+	public static <W extends Vectorf, Q extends MeshTriangleVertex<W>, T> List<T> streamingValues(Mesh.Data<W, Q> meshData, ElementProcessor<? super Q, T> valueReader) {
+		if ( ( meshData != null ) && ( valueReader != null ) ) {
+			final List<T> result;
+			
+			if ( ( meshData.getPackedVertexData() == null ) && ( meshData.getTriangles().size() * 3 <= MAX_STREAMING_VERTICES ) ) {
+				final ArrayList<T> values = new ArrayList<T>(meshData.getTriangles().size() * 3);
+				
+				for ( MeshTriangle<W, Q> eachTriangle : meshData.getTriangles() ) {
+					values.add(valueReader.process(eachTriangle.getPoint1()));
+					values.add(valueReader.process(eachTriangle.getPoint2()));
+					values.add(valueReader.process(eachTriangle.getPoint3()));
+				}
+				
+				result = Collections.unmodifiableList(values);
+			}
+			else {
+				result = null;
+			}
+			
+			return result;
 		}
 		else {
 			throw new NullPointerException();
@@ -157,6 +348,41 @@ public abstract class MeshBacker<V extends Vectorf, P extends MeshTriangleVertex
 		return this.trianglesCount;
 	}
 	
+	/**
+	 * @post Devuelve la coordenada x del centro de la esfera envolvente,
+	 * 		 en el espacio del objeto
+	 */
+	public final float getBoundingSphereCenterX() {
+		this.checkDestroyed();
+		return this.boundingSphereCenterX;
+	}
+	
+	/**
+	 * @post Devuelve la coordenada y del centro de la esfera envolvente,
+	 * 		 en el espacio del objeto
+	 */
+	public final float getBoundingSphereCenterY() {
+		this.checkDestroyed();
+		return this.boundingSphereCenterY;
+	}
+	
+	/**
+	 * @post Devuelve la coordenada z del centro de la esfera envolvente,
+	 * 		 en el espacio del objeto
+	 */
+	public final float getBoundingSphereCenterZ() {
+		this.checkDestroyed();
+		return this.boundingSphereCenterZ;
+	}
+	
+	/**
+	 * @post Devuelve el radio de la esfera envolvente, en el espacio del objeto
+	 */
+	public final float getBoundingSphereRadius() {
+		this.checkDestroyed();
+		return this.boundingSphereRadius;
+	}
+	
 	/**
 	 * @post Devuelve el atributo de posición
 	 */
@@ -165,6 +391,62 @@ public abstract class MeshBacker<V extends Vectorf, P extends MeshTriangleVertex
 		return this.positionAttributeManager.getAttribute();
 	}
 	
+	/**
+	 * @post Devuelve las posiciones de los vértices en el orden de dibujado,
+	 * 		 para enviarlas por stream de atributos.
+	 * 		 Si la malla tiene más vértices que el máximo para streaming, o tiene vértices
+	 * 		 empaquetados (Que se envían tal como están), devuelve null
+	 */
+	public final List<V> getStreamingPositions() {
+		this.checkDestroyed();
+		return this.streamingPositions;
+	}
+	
+	/**
+	 * @pre Tiene que haberse creado con constructor de buffer de vértices intercalados,
+	 * 		y no tiene que haberse construido el buffer
+	 * @post Construye el buffer de vértices intercalados con el constructor especificado,
+	 * 		 después de que se hayan agregado todos los atributos
+	 */
+	protected final void buildVertexBuffer(InterleavedVertexBuffer.Builder<V, P> vertexBufferBuilder) {
+		this.checkDestroyed();
+		
+		if ( vertexBufferBuilder != null ) {
+			if ( this.vertexBuffer == null ) {
+				this.vertexBuffer = vertexBufferBuilder.build();
+			}
+			else {
+				throw new IllegalStateException("Vertex buffer already built");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve el buffer de vértices intercalados, si no tiene devuelve null
+	 */
+	public final InterleavedVertexBuffer getVertexBuffer() {
+		this.checkDestroyed();
+		return this.vertexBuffer;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes subidos en buffers
+	 */
+	public long getUploadedBytes() {
+		this.checkDestroyed();
+		
+		long bytes = this.positionAttributeManager.getAttribute().getBytes();
+		
+		if ( this.vertexBuffer != null ) {
+			bytes += this.vertexBuffer.getBytes();
+		}
+		
+		return bytes;
+	}
+	
 	/**
 	 * @post Dibuja la malla
 	 */
@@ -174,7 +456,12 @@ public abstract class MeshBacker<V extends Vectorf, P extends MeshTriangleVertex
 		attributeEmmiter.run(attributeSender);
 		attributeSender.exitContext();
 		
-		this.gl.glDrawArrays(GL21.GL_TRIANGLES, 0, this.trianglesCount * 3);
+		if ( this.vertexBuffer != null ) {
+			this.vertexBuffer.drawTriangles();
+		}
+		else {
+			this.gl.glDrawArrays(GL21.GL_TRIANGLES, 0, this.trianglesCount * 3);
+		}
 	}
 	
 	/**
@@ -183,6 +470,11 @@ public abstract class MeshBacker<V extends Vectorf, P extends MeshTriangleVertex
 	public void destroy() throws NullPointerException, IllegalStateException {
 		this.checkDestroyed();
 		this.positionAttributeManager.destroy();
+		
+		if ( this.vertexBuffer != null ) {
+			this.vertexBuffer.destroy();
+		}
+		
 		this.destroyed = true;
 	}
 }
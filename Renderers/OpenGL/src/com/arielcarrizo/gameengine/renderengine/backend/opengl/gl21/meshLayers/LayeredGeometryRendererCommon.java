@@ -65,6 +65,14 @@ public abstract class LayeredGeometryRendererCommon<V extends Vectorf, P extends
 		public abstract void updateUniforms(LayersRenderingShadersUnit.ShaderProgramContainer<V> shaderProgramContainer);
 	}
 	
+	public abstract class GeometryDrawer {
+		/**
+		 * @post Dibuja la geometría con el contenedor de programa de shader especificado,
+		 * 		 que ya está seleccionado y con los uniforms especificados
+		 */
+		public abstract void draw(LayersRenderingShadersUnit.ShaderProgramContainer<V> shaderProgramContainer);
+	}
+	
 	/**
 	 * @post Crea la parte común del renderizador basado en layers, indicando el switcher de contenedores de programas de shaders, el lector de backers de datos de vértice de capa y
 	 * 		 si tienen que activarse las escrituras al z-buffer
@@ -123,10 +131,45 @@ public abstract class LayeredGeometryRendererCommon<V extends Vectorf, P extends
 			
 			final LayersVertexDataBacker layersVertexDataBacker = this.vertexLayersDataBackerReader.process(meshBacker);
 			
-			final MeshLayersConfigBacker meshLayersConfigBacker = layersVertexDataBacker.getTextureMappingConfigBacker();
+			final Iterator< LayerVertexDataBacker > layerMappingBackersIterator = layersVertexDataBacker.getLayerMappingBackers().iterator();
+			
+			this.render(layersVertexDataBacker.getTextureMappingConfigBacker(), transformManager, new GeometryDrawer() {
+
+				@Override
+				public void draw(final LayersRenderingShadersUnit.ShaderProgramContainer<V> shaderProgramContainer) {
+					meshBacker.draw(new ElementCallback< MeshBacker<V, P, D>.AttributeSender>() {
 						
+						@Override
+						public void run(
+								final MeshBacker<V, P, D>.AttributeSender attributeSender) {
+							// Enviar posición de vértices
+							attributeSender.send(meshBacker.getPositionAttribute(), shaderProgramContainer.getVertexPositionAttribute().getLocation());
+							
+							for ( LayersRenderingShadersUnit.RenderLayer<V, ?> eachRenderLayer : shaderProgramContainer.getRenderLayers() ) {
+								eachRenderLayer.sendAttributes(layerMappingBackersIterator.next(), attributeSender);
+							}
+						}
+					
+					});
+				}
+				
+			});
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los parámetros puede ser nulo
+	 * @post Renderiza con el backer de configuración de capas, el administrador de transformaciones
+	 * 		 y el dibujante de geometría especificados.
+	 * 		 Por cada unidad de shaders selecciona el programa, especifica los uniforms
+	 * 		 y dibuja la geometría con el dibujante
+	 */
+	public final void render(final MeshLayersConfigBacker meshLayersConfigBacker, TransformManager transformManager, GeometryDrawer geometryDrawer) throws NullPointerException, MissingTextureLoadException {
+		if ( ( meshLayersConfigBacker != null ) && ( transformManager != null ) && ( geometryDrawer != null ) ) {
 			final Iterator< TextureObjectBacker<?, ?> > textureObjectBackersIterator = meshLayersConfigBacker.getTextureObjectBackers().iterator();
-			final Iterator< LayerVertexDataBacker > layerMappingBackersIterator = layersVertexDataBacker.getLayerMappingBackers().iterator();
 			final Iterator< ColorObject > colorObjectsIterator = meshLayersConfigBacker.getColorObjects().iterator();
 			
 			final boolean layersBlendingWithDepthWrites = ( meshLayersConfigBacker.getShadersUnits().size() != 1 ) && activateDepthWrites;
@@ -135,7 +178,7 @@ public abstract class LayeredGeometryRendererCommon<V extends Vectorf, P extends
 			
 			// Si está en un estado sucio o no es el último "backer", revisa que todas las texturas estén cargadas
 			if ( ( meshLayersConfigBacker != this.lastMeshLayersConfigBacker ) || meshLayersConfigBacker.isInDirtyState() ) {
-				for ( TextureObjectBacker<?, ?> eachTextureObjectBacker : layersVertexDataBacker.getTextureMappingConfigBacker().getTextureObjectBackers() ) {
+				for ( TextureObjectBacker<?, ?> eachTextureObjectBacker : meshLayersConfigBacker.getTextureObjectBackers() ) {
 					if ( !eachTextureObjectBacker.getTextureBacker().isLoaded() ) {
 						throw new MissingTextureLoadException();
 					}
@@ -204,20 +247,7 @@ public abstract class LayeredGeometryRendererCommon<V extends Vectorf, P extends
 					}
 				}
 											
-				meshBacker.draw(new ElementCallback< MeshBacker<V, P, D>.AttributeSender>() {
-				
-					@Override
-					public void run(
-							final MeshBacker<V, P, D>.AttributeSender attributeSender) {
-						// Enviar posición de vértices
-						attributeSender.send(meshBacker.getPositionAttribute(), shaderProgramContainer.getVertexPositionAttribute().getLocation());
-						
-						for ( LayersRenderingShadersUnit.RenderLayer<V, ?> eachRenderLayer : shaderProgramContainer.getRenderLayers() ) {
-							eachRenderLayer.sendAttributes(layerMappingBackersIterator.next(), attributeSender);
-						}
-					}
-				
-				});
+				geometryDrawer.draw(shaderProgramContainer);
 			}
 			
 			this.lastMeshLayersConfigBacker = meshLayersConfigBacker;
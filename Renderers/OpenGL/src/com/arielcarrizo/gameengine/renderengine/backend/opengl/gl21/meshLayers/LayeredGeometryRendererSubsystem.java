@@ -38,6 +38,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.GLException;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GL21;
@@ -76,6 +77,11 @@ public final class LayeredGeometryRendererSubsystem extends Gl21RenderEngineBack
 	
 	private TextureBacker<?> lastBindedTextureBacker;
 	
+	private final TextureAtlas textureAtlas;
+	
+	private final ForkJoinPool ownMipmapForkJoinPool;
+	private ForkJoinPool mipmapForkJoinPool;
+	
 	private boolean isDestroyed;
 	
 	/**
@@ -114,6 +120,11 @@ public final class LayeredGeometryRendererSubsystem extends Gl21RenderEngineBack
 		
 		this.lastBindedTextureBacker = null;
 		
+		this.textureAtlas = new TextureAtlas(this);
+		
+		this.ownMipmapForkJoinPool = new ForkJoinPool();
+		this.mipmapForkJoinPool = this.ownMipmapForkJoinPool;
+		
 		this.isDestroyed = false;
 	}
 	
@@ -152,6 +163,30 @@ public final class LayeredGeometryRendererSubsystem extends Gl21RenderEngineBack
 		return this.maxFragmentUniformComponents;
 	}
 	
+	/**
+	 * @post Devuelve el atlas de texturas
+	 */
+	public TextureAtlas getTextureAtlas() {
+		return this.textureAtlas;
+	}
+	
+	/**
+	 * @post Especifica el pool con el que se generan los mipmaps de las texturas.
+	 * 		 Si es nulo, se generan secuencialmente.
+	 * 		 Por defecto se usa un pool propio del subsistema
+	 */
+	public void setMipmapForkJoinPool(ForkJoinPool mipmapForkJoinPool) {
+		this.mipmapForkJoinPool = mipmapForkJoinPool;
+	}
+	
+	/**
+	 * @post Devuelve el pool con el que se generan los mipmaps de las texturas,
+	 * 		 si se generan secuencialmente devuelve null
+	 */
+	public ForkJoinPool getMipmapForkJoinPool() {
+		return this.mipmapForkJoinPool;
+	}
+	
 	/**
 	 * @post Asocia el perfil de shader con un shader y lo devuelve
 	 */
@@ -208,7 +243,24 @@ public final class LayeredGeometryRendererSubsystem extends Gl21RenderEngineBack
 	 */
 	public int allocateTextureUnit(TextureBacker<?> textureBacker, boolean selectTextureUnit) {
 		if ( textureBacker != null ) {
-			final int textureUnit = this.mruLinkedTextureUnitSlotAllocator.get(textureBacker.getTextureLinkedAllocatableElement()).getId();
+			return this.allocateTextureUnit(textureBacker.getTextureLinkedAllocatableElement(), selectTextureUnit);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El elemento no puede ser nulo
+	 * @post Obtiene una unidad de textura para el elemento especificado
+	 * 		 y la devuelve.
+	 * 		 Si se pide que se seleccione la unidad de textura, la unidad de textura
+	 * 		 asignada pasa a ser actual.
+	 * 		 Caso contrario, sólo si debe asignarse.
+	 */
+	int allocateTextureUnit(TextureLinkedAllocatableElement textureLinkedAllocatableElement, boolean selectTextureUnit) {
+		if ( textureLinkedAllocatableElement != null ) {
+			final int textureUnit = this.mruLinkedTextureUnitSlotAllocator.get(textureLinkedAllocatableElement).getId();
 			
 			if ( selectTextureUnit ) {
 				if ( this.lastBindedTextureBacker == null ) {
@@ -249,29 +301,32 @@ public final class LayeredGeometryRendererSubsystem extends Gl21RenderEngineBack
 			glValueByCoordinateWrap.put(CoordinateWrap.MIRRORED_REPEAT, GL21.GL_MIRRORED_REPEAT);
 			glValueByCoordinateWrap.put(CoordinateWrap.REPEAT, GL21.GL_REPEAT);
 			
-			textureObject.visit(new TextureObject.UncheckedVisitor<Void>() {
+			// Las páginas de atlas tienen el "wrapping" fijo, se emula en el shader
+			if ( !textureObjectBacker.getTextureBacker().isAtlased() ) {
+				textureObject.visit(new TextureObject.UncheckedVisitor<Void>() {
 
-				@Override
-				public Void visit(TextureObject2d textureObject) {
-					gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_S, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapS()));
-					gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_T, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapT()));
-					return null;
-				}
+					@Override
+					public Void visit(TextureObject2d textureObject) {
+						gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_S, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapS()));
+						gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_T, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapT()));
+						return null;
+					}
 
-				@Override
-				public Void visit(TextureObject3d textureObject) {
-					gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_S, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapS()));
-					gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_T, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapT()));
-					gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_R, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapR()));
-					return null;
-				}
+					@Override
+					public Void visit(TextureObject3d textureObject) {
+						gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_S, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapS()));
+						gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_T, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapT()));
+						gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_R, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapR()));
+						return null;
+					}
+					
+				});
 				
-			});
-			
-			gl.glTexParameter(glTextureType, GL21.GL_TEXTURE_BORDER_COLOR, textureObject.getBorderColor().store());
+				gl.glTexParameter(glTextureType, GL21.GL_TEXTURE_BORDER_COLOR, textureObject.getBorderColor().store());
+			}
 			
 			gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_MAG_FILTER, qualitySettings.getMagFilter().equals(TextureQualitySettings.MagFilter.NEAREST) ? GL21.GL_NEAREST : GL21.GL_LINEAR);
-			gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_MIN_FILTER, qualitySettings.getMinFilter().equals(TextureQualitySettings.MinFilter.NEAREST) ? GL21.GL_NEAREST : GL21.GL_LINEAR);
+			gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_MIN_FILTER, textureObjectBacker.getTextureBacker().getGlMinFilter(qualitySettings.getMinFilter()));
 			
 			textureObjectBacker.getTextureBacker().setCachedTextureObject(textureObject);
 		}
@@ -285,7 +340,20 @@ public final class LayeredGeometryRendererSubsystem extends Gl21RenderEngineBack
 	 */
 	void notifyTextureBackerDestroy(TextureBacker<?> textureBacker) {
 		if ( textureBacker != null ) {
-			this.mruLinkedTextureUnitSlotAllocator.detach(textureBacker.getTextureLinkedAllocatableElement());
+			this.notifyTextureElementDestroy(textureBacker.getTextureLinkedAllocatableElement());
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El elemento no puede ser nulo
+	 * @post Notifica la destrucción de la textura representada por el elemento especificado
+	 */
+	void notifyTextureElementDestroy(TextureLinkedAllocatableElement textureLinkedAllocatableElement) {
+		if ( textureLinkedAllocatableElement != null ) {
+			this.mruLinkedTextureUnitSlotAllocator.detach(textureLinkedAllocatableElement);
 		}
 		else {
 			throw new NullPointerException();
@@ -316,6 +384,9 @@ public final class LayeredGeometryRendererSubsystem extends Gl21RenderEngineBack
 			}
 		}
 		
+		this.textureAtlas.destroy();
+		this.ownMipmapForkJoinPool.shutdown();
+		
 		this.isDestroyed = true;
 	}
 }
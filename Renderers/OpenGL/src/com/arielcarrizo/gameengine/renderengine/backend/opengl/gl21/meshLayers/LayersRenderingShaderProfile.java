@@ -148,12 +148,20 @@ public class LayersRenderingShaderProfile {
 			return (this.hasAlphaTexture ? 2 : 1) * ((this.type == Type.TEXTURE3D) ? 3 : 2);
 		}
 		
+		/**
+		 * @post Devuelve la cantidad de componentes de uniforms de la región de atlas
+		 * 		 (Rectángulo, límites y color de borde)
+		 */
+		private int getAtlasUniformComponentsQuantity() {
+			return (this.type == Type.TEXTURE2D) ? (this.hasAlphaTexture ? 2 : 1) * 12 : 0;
+		}
+		
 		/* (non-Javadoc)
 		 * @see com.esferixis.gameengine.renderengine.backend.opengl.gl21.texture.TextureMappingShaderProfile.Layer#getRequiredFragmentUniformComponents_i1()
 		 */
 		@Override
 		public int getRequiredFragmentUniformComponents_i1() {
-			return this.getMirrorCoordinatesQuantity();
+			return this.getMirrorCoordinatesQuantity() + this.getAtlasUniformComponentsQuantity();
 		}
 		
 		/**
@@ -388,14 +388,21 @@ public final class LayersRenderingShadersUnit extends GLObject {
 			
 			private final IntegerUniformWriteCache mirrorSCoordinateGapWidthUniformWriteCache, mirrorTCoordinateGapWidthUniformWriteCache, mirrorRCoordinateGapWidthUniformWriteCache;
 			
+			private final ShaderProgram.Uniform atlasRectUniform, atlasClampUniform, atlasBorderColorUniform;
+			
+			private final Vector4fUniformWriteCache atlasRectUniformWriteCache, atlasClampUniformWriteCache, atlasBorderColorUniformWriteCache;
+			
 			/**
-			 * @pre Todos, excepto el nombre de uniform de espejar coordenadas R, no pueden ser nulos
+			 * @pre Todos, excepto el nombre de uniform de espejar coordenadas R y los nombres
+			 * 		de uniforms de atlas, no pueden ser nulos
 			 * @post Crea el componente con el nombre del sampler, el nombre del atributo
-			 * 		 de coordenada, y el nombre de uniform de espejar coordenadas por cada coordenada especificados
+			 * 		 de coordenada, el nombre de uniform de espejar coordenadas por cada coordenada,
+			 * 		 y el prefijo de los nombres de uniforms de atlas especificados.
+			 * 		 Si el prefijo es nulo no tiene uniforms de atlas
 			 * @param attributes
 			 * @param textureName
 			 */
-			private Component(String samplerName, String coordinatesAttributeName, String mirrorSCoordinateGapPictureWidthUniformName, String mirrorTCoordinateGapPictureWidthUniformName, String mirrorRCoordinateGapPictureWidthUniformName) {
+			private Component(String samplerName, String coordinatesAttributeName, String mirrorSCoordinateGapPictureWidthUniformName, String mirrorTCoordinateGapPictureWidthUniformName, String mirrorRCoordinateGapPictureWidthUniformName, String atlasUniformNamesPrefix) {
 				this.textureSampler = new ShaderProgram.Uniform(samplerName);
 				this.coordinatesAttribute = new ShaderProgram.Attribute(coordinatesAttributeName);
 				
@@ -407,6 +414,25 @@ public final class LayersRenderingShadersUnit extends GLObject {
 				this.mirrorSCoordinateGapWidthUniformWriteCache = new IntegerUniformWriteCache(LayersRenderingShadersUnit.this.gl, this.mirrorSCoordinateGapPictureWidthUniform);
 				this.mirrorTCoordinateGapWidthUniformWriteCache = new IntegerUniformWriteCache(LayersRenderingShadersUnit.this.gl, this.mirrorTCoordinateGapPictureWidthUniform);
 				this.mirrorRCoordinateGapWidthUniformWriteCache = ( mirrorRCoordinateGapPictureWidthUniformName != null ) ? new IntegerUniformWriteCache(LayersRenderingShadersUnit.this.gl, this.mirrorTCoordinateGapPictureWidthUniform) : null;
+				
+				if ( atlasUniformNamesPrefix != null ) {
+					this.atlasRectUniform = new ShaderProgram.Uniform(atlasUniformNamesPrefix + "Rect");
+					this.atlasClampUniform = new ShaderProgram.Uniform(atlasUniformNamesPrefix + "Clamp");
+					this.atlasBorderColorUniform = new ShaderProgram.Uniform(atlasUniformNamesPrefix + "BorderColor");
+					
+					this.atlasRectUniformWriteCache = new Vector4fUniformWriteCache(LayersRenderingShadersUnit.this.gl, this.atlasRectUniform);
+					this.atlasClampUniformWriteCache = new Vector4fUniformWriteCache(LayersRenderingShadersUnit.this.gl, this.atlasClampUniform);
+					this.atlasBorderColorUniformWriteCache = new Vector4fUniformWriteCache(LayersRenderingShadersUnit.this.gl, this.atlasBorderColorUniform);
+				}
+				else {
+					this.atlasRectUniform = null;
+					this.atlasClampUniform = null;
+					this.atlasBorderColorUniform = null;
+					
+					this.atlasRectUniformWriteCache = null;
+					this.atlasClampUniformWriteCache = null;
+					this.atlasBorderColorUniformWriteCache = null;
+				}
 			}
 			
 			/**
@@ -488,6 +514,27 @@ public final class LayersRenderingShadersUnit extends GLObject {
 				return this.mirrorRCoordinateGapWidthUniformWriteCache.get();
 			}
 			
+			/**
+			 * @pre Tiene que tener uniforms de atlas (Textura 2d), y ninguno de los parámetros puede ser nulo
+			 * @post Especifica el rectángulo normalizado de la región del atlas de texturas
+			 * 		 (x, y, ancho, alto), los límites de las coordenadas locales, y el color de borde.
+			 * 		 Si el ancho del rectángulo es cero, se usa la textura completa
+			 */
+			public void setAtlasRegion(Vector4f rect, Vector4f clamp, Vector4f borderColor) {
+				if ( this.atlasRectUniform == null ) {
+					throw new IllegalStateException("Atlas uniforms doesn't exists");
+				}
+				
+				if ( ( rect != null ) && ( clamp != null ) && ( borderColor != null ) ) {
+					this.atlasRectUniformWriteCache.set(rect);
+					this.atlasClampUniformWriteCache.set(clamp);
+					this.atlasBorderColorUniformWriteCache.set(borderColor);
+				}
+				else {
+					throw new NullPointerException();
+				}
+			}
+			
 			/**
 			 * @post Agrega el atributo de coordenada y los uniforms a la colección especificada
 			 */
@@ -497,6 +544,22 @@ public final class LayersRenderingShadersUnit extends GLObject {
 				uniforms.add(this.mirrorSCoordinateGapPictureWidthUniform);
 				uniforms.add(this.mirrorTCoordinateGapPictureWidthUniform);
 				if ( this.mirrorRCoordinateGapPictureWidthUniform != null ) uniforms.add(this.mirrorRCoordinateGapPictureWidthUniform);
+				if ( this.atlasRectUniform != null ) {
+					uniforms.add(this.atlasRectUniform);
+					uniforms.add(this.atlasClampUniform);
+					uniforms.add(this.atlasBorderColorUniform);
+				}
+			}
+			
+			/**
+			 * @post Agrega las declaraciones de los uniforms de atlas, si los tiene
+			 */
+			private void createAtlasDeclarations(SourceCodeBuilder sourceCodeBuilder) {
+				if ( this.atlasRectUniform != null ) {
+					sourceCodeBuilder.fragmentShaderSourceBuilder.append("uniform vec4 " + this.atlasRectUniform.getSourceName() + ";\n");
+					sourceCodeBuilder.fragmentShaderSourceBuilder.append("uniform vec4 " + this.atlasClampUniform.getSourceName() + ";\n");
+					sourceCodeBuilder.fragmentShaderSourceBuilder.append("uniform vec4 " + this.atlasBorderColorUniform.getSourceName() + ";\n");
+				}
 			}
 		}
 		
@@ -509,10 +572,10 @@ public final class LayersRenderingShadersUnit extends GLObject {
 		private TextureRenderLayer(LayersRenderingShaderProfile.TextureLayer profileLayer, int layerId) {
 			super(profileLayer, layerId);
 			
-			this.colorTexture = new Component("color" + profileLayer.getType().name() + "_" + layerId, "color" + profileLayer.getType().name() + "_coordinate_" + layerId, "color" + profileLayer.getType().name() + "_mirrorSCoordinateGapPictureWidth_" + layerId, "color" + profileLayer.getType().name() + "_mirrorTCoordinateGapPictureWidth_" + layerId, (profileLayer.getType() == LayersRenderingShaderProfile.TextureLayer.Type.TEXTURE3D) ? "color" + profileLayer.getType().name() + "_mirrorRCoordinateGapPictureWidth_" + layerId : null);
+			this.colorTexture = new Component("color" + profileLayer.getType().name() + "_" + layerId, "color" + profileLayer.getType().name() + "_coordinate_" + layerId, "color" + profileLayer.getType().name() + "_mirrorSCoordinateGapPictureWidth_" + layerId, "color" + profileLayer.getType().name() + "_mirrorTCoordinateGapPictureWidth_" + layerId, (profileLayer.getType() == LayersRenderingShaderProfile.TextureLayer.Type.TEXTURE3D) ? "color" + profileLayer.getType().name() + "_mirrorRCoordinateGapPictureWidth_" + layerId : null, (profileLayer.getType() == LayersRenderingShaderProfile.TextureLayer.Type.TEXTURE2D) ? "color" + profileLayer.getType().name() + "_atlas_" + layerId + "_" : null);
 			
 			if ( profileLayer.getHasAlphaTexture() ) {
-				this.alphaTexture = new Component("alpha" + profileLayer.getType().name() + "_" + layerId, "alpha" + profileLayer.getType().name() + "_coordinate_" + layerId, "alpha" + profileLayer.getType().name() + "_mirrorSCoordinateGapPictureWidth_" + layerId, "alpha" + profileLayer.getType().name() + "_mirrorTCoordinateGapPictureWidth_" + layerId, (profileLayer.getType() == LayersRenderingShaderProfile.TextureLayer.Type.TEXTURE3D) ? "alpha" + profileLayer.getType().name() + "_mirrorRCoordinateGapPictureWidth_" + layerId : null);
+				this.alphaTexture = new Component("alpha" + profileLayer.getType().name() + "_" + layerId, "alpha" + profileLayer.getType().name() + "_coordinate_" + layerId, "alpha" + profileLayer.getType().name() + "_mirrorSCoordinateGapPictureWidth_" + layerId, "alpha" + profileLayer.getType().name() + "_mirrorTCoordinateGapPictureWidth_" + layerId, (profileLayer.getType() == LayersRenderingShaderProfile.TextureLayer.Type.TEXTURE3D) ? "alpha" + profileLayer.getType().name() + "_mirrorRCoordinateGapPictureWidth_" + layerId : null, (profileLayer.getType() == LayersRenderingShaderProfile.TextureLayer.Type.TEXTURE2D) ? "alpha" + profileLayer.getType().name() + "_atlas_" + layerId + "_" : null);
 			}
 			else {
 				this.alphaTexture = null;
@@ -602,6 +665,7 @@ public final class LayersRenderingShadersUnit extends GLObject {
 			if ( this.getProfileLayer().getType() == TextureLayer.Type.TEXTURE3D ) {
 				sourceCodeBuilder.fragmentShaderSourceBuilder.append("uniform int " + this.getColorTexture().mirrorRCoordinateGapPictureWidthUniform.getSourceName() + ";\n");
 			}
+			this.getColorTexture().createAtlasDeclarations(sourceCodeBuilder);
 			
 			if ( this.getProfileLayer().getHasAlphaTexture() ) {
 				sourceCodeBuilder.fragmentShaderSourceBuilder.append("uniform " + this.getProfileLayer().getType().getSamplerType() + " " + this.getAlphaTexture().textureSampler.getSourceName() + ";\n");
@@ -610,9 +674,28 @@ public final class LayersRenderingShadersUnit extends GLObject {
 				if ( this.getProfileLayer().getType() == TextureLayer.Type.TEXTURE3D ) {
 					sourceCodeBuilder.fragmentShaderSourceBuilder.append("uniform int " + this.getAlphaTexture().mirrorRCoordinateGapPictureWidthUniform.getSourceName() + ";\n");
 				}
+				this.getAlphaTexture().createAtlasDeclarations(sourceCodeBuilder);
 			}
 		}
 
+		/**
+		 * @post Devuelve la expresión de lectura de la textura del componente especificado,
+		 * 		 con la función de textura y la variable de coordenada especificadas.
+		 * 		 En texturas 2d la lectura pasa por la región del atlas
+		 */
+		private String createTextureLookup(Component component, String textureFunctionName, String coordinateVariableName) {
+			final String result;
+			
+			if ( component.atlasRectUniform != null ) {
+				result = "atlasTexture2D( " + component.textureSampler.getSourceName() + ", " + coordinateVariableName + ", " + component.atlasRectUniform.getSourceName() + ", " + component.atlasClampUniform.getSourceName() + ", " + component.atlasBorderColorUniform.getSourceName() + " )";
+			}
+			else {
+				result = textureFunctionName + "( " + component.textureSampler.getSourceName() + ", " + coordinateVariableName + " )";
+			}
+			
+			return result;
+		}
+		
 		/* (non-Javadoc)
 		 * @see com.esferixis.gameengine.renderengine.backend.opengl.gl21.texture.TextureMappingShadersUnit.RenderLayer#createLayerColorValueGeneration_i1(com.esferixis.gameengine.renderengine.backend.opengl.gl21.texture.TextureMappingShadersUnit.SourceCodeBuilder)
 		 */
@@ -645,7 +728,7 @@ public final class LayersRenderingShadersUnit extends GLObject {
 					sourceCodeBuilder.fragmentShaderSourceBuilder.append("	" + resultCoordinateVariableName + ".z = processCoordinate(" + originalCoordinateValue + ".z, " + this.getColorTexture().mirrorTCoordinateGapPictureWidthUniform.getSourceName() + ");\n");
 				}
 				
-				colorValue = textureFunctionName + "( " + this.getColorTexture().textureSampler.getSourceName() + ", " + resultCoordinateVariableName + " )";
+				colorValue = this.createTextureLookup(this.getColorTexture(), textureFunctionName, resultCoordinateVariableName);
 			}
 			
 			if ( this.getProfileLayer().getHasAlphaTexture() ) {
@@ -658,7 +741,7 @@ public final class LayersRenderingShadersUnit extends GLObject {
 					sourceCodeBuilder.fragmentShaderSourceBuilder.append("	" + resultCoordinateVariableName + ".z = processCoordinate(" + originalCoordinateValue + ".z, " + this.getAlphaTexture().mirrorTCoordinateGapPictureWidthUniform.getSourceName() + ");\n");
 				}
 				
-				alphaValue = textureFunctionName + "( " + this.getAlphaTexture().textureSampler.getSourceName() + ", " + resultCoordinateVariableName + " ).x";
+				alphaValue = this.createTextureLookup(this.getAlphaTexture(), textureFunctionName, resultCoordinateVariableName) + ".x";
 			}
 			else {
 				alphaValue = "";
@@ -867,6 +950,12 @@ public final class LayersRenderingShadersUnit extends GLObject {
 			+	"	return value;\n"
 			+	"}\n"
 			+	"\n"
+			+	"vec4 atlasTexture2D(sampler2D sampler, vec2 coordinate, vec4 atlasRect, vec4 atlasClamp, vec4 borderColor) {\n"
+			+	"	if ( atlasRect.z == 0.0 ) return texture2D(sampler, coordinate);\n"
+			+	"	if ( any(lessThan(coordinate, vec2(0.0))) || any(greaterThan(coordinate, vec2(1.0))) ) return borderColor;\n"
+			+	"	return texture2D(sampler, atlasRect.xy + clamp(coordinate, atlasClamp.xy, atlasClamp.zw) * atlasRect.zw);\n"
+			+	"}\n"
+			+	"\n"
 			+	"void main(void) {\n"
 			+	"	vec4 layerColorValue;\n"
 			+	"	vec2 resultColor_2d_coordinate;\n"
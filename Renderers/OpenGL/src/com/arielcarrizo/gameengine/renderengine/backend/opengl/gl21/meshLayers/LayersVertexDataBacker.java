@@ -41,6 +41,8 @@ import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GLObject;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendObject;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendSystem;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.GLAttribute;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.InterleavedVertexBuffer;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.MeshBacker;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.Vector2fPropertyFloatBufferAttributeVboGenerator;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.Vector4fPropertyFloatBufferAttributeVboGenerator;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.GLAttribute.Manager;
@@ -86,14 +88,17 @@ public final class LayersVertexDataBacker extends Gl21RenderEngineBackendObject
 	
 	public final class VertexColoredLayerVertexDataBacker extends LayerVertexDataBacker {
 		private GLAttribute.Manager colorAttributeManager;
+		private final List<Vector4f> streamingColors;
 
 		/**
 		 * @pre El atributo de color no puede ser nulo
-		 * @post Crea el backer con el atributo de color especificado
+		 * @post Crea el backer con el atributo de color y los colores para streaming especificados.
+		 * 		 Los colores para streaming son opcionales
 		 */
-		private VertexColoredLayerVertexDataBacker(GLAttribute.Manager colorAttributeManager) {
+		private VertexColoredLayerVertexDataBacker(GLAttribute.Manager colorAttributeManager, List<Vector4f> streamingColors) {
 			if ( colorAttributeManager != null ) {
 				this.colorAttributeManager = colorAttributeManager;
+				this.streamingColors = streamingColors;
 			}
 			else {
 				throw new NullPointerException();
@@ -107,6 +112,15 @@ public final class LayersVertexDataBacker extends Gl21RenderEngineBackendObject
 			return this.colorAttributeManager.getAttribute();
 		}
 		
+		/**
+		 * @post Devuelve los colores de los vértices en el orden de dibujado,
+		 * 		 para enviarlos por stream de atributos.
+		 * 		 Si la malla tiene más vértices que el máximo para streaming devuelve null
+		 */
+		public List<Vector4f> getStreamingColors() {
+			return this.streamingColors;
+		}
+		
 		
 		/* (non-Javadoc)
 		 * @see com.esferixis.gameengine.renderengine.backend.opengl.gl21.texture.LayerMappingBacker.LayerDataBacker#destroy()
@@ -120,18 +134,21 @@ public final class LayersVertexDataBacker extends Gl21RenderEngineBackendObject
 	
 	public final class TextureLayerVertexDataBacker extends LayerVertexDataBacker {
 		private final GLAttribute.Manager alphaCoordinatesAttributeManager, colorCoordinatesAttributeManager;
+		private final List<Vector2f> streamingColorCoordinates;
 		
 		/**
 		 * @pre El atributo de coordenadas de color no puede ser nulo
-		 * @post Crea el backer con el atributo de coordenadas alfa y el de color especificados
-		 * 		 El de alfa es opcional
+		 * @post Crea el backer con el atributo de coordenadas alfa, el de color y
+		 * 		 las coordenadas de color para streaming especificados
+		 * 		 El de alfa y las coordenadas para streaming son opcionales
 		 * @param alphaCoordinatesAttribute
 		 * @param colorCoordinatesAttribute
 		 */
-		private TextureLayerVertexDataBacker(GLAttribute.Manager alphaCoordinatesAttributeManager, GLAttribute.Manager colorCoordinatesAttributeManager) {
+		private TextureLayerVertexDataBacker(GLAttribute.Manager alphaCoordinatesAttributeManager, GLAttribute.Manager colorCoordinatesAttributeManager, List<Vector2f> streamingColorCoordinates) {
 			if ( colorCoordinatesAttributeManager != null ) {
 				this.colorCoordinatesAttributeManager = colorCoordinatesAttributeManager;
 				this.alphaCoordinatesAttributeManager = alphaCoordinatesAttributeManager;
+				this.streamingColorCoordinates = streamingColorCoordinates;
 			}
 			else {
 				throw new NullPointerException();
@@ -139,12 +156,13 @@ public final class LayersVertexDataBacker extends Gl21RenderEngineBackendObject
 		}
 		
 		/**
-		 * @post Crea el backer con el atributo de coordenadas de color especificado
+		 * @post Crea el backer con el atributo de coordenadas de color y
+		 * 		 las coordenadas de color para streaming especificados
 		 * @param alphaCoordinatesAttribute
 		 * @param colorCoordinatesAttribute
 		 */
-		private TextureLayerVertexDataBacker(GLAttribute.Manager colorCoordinatesAttribute) {
-			this(null, colorCoordinatesAttribute);
+		private TextureLayerVertexDataBacker(GLAttribute.Manager colorCoordinatesAttribute, List<Vector2f> streamingColorCoordinates) {
+			this(null, colorCoordinatesAttribute, streamingColorCoordinates);
 		}
 		
 		/**
@@ -163,6 +181,16 @@ public final class LayersVertexDataBacker extends Gl21RenderEngineBackendObject
 			return this.colorCoordinatesAttributeManager.getAttribute();
 		}
 		
+		/**
+		 * @post Devuelve las coordenadas de textura de color de los vértices en el orden de dibujado,
+		 * 		 para enviarlas por stream de atributos.
+		 * 		 Si la malla tiene más vértices que el máximo para streaming devuelve null
+		 */
+		public List<Vector2f> getStreamingColorCoordinates() {
+			LayersVertexDataBacker.this.checkDestroyed();
+			return this.streamingColorCoordinates;
+		}
+		
 		@Override
 		protected void destroy() {
 			if ( this.alphaCoordinatesAttributeManager != null ) {
@@ -182,6 +210,17 @@ public final class LayersVertexDataBacker extends Gl21RenderEngineBackendObject
 	 * 		 la malla y el extractor de mapeos de puntos especificado
 	 */
 	public <V extends Vectorf, M extends Mesh.Data<V, P>, P extends MeshTriangleVertex<V>> LayersVertexDataBacker(final Gl21RenderEngineBackendSystem renderEngineBackend, final MeshLayersConfig textureMappingConfig, final M meshData, final ElementProcessor<P, VertexLayersData> vertexLayersDataReader) throws GLException, OutOfMemoryException {
+		this(renderEngineBackend, textureMappingConfig, meshData, vertexLayersDataReader, null);
+	}
+	
+	/**
+	 * @post Crea el "backer" del mapeo con la configuración de mapeo,
+	 * 		 la malla, el extractor de mapeos de puntos y el constructor de
+	 * 		 buffer de vértices intercalados especificados.
+	 * 		 Si hay constructor los atributos se agregan a él, si no cada uno
+	 * 		 tiene su propio VBO
+	 */
+	public <V extends Vectorf, M extends Mesh.Data<V, P>, P extends MeshTriangleVertex<V>> LayersVertexDataBacker(final Gl21RenderEngineBackendSystem renderEngineBackend, final MeshLayersConfig textureMappingConfig, final M meshData, final ElementProcessor<P, VertexLayersData> vertexLayersDataReader, final InterleavedVertexBuffer.Builder<V, P> vertexBufferBuilder) throws GLException, OutOfMemoryException {
 		super(renderEngineBackend);
 		if ( ( textureMappingConfig != null ) && ( meshData != null ) && ( vertexLayersDataReader != null ) ) {
 			this.isDestroyed = false;
@@ -198,19 +237,30 @@ public final class LayersVertexDataBacker extends Gl21RenderEngineBackendObject
 
 					@Override
 					public LayerVertexDataBacker visit(SimpleTextureLayer<?> layer) throws Exception {
+						final ElementProcessor<P, Vector2f> colorCoordinatesReader = new ElementProcessor<P, Vector2f>() {
+
+							@Override
+							public Vector2f process(P point) {
+								VertexLayersData vertexLayersData = vertexLayersDataReader.process(point);
+								return ( (SimpleTextureLayerVertexData<Vector2f>) vertexLayersData.getLayersData().get(layerIndex) ).getPosition();
+							}
+							
+						};
+						
 						final GLAttribute.Manager colorCoordinatesAttributeManager = layer.getTextureObject().visit(new TextureObject.Visitor<GLAttribute.Manager>() {
 
 							@Override
 							public Manager visit(TextureObject2d textureObject) throws Exception {
-								return GLAttribute.create(gl, meshData, new Vector2fPropertyFloatBufferAttributeVboGenerator(new ElementProcessor<P, Vector2f>() {
-
-									@Override
-									public Vector2f process(P point) {
-										VertexLayersData vertexLayersData = vertexLayersDataReader.process(point);
-										return ( (SimpleTextureLayerVertexData<Vector2f>) vertexLayersData.getLayersData().get(layerIndex) ).getPosition();
-									}
-									
-								}));
+								final GLAttribute.Manager result;
+								
+								if ( vertexBufferBuilder != null ) {
+									result = vertexBufferBuilder.addAttribute(2, colorCoordinatesReader);
+								}
+								else {
+									result = GLAttribute.create(gl, meshData, new Vector2fPropertyFloatBufferAttributeVboGenerator(colorCoordinatesReader));
+								}
+								
+								return result;
 							}
 
 							@Override
@@ -220,12 +270,12 @@ public final class LayersVertexDataBacker extends Gl21RenderEngineBackendObject
 							}
 						});
 						
-						return new TextureLayerVertexDataBacker(colorCoordinatesAttributeManager);
+						return new TextureLayerVertexDataBacker(colorCoordinatesAttributeManager, MeshBacker.streamingValues(meshData, colorCoordinatesReader));
 					}
 
 					@Override
 					public LayerVertexDataBacker visit(VertexColoredMeshLayer layer) throws Exception {
-						final GLAttribute.Manager vertexColorAttributeManager = GLAttribute.create(gl, meshData, new Vector4fPropertyFloatBufferAttributeVboGenerator(new ElementProcessor<P, Vector4f>() {
+						final ElementProcessor<P, Vector4f> colorReader = new ElementProcessor<P, Vector4f>() {
 
 							@Override
 							public Vector4f process(P point) {
@@ -233,9 +283,18 @@ public final class LayersVertexDataBacker extends Gl21RenderEngineBackendObject
 								return ( (VertexColoredMeshLayerVertexData) vertexLayersData.getLayersData().get(layerIndex) ).getColor();
 							}
 							
-						}));
+						};
+						
+						final GLAttribute.Manager vertexColorAttributeManager;
+						
+						if ( vertexBufferBuilder != null ) {
+							vertexColorAttributeManager = vertexBufferBuilder.addAttribute(4, colorReader);
+						}
+						else {
+							vertexColorAttributeManager = GLAttribute.create(gl, meshData, new Vector4fPropertyFloatBufferAttributeVboGenerator(colorReader));
+						}
 						
-						return new VertexColoredLayerVertexDataBacker(vertexColorAttributeManager);
+						return new VertexColoredLayerVertexDataBacker(vertexColorAttributeManager, MeshBacker.streamingValues(meshData, colorReader));
 					}
 
 					@Override
@@ -0,0 +1,337 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GL21;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GLObject;
+import com.esferixis.gameengine.renderengine.picture.RasterPicture;
+import com.esferixis.gameengine.renderengine.picture.RasterPicture2d;
+
+/**
+ * Atlas de texturas.
+ * 
+ * Ubica imágenes 2d pequeñas con el mismo formato y los mismos filtros
+ * en páginas compartidas, para reducir los cambios de textura al renderizar.
+ * El remapeo de coordenadas y la emulación del borde se hacen en el shader.
+ * La cantidad de páginas está limitada, cuando se alcanza el límite las
+ * imágenes que no entran en las páginas existentes se cargan como texturas
+ * independientes.
+ * 
+ * @author ariel
+ *
+ */
+public final class TextureAtlas extends GLObject {
+	public static final int DEFAULT_PAGE_SIZE = 1024;
+	public static final int DEFAULT_MAX_PICTURE_SIZE = 128;
+	public static final int DEFAULT_MAX_PAGES_COUNT = 16;
+	
+	/**
+	 * Clave de las páginas compatibles
+	 */
+	private static final class PageKey {
+		private final RasterPicture.PixelFormat pixelFormat;
+		private final RasterPicture.ComponentFormat componentFormat;
+		private final int glMagFilter;
+		private final int glMinFilter;
+		
+		/**
+		 * @post Crea la clave con los formatos y los filtros especificados
+		 */
+		public PageKey(RasterPicture.PixelFormat pixelFormat, RasterPicture.ComponentFormat componentFormat, int glMagFilter, int glMinFilter) {
+			this.pixelFormat = pixelFormat;
+			this.componentFormat = componentFormat;
+			this.glMagFilter = glMagFilter;
+			this.glMinFilter = glMinFilter;
+		}
+		
+		/**
+		 * @post Crea la clave de la página especificada
+		 */
+		public PageKey(TextureAtlasPage page) {
+			this(page.getPixelFormat(), page.getComponentFormat(), page.getGlMagFilter(), page.getGlMinFilter());
+		}
+		
+		@Override
+		public int hashCode() {
+			return ( ( this.pixelFormat.hashCode() * 31 + this.componentFormat.hashCode() ) * 31 + this.glMagFilter ) * 31 + this.glMinFilter;
+		}
+		
+		@Override
+		public boolean equals(Object other) {
+			if ( ( other != null ) && ( other instanceof PageKey ) ) {
+				final PageKey otherKey = (PageKey) other;
+				
+				return this.pixelFormat.equals(otherKey.pixelFormat) && this.componentFormat.equals(otherKey.componentFormat) && ( this.glMagFilter == otherKey.glMagFilter ) && ( this.glMinFilter == otherKey.glMinFilter );
+			}
+			else {
+				return false;
+			}
+		}
+	}
+	
+	private final LayeredGeometryRendererSubsystem layeredGeometryRendererSubsystem;
+	
+	private final Map<PageKey, List<TextureAtlasPage>> pagesByKey;
+	
+	private final int maxTextureSize;
+	
+	private boolean enabled;
+	private int pageSize;
+	private int maxPictureSize;
+	private int maxPagesCount;
+	
+	private int pagesCount;
+	private int regionsCount;
+	
+	/**
+	 * @pre El subsistema no puede ser nulo
+	 * @post Crea el atlas con el subsistema especificado
+	 */
+	TextureAtlas(LayeredGeometryRendererSubsystem layeredGeometryRendererSubsystem) {
+		super(layeredGeometryRendererSubsystem.getGL());
+		
+		this.layeredGeometryRendererSubsystem = layeredGeometryRendererSubsystem;
+		
+		this.pagesByKey = new HashMap<PageKey, List<TextureAtlasPage>>();
+		
+		this.maxTextureSize = this.gl.glGetInteger(GL21.GL_MAX_TEXTURE_SIZE);
+		
+		this.enabled = true;
+		this.pageSize = Math.min(DEFAULT_PAGE_SIZE, this.maxTextureSize);
+		this.maxPictureSize = DEFAULT_MAX_PICTURE_SIZE;
+		this.maxPagesCount = DEFAULT_MAX_PAGES_COUNT;
+		
+		this.pagesCount = 0;
+		this.regionsCount = 0;
+	}
+	
+	/**
+	 * @post Devuelve el subsistema
+	 */
+	LayeredGeometryRendererSubsystem getLayeredGeometryRendererSubsystem() {
+		return this.layeredGeometryRendererSubsystem;
+	}
+	
+	/**
+	 * @post Especifica si está habilitado.
+	 * 		 Sólo afecta a las texturas que se carguen posteriormente
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+	
+	/**
+	 * @post Devuelve si está habilitado
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+	
+	/**
+	 * @pre El tamaño tiene que ser positivo y no superar el máximo de la implementación
+	 * @post Especifica el tamaño del lado de las páginas nuevas
+	 */
+	public void setPageSize(int pageSize) {
+		if ( ( pageSize <= 0 ) || ( pageSize > this.maxTextureSize ) ) {
+			throw new IllegalArgumentException("Invalid page size");
+		}
+		
+		this.pageSize = pageSize;
+	}
+	
+	/**
+	 * @post Devuelve el tamaño del lado de las páginas nuevas
+	 */
+	public int getPageSize() {
+		return this.pageSize;
+	}
+	
+	/**
+	 * @pre El tamaño no puede ser negativo
+	 * @post Especifica el tamaño máximo de ancho y alto de las imágenes que
+	 * 		 pueden ubicarse en el atlas
+	 */
+	public void setMaxPictureSize(int maxPictureSize) {
+		if ( maxPictureSize < 0 ) {
+			throw new IllegalArgumentException("Invalid max picture size");
+		}
+		
+		this.maxPictureSize = maxPictureSize;
+	}
+	
+	/**
+	 * @post Devuelve el tamaño máximo de ancho y alto de las imágenes que
+	 * 		 pueden ubicarse en el atlas
+	 */
+	public int getMaxPictureSize() {
+		return this.maxPictureSize;
+	}
+	
+	/**
+	 * @pre La cantidad no puede ser negativa
+	 * @post Especifica la cantidad máxima de páginas.
+	 * 		 No destruye las páginas existentes si la superan
+	 */
+	public void setMaxPagesCount(int maxPagesCount) {
+		if ( maxPagesCount < 0 ) {
+			throw new IllegalArgumentException("Invalid max pages count");
+		}
+		
+		this.maxPagesCount = maxPagesCount;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad máxima de páginas
+	 */
+	public int getMaxPagesCount() {
+		return this.maxPagesCount;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de páginas
+	 */
+	public int getPagesCount() {
+		return this.pagesCount;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de regiones ocupadas
+	 */
+	public int getRegionsCount() {
+		return this.regionsCount;
+	}
+	
+	/**
+	 * @pre La imagen no puede ser nula
+	 * @post Devuelve si la imagen especificada puede ubicarse en el atlas
+	 */
+	boolean accepts(RasterPicture2d picture) {
+		if ( picture != null ) {
+			return this.enabled && ( picture.getWidth() <= Math.min(this.maxPictureSize, this.pageSize) ) && ( picture.getHeight() <= Math.min(this.maxPictureSize, this.pageSize) );
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La imagen no puede ser nula y tiene que ser aceptada, y los filtros
+	 * 		tienen que ser valores de OpenGL sin mipmaps
+	 * @post Ubica la imagen especificada en una página con su formato y con los
+	 * 		 filtros de aumento y disminución especificados, subiéndola, y devuelve
+	 * 		 la región.
+	 * 		 Si no entra en las páginas existentes y se alcanzó la cantidad máxima
+	 * 		 de páginas devuelve null
+	 */
+	TextureAtlasRegion allocate(RasterPicture2d picture, int glMagFilter, int glMinFilter) {
+		if ( picture != null ) {
+			if ( !this.accepts(picture) ) {
+				throw new IllegalArgumentException("Picture not accepted by the atlas");
+			}
+			
+			final PageKey pageKey = new PageKey(picture.getPixelFormat(), picture.getComponentFormat(), glMagFilter, glMinFilter);
+			
+			List<TextureAtlasPage> pages = this.pagesByKey.get(pageKey);
+			
+			if ( pages == null ) {
+				pages = new ArrayList<TextureAtlasPage>();
+				this.pagesByKey.put(pageKey, pages);
+			}
+			
+			TextureAtlasRegion result = null;
+			
+			for ( int i = 0 ; ( i < pages.size() ) && ( result == null ) ; i++ ) {
+				result = pages.get(i).allocate(picture);
+			}
+			
+			if ( ( result == null ) && ( this.pagesCount < this.maxPagesCount ) ) {
+				final TextureAtlasPage newPage = new TextureAtlasPage(this, this.pageSize, picture.getPixelFormat(), picture.getComponentFormat(), glMagFilter, glMinFilter);
+				pages.add(newPage);
+				this.pagesCount++;
+				
+				result = newPage.allocate(picture);
+			}
+			
+			if ( result != null ) {
+				this.regionsCount++;
+			}
+			
+			return result;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La región no puede ser nula y tiene que estar ubicada en el atlas
+	 * @post Libera la región especificada. Si la página queda vacía la destruye
+	 */
+	void release(TextureAtlasRegion region) {
+		if ( region != null ) {
+			final TextureAtlasPage page = region.getPage();
+			
+			page.release(region);
+			this.regionsCount--;
+			
+			if ( page.getRegionsCount() == 0 ) {
+				this.pagesByKey.get(new PageKey(page)).remove(page);
+				page.destroy();
+				this.pagesCount--;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Destruye todas las páginas
+	 */
+	void destroy() {
+		for ( List<TextureAtlasPage> eachPages : this.pagesByKey.values() ) {
+			for ( TextureAtlasPage eachPage : eachPages ) {
+				eachPage.destroy();
+			}
+		}
+		
+		this.pagesByKey.clear();
+		this.pagesCount = 0;
+		this.regionsCount = 0;
+	}
+}
@@ -0,0 +1,519 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GL21;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GLObject;
+import com.esferixis.gameengine.renderengine.picture.RasterPicture;
+import com.esferixis.gameengine.renderengine.picture.RasterPicture2d;
+
+/**
+ * Página de atlas de texturas.
+ * 
+ * Es una textura 2d cuadrada compartida por varias imágenes pequeñas
+ * con el mismo formato de pixel y de componente, y los mismos filtros,
+ * ubicadas con un empaquetador "skyline".
+ * Los filtros se fijan al crearla, así que dibujar con distintas imágenes
+ * de la página no cambia sus parámetros.
+ * Las regiones liberadas se registran como rectángulos libres, que se unen
+ * con los contiguos y se reutilizan antes de recurrir al "skyline".
+ * 
+ * @author ariel
+ *
+ */
+final class TextureAtlasPage extends GLObject {
+	/**
+	 * Segmento del "skyline"
+	 */
+	private static final class Segment {
+		private int x;
+		private int y;
+		private int width;
+		
+		/**
+		 * @post Crea el segmento con la posición y el ancho especificados
+		 */
+		public Segment(int x, int y, int width) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+		}
+	}
+	
+	/**
+	 * Rectángulo libre
+	 */
+	private static final class FreeRectangle {
+		private int x;
+		private int y;
+		private int width;
+		private int height;
+		
+		/**
+		 * @post Crea el rectángulo con la posición y las dimensiones especificadas
+		 */
+		public FreeRectangle(int x, int y, int width, int height) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+		}
+	}
+	
+	private final TextureAtlas atlas;
+	private final int size;
+	private final RasterPicture.PixelFormat pixelFormat;
+	private final RasterPicture.ComponentFormat componentFormat;
+	private final int glMagFilter;
+	private final int glMinFilter;
+	
+	private int glTextureObject;
+	
+	private final List<Segment> skyline;
+	private final List<FreeRectangle> freeRectangles;
+	private int regionsCount;
+	
+	private final TextureLinkedAllocatableElement textureLinkedAllocatableElement;
+	
+	/**
+	 * @pre Ni el atlas ni los formatos pueden ser nulos, el tamaño tiene que ser positivo
+	 * 		y los filtros tienen que ser valores de OpenGL sin mipmaps
+	 * @post Crea la página con el atlas, el tamaño, los formatos y los filtros de
+	 * 		 aumento y disminución especificados, reservando la textura sin datos
+	 */
+	TextureAtlasPage(TextureAtlas atlas, int size, RasterPicture.PixelFormat pixelFormat, RasterPicture.ComponentFormat componentFormat, int glMagFilter, int glMinFilter) {
+		super(atlas.getGL());
+		
+		if ( ( pixelFormat != null ) && ( componentFormat != null ) ) {
+			if ( size <= 0 ) {
+				throw new IllegalArgumentException("Expected positive page size");
+			}
+			
+			this.atlas = atlas;
+			this.size = size;
+			this.pixelFormat = pixelFormat;
+			this.componentFormat = componentFormat;
+			this.glMagFilter = glMagFilter;
+			this.glMinFilter = glMinFilter;
+			
+			this.skyline = new ArrayList<Segment>();
+			this.skyline.add(new Segment(0, 0, size));
+			this.freeRectangles = new ArrayList<FreeRectangle>();
+			this.regionsCount = 0;
+			
+			this.textureLinkedAllocatableElement = new TextureLinkedAllocatableElement(this.gl) {
+
+				@Override
+				protected void bindTexture() {
+					TextureAtlasPage.this.bindTexture();
+				}
+				
+			};
+			
+			this.glTextureObject = this.gl.glGenTextures();
+			
+			// Reservar la textura seleccionando su unidad
+			this.atlas.getLayeredGeometryRendererSubsystem().allocateTextureUnit(this.textureLinkedAllocatableElement, true);
+			
+			final int format = TextureBacker.glPixelFormatByPixelFormat.get(pixelFormat);
+			final int type = TextureBacker.glTypeByComponentFormat.get(componentFormat);
+			
+			this.gl.glTexImage2D(GL21.GL_TEXTURE_2D, 0, format, size, size, 0, format, type, null);
+			
+			// Las coordenadas se limitan en el shader, los bordes nunca se muestrean
+			this.gl.glTexParameteri(GL21.GL_TEXTURE_2D, GL21.GL_TEXTURE_WRAP_S, GL21.GL_CLAMP_TO_EDGE);
+			this.gl.glTexParameteri(GL21.GL_TEXTURE_2D, GL21.GL_TEXTURE_WRAP_T, GL21.GL_CLAMP_TO_EDGE);
+			
+			this.gl.glTexParameteri(GL21.GL_TEXTURE_2D, GL21.GL_TEXTURE_MAG_FILTER, glMagFilter);
+			this.gl.glTexParameteri(GL21.GL_TEXTURE_2D, GL21.GL_TEXTURE_MIN_FILTER, glMinFilter);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Verifica que no haya sido destruida
+	 */
+	private void checkDestroyed() {
+		if ( this.glTextureObject == 0 ) {
+			throw new IllegalStateException("Cannot use destroyed atlas page");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el tamaño en pixels del lado
+	 */
+	public int getSize() {
+		return this.size;
+	}
+	
+	/**
+	 * @post Devuelve el formato de pixel
+	 */
+	public RasterPicture.PixelFormat getPixelFormat() {
+		return this.pixelFormat;
+	}
+	
+	/**
+	 * @post Devuelve el formato de componente
+	 */
+	public RasterPicture.ComponentFormat getComponentFormat() {
+		return this.componentFormat;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de regiones ocupadas
+	 */
+	public int getRegionsCount() {
+		return this.regionsCount;
+	}
+	
+	/**
+	 * @post Devuelve el elemento representante de la página en el MRU
+	 */
+	TextureLinkedAllocatableElement getTextureLinkedAllocatableElement() {
+		return this.textureLinkedAllocatableElement;
+	}
+	
+	/**
+	 * @post Realiza un "bind" de la página sobre la unidad de textura activa
+	 */
+	void bindTexture() {
+		this.checkDestroyed();
+		this.gl.glBindTexture(GL21.GL_TEXTURE_2D, this.glTextureObject);
+	}
+	
+	/**
+	 * @post Devuelve el valor de OpenGL del filtro de aumento
+	 */
+	public int getGlMagFilter() {
+		return this.glMagFilter;
+	}
+	
+	/**
+	 * @post Devuelve el valor de OpenGL del filtro de disminución
+	 */
+	public int getGlMinFilter() {
+		return this.glMinFilter;
+	}
+	
+	/**
+	 * @post Devuelve el índice del primer segmento donde entra un rectángulo
+	 * 		 con el ancho y el alto especificados con la menor altura, o -1 si
+	 * 		 no entra. En el elemento cero del array especificado deja la altura
+	 */
+	private int findPosition(int width, int height, int[] resultY) {
+		int bestIndex = -1;
+		int bestY = Integer.MAX_VALUE;
+		
+		for ( int i = 0 ; i < this.skyline.size() ; i++ ) {
+			final Segment eachSegment = this.skyline.get(i);
+			
+			if ( eachSegment.x + width <= this.size ) {
+				// Altura necesaria para cubrir los segmentos bajo el rectángulo
+				int y = 0;
+				int remainingWidth = width;
+				
+				for ( int j = i ; remainingWidth > 0 ; j++ ) {
+					final Segment eachCoveredSegment = this.skyline.get(j);
+					
+					y = Math.max(y, eachCoveredSegment.y);
+					remainingWidth -= eachCoveredSegment.width;
+				}
+				
+				if ( ( y + height <= this.size ) && ( y < bestY ) ) {
+					bestIndex = i;
+					bestY = y;
+				}
+			}
+		}
+		
+		resultY[0] = bestY;
+		
+		return bestIndex;
+	}
+	
+	/**
+	 * @post Agrega el rectángulo ubicado en el segmento con el índice especificado
+	 * 		 con la altura, el ancho y el alto especificados al "skyline"
+	 */
+	private void addToSkyline(int index, int y, int width, int height) {
+		final int x = this.skyline.get(index).x;
+		
+		this.skyline.add(index, new Segment(x, y + height, width));
+		
+		// Recortar o quitar los segmentos cubiertos
+		final int right = x + width;
+		
+		while ( index + 1 < this.skyline.size() ) {
+			final Segment nextSegment = this.skyline.get(index + 1);
+			
+			if ( nextSegment.x < right ) {
+				final int nextRight = nextSegment.x + nextSegment.width;
+				
+				if ( nextRight <= right ) {
+					this.skyline.remove(index + 1);
+				}
+				else {
+					nextSegment.width = nextRight - right;
+					nextSegment.x = right;
+					break;
+				}
+			}
+			else {
+				break;
+			}
+		}
+		
+		// Unir segmentos contiguos a la misma altura
+		for ( int i = 0 ; i + 1 < this.skyline.size() ; ) {
+			final Segment eachSegment = this.skyline.get(i);
+			final Segment nextSegment = this.skyline.get(i + 1);
+			
+			if ( eachSegment.y == nextSegment.y ) {
+				eachSegment.width += nextSegment.width;
+				this.skyline.remove(i + 1);
+			}
+			else {
+				i++;
+			}
+		}
+	}
+	
+	/**
+	 * @post Devuelve el índice del rectángulo libre de menor área donde entra
+	 * 		 un rectángulo con el ancho y el alto especificados, o -1 si no entra
+	 * 		 en ninguno
+	 */
+	private int findFreeRectangle(int width, int height) {
+		int bestIndex = -1;
+		long bestArea = Long.MAX_VALUE;
+		
+		for ( int i = 0 ; i < this.freeRectangles.size() ; i++ ) {
+			final FreeRectangle eachRectangle = this.freeRectangles.get(i);
+			
+			if ( ( width <= eachRectangle.width ) && ( height <= eachRectangle.height ) ) {
+				final long area = (long) eachRectangle.width * eachRectangle.height;
+				
+				if ( area < bestArea ) {
+					bestIndex = i;
+					bestArea = area;
+				}
+			}
+		}
+		
+		return bestIndex;
+	}
+	
+	/**
+	 * @post Ocupa el ancho y el alto especificados en la esquina del rectángulo libre
+	 * 		 con el índice especificado, dejando el resto como rectángulos libres.
+	 * 		 Se corta a lo largo del eje con mayor sobrante, para conservar el
+	 * 		 rectángulo libre más grande posible
+	 */
+	private void splitFreeRectangle(int index, int width, int height) {
+		final FreeRectangle rectangle = this.freeRectangles.remove(index);
+		
+		final int remainingWidth = rectangle.width - width;
+		final int remainingHeight = rectangle.height - height;
+		
+		final FreeRectangle right;
+		final FreeRectangle bottom;
+		
+		if ( remainingWidth > remainingHeight ) {
+			right = new FreeRectangle(rectangle.x + width, rectangle.y, remainingWidth, rectangle.height);
+			bottom = new FreeRectangle(rectangle.x, rectangle.y + height, width, remainingHeight);
+		}
+		else {
+			right = new FreeRectangle(rectangle.x + width, rectangle.y, remainingWidth, height);
+			bottom = new FreeRectangle(rectangle.x, rectangle.y + height, rectangle.width, remainingHeight);
+		}
+		
+		if ( ( right.width > 0 ) && ( right.height > 0 ) ) {
+			this.freeRectangles.add(right);
+		}
+		
+		if ( ( bottom.width > 0 ) && ( bottom.height > 0 ) ) {
+			this.freeRectangles.add(bottom);
+		}
+	}
+	
+	/**
+	 * @post Agrega el rectángulo libre especificado, uniéndolo con los
+	 * 		 rectángulos libres contiguos que compartan un lado completo
+	 */
+	private void addFreeRectangle(FreeRectangle rectangle) {
+		boolean merged;
+		
+		do {
+			merged = false;
+			
+			for ( int i = 0 ; ( i < this.freeRectangles.size() ) && ( !merged ) ; i++ ) {
+				final FreeRectangle eachRectangle = this.freeRectangles.get(i);
+				
+				if ( ( eachRectangle.x == rectangle.x ) && ( eachRectangle.width == rectangle.width ) && ( ( eachRectangle.y + eachRectangle.height == rectangle.y ) || ( rectangle.y + rectangle.height == eachRectangle.y ) ) ) {
+					rectangle.y = Math.min(rectangle.y, eachRectangle.y);
+					rectangle.height += eachRectangle.height;
+					merged = true;
+				}
+				else if ( ( eachRectangle.y == rectangle.y ) && ( eachRectangle.height == rectangle.height ) && ( ( eachRectangle.x + eachRectangle.width == rectangle.x ) || ( rectangle.x + rectangle.width == eachRectangle.x ) ) ) {
+					rectangle.x = Math.min(rectangle.x, eachRectangle.x);
+					rectangle.width += eachRectangle.width;
+					merged = true;
+				}
+				
+				if ( merged ) {
+					this.freeRectangles.remove(i);
+				}
+			}
+		} while ( merged );
+		
+		this.freeRectangles.add(rectangle);
+	}
+	
+	/**
+	 * @pre La imagen no puede ser nula y tiene que tener el formato de la página
+	 * @post Ubica la imagen especificada en la página, la sube y devuelve la región.
+	 * 		 Primero intenta reutilizar el espacio liberado y después el "skyline".
+	 * 		 Si no entra devuelve null
+	 */
+	TextureAtlasRegion allocate(RasterPicture2d picture) {
+		this.checkDestroyed();
+		
+		if ( picture != null ) {
+			if ( !( picture.getPixelFormat().equals(this.pixelFormat) && picture.getComponentFormat().equals(this.componentFormat) ) ) {
+				throw new IllegalArgumentException("Picture format mismatch");
+			}
+			
+			final int x;
+			final int[] y = new int[1];
+			
+			final int freeRectangleIndex = this.findFreeRectangle(picture.getWidth(), picture.getHeight());
+			
+			if ( freeRectangleIndex != -1 ) {
+				final FreeRectangle freeRectangle = this.freeRectangles.get(freeRectangleIndex);
+				x = freeRectangle.x;
+				y[0] = freeRectangle.y;
+				
+				this.splitFreeRectangle(freeRectangleIndex, picture.getWidth(), picture.getHeight());
+			}
+			else {
+				final int index = this.findPosition(picture.getWidth(), picture.getHeight(), y);
+				
+				if ( index != -1 ) {
+					x = this.skyline.get(index).x;
+					this.addToSkyline(index, y[0], picture.getWidth(), picture.getHeight());
+				}
+				else {
+					x = -1;
+				}
+			}
+			
+			final TextureAtlasRegion result;
+			
+			if ( x != -1 ) {
+				this.regionsCount++;
+				
+				final ByteBuffer data = picture.getData().asReadOnlyBuffer();
+				data.rewind();
+				
+				this.atlas.getLayeredGeometryRendererSubsystem().allocateTextureUnit(this.textureLinkedAllocatableElement, true);
+				
+				TextureBacker.beginPictureUpload(this.gl);
+				this.gl.glTexSubImage2D(GL21.GL_TEXTURE_2D, 0, x, y[0], picture.getWidth(), picture.getHeight(), TextureBacker.glPixelFormatByPixelFormat.get(this.pixelFormat), TextureBacker.glTypeByComponentFormat.get(this.componentFormat), data);
+				TextureBacker.endPictureUpload(this.gl);
+				
+				result = new TextureAtlasRegion(this, x, y[0], picture.getWidth(), picture.getHeight());
+			}
+			else {
+				result = null;
+			}
+			
+			return result;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La región tiene que pertenecer a la página
+	 * @post Libera la región especificada, dejando su espacio disponible para
+	 * 		 las próximas imágenes.
+	 * 		 Si la página queda vacía vuelve a tener todo el espacio libre
+	 */
+	void release(TextureAtlasRegion region) {
+		this.checkDestroyed();
+		
+		if ( region != null ) {
+			if ( region.getPage() != this ) {
+				throw new IllegalArgumentException("Region from another page");
+			}
+			
+			if ( this.regionsCount == 0 ) {
+				throw new IllegalStateException("Region count underflow");
+			}
+			
+			this.regionsCount--;
+			
+			if ( this.regionsCount == 0 ) {
+				this.skyline.clear();
+				this.skyline.add(new Segment(0, 0, this.size));
+				this.freeRectangles.clear();
+			}
+			else {
+				this.addFreeRectangle(new FreeRectangle(region.getX(), region.getY(), region.getWidth(), region.getHeight()));
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Destruye la página
+	 */
+	void destroy() {
+		this.checkDestroyed();
+		
+		this.atlas.getLayeredGeometryRendererSubsystem().notifyTextureElementDestroy(this.textureLinkedAllocatableElement);
+		this.gl.glDeleteTextures(this.glTextureObject);
+		
+		this.glTextureObject = 0;
+	}
+}
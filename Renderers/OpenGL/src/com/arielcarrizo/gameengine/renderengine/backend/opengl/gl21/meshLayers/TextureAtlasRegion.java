@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers;
+
+import com.esferixis.math.Vector4f;
+
+/**
+ * Región de una página de atlas de texturas
+ * 
+ * @author ariel
+ *
+ */
+public final class TextureAtlasRegion {
+	private final TextureAtlasPage page;
+	private final int x, y, width, height;
+	
+	private final Vector4f rect;
+	private final Vector4f clamp;
+	
+	/**
+	 * @pre La página no puede ser nula
+	 * @post Crea la región en la página, con la posición y las dimensiones especificadas
+	 */
+	TextureAtlasRegion(TextureAtlasPage page, int x, int y, int width, int height) {
+		if ( page != null ) {
+			this.page = page;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			
+			final float size = page.getSize();
+			
+			this.rect = new Vector4f( (float) x / size, (float) y / size, (float) width / size, (float) height / size );
+			
+			// Limitar las coordenadas a medio texel del borde para no muestrear regiones vecinas
+			this.clamp = new Vector4f( 0.5f / (float) width, 0.5f / (float) height, 1.0f - 0.5f / (float) width, 1.0f - 0.5f / (float) height );
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la página
+	 */
+	TextureAtlasPage getPage() {
+		return this.page;
+	}
+	
+	/**
+	 * @post Devuelve la posición horizontal en pixels
+	 */
+	public int getX() {
+		return this.x;
+	}
+	
+	/**
+	 * @post Devuelve la posición vertical en pixels
+	 */
+	public int getY() {
+		return this.y;
+	}
+	
+	/**
+	 * @post Devuelve el ancho en pixels
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+	
+	/**
+	 * @post Devuelve el alto en pixels
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+	
+	/**
+	 * @post Devuelve el rectángulo normalizado en la página (x, y, ancho, alto)
+	 */
+	Vector4f getRect() {
+		return this.rect;
+	}
+	
+	/**
+	 * @post Devuelve los límites de las coordenadas locales (mínimo s, mínimo t, máximo s, máximo t)
+	 */
+	Vector4f getClamp() {
+		return this.clamp;
+	}
+}
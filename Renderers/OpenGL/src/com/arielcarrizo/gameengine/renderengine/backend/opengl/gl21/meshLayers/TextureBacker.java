@@ -45,9 +45,14 @@ import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.errorchecker
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.errorchecker.GLErrorException;
 import com.esferixis.gameengine.renderengine.backend.texture.Texture;
 import com.esferixis.gameengine.renderengine.backend.texture.TextureObject;
+import com.esferixis.gameengine.renderengine.backend.texture.TextureObject2d;
+import com.esferixis.gameengine.renderengine.backend.texture.TextureObject3d;
+import com.esferixis.gameengine.renderengine.picture.MipmapChain;
 import com.esferixis.gameengine.renderengine.picture.RasterPicture;
 import com.esferixis.gameengine.renderengine.picture.RasterPicture2d;
 import com.esferixis.gameengine.renderengine.picture.RasterPicture3d;
+import com.esferixis.gameengine.renderengine.texture.CoordinateWrap;
+import com.esferixis.gameengine.renderengine.texture.TextureQualitySettings;
 import com.esferixis.misc.counter.Counter;
 import com.esferixis.misc.counter.IntCounter;
 import com.esferixis.misc.loader.DataLoadingErrorException;
@@ -72,7 +77,14 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 	
 	private boolean isLoaded;
 	
-	private static final Map<RasterPicture.PixelFormat, Integer> glPixelFormatByPixelFormat;
+	private long uploadedBytes;
+	
+	private TextureAtlasRegion atlasRegion;
+	private boolean atlasAllowed;
+	
+	private boolean hasMipmaps;
+	
+	static final Map<RasterPicture.PixelFormat, Integer> glPixelFormatByPixelFormat;
 	static {
 		Map<RasterPicture.PixelFormat, Integer> mapping = new EnumMap<RasterPicture.PixelFormat, Integer>(RasterPicture.PixelFormat.class);
 		mapping.put(RasterPicture.PixelFormat.SCALAR, GL21.GL_RED);
@@ -83,7 +95,20 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 		glPixelFormatByPixelFormat = Collections.unmodifiableMap(mapping);
 	}
 	
-	private static final Map<RasterPicture.ComponentFormat, Integer> glTypeByComponentFormat;
+	private static final Map<TextureQualitySettings.MinFilter, Integer> glValueByMinFilter;
+	static {
+		Map<TextureQualitySettings.MinFilter, Integer> mapping = new EnumMap<TextureQualitySettings.MinFilter, Integer>(TextureQualitySettings.MinFilter.class);
+		mapping.put(TextureQualitySettings.MinFilter.NEAREST, GL21.GL_NEAREST);
+		mapping.put(TextureQualitySettings.MinFilter.LINEAR, GL21.GL_LINEAR);
+		mapping.put(TextureQualitySettings.MinFilter.NEAREST_MIPMAP_NEAREST, GL21.GL_NEAREST_MIPMAP_NEAREST);
+		mapping.put(TextureQualitySettings.MinFilter.LINEAR_MIPMAP_NEAREST, GL21.GL_LINEAR_MIPMAP_NEAREST);
+		mapping.put(TextureQualitySettings.MinFilter.NEAREST_MIPMAP_LINEAR, GL21.GL_NEAREST_MIPMAP_LINEAR);
+		mapping.put(TextureQualitySettings.MinFilter.LINEAR_MIPMAP_LINEAR, GL21.GL_LINEAR_MIPMAP_LINEAR);
+		
+		glValueByMinFilter = Collections.unmodifiableMap(mapping);
+	}
+	
+	static final Map<RasterPicture.ComponentFormat, Integer> glTypeByComponentFormat;
 	static {
 		Map<RasterPicture.ComponentFormat, Integer> mapping = new EnumMap<RasterPicture.ComponentFormat, Integer>(RasterPicture.ComponentFormat.class);
 		mapping.put(RasterPicture.ComponentFormat.BYTE, GL21.GL_UNSIGNED_BYTE);
@@ -119,12 +144,24 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 			
 			this.dependencyCount = 0;
 			
-			this.textureLinkedAllocatableElement = new TextureLinkedAllocatableElement(this);
+			this.textureLinkedAllocatableElement = new TextureLinkedAllocatableElement(this.gl) {
+
+				@Override
+				protected void bindTexture() {
+					TextureBacker.this.bindTexture();
+				}
+				
+			};
 			this.layeredGeometryRendererSubsystem = layeredGeometryRendererSubsystem;
 			
 			this.lastMeshLayersConfigBacker = null;
 			
 			this.isLoaded = false;
+			
+			this.atlasRegion = null;
+			this.atlasAllowed = true;
+			
+			this.hasMipmaps = false;
 		}
 		else {
 			throw new NullPointerException();
@@ -149,7 +186,12 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 	 * @post Realiza un "bind" de la textura sobre la unidad de textura activa
 	 */
 	void bindTexture() {
-		this.gl.glBindTexture(this.glTextureType, this.glTextureObject);
+		if ( this.atlasRegion != null ) {
+			this.atlasRegion.getPage().bindTexture();
+		}
+		else {
+			this.gl.glBindTexture(this.glTextureType, this.glTextureObject);
+		}
 	}
 	
 	/**
@@ -165,7 +207,201 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 	 * @post Devuelve el elemento representante de la textura en el MRU
 	 */
 	TextureLinkedAllocatableElement getTextureLinkedAllocatableElement() {
-		return this.textureLinkedAllocatableElement;
+		final TextureLinkedAllocatableElement result;
+		
+		// Las texturas en atlas comparten la unidad de textura de la página
+		if ( this.atlasRegion != null ) {
+			result = this.atlasRegion.getPage().getTextureLinkedAllocatableElement();
+		}
+		else {
+			result = this.textureLinkedAllocatableElement;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Devuelve si el filtro de disminución especificado usa mipmaps
+	 */
+	static boolean requiresMipmaps(TextureQualitySettings.MinFilter minFilter) {
+		return !( minFilter.equals(TextureQualitySettings.MinFilter.NEAREST) || minFilter.equals(TextureQualitySettings.MinFilter.LINEAR) );
+	}
+	
+	/**
+	 * @post Devuelve el valor de OpenGL del filtro de aumento especificado
+	 */
+	static int getGlMagFilter(TextureQualitySettings.MagFilter magFilter) {
+		return magFilter.equals(TextureQualitySettings.MagFilter.NEAREST) ? GL21.GL_NEAREST : GL21.GL_LINEAR;
+	}
+	
+	/**
+	 * @post Devuelve el valor de OpenGL del filtro de disminución especificado,
+	 * 		 o el del equivalente sin mipmaps si los usa
+	 */
+	static int getGlMinFilterWithoutMipmaps(TextureQualitySettings.MinFilter minFilter) {
+		final int result;
+		
+		if ( !requiresMipmaps(minFilter) ) {
+			result = glValueByMinFilter.get(minFilter);
+		}
+		else if ( minFilter.equals(TextureQualitySettings.MinFilter.NEAREST_MIPMAP_NEAREST) || minFilter.equals(TextureQualitySettings.MinFilter.NEAREST_MIPMAP_LINEAR) ) {
+			result = GL21.GL_NEAREST;
+		}
+		else {
+			result = GL21.GL_LINEAR;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Devuelve el valor de OpenGL del filtro de disminución especificado.
+	 * 		 Si usa mipmaps y la textura no los tiene, devuelve el filtro
+	 * 		 equivalente sin mipmaps
+	 */
+	int getGlMinFilter(TextureQualitySettings.MinFilter minFilter) {
+		final int result;
+		
+		if ( this.hasMipmaps ) {
+			result = glValueByMinFilter.get(minFilter);
+		}
+		else {
+			result = getGlMinFilterWithoutMipmaps(minFilter);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Prepara el estado de OpenGL para subir imágenes.
+	 * 		 Las filas de las imágenes no tienen relleno, así que la alineación
+	 * 		 tiene que ser de un byte (Las filas de los niveles pequeños, por ejemplo
+	 * 		 de 1x1 en RGB, no son múltiplos de cuatro)
+	 */
+	static void beginPictureUpload(GL21 gl) {
+		gl.glPixelStorei(GL21.GL_UNPACK_ALIGNMENT, 1);
+	}
+	
+	/**
+	 * @post Restaura la alineación por defecto después de subir imágenes
+	 */
+	static void endPictureUpload(GL21 gl) {
+		gl.glPixelStorei(GL21.GL_UNPACK_ALIGNMENT, 4);
+	}
+	
+	/**
+	 * @post Devuelve si los modos de "wrapping" especificados pueden emularse
+	 * 		 en una región del atlas de texturas.
+	 * 		 Sólo los que limitan al borde pueden hacerlo
+	 */
+	static boolean isAtlasCompatible(CoordinateWrap coordinateWrapS, CoordinateWrap coordinateWrapT) {
+		return isAtlasCompatible(coordinateWrapS) && isAtlasCompatible(coordinateWrapT);
+	}
+	
+	/**
+	 * @post Devuelve si el modo de "wrapping" especificado puede emularse
+	 * 		 en una región del atlas de texturas
+	 */
+	private static boolean isAtlasCompatible(CoordinateWrap coordinateWrap) {
+		return ( coordinateWrap == CoordinateWrap.CLAMP_TO_BORDER ) || ( coordinateWrap == CoordinateWrap.MIRROR_CLAMP_TO_BORDER );
+	}
+	
+	/**
+	 * @post Devuelve si un objeto de textura con los modos de "wrapping" y los filtros
+	 * 		 especificados puede muestrear la textura tal como está cargada.
+	 * 		 Si no está en el atlas siempre puede, sino tiene que limitar las
+	 * 		 coordenadas al borde, no usar mipmaps y usar los filtros de la página
+	 */
+	boolean isAtlasCompatible(CoordinateWrap coordinateWrapS, CoordinateWrap coordinateWrapT, TextureQualitySettings.MagFilter magFilter, TextureQualitySettings.MinFilter minFilter) {
+		final boolean result;
+		
+		if ( this.atlasRegion != null ) {
+			final TextureAtlasPage page = this.atlasRegion.getPage();
+			
+			result = isAtlasCompatible(coordinateWrapS, coordinateWrapT) && ( !requiresMipmaps(minFilter) ) && ( getGlMagFilter(magFilter) == page.getGlMagFilter() ) && ( getGlMinFilterWithoutMipmaps(minFilter) == page.getGlMinFilter() );
+		}
+		else {
+			result = true;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Devuelve los filtros de OpenGL de aumento y de disminución (Sin mipmaps)
+	 * 		 con los que los objetos de textura que referencian a la textura la muestrean
+	 * 		 en el atlas, o null si no puede ubicarse en él.
+	 * 		 No puede si no está permitido, si ningún objeto de textura la referencia,
+	 * 		 si alguno usa un "wrapping" que no puede emularse en el atlas, si
+	 * 		 alguno usa mipmaps (Las páginas no los tienen), o si no todos usan los
+	 * 		 mismos filtros
+	 */
+	private int[] getAtlasFilters() {
+		int[] result = null;
+		
+		if ( this.atlasAllowed && this.texture.isAtlasAllowed() ) {
+			boolean compatible = true;
+			
+			for ( TextureObject<P> eachTextureObject : this.texture.getTextureObjects() ) {
+				final TextureQualitySettings qualitySettings = eachTextureObject.getQualitySettings();
+				
+				final boolean eachCompatible = eachTextureObject.visit(new TextureObject.UncheckedVisitor<Boolean>() {
+
+					@Override
+					public Boolean visit(TextureObject2d textureObject) {
+						return isAtlasCompatible(textureObject.getCoordinateWrapS(), textureObject.getCoordinateWrapT());
+					}
+
+					@Override
+					public Boolean visit(TextureObject3d textureObject) {
+						return false;
+					}
+					
+				});
+				
+				if ( eachCompatible && ( !requiresMipmaps(qualitySettings.getMinFilter()) ) ) {
+					final int[] eachFilters = new int[]{ getGlMagFilter(qualitySettings.getMagFilter()), getGlMinFilterWithoutMipmaps(qualitySettings.getMinFilter()) };
+					
+					if ( result == null ) {
+						result = eachFilters;
+					}
+					else if ( !Arrays.equals(result, eachFilters) ) {
+						compatible = false;
+					}
+				}
+				else {
+					compatible = false;
+				}
+			}
+			
+			if ( !compatible ) {
+				result = null;
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Devuelve si tiene los mipmaps cargados
+	 */
+	public boolean hasMipmaps() {
+		return this.hasMipmaps;
+	}
+	
+	/**
+	 * @post Devuelve si está ubicada en el atlas de texturas
+	 */
+	public boolean isAtlased() {
+		return ( this.atlasRegion != null );
+	}
+	
+	/**
+	 * @post Devuelve la región del atlas de texturas, si no está ubicada
+	 * 		 en el atlas devuelve null
+	 */
+	public TextureAtlasRegion getAtlasRegion() {
+		return this.atlasRegion;
 	}
 	
 	/**
@@ -188,6 +424,7 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 	 */
 	public void setCachedTextureObject(TextureObject<P> cachedTextureObject) {
 		this.checkLoaded();
+		
 		this.cachedTextureObject = cachedTextureObject;
 	}
 	
@@ -196,6 +433,7 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 	 */
 	public TextureObject<P> getCachedTextureObject() {
 		this.checkLoaded();
+		
 		return this.cachedTextureObject;
 	}
 	
@@ -211,8 +449,6 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 			final int format = glPixelFormatByPixelFormat.get(picture.getPixelFormat());
 			final int type = glTypeByComponentFormat.get(picture.getComponentFormat());
 			
-			this.glTextureObject = this.gl.glGenTextures();
-			
 			this.pictureDimensions = Collections.unmodifiableList(picture.accept(new RasterPicture.Visitor<List<Integer>>(){
 				@Override
 				public List<Integer> visit(RasterPicture2d picture) {
@@ -239,30 +475,82 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 				
 			});
 			
-			// Asignar unidad de textura forzando su selección
-			this.layeredGeometryRendererSubsystem.allocateTextureUnit(this, true);
-			
 			final ByteBuffer localByteBuffer = picture.getData().asReadOnlyBuffer();
 			localByteBuffer.rewind();
 			
-			picture.accept(new RasterPicture.Visitor<Void>(){
-				private final GL21 gl = TextureBacker.this.gl;
+			this.uploadedBytes = localByteBuffer.remaining();
+			
+			/**
+			 * Ubicar en el atlas de texturas si es posible.
+			 * Se decide antes de subirla, con los objetos de textura que la referencian
+			 */
+			final TextureAtlas textureAtlas = this.layeredGeometryRendererSubsystem.getTextureAtlas();
+			final int[] atlasFilters = this.getAtlasFilters();
+			
+			if ( atlasFilters != null ) {
+				this.atlasRegion = picture.accept(new RasterPicture.Visitor<TextureAtlasRegion>(){
+					@Override
+					public TextureAtlasRegion visit(RasterPicture2d picture) {
+						final TextureAtlasRegion result;
+						
+						if ( textureAtlas.accepts(picture) ) {
+							result = textureAtlas.allocate(picture, atlasFilters[0], atlasFilters[1]);
+						}
+						else {
+							result = null;
+						}
+						
+						return result;
+					}
+
+					@Override
+					public TextureAtlasRegion visit(RasterPicture3d picture) {
+						return null;
+					}
+					
+				});
+			}
+			else {
+				this.atlasRegion = null;
+			}
+			
+			if ( this.atlasRegion == null ) {
+				this.glTextureObject = this.gl.glGenTextures();
+				
+				// Asignar unidad de textura forzando su selección
+				this.layeredGeometryRendererSubsystem.allocateTextureUnit(this, true);
+				
+				beginPictureUpload(this.gl);
+				
+				picture.accept(new RasterPicture.Visitor<Void>(){
+					private final GL21 gl = TextureBacker.this.gl;
 	
-				@Override
-				public Void visit(RasterPicture2d picture) {
-					this.gl.glTexImage2D(GL21.GL_TEXTURE_2D, 0, format, picture.getWidth(), picture.getHeight(), 0, format, type, localByteBuffer);
+					@Override
+					public Void visit(RasterPicture2d picture) {
+						this.gl.glTexImage2D(GL21.GL_TEXTURE_2D, 0, format, picture.getWidth(), picture.getHeight(), 0, format, type, localByteBuffer);
 					
-					return null;
-				}
+						return null;
+					}
 	
-				@Override
-				public Void visit(RasterPicture3d picture) {
-					this.gl.glTexImage3D(GL21.GL_TEXTURE_3D, 0, format, picture.getWidth(), picture.getHeight(), picture.getDepth(), 0, format, type, localByteBuffer);
+					@Override
+					public Void visit(RasterPicture3d picture) {
+						this.gl.glTexImage3D(GL21.GL_TEXTURE_3D, 0, format, picture.getWidth(), picture.getHeight(), picture.getDepth(), 0, format, type, localByteBuffer);
 					
-					return null;
+						return null;
+					}
+				
+				});
+				
+				/**
+				 * Subir los mipmaps junto con el nivel 0 si algún objeto de textura los usa.
+				 * La cadena se genera a partir de la imagen ya cargada, o se usa la precargada
+				 */
+				if ( this.texture.requiresMipmapChain() ) {
+					this.uploadMipmaps(this.texture.getMipmapChain(picture, this.layeredGeometryRendererSubsystem.getMipmapForkJoinPool()));
 				}
 				
-			});
+				endPictureUpload(this.gl);
+			}
 			
 			this.cachedTextureObject = null;
 			
@@ -270,6 +558,7 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 				new GLErrorChecker(this.gl).checkGLError();
 			}
 			catch ( GLErrorException e ) {
+				this.isLoaded = true;
 				this.unload();
 				throw new GLException(e);
 			}
@@ -300,6 +589,16 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 		return this.isLoaded;
 	}
 	
+	/**
+	 * @pre Tiene que estar cargada
+	 * @post Devuelve la cantidad de bytes de imagen subidos, incluyendo
+	 * 		 los niveles de mipmaps
+	 */
+	public long getUploadedBytes() {
+		this.checkLoaded();
+		return this.uploadedBytes;
+	}
+	
 	/**
 	 * @post Descarga la textura
 	 */
@@ -310,12 +609,118 @@ public final class TextureBacker<P extends RasterPicture<?>> extends GLObject {
 			this.lastMeshLayersConfigBacker.notifyDirtyState();
 		}
 		
-		this.layeredGeometryRendererSubsystem.notifyTextureBackerDestroy(this);
-		this.gl.glDeleteTextures(this.glTextureObject);
+		if ( this.atlasRegion != null ) {
+			this.layeredGeometryRendererSubsystem.getTextureAtlas().release(this.atlasRegion);
+			this.atlasRegion = null;
+		}
+		else {
+			this.layeredGeometryRendererSubsystem.notifyTextureBackerDestroy(this);
+			this.gl.glDeleteTextures(this.glTextureObject);
+		}
+		
 		this.cachedTextureObject = null;
+		this.hasMipmaps = false;
 		this.isLoaded = false;
 	}
 	
+	/**
+	 * @pre Tiene que estar cargada, y no puede estar ubicada en el atlas de texturas
+	 * @post Carga los mipmaps, si no los tiene.
+	 * 		 Sólo hace falta si un objeto de textura empieza a usar un filtro con
+	 * 		 mipmaps después de cargada; se llama al cambiar el objeto de textura,
+	 * 		 nunca al dibujar
+	 */
+	public void loadMipmaps() throws GLException, DataLoadingErrorException {
+		this.checkLoaded();
+		
+		if ( this.atlasRegion != null ) {
+			throw new IllegalStateException("Cannot load mipmaps of an atlased texture");
+		}
+		
+		if ( !this.hasMipmaps ) {
+			final MipmapChain<P> mipmapChain = this.texture.getMipmapChain(this.texture.getPicture(), this.layeredGeometryRendererSubsystem.getMipmapForkJoinPool());
+			
+			// Asignar unidad de textura forzando su selección
+			this.layeredGeometryRendererSubsystem.allocateTextureUnit(this, true);
+			
+			beginPictureUpload(this.gl);
+			this.uploadMipmaps(mipmapChain);
+			endPictureUpload(this.gl);
+			
+			try {
+				new GLErrorChecker(this.gl).checkGLError();
+			}
+			catch ( GLErrorException e ) {
+				throw new GLException(e);
+			}
+			
+			// Los parámetros de filtro tienen que volver a asignarse
+			this.cachedTextureObject = null;
+		}
+	}
+	
+	/**
+	 * @pre La textura tiene que estar seleccionada, y el alineamiento de
+	 * 		 desempaquetado tiene que ser el de subida de imágenes
+	 * @post Sube los niveles de la cadena de mipmaps especificada, a partir del 1
+	 */
+	private void uploadMipmaps(MipmapChain<P> mipmapChain) {
+		long mipmapBytes = 0;
+		
+		for ( int level = 1 ; level < mipmapChain.getLevelsCount() ; level++ ) {
+			final int eachLevel = level;
+			final P eachPicture = mipmapChain.getLevel(level);
+			
+			final int format = glPixelFormatByPixelFormat.get(eachPicture.getPixelFormat());
+			final int type = glTypeByComponentFormat.get(eachPicture.getComponentFormat());
+			
+			final ByteBuffer localByteBuffer = eachPicture.getData().asReadOnlyBuffer();
+			localByteBuffer.rewind();
+			
+			mipmapBytes += localByteBuffer.remaining();
+			
+			eachPicture.accept(new RasterPicture.Visitor<Void>(){
+				private final GL21 gl = TextureBacker.this.gl;
+				
+				@Override
+				public Void visit(RasterPicture2d picture) {
+					this.gl.glTexImage2D(GL21.GL_TEXTURE_2D, eachLevel, format, picture.getWidth(), picture.getHeight(), 0, format, type, localByteBuffer);
+					
+					return null;
+				}
+				
+				@Override
+				public Void visit(RasterPicture3d picture) {
+					this.gl.glTexImage3D(GL21.GL_TEXTURE_3D, eachLevel, format, picture.getWidth(), picture.getHeight(), picture.getDepth(), 0, format, type, localByteBuffer);
+					
+					return null;
+				}
+				
+			});
+		}
+		
+		this.gl.glTexParameteri(this.glTextureType, GL21.GL_TEXTURE_MAX_LEVEL, mipmapChain.getLevelsCount() - 1);
+		
+		this.uploadedBytes += mipmapBytes;
+		this.hasMipmaps = true;
+	}
+	
+	/**
+	 * @post Saca la textura del atlas de texturas, y no permite volver a ubicarla
+	 * 		 en él.
+	 * 		 Si está cargada en el atlas, la recarga como textura independiente.
+	 * 		 Sólo hace falta si un objeto de textura que no puede muestrearla en
+	 * 		 el atlas empieza a usarla después de cargada
+	 */
+	public void leaveAtlas() throws GLException, DataLoadingErrorException {
+		this.atlasAllowed = false;
+		
+		if ( this.isLoaded() && ( this.atlasRegion != null ) ) {
+			this.unload();
+			this.load();
+		}
+	}
+	
 	/**
 	 * @post Incrementa en uno la cuenta de dependencias
 	 */
@@ -34,31 +34,35 @@ package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GL21;
 import com.esferixis.misc.slotlocator.LinkedAllocatableElement;
 
-final class TextureLinkedAllocatableElement extends LinkedAllocatableElement<TextureUnitSlot> {
-	private final TextureBacker<?> textureBacker;
+abstract class TextureLinkedAllocatableElement extends LinkedAllocatableElement<TextureUnitSlot> {
+	private final GL21 gl;
 	
 	/**
-	 * @pre El backer de textura no puede ser nulo
-	 * @post Crea el elemento con el backer de textura especificado
-	 * @param newSlot
+	 * @pre La implementación de OpenGL no puede ser nula
+	 * @post Crea el elemento con la implementación de OpenGL especificada
 	 */
-	public TextureLinkedAllocatableElement(TextureBacker<?> textureBacker) {
-		if ( textureBacker != null ) {
-			this.textureBacker = textureBacker;
+	public TextureLinkedAllocatableElement(GL21 gl) {
+		if ( gl != null ) {
+			this.gl = gl;
 		}
 		else {
 			throw new NullPointerException();
 		}
 	}
 	
+	/**
+	 * @post Realiza un "bind" de la textura sobre la unidad de textura activa
+	 */
+	protected abstract void bindTexture();
+	
 	/* (non-Javadoc)
 	 * @see com.esferixis.misc.slotlocator.LinkedAllocatableElement#notifyNewSlot(com.esferixis.misc.slotlocator.Slot)
 	 */
 	@Override
 	protected void notifyNewSlot(TextureUnitSlot newSlot) {
 		if ( newSlot != null ) {
-			this.textureBacker.getGL().glActiveTexture(GL21.GL_TEXTURE0 + newSlot.getId());
-			this.textureBacker.bindTexture();
+			this.gl.glActiveTexture(GL21.GL_TEXTURE0 + newSlot.getId());
+			this.bindTexture();
 		}
 	}
 	
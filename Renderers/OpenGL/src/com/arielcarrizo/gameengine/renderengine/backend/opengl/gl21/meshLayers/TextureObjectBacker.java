@@ -35,6 +35,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.GLException;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GL21;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendObject;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendSystem;
@@ -58,6 +59,7 @@ import com.esferixis.gameengine.renderengine.texture.TextureQualitySettings.MinF
 import com.esferixis.math.Vector2f;
 import com.esferixis.math.Vector3f;
 import com.esferixis.math.Vector4f;
+import com.esferixis.misc.loader.DataLoadingErrorException;
 import com.esferixis.math.Vectorf;
 import com.esferixis.misc.counter.OverflowCounterException;
 import com.esferixis.misc.observer.Observer;
@@ -97,11 +99,13 @@ public class TextureObjectBacker<V extends Vectorf, P extends RasterPicture<V>>
 				@Override
 				protected void notifyMagFilterChange(MagFilter newMagFilter) {
 					TextureObjectBacker.this.invalidateParametersCache();
+					TextureObjectBacker.this.checkTextureBackerCompatibility(TextureObjectBacker.this.getCoordinateWrapS(), TextureObjectBacker.this.getCoordinateWrapT(), newMagFilter, TextureObjectBacker.this.textureObject.getQualitySettings().getMinFilter());
 				}
 
 				@Override
 				protected void notifyMinFilterChange(MinFilter newMinFilter) {
 					TextureObjectBacker.this.invalidateParametersCache();
+					TextureObjectBacker.this.checkTextureBackerCompatibility(TextureObjectBacker.this.getCoordinateWrapS(), TextureObjectBacker.this.getCoordinateWrapT(), TextureObjectBacker.this.textureObject.getQualitySettings().getMagFilter(), newMinFilter);
 				}
 				
 			};
@@ -120,11 +124,13 @@ public class TextureObjectBacker<V extends Vectorf, P extends RasterPicture<V>>
 						@Override
 						protected void notifyCoordinateWrapSChange(CoordinateWrap newCoordinateWrap) {
 							TextureObjectBacker.this.invalidateParametersCache();
+							TextureObjectBacker.this.checkTextureBackerCompatibility(newCoordinateWrap, TextureObjectBacker.this.getCoordinateWrapT(), TextureObjectBacker.this.textureObject.getQualitySettings().getMagFilter(), TextureObjectBacker.this.textureObject.getQualitySettings().getMinFilter());
 						}
 
 						@Override
 						protected void notifyCoordinateWrapTChange(CoordinateWrap newCoordinateWrap) {
 							TextureObjectBacker.this.invalidateParametersCache();
+							TextureObjectBacker.this.checkTextureBackerCompatibility(TextureObjectBacker.this.getCoordinateWrapS(), newCoordinateWrap, TextureObjectBacker.this.textureObject.getQualitySettings().getMagFilter(), TextureObjectBacker.this.textureObject.getQualitySettings().getMinFilter());
 						}
 
 						@Override
@@ -137,6 +143,7 @@ public class TextureObjectBacker<V extends Vectorf, P extends RasterPicture<V>>
 							TextureObjectBacker.this.invalidateParametersCache();
 							TextureObjectBacker.this.textureQualitySettingsObserver.detach();
 							TextureObjectBacker.this.textureQualitySettingsObserver.attach(qualitySettings);
+							TextureObjectBacker.this.checkTextureBackerCompatibility(TextureObjectBacker.this.getCoordinateWrapS(), TextureObjectBacker.this.getCoordinateWrapT(), qualitySettings.getMagFilter(), qualitySettings.getMinFilter());
 						}
 						
 					};
@@ -184,12 +191,82 @@ public class TextureObjectBacker<V extends Vectorf, P extends RasterPicture<V>>
 			
 			( (TextureObjectObserver<P, TextureObject<P>>) this.textureObjectObserver).attach( (TextureObject<P>) this.textureObject);
 			this.textureQualitySettingsObserver.attach(this.textureObject.getQualitySettings());
+			
+			this.checkTextureBackerCompatibility(this.getCoordinateWrapS(), this.getCoordinateWrapT(), this.textureObject.getQualitySettings().getMagFilter(), this.textureObject.getQualitySettings().getMinFilter());
 		}
 		else {
 			throw new NullPointerException();
 		}
 	}
 	
+	/**
+	 * @post Devuelve la transformación de coordenada S del objeto de textura
+	 */
+	private CoordinateWrap getCoordinateWrapS() {
+		return this.textureObject.visit(new TextureObject.UncheckedVisitor<CoordinateWrap>() {
+
+			@Override
+			public CoordinateWrap visit(TextureObject2d textureObject) {
+				return textureObject.getCoordinateWrapS();
+			}
+
+			@Override
+			public CoordinateWrap visit(TextureObject3d textureObject) {
+				return textureObject.getCoordinateWrapS();
+			}
+			
+		});
+	}
+	
+	/**
+	 * @post Devuelve la transformación de coordenada T del objeto de textura
+	 */
+	private CoordinateWrap getCoordinateWrapT() {
+		return this.textureObject.visit(new TextureObject.UncheckedVisitor<CoordinateWrap>() {
+
+			@Override
+			public CoordinateWrap visit(TextureObject2d textureObject) {
+				return textureObject.getCoordinateWrapT();
+			}
+
+			@Override
+			public CoordinateWrap visit(TextureObject3d textureObject) {
+				return textureObject.getCoordinateWrapT();
+			}
+			
+		});
+	}
+	
+	/**
+	 * @post Si la textura está cargada en el atlas y no puede muestrearse con los
+	 * 		 modos de "wrapping" y los filtros especificados, la saca del atlas.
+	 * 		 Si está cargada fuera del atlas sin mipmaps y el filtro de disminución
+	 * 		 los usa, los carga.
+	 * 		 Se hace cuando cambia el objeto de textura o se crea el "backer", nunca
+	 * 		 al dibujar; al cargarla ya se tienen en cuenta los objetos de textura
+	 * 		 que la referencian
+	 */
+	private void checkTextureBackerCompatibility(CoordinateWrap coordinateWrapS, CoordinateWrap coordinateWrapT, MagFilter magFilter, MinFilter minFilter) {
+		if ( this.textureBacker.isLoaded() ) {
+			try {
+				if ( !this.textureBacker.isAtlasCompatible(coordinateWrapS, coordinateWrapT, magFilter, minFilter) ) {
+					this.textureBacker.leaveAtlas();
+				}
+				
+				// Si el filtro usa mipmaps ya no está en el atlas, porque sus páginas no los tienen
+				if ( TextureBacker.requiresMipmaps(minFilter) && ( !this.textureBacker.isAtlased() ) && ( !this.textureBacker.hasMipmaps() ) ) {
+					this.textureBacker.loadMipmaps();
+				}
+			}
+			catch (GLException e) {
+				throw new RuntimeException(e);
+			}
+			catch (DataLoadingErrorException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+	
 	/**
 	 * @post Invalida la caché de parámetros
 	 */
@@ -211,6 +288,8 @@ public class TextureObjectBacker<V extends Vectorf, P extends RasterPicture<V>>
 		this.textureBacker.notifyRemovedDependency();
 		
 		this.textureBacker = newTextureBacker;
+		
+		this.checkTextureBackerCompatibility(this.getCoordinateWrapS(), this.getCoordinateWrapT(), this.textureObject.getQualitySettings().getMagFilter(), this.textureObject.getQualitySettings().getMinFilter());
 	}
 	
 	/**
@@ -236,7 +315,10 @@ public class TextureObjectBacker<V extends Vectorf, P extends RasterPicture<V>>
 				final GL21 gl = this.gl;
 				final LayeredGeometryRendererSubsystem texturedGeometryRendererSubsystem = this.renderEngineBackend.getLayeredGeometryRendererSubsystem();
 				
-				boolean setParameters = ( this.getTextureObject() != this.getTextureBacker().getCachedTextureObject() );
+				final TextureAtlasRegion atlasRegion = this.getTextureBacker().getAtlasRegion();
+				
+				// Las páginas del atlas tienen los parámetros fijos
+				boolean setParameters = ( atlasRegion == null ) && ( this.getTextureObject() != this.getTextureBacker().getCachedTextureObject() );
 				
 				final int textureUnit = texturedGeometryRendererSubsystem.allocateTextureUnit(this.getTextureBacker(), setParameters);
 				
@@ -252,14 +334,14 @@ public class TextureObjectBacker<V extends Vectorf, P extends RasterPicture<V>>
 					glValueByCoordinateWrap.put(CoordinateWrap.REPEAT, GL21.GL_REPEAT);
 					
 					textureObject.visit(new TextureObject.UncheckedVisitor<Void>() {
-		
+	
 						@Override
 						public Void visit(TextureObject2d textureObject) {
 							gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_S, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapS()));
 							gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_T, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapT()));
 							return null;
 						}
-		
+	
 						@Override
 						public Void visit(TextureObject3d textureObject) {
 							gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_WRAP_S, glValueByCoordinateWrap.get(textureObject.getCoordinateWrapS()));
@@ -272,8 +354,8 @@ public class TextureObjectBacker<V extends Vectorf, P extends RasterPicture<V>>
 					
 					gl.glTexParameter(glTextureType, GL21.GL_TEXTURE_BORDER_COLOR, textureObject.getBorderColor().store());
 					
-					gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_MAG_FILTER, qualitySettings.getMagFilter().equals(TextureQualitySettings.MagFilter.NEAREST) ? GL21.GL_NEAREST : GL21.GL_LINEAR);
-					gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_MIN_FILTER, qualitySettings.getMinFilter().equals(TextureQualitySettings.MinFilter.NEAREST) ? GL21.GL_NEAREST : GL21.GL_LINEAR);
+					gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_MAG_FILTER, TextureBacker.getGlMagFilter(qualitySettings.getMagFilter()));
+					gl.glTexParameteri(glTextureType, GL21.GL_TEXTURE_MIN_FILTER, this.getTextureBacker().getGlMinFilter(qualitySettings.getMinFilter()));
 					
 					this.getTextureBacker().setCachedTextureObject(textureObject);
 				}
@@ -288,6 +370,13 @@ public class TextureObjectBacker<V extends Vectorf, P extends RasterPicture<V>>
 					public Void visit(TextureObject2d textureObject) {
 						component.setMirrorSCoordinateGapPictureWidth((textureObject.getCoordinateWrapS() == CoordinateWrap.MIRROR_CLAMP_TO_BORDER) ? pictureDimensions.get(0) : 0);
 						component.setMirrorTCoordinateGapPictureWidth((textureObject.getCoordinateWrapT() == CoordinateWrap.MIRROR_CLAMP_TO_BORDER) ? pictureDimensions.get(1) : 0);
+						
+						if ( atlasRegion != null ) {
+							component.setAtlasRegion(atlasRegion.getRect(), atlasRegion.getClamp(), textureObject.getBorderColor());
+						}
+						else {
+							component.setAtlasRegion(Vector4f.ZERO, Vector4f.ZERO, Vector4f.ZERO);
+						}
 						return null;
 					}
 	
@@ -38,6 +38,7 @@ import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.Colored
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayeredGeometryRendererCommon;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersRenderingShadersUnit;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersVertexDataBacker;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.plane.shape.ShapeRenderingSubsystem;
 import com.esferixis.gameengine.physics.plane.statics.AffineMapper2d;
 import com.esferixis.gameengine.physics.plane.statics.IdentityMapper2d;
 import com.esferixis.gameengine.physics.plane.statics.PlaneMapper;
@@ -56,9 +57,41 @@ import com.esferixis.math.Vector2f;
 import com.esferixis.misc.ElementProcessor;
 
 public final class GlPlaneObjectRenderer extends Gl21RenderEngineBackendObject implements PlaneObjectComponentRenderer {
+	/**
+	 * Lector de la matriz de transformación de los mapeadores
+	 */
+	public static final PlaneMapper.Visitor<Matrix3f, RuntimeException> TRANSFORM_MATRIX_READER = new PlaneMapper.Visitor<Matrix3f, RuntimeException>() {
+
+		@Override
+		public Matrix3f visit(ProportionalAffineMapper2d affineMapper) {
+			return affineMapper.getTransformMatrix();
+		}
+
+		@Override
+		public Matrix3f visit(IdentityMapper2d identityMapper) {
+			return Matrix3f.IDENTITY;
+		}
+
+		@Override
+		public Matrix3f visit(TransformedMapper2d transformedMapper) {
+			return transformedMapper.getTransformerMapper().accept(this).mul(transformedMapper.getOriginalMapper().accept(this));
+		}
+
+		@Override
+		public Matrix3f visit(AffineMapper2d affineMapper) throws RuntimeException {
+			return affineMapper.getTransformMatrix();
+		}
+
+		@Override
+		public Matrix3f visit(ProportionalTransformedMapper2d transformedMapper) throws RuntimeException {
+			return transformedMapper.getTransformerMapper().accept(this).mul(transformedMapper.getOriginalMapper().accept(this));
+		}
+	};
+	
 	private final PlaneRenderingSubsystem planeRenderingSubsystem;
 	
 	private final LayeredGeometryRendererCommon<Vector2f, ColoredMeshVertex<Vector2f>, ColoredMeshData<Vector2f>, ColoredMeshBacker<Vector2f>, MeshObject2d> rendererCommon;
+	private final MeshObject2dBatcher batcher;
 	
 	/**
 	 * @pre Ninguno de los parámetros puede ser nulo
@@ -82,33 +115,7 @@ public final class GlPlaneObjectRenderer extends Gl21RenderEngineBackendObject i
 			protected LayeredGeometryRendererCommon<Vector2f, ColoredMeshVertex<Vector2f>, ColoredMeshData<Vector2f>, ColoredMeshBacker<Vector2f>, MeshObject2d>.TransformManager createTransformManager(
 					MeshObject2d meshObject) {
 				
-				final Matrix3f transformMatrix = meshObject.getMapper().accept(new PlaneMapper.Visitor<Matrix3f, RuntimeException>() {
-
-					@Override
-					public Matrix3f visit(ProportionalAffineMapper2d affineMapper) {
-						return affineMapper.getTransformMatrix();
-					}
-
-					@Override
-					public Matrix3f visit(IdentityMapper2d identityMapper) {
-						return Matrix3f.IDENTITY;
-					}
-
-					@Override
-					public Matrix3f visit(TransformedMapper2d transformedMapper) {
-						return transformedMapper.getTransformerMapper().accept(this).mul(transformedMapper.getOriginalMapper().accept(this));
-					}
-
-					@Override
-					public Matrix3f visit(AffineMapper2d affineMapper) throws RuntimeException {
-						return affineMapper.getTransformMatrix();
-					}
-
-					@Override
-					public Matrix3f visit(ProportionalTransformedMapper2d transformedMapper) throws RuntimeException {
-						return transformedMapper.getTransformerMapper().accept(this).mul(transformedMapper.getOriginalMapper().accept(this));
-					}
-				});
+				final Matrix3f transformMatrix = meshObject.getMapper().accept(TRANSFORM_MATRIX_READER);
 				
 				return new TransformManager() {
 					@Override
@@ -127,13 +134,19 @@ public final class GlPlaneObjectRenderer extends Gl21RenderEngineBackendObject i
 			}
 			
 		};
+		
+		this.batcher = new MeshObject2dBatcher(this.rendererCommon);
 	}
 	
 	
 	/**
-	 * @post Destruye el renderizador
+	 * @post Destruye el renderizador, renderizando los objetos agrupados pendientes
 	 */
 	public void destroy() {
+		this.batcher.flush();
+		this.planeRenderingSubsystem.getShapeRenderingSubsystem().flushBatch();
+		this.getRenderEngineBackend().getAttributeStreamManager().setAttributeStreamConfig(null);
+		
 		this.rendererCommon.destroy();
 	}
 
@@ -148,14 +161,31 @@ public final class GlPlaneObjectRenderer extends Gl21RenderEngineBackendObject i
 
 				@Override
 				public Void visit(MeshObject2d meshObject) {
-					GlPlaneObjectRenderer.this.getRenderEngineBackend().getAttributeStreamManager().setAttributeStreamConfig(null);
-					GlPlaneObjectRenderer.this.rendererCommon.render(meshObject);
+					GlPlaneObjectRenderer.this.planeRenderingSubsystem.getShapeRenderingSubsystem().flushBatch();
+					
+					final boolean batched = GlPlaneObjectRenderer.this.planeRenderingSubsystem.isMeshBatching() && GlPlaneObjectRenderer.this.batcher.add(meshObject);
+					
+					if ( !batched ) {
+						GlPlaneObjectRenderer.this.batcher.flush();
+						
+						GlPlaneObjectRenderer.this.getRenderEngineBackend().getAttributeStreamManager().setAttributeStreamConfig(null);
+						GlPlaneObjectRenderer.this.rendererCommon.render(meshObject);
+					}
 					return null;
 				}
 
 				@Override
 				public Void visit(ShapeObject shapeObject) {
-					GlPlaneObjectRenderer.this.planeRenderingSubsystem.getShapeRenderingSubsystem().render(shapeObject);
+					final ShapeRenderingSubsystem shapeRenderingSubsystem = GlPlaneObjectRenderer.this.planeRenderingSubsystem.getShapeRenderingSubsystem();
+					
+					GlPlaneObjectRenderer.this.batcher.flush();
+					
+					final boolean batched = GlPlaneObjectRenderer.this.planeRenderingSubsystem.isShapeBatching() && shapeRenderingSubsystem.addToBatch(shapeObject);
+					
+					if ( !batched ) {
+						shapeRenderingSubsystem.flushBatch();
+						shapeRenderingSubsystem.render(shapeObject);
+					}
 					return null;
 				}
 			});
@@ -0,0 +1,383 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.plane;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendObject;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStreamConfig;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStreamManager;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStreamManager.DrawingMode;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.Vector2fAttributeStream;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.Vector4fAttributeStream;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.ColoredMeshBacker;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayeredGeometryRendererCommon;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersRenderingShadersUnit;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersRenderingShadersUnit.TextureRenderLayer;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersRenderingShadersUnit.UniformColoredRenderLayer;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersRenderingShadersUnit.VertexColoredRenderLayer;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersVertexDataBacker.LayerVertexDataBacker;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersVertexDataBacker.TextureLayerVertexDataBacker;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersVertexDataBacker.VertexColoredLayerVertexDataBacker;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.MeshLayersConfigBacker;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshData;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex;
+import com.esferixis.gameengine.renderengine.backend.plane.mesh.MeshObject2d;
+import com.esferixis.math.Matrix3f;
+import com.esferixis.math.Vector2f;
+
+/**
+ * Agrupador de objetos de malla 2d.
+ * 
+ * Acumula objetos de malla consecutivos con la misma configuración de capas
+ * y mallas pequeñas, y los dibuja juntos transformando los vértices en la CPU
+ * y enviándolos por stream de atributos, con una sola llamada de dibujado
+ * por unidad de shaders en lugar de una por objeto.
+ * 
+ * @author ariel
+ *
+ */
+final class MeshObject2dBatcher extends Gl21RenderEngineBackendObject {
+	private static final Vector2f X_AXIS = new Vector2f(1.0f, 0.0f);
+	private static final Vector2f Y_AXIS = new Vector2f(0.0f, 1.0f);
+	
+	/**
+	 * Cantidad de coeficientes de transformación por objeto
+	 */
+	private static final int TRANSFORM_COEFFICIENTS = 6;
+	
+	/**
+	 * Visitante que devuelve si la capa de rendering puede enviarse por stream de atributos.
+	 * Las coordenadas de las texturas de alpha no se envían por stream
+	 */
+	private static final LayersRenderingShadersUnit.RenderLayerVisitor<Vector2f, Boolean> STREAMABLE_LAYER_CHECKER = new LayersRenderingShadersUnit.RenderLayerVisitor<Vector2f, Boolean>() {
+
+		@Override
+		public Boolean visit(TextureRenderLayer<Vector2f> renderLayer) {
+			return ( renderLayer.getAlphaTexture() == null );
+		}
+
+		@Override
+		public Boolean visit(VertexColoredRenderLayer<Vector2f> renderLayer) {
+			return true;
+		}
+
+		@Override
+		public Boolean visit(UniformColoredRenderLayer<Vector2f> renderLayer) {
+			return true;
+		}
+		
+	};
+	
+	private abstract class LayerStreamer {
+		/**
+		 * @post Envía el valor del vértice con el índice especificado,
+		 * 		 con el backer de datos de vértice de capa especificado
+		 */
+		public abstract void send(LayerVertexDataBacker layerVertexDataBacker, int vertexIndex);
+	}
+	
+	private final class StreamingLayout {
+		private final Vector2fAttributeStream positionStream;
+		private final LayerStreamer[] layerStreamers;
+		private final AttributeStreamConfig attributeStreamConfig;
+		
+		/**
+		 * @pre El contenedor de programa de shader no puede ser nulo
+		 * @post Crea la disposición de streams de atributos para el contenedor
+		 * 		 de programa de shader especificado
+		 */
+		public StreamingLayout(LayersRenderingShadersUnit.ShaderProgramContainer<Vector2f> shaderProgramContainer) {
+			final AttributeStreamConfig.Essence essence = new AttributeStreamConfig.Essence();
+			
+			this.positionStream = new Vector2fAttributeStream();
+			essence.addAttributeStream(this.positionStream, shaderProgramContainer.getVertexPositionAttribute());
+			
+			this.layerStreamers = new LayerStreamer[shaderProgramContainer.getRenderLayers().size()];
+			
+			int i = 0;
+			for ( LayersRenderingShadersUnit.RenderLayer<Vector2f, ?> eachRenderLayer : shaderProgramContainer.getRenderLayers() ) {
+				this.layerStreamers[i++] = eachRenderLayer.visit(new LayersRenderingShadersUnit.RenderLayerVisitor<Vector2f, LayerStreamer>() {
+
+					@Override
+					public LayerStreamer visit(TextureRenderLayer<Vector2f> renderLayer) {
+						// Las capas con textura de alpha no llegan acá, add() las rechaza
+						final Vector2fAttributeStream colorCoordinatesStream = new Vector2fAttributeStream();
+						essence.addAttributeStream(colorCoordinatesStream, renderLayer.getColorTexture().getCoordinatesAttribute());
+						
+						return new LayerStreamer() {
+
+							@Override
+							public void send(LayerVertexDataBacker layerVertexDataBacker, int vertexIndex) {
+								colorCoordinatesStream.send( ( (TextureLayerVertexDataBacker) layerVertexDataBacker ).getStreamingColorCoordinates().get(vertexIndex) );
+							}
+							
+						};
+					}
+
+					@Override
+					public LayerStreamer visit(VertexColoredRenderLayer<Vector2f> renderLayer) {
+						final Vector4fAttributeStream colorStream = new Vector4fAttributeStream();
+						essence.addAttributeStream(colorStream, renderLayer.getColorAttribute());
+						
+						return new LayerStreamer() {
+
+							@Override
+							public void send(LayerVertexDataBacker layerVertexDataBacker, int vertexIndex) {
+								colorStream.send( ( (VertexColoredLayerVertexDataBacker) layerVertexDataBacker ).getStreamingColors().get(vertexIndex) );
+							}
+							
+						};
+					}
+
+					@Override
+					public LayerStreamer visit(UniformColoredRenderLayer<Vector2f> renderLayer) {
+						return new LayerStreamer() {
+
+							@Override
+							public void send(LayerVertexDataBacker layerVertexDataBacker, int vertexIndex) {
+								
+							}
+							
+						};
+					}
+				});
+			}
+			
+			this.attributeStreamConfig = new AttributeStreamConfig(essence);
+		}
+	}
+	
+	private final LayeredGeometryRendererCommon<Vector2f, ColoredMeshVertex<Vector2f>, ColoredMeshData<Vector2f>, ColoredMeshBacker<Vector2f>, MeshObject2d> rendererCommon;
+	private final AttributeStreamManager attributeStreamManager;
+	
+	private final Map<LayersRenderingShadersUnit.ShaderProgramContainer<Vector2f>, StreamingLayout> streamingLayoutPerShaderProgramContainer;
+	
+	private final LayeredGeometryRendererCommon<Vector2f, ColoredMeshVertex<Vector2f>, ColoredMeshData<Vector2f>, ColoredMeshBacker<Vector2f>, MeshObject2d>.TransformManager identityTransformManager;
+	private final LayeredGeometryRendererCommon<Vector2f, ColoredMeshVertex<Vector2f>, ColoredMeshData<Vector2f>, ColoredMeshBacker<Vector2f>, MeshObject2d>.GeometryDrawer streamingGeometryDrawer;
+	
+	private MeshLayersConfigBacker pendingMeshLayersConfigBacker;
+	private final List<MeshObject2d> pendingMeshObjects;
+	private final List<ColoredMeshBacker<Vector2f>> pendingMeshBackers;
+	private float[] pendingTransforms;
+	
+	private int layersOffset;
+	
+	/**
+	 * @pre La parte común del renderizador no puede ser nula
+	 * @post Crea el agrupador con la parte común del renderizador especificada
+	 */
+	MeshObject2dBatcher(final LayeredGeometryRendererCommon<Vector2f, ColoredMeshVertex<Vector2f>, ColoredMeshData<Vector2f>, ColoredMeshBacker<Vector2f>, MeshObject2d> rendererCommon) {
+		super(rendererCommon.getRenderEngineBackend());
+		
+		this.rendererCommon = rendererCommon;
+		this.attributeStreamManager = this.getRenderEngineBackend().getAttributeStreamManager();
+		
+		this.streamingLayoutPerShaderProgramContainer = new HashMap<LayersRenderingShadersUnit.ShaderProgramContainer<Vector2f>, StreamingLayout>();
+		
+		this.pendingMeshLayersConfigBacker = null;
+		this.pendingMeshObjects = new ArrayList<MeshObject2d>();
+		this.pendingMeshBackers = new ArrayList<ColoredMeshBacker<Vector2f>>();
+		this.pendingTransforms = new float[TRANSFORM_COEFFICIENTS * 16];
+		
+		final FloatBuffer identityMatrixBuffer = Matrix3f.IDENTITY.store();
+		
+		this.identityTransformManager = rendererCommon.new TransformManager() {
+
+			@Override
+			public void updateUniforms(LayersRenderingShadersUnit.ShaderProgramContainer<Vector2f> shaderProgramContainer) {
+				MeshObject2dBatcher.this.gl.glUniformMatrix3(shaderProgramContainer.getTransformMatrixUniform().getLocation(), false, identityMatrixBuffer);
+			}
+			
+		};
+		
+		this.streamingGeometryDrawer = rendererCommon.new GeometryDrawer() {
+
+			@Override
+			public void draw(LayersRenderingShadersUnit.ShaderProgramContainer<Vector2f> shaderProgramContainer) {
+				MeshObject2dBatcher.this.drawPending(shaderProgramContainer);
+			}
+			
+		};
+	}
+	
+	/**
+	 * @pre El objeto de malla no puede ser nulo
+	 * @post Agrega el objeto de malla especificado, si puede agruparse, y devuelve si lo agregó.
+	 * 		 No puede agruparse si la malla no tiene posiciones para stream, o si alguna
+	 * 		 capa de su configuración no puede enviarse por stream (Texturas de alpha),
+	 * 		 en ese caso tiene que renderizarse por el camino normal.
+	 * 		 Si no es compatible con los objetos pendientes los renderiza antes
+	 */
+	public boolean add(MeshObject2d meshObject) {
+		if ( meshObject != null ) {
+			final ColoredMeshBacker<Vector2f> meshBacker = (ColoredMeshBacker<Vector2f>) this.getRenderEngineBackend().getMeshBacker( meshObject.getMesh() );
+			final boolean result;
+			
+			final MeshLayersConfigBacker meshLayersConfigBacker = meshBacker.getLayersVertexDataBacker().getTextureMappingConfigBacker();
+			
+			// Si la configuración es la pendiente ya se sabe que puede enviarse por stream
+			if ( ( meshBacker.getStreamingPositions() != null ) && ( ( meshLayersConfigBacker == this.pendingMeshLayersConfigBacker ) || isStreamable(meshLayersConfigBacker) ) ) {
+				if ( meshLayersConfigBacker != this.pendingMeshLayersConfigBacker ) {
+					this.flush();
+					this.pendingMeshLayersConfigBacker = meshLayersConfigBacker;
+				}
+				
+				final int objectIndex = this.pendingMeshObjects.size();
+				
+				if ( ( objectIndex + 1 ) * TRANSFORM_COEFFICIENTS > this.pendingTransforms.length ) {
+					final float[] newPendingTransforms = new float[this.pendingTransforms.length * 2];
+					System.arraycopy(this.pendingTransforms, 0, newPendingTransforms, 0, this.pendingTransforms.length);
+					this.pendingTransforms = newPendingTransforms;
+				}
+				
+				// Se lee la transformación ahora porque el mapeador puede reutilizarse después
+				final Matrix3f transformMatrix = meshObject.getMapper().accept(GlPlaneObjectRenderer.TRANSFORM_MATRIX_READER);
+				final Vector2f origin = transformMatrix.transformPoint(Vector2f.ZERO);
+				final Vector2f xAxis = transformMatrix.transformDirection(X_AXIS);
+				final Vector2f yAxis = transformMatrix.transformDirection(Y_AXIS);
+				
+				final int offset = objectIndex * TRANSFORM_COEFFICIENTS;
+				this.pendingTransforms[offset] = xAxis.getX();
+				this.pendingTransforms[offset+1] = yAxis.getX();
+				this.pendingTransforms[offset+2] = origin.getX();
+				this.pendingTransforms[offset+3] = xAxis.getY();
+				this.pendingTransforms[offset+4] = yAxis.getY();
+				this.pendingTransforms[offset+5] = origin.getY();
+				
+				this.pendingMeshObjects.add(meshObject);
+				this.pendingMeshBackers.add(meshBacker);
+				
+				result = true;
+			}
+			else {
+				result = false;
+			}
+			
+			return result;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El backer de configuración de capas no puede ser nulo
+	 * @post Devuelve si todas las capas de rendering de la configuración especificada pueden
+	 * 		 enviarse por stream de atributos
+	 */
+	private static boolean isStreamable(MeshLayersConfigBacker meshLayersConfigBacker) {
+		boolean result = true;
+		
+		for ( LayersRenderingShadersUnit eachShadersUnit : meshLayersConfigBacker.getShadersUnits() ) {
+			for ( LayersRenderingShadersUnit.RenderLayer<Vector2f, ?> eachRenderLayer : eachShadersUnit.getShader2dProgramContainer().getRenderLayers() ) {
+				result &= eachRenderLayer.visit(STREAMABLE_LAYER_CHECKER);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Renderiza los objetos pendientes.
+	 * 		 Si hay uno solo lo renderiza con sus buffers, sin stream de atributos
+	 */
+	public void flush() {
+		if ( this.pendingMeshObjects.size() == 1 ) {
+			this.attributeStreamManager.setAttributeStreamConfig(null);
+			this.rendererCommon.render(this.pendingMeshObjects.get(0));
+		}
+		else if ( this.pendingMeshObjects.size() > 1 ) {
+			this.layersOffset = 0;
+			this.rendererCommon.render(this.pendingMeshLayersConfigBacker, this.identityTransformManager, this.streamingGeometryDrawer);
+			this.attributeStreamManager.setAttributeStreamConfig(null);
+		}
+		
+		this.pendingMeshObjects.clear();
+		this.pendingMeshBackers.clear();
+		this.pendingMeshLayersConfigBacker = null;
+	}
+	
+	/**
+	 * @post Dibuja los objetos pendientes con el contenedor de programa de shader especificado
+	 */
+	private void drawPending(LayersRenderingShadersUnit.ShaderProgramContainer<Vector2f> shaderProgramContainer) {
+		StreamingLayout streamingLayout = this.streamingLayoutPerShaderProgramContainer.get(shaderProgramContainer);
+		
+		if ( streamingLayout == null ) {
+			streamingLayout = new StreamingLayout(shaderProgramContainer);
+			this.streamingLayoutPerShaderProgramContainer.put(shaderProgramContainer, streamingLayout);
+		}
+		
+		final Vector2fAttributeStream positionStream = streamingLayout.positionStream;
+		final LayerStreamer[] layerStreamers = streamingLayout.layerStreamers;
+		
+		this.attributeStreamManager.setAttributeStreamConfig(streamingLayout.attributeStreamConfig);
+		this.attributeStreamManager.startStreaming(DrawingMode.TRIANGLES);
+		
+		for ( int objectIndex = 0 ; objectIndex < this.pendingMeshBackers.size() ; objectIndex++ ) {
+			final ColoredMeshBacker<Vector2f> eachMeshBacker = this.pendingMeshBackers.get(objectIndex);
+			final List<Vector2f> positions = eachMeshBacker.getStreamingPositions();
+			final List<LayerVertexDataBacker> layerVertexDataBackers = eachMeshBacker.getLayersVertexDataBacker().getLayerMappingBackers();
+			
+			final int offset = objectIndex * TRANSFORM_COEFFICIENTS;
+			final float m00 = this.pendingTransforms[offset];
+			final float m01 = this.pendingTransforms[offset+1];
+			final float m02 = this.pendingTransforms[offset+2];
+			final float m10 = this.pendingTransforms[offset+3];
+			final float m11 = this.pendingTransforms[offset+4];
+			final float m12 = this.pendingTransforms[offset+5];
+			
+			for ( int vertexIndex = 0 ; vertexIndex < positions.size() ; vertexIndex++ ) {
+				final Vector2f eachPosition = positions.get(vertexIndex);
+				
+				positionStream.send(m00 * eachPosition.getX() + m01 * eachPosition.getY() + m02, m10 * eachPosition.getX() + m11 * eachPosition.getY() + m12);
+				
+				for ( int layerIndex = 0 ; layerIndex < layerStreamers.length ; layerIndex++ ) {
+					layerStreamers[layerIndex].send(layerVertexDataBackers.get(this.layersOffset + layerIndex), vertexIndex);
+				}
+				
+				this.attributeStreamManager.endVertex();
+			}
+		}
+		
+		this.attributeStreamManager.endStreaming();
+		
+		// Las capas de la próxima unidad de shaders siguen a las de ésta
+		this.layersOffset += layerStreamers.length;
+	}
+}
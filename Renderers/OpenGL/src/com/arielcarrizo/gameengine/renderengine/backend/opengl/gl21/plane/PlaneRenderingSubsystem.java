@@ -39,6 +39,8 @@ import com.esferixis.gameengine.renderengine.backend.plane.PlaneObjectComponentR
 
 public final class PlaneRenderingSubsystem extends Gl21RenderEngineBackendObject {
 	private final ShapeRenderingSubsystem shapeRenderingSubsystem;
+	private boolean meshBatching;
+	private boolean shapeBatching;
 	
 	/**
 	 * @post Crea el susbsistema de renderizado en el plano con el backend del motor de rendering
@@ -46,6 +48,8 @@ public final class PlaneRenderingSubsystem extends Gl21RenderEngineBackendObject
 	 */
 	public PlaneRenderingSubsystem(Gl21RenderEngineBackendSystem renderEngineBackendSystem) throws GLException {
 		super(renderEngineBackendSystem);
+		this.meshBatching = true;
+		this.shapeBatching = true;
 		try {
 			this.shapeRenderingSubsystem = new ShapeRenderingSubsystem(this.renderEngineBackend);
 		} catch (RuntimeException | GLException e) {
@@ -61,6 +65,63 @@ public final class PlaneRenderingSubsystem extends Gl21RenderEngineBackendObject
 		return new GlPlaneObjectRenderer(this);
 	}
 	
+	/**
+	 * @post Especifica si los objetos de malla consecutivos con la misma configuración de capas
+	 * 		 y mallas pequeñas se agrupan para dibujarlos juntos
+	 */
+	public void setMeshBatching(boolean value) {
+		this.meshBatching = value;
+	}
+	
+	/**
+	 * @post Devuelve si los objetos de malla consecutivos con la misma configuración de capas
+	 * 		 y mallas pequeñas se agrupan para dibujarlos juntos
+	 */
+	public boolean isMeshBatching() {
+		return this.meshBatching;
+	}
+	
+	/**
+	 * @post Especifica si los objetos de figura consecutivos con distribución de color uniforme
+	 * 		 se agrupan para dibujarlos juntos
+	 */
+	public void setShapeBatching(boolean value) {
+		this.shapeBatching = value;
+	}
+	
+	/**
+	 * @post Devuelve si los objetos de figura consecutivos con distribución de color uniforme
+	 * 		 se agrupan para dibujarlos juntos
+	 */
+	public boolean isShapeBatching() {
+		return this.shapeBatching;
+	}
+	
+	/**
+	 * @pre El error tiene que ser positivo
+	 * @post Especifica el error máximo en pixels entre las curvas de las figuras
+	 * 		 y los segmentos con los que se aproximan
+	 */
+	public void setShapeTessellationPixelError(float value) {
+		this.shapeRenderingSubsystem.setTessellationPixelError(value);
+	}
+	
+	/**
+	 * @post Devuelve el error máximo en pixels entre las curvas de las figuras
+	 * 		 y los segmentos con los que se aproximan
+	 */
+	public float getShapeTessellationPixelError() {
+		return this.shapeRenderingSubsystem.getTessellationPixelError();
+	}
+	
+	/**
+	 * @pre Las dimensiones no pueden ser negativas
+	 * @post Especifica el tamaño en pixels del viewport en el que se renderiza
+	 */
+	public void setViewportSize(int width, int height) {
+		this.shapeRenderingSubsystem.setViewportSize(width, height);
+	}
+	
 	/**
 	 * @post Devuelve el subsistema de renderizado de figuras
 	 */
@@ -0,0 +1,540 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.plane.shape;
+
+import java.nio.FloatBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.GLException;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendObject;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStreamConfig;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStreamManager;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStreamManager.DrawingMode;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.Vector2fAttributeStream;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.Vector4fAttributeStream;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.globjects.shader.FragmentShader;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.globjects.shader.ShaderProgram;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.globjects.shader.VertexShader;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.plane.GlPlaneObjectRenderer;
+import com.esferixis.gameengine.renderengine.backend.plane.shape.ShapeObject;
+import com.esferixis.gameengine.renderengine.plane.shape.ColorDistribution;
+import com.esferixis.gameengine.renderengine.plane.shape.UniformColorDistribution;
+import com.esferixis.geometry.plane.Line;
+import com.esferixis.geometry.plane.Shape;
+import com.esferixis.geometry.plane.finite.Circle;
+import com.esferixis.geometry.plane.finite.Circumference;
+import com.esferixis.geometry.plane.finite.CircumferenceSegment;
+import com.esferixis.geometry.plane.finite.ConvexPolygon;
+import com.esferixis.geometry.plane.finite.FiniteAffineHolomorphicShape;
+import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
+import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShapeGroup;
+import com.esferixis.geometry.plane.finite.LineSegment;
+import com.esferixis.geometry.plane.finite.Point;
+import com.esferixis.geometry.plane.finite.SolidCapsule;
+import com.esferixis.math.Matrix3f;
+import com.esferixis.math.Vector2f;
+import com.esferixis.math.Vector4f;
+
+/**
+ * Agrupador de objetos de figura.
+ * 
+ * Acumula objetos de figura consecutivos con distribución de color uniforme,
+ * transformando los vértices en la CPU y guardando el color en cada vértice,
+ * y los dibuja con un stream de triángulos y uno de líneas en lugar
+ * de una llamada de dibujado por objeto.
+ * 
+ * Para respetar el orden de dibujado, si llega una figura rellena
+ * cuando hay líneas pendientes se renderizan las pendientes antes.
+ * 
+ * @author ariel
+ *
+ */
+final class ShapeBatcher extends Gl21RenderEngineBackendObject {
+	private static final String vertexShaderSource = 
+		"#version 120\n\n" +
+		"attribute vec2 vertexPosition;\n" +
+		"attribute vec4 vertexColor;\n" +
+		"uniform mat3 transformMatrix;\n" +
+		"varying vec4 color;\n\n" +
+		"void main(void) {\n" +
+		"	gl_Position = vec4( transformMatrix * vec3(vertexPosition, 1.0), 1.0 );\n" +
+		"	color = vertexColor;\n" +
+		"}"
+	;
+	
+	private static final String fragmentShaderSource =
+		"#version 120\n\n" +
+		"varying vec4 color;\n\n" +
+		"void main(void) {\n" +
+		"	gl_FragColor = color;\n" +
+		"}"
+	;
+	
+	private static final Vector2f X_AXIS = new Vector2f(1.0f, 0.0f);
+	private static final Vector2f Y_AXIS = new Vector2f(0.0f, 1.0f);
+	
+	/**
+	 * Cantidad de componentes por vértice pendiente (Posición y color)
+	 */
+	private static final int VERTEX_COMPONENTS = 6;
+	
+	private static final class ShaderProgramContainer extends com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.globjects.shader.ShaderProgramContainer {
+		private final ShaderProgram.Attribute vertexColorAttribute;
+		
+		/**
+		 * @post Crea el contenedor de shaders
+		 */
+		private static ShaderProgramContainer create(VertexShader vertexShader, FragmentShader fragmentShader) throws GLException {
+			final ShaderProgram.Attribute vertexColorAttribute = new ShaderProgram.Attribute("vertexColor");
+			
+			return new ShaderProgramContainer(vertexShader, fragmentShader, vertexColorAttribute);
+		}
+		
+		/**
+		 * @post Crea el contenedor de shaders con el atributo de color especificado
+		 */
+		private ShaderProgramContainer(VertexShader vertexShader, FragmentShader fragmentShader, ShaderProgram.Attribute vertexColorAttribute) throws GLException {
+			super(vertexShader, fragmentShader, Collections.singletonList(vertexColorAttribute), (Collection<ShaderProgram.Uniform>) (List) Collections.emptyList());
+			
+			this.vertexColorAttribute = vertexColorAttribute;
+		}
+		
+		/**
+		 * @post Destruye el contenedor
+		 */
+		@Override
+		protected void destroy() {
+			super.destroy();
+		}
+	}
+	
+	/**
+	 * Vértices pendientes de una primitiva
+	 */
+	private static final class PendingVertices {
+		private float[] components;
+		private int vertexCount;
+		
+		/**
+		 * @post Crea los vértices pendientes
+		 */
+		public PendingVertices() {
+			this.components = new float[VERTEX_COMPONENTS * 256];
+			this.vertexCount = 0;
+		}
+		
+		/**
+		 * @post Agrega el vértice con la posición y el color especificados
+		 */
+		public void add(float x, float y, Vector4f color) {
+			final int offset = this.vertexCount * VERTEX_COMPONENTS;
+			
+			if ( offset + VERTEX_COMPONENTS > this.components.length ) {
+				final float[] newComponents = new float[this.components.length * 2];
+				System.arraycopy(this.components, 0, newComponents, 0, this.components.length);
+				this.components = newComponents;
+			}
+			
+			this.components[offset] = x;
+			this.components[offset+1] = y;
+			this.components[offset+2] = color.getX();
+			this.components[offset+3] = color.getY();
+			this.components[offset+4] = color.getZ();
+			this.components[offset+5] = color.getW();
+			
+			this.vertexCount++;
+		}
+	}
+	
+	private final ShapeRenderingSubsystem shapeRenderingSubsystem;
+	private final AttributeStreamManager attributeStreamManager;
+	
+	private final ShaderProgramContainer shaderProgramContainer;
+	private final Vector2fAttributeStream positionStream;
+	private final Vector4fAttributeStream colorStream;
+	private final AttributeStreamConfig attributeStreamConfig;
+	private final FloatBuffer identityMatrixBuffer;
+	
+	private final PendingVertices pendingTriangles;
+	private final PendingVertices pendingLines;
+	
+	/**
+	 * Vértices transformados de la curva en construcción, en coordenadas intercaladas
+	 */
+	private float[] polyline;
+	private int polylineVertexCount;
+	
+	/**
+	 * Coeficientes de la transformación del objeto en construcción
+	 */
+	private float m00, m01, m02, m10, m11, m12;
+	
+	private final ShapeRenderingSubsystem.VertexSink polylineSink;
+	
+	/**
+	 * @pre El subsistema de renderizado de figuras no puede ser nulo
+	 * @post Crea el agrupador con el subsistema de renderizado de figuras especificado
+	 */
+	ShapeBatcher(ShapeRenderingSubsystem shapeRenderingSubsystem) throws GLException {
+		super(shapeRenderingSubsystem.getRenderEngineBackend());
+		
+		this.shapeRenderingSubsystem = shapeRenderingSubsystem;
+		this.attributeStreamManager = this.getRenderEngineBackend().getAttributeStreamManager();
+		
+		this.shaderProgramContainer = ShaderProgramContainer.create(new VertexShader(this.gl, vertexShaderSource), new FragmentShader(this.gl, fragmentShaderSource));
+		
+		this.positionStream = new Vector2fAttributeStream();
+		this.colorStream = new Vector4fAttributeStream();
+		
+		{
+			final AttributeStreamConfig.Essence essence = new AttributeStreamConfig.Essence();
+			essence.addAttributeStream(this.positionStream, this.shaderProgramContainer.getVertexPositionAttribute());
+			essence.addAttributeStream(this.colorStream, this.shaderProgramContainer.vertexColorAttribute);
+			this.attributeStreamConfig = new AttributeStreamConfig(essence);
+		}
+		
+		this.identityMatrixBuffer = Matrix3f.IDENTITY.store();
+		
+		this.pendingTriangles = new PendingVertices();
+		this.pendingLines = new PendingVertices();
+		
+		this.polyline = new float[2 * 256];
+		this.polylineVertexCount = 0;
+		
+		this.polylineSink = new ShapeRenderingSubsystem.VertexSink() {
+
+			@Override
+			public void vertex(float x, float y) {
+				ShapeBatcher.this.addPolylineVertex(x, y);
+			}
+			
+		};
+	}
+	
+	/**
+	 * @post Devuelve el color del objeto de figura especificado si su distribución
+	 * 		 de color puede agruparse, si no devuelve null
+	 */
+	private static Vector4f batchingColor(ShapeObject shapeObject) {
+		return shapeObject.getColorDistribution().accept(new ColorDistribution.Visitor<Vector4f>() {
+
+			@Override
+			public Vector4f visit(UniformColorDistribution colorDistribution) {
+				return colorDistribution.getColor();
+			}
+		});
+	}
+	
+	/**
+	 * Visitante que indica si la figura puede agruparse
+	 */
+	private static final Shape.Visitor<Boolean, RuntimeException> BATCHABLE_SHAPE_CHECKER = new Shape.Visitor<Boolean, RuntimeException>() {
+
+		@Override
+		public Boolean visit(Point point) {
+			return false;
+		}
+
+		@Override
+		public Boolean visit(LineSegment line) {
+			return true;
+		}
+		
+		@Override
+		public Boolean visit(Line rect) {
+			// Se recorta con el viewport en el espacio de destino
+			return false;
+		}
+
+		@Override
+		public Boolean visit(Circumference circumference) {
+			return true;
+		}
+
+		@Override
+		public Boolean visit(CircumferenceSegment circumferenceSegment) {
+			return true;
+		}
+
+		@Override
+		public Boolean visit(Circle circle) {
+			return true;
+		}
+
+		@Override
+		public Boolean visit(SolidCapsule capsule) {
+			return true;
+		}
+
+		@Override
+		public Boolean visit(ConvexPolygon convexPolygon) {
+			return true;
+		}
+
+		@Override
+		public <S extends FiniteProportionalHolomorphicShape<?>> Boolean visit(
+				FiniteProportionalHolomorphicShapeGroup<S> proportionalHolomorphicShapeGroup) {
+			boolean result = true;
+			
+			for ( S eachShape : proportionalHolomorphicShapeGroup.getShapes() ) {
+				result = result && eachShape.accept(this);
+			}
+			
+			return result;
+		}
+
+		@Override
+		public <S extends FiniteProportionalHolomorphicShape<S>> Boolean visit(
+				FiniteAffineHolomorphicShape<S> finiteAffineHolomorphicShape) {
+			return finiteAffineHolomorphicShape.getBackingShape().accept(this);
+		}
+	};
+	
+	/**
+	 * @post Agrega el vértice especificado a la curva en construcción, transformándolo
+	 */
+	private void addPolylineVertex(float x, float y) {
+		final int offset = this.polylineVertexCount * 2;
+		
+		if ( offset + 2 > this.polyline.length ) {
+			final float[] newPolyline = new float[this.polyline.length * 2];
+			System.arraycopy(this.polyline, 0, newPolyline, 0, this.polyline.length);
+			this.polyline = newPolyline;
+		}
+		
+		this.polyline[offset] = this.m00 * x + this.m01 * y + this.m02;
+		this.polyline[offset+1] = this.m10 * x + this.m11 * y + this.m12;
+		
+		this.polylineVertexCount++;
+	}
+	
+	/**
+	 * @post Agrega los triángulos del abanico formado por la curva en construcción,
+	 * 		 con el color especificado, y la vacía
+	 */
+	private void emitPolylineFan(Vector4f color) {
+		// Las líneas pendientes tienen que quedar debajo
+		if ( this.pendingLines.vertexCount != 0 ) {
+			this.flush();
+		}
+		
+		for ( int i = 1 ; i < this.polylineVertexCount - 1 ; i++ ) {
+			this.pendingTriangles.add(this.polyline[0], this.polyline[1], color);
+			this.pendingTriangles.add(this.polyline[i * 2], this.polyline[i * 2 + 1], color);
+			this.pendingTriangles.add(this.polyline[i * 2 + 2], this.polyline[i * 2 + 3], color);
+		}
+		
+		this.polylineVertexCount = 0;
+	}
+	
+	/**
+	 * @post Agrega los segmentos de la curva en construcción, con el color especificado,
+	 * 		 cerrándola si se especifica, y la vacía
+	 */
+	private void emitPolylineSegments(Vector4f color, boolean close) {
+		for ( int i = 0 ; i < this.polylineVertexCount - 1 ; i++ ) {
+			this.pendingLines.add(this.polyline[i * 2], this.polyline[i * 2 + 1], color);
+			this.pendingLines.add(this.polyline[i * 2 + 2], this.polyline[i * 2 + 3], color);
+		}
+		
+		if ( close && ( this.polylineVertexCount > 2 ) ) {
+			final int last = ( this.polylineVertexCount - 1 ) * 2;
+			
+			this.pendingLines.add(this.polyline[last], this.polyline[last + 1], color);
+			this.pendingLines.add(this.polyline[0], this.polyline[1], color);
+		}
+		
+		this.polylineVertexCount = 0;
+	}
+	
+	/**
+	 * @pre El objeto de figura no puede ser nulo
+	 * @post Agrega el objeto de figura especificado, si puede agruparse, y devuelve si lo agregó
+	 */
+	public boolean add(ShapeObject shapeObject) {
+		if ( shapeObject != null ) {
+			final Vector4f color = batchingColor(shapeObject);
+			final boolean result = ( color != null ) && shapeObject.getShape().accept(BATCHABLE_SHAPE_CHECKER);
+			
+			if ( result ) {
+				final Matrix3f transformMatrix = shapeObject.getMapper().accept(GlPlaneObjectRenderer.TRANSFORM_MATRIX_READER);
+				final float pixelsPerUnit = this.shapeRenderingSubsystem.pixelsPerUnit(transformMatrix);
+				
+				{
+					final Vector2f origin = transformMatrix.transformPoint(Vector2f.ZERO);
+					final Vector2f xAxis = transformMatrix.transformDirection(X_AXIS);
+					final Vector2f yAxis = transformMatrix.transformDirection(Y_AXIS);
+					
+					this.m00 = xAxis.getX();
+					this.m01 = yAxis.getX();
+					this.m02 = origin.getX();
+					this.m10 = xAxis.getY();
+					this.m11 = yAxis.getY();
+					this.m12 = origin.getY();
+				}
+				
+				shapeObject.getShape().accept(new Shape.Visitor<Void, RuntimeException>() {
+					final ShapeBatcher batcher = ShapeBatcher.this;
+					final ShapeRenderingSubsystem.VertexSink polylineSink = ShapeBatcher.this.polylineSink;
+
+					@Override
+					public Void visit(Point point) {
+						throw new IllegalStateException("Unexpected point");
+					}
+
+					@Override
+					public Void visit(LineSegment line) {
+						this.polylineSink.vertex(line.getPoint1().getX(), line.getPoint1().getY());
+						this.polylineSink.vertex(line.getPoint2().getX(), line.getPoint2().getY());
+						this.batcher.emitPolylineSegments(color, false);
+						return null;
+					}
+
+					@Override
+					public Void visit(Line rect) {
+						throw new IllegalStateException("Unexpected line");
+					}
+
+					@Override
+					public Void visit(Circumference circumference) {
+						this.batcher.shapeRenderingSubsystem.traceCircumference(circumference, pixelsPerUnit, false, this.polylineSink);
+						this.batcher.emitPolylineSegments(color, true);
+						return null;
+					}
+
+					@Override
+					public Void visit(CircumferenceSegment circumferenceSegment) {
+						this.batcher.shapeRenderingSubsystem.traceCircumferenceSegment(circumferenceSegment, pixelsPerUnit, this.polylineSink);
+						this.batcher.emitPolylineSegments(color, false);
+						return null;
+					}
+
+					@Override
+					public Void visit(Circle circle) {
+						this.batcher.shapeRenderingSubsystem.traceCircumference(circle.getPerimeter(), pixelsPerUnit, false, this.polylineSink);
+						this.batcher.emitPolylineFan(color);
+						return null;
+					}
+
+					@Override
+					public Void visit(SolidCapsule capsule) {
+						for ( CircumferenceSegment eachCircumferenceSegment : capsule.getPerimeterCircumferenceSegments() ) {
+							this.batcher.shapeRenderingSubsystem.traceCircumferenceSegment(eachCircumferenceSegment, pixelsPerUnit, this.polylineSink);
+						}
+						this.batcher.emitPolylineFan(color);
+						return null;
+					}
+
+					@Override
+					public Void visit(ConvexPolygon convexPolygon) {
+						for ( Vector2f eachVertex : convexPolygon.getVertices() ) {
+							this.polylineSink.vertex(eachVertex.getX(), eachVertex.getY());
+						}
+						this.batcher.emitPolylineFan(color);
+						return null;
+					}
+
+					@Override
+					public <S extends FiniteProportionalHolomorphicShape<?>> Void visit(
+							FiniteProportionalHolomorphicShapeGroup<S> proportionalHolomorphicShapeGroup) {
+						for ( S eachShape : proportionalHolomorphicShapeGroup.getShapes() ) {
+							eachShape.accept(this);
+						}
+						
+						return null;
+					}
+
+					@Override
+					public <S extends FiniteProportionalHolomorphicShape<S>> Void visit(
+							FiniteAffineHolomorphicShape<S> finiteAffineHolomorphicShape) {
+						return finiteAffineHolomorphicShape.getBackingShape().accept(this);
+					}
+				});
+			}
+			
+			return result;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Dibuja los vértices pendientes especificados con el modo de dibujado especificado,
+	 * 		 y los vacía
+	 */
+	private void drawPending(PendingVertices pendingVertices, DrawingMode drawingMode) {
+		if ( pendingVertices.vertexCount != 0 ) {
+			final float[] components = pendingVertices.components;
+			
+			this.attributeStreamManager.startStreaming(drawingMode);
+			
+			for ( int i = 0 ; i < pendingVertices.vertexCount ; i++ ) {
+				final int offset = i * VERTEX_COMPONENTS;
+				
+				this.positionStream.send(components[offset], components[offset+1]);
+				this.colorStream.send(components[offset+2], components[offset+3], components[offset+4], components[offset+5]);
+				this.attributeStreamManager.endVertex();
+			}
+			
+			this.attributeStreamManager.endStreaming();
+			
+			pendingVertices.vertexCount = 0;
+		}
+	}
+	
+	/**
+	 * @post Renderiza los objetos pendientes, primero los rellenos y después las líneas
+	 */
+	public void flush() {
+		if ( ( this.pendingTriangles.vertexCount != 0 ) || ( this.pendingLines.vertexCount != 0 ) ) {
+			this.getRenderEngineBackend().getShaderProgramContainerSwitcher().select(this.shaderProgramContainer);
+			this.gl.glUniformMatrix3(this.shaderProgramContainer.getTransformMatrixUniform().getLocation(), false, this.identityMatrixBuffer);
+			this.attributeStreamManager.setAttributeStreamConfig(this.attributeStreamConfig);
+			
+			this.drawPending(this.pendingTriangles, DrawingMode.TRIANGLES);
+			this.drawPending(this.pendingLines, DrawingMode.LINE);
+			
+			this.attributeStreamManager.setAttributeStreamConfig(null);
+		}
+	}
+	
+	/**
+	 * @post Destruye el agrupador
+	 */
+	public void destroy() {
+		this.shaderProgramContainer.destroy();
+	}
+}
@@ -39,16 +39,10 @@ import java.util.List;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.GLException;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendObject;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendSystem;
-import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStream;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStreamManager;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.Vector2fAttributeStream;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.attributestream.AttributeStreamManager.DrawingMode;
-import com.esferixis.gameengine.physics.plane.statics.AffineMapper2d;
-import com.esferixis.gameengine.physics.plane.statics.IdentityMapper2d;
-import com.esferixis.gameengine.physics.plane.statics.PlaneMapper;
-import com.esferixis.gameengine.physics.plane.statics.ProportionalAffineMapper2d;
-import com.esferixis.gameengine.physics.plane.statics.ProportionalTransformedMapper2d;
-import com.esferixis.gameengine.physics.plane.statics.TransformedMapper2d;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.plane.GlPlaneObjectRenderer;
 import com.esferixis.gameengine.renderengine.backend.plane.shape.ShapeObject;
 import com.esferixis.gameengine.renderengine.plane.shape.ColorDistribution;
 import com.esferixis.gameengine.renderengine.plane.shape.UniformColorDistribution;
@@ -70,7 +64,22 @@ import com.esferixis.math.Vector2f;
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
 
 public final class ShapeRenderingSubsystem extends Gl21RenderEngineBackendObject {
-	private final AttributeStream<Vector2f> positionAttributeStream;
+	/**
+	 * Cantidad máxima y mínima de segmentos de una circunferencia completa
+	 */
+	private static final int MAX_SEGMENTS = 360;
+	private static final int MIN_SEGMENTS = 8;
+	
+	/**
+	 * Granularidad de la cantidad de segmentos, para acotar las circunferencias unitarias
+	 * almacenadas
+	 */
+	private static final int SEGMENTS_GRANULARITY = 8;
+	
+	private static final Vector2f X_AXIS = new Vector2f(1.0f, 0.0f);
+	private static final Vector2f Y_AXIS = new Vector2f(0.0f, 1.0f);
+	
+	private final Vector2fAttributeStream positionAttributeStream;
 	private final List<ColorDistributionBacker<?>> colorDistributionBackers;
 	
 	private static final Vector2f extremePoint_11 = new Vector2f(-1.0f, -1.0f);
@@ -86,6 +95,16 @@ public final class ShapeRenderingSubsystem extends Gl21RenderEngineBackendObject
 		);
 	
 	private final UniformColorDistributionBacker uniformColorDistributionBacker;
+	private final ShapeBatcher batcher;
+	
+	/**
+	 * Cosenos y senos de las circunferencias unitarias, por cantidad de segmentos
+	 * dividida por la granularidad
+	 */
+	private final float[][] unitCircumferences;
+	
+	private float tessellationPixelError;
+	private int viewportWidth, viewportHeight;
 	
 	/**
 	 * @post Crea el subsistema con el sistema del backend del engine de rendering
@@ -102,6 +121,184 @@ public final class ShapeRenderingSubsystem extends Gl21RenderEngineBackendObject
 		
 		colorDistributionBackers.trimToSize();
 		this.colorDistributionBackers = Collections.unmodifiableList( colorDistributionBackers );
+		
+		this.unitCircumferences = new float[MAX_SEGMENTS / SEGMENTS_GRANULARITY + 1][];
+		
+		this.tessellationPixelError = 0.5f;
+		this.viewportWidth = 0;
+		this.viewportHeight = 0;
+		
+		this.batcher = new ShapeBatcher(this);
+	}
+	
+	/**
+	 * @pre El error tiene que ser positivo
+	 * @post Especifica el error máximo en pixels entre las curvas
+	 * 		 y los segmentos con los que se aproximan
+	 */
+	public void setTessellationPixelError(float value) {
+		if ( value > 0.0f ) {
+			this.tessellationPixelError = value;
+		}
+		else {
+			throw new IllegalArgumentException("Expected positive pixel error");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el error máximo en pixels entre las curvas
+	 * 		 y los segmentos con los que se aproximan
+	 */
+	public float getTessellationPixelError() {
+		return this.tessellationPixelError;
+	}
+	
+	/**
+	 * @pre Las dimensiones no pueden ser negativas
+	 * @post Especifica el tamaño en pixels del viewport.
+	 * 		 Si es cero se usa la cantidad máxima de segmentos
+	 */
+	public void setViewportSize(int width, int height) {
+		if ( ( width >= 0 ) && ( height >= 0 ) ) {
+			this.viewportWidth = width;
+			this.viewportHeight = height;
+		}
+		else {
+			throw new IllegalArgumentException("Invalid viewport size");
+		}
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de pixels por unidad de longitud
+	 * 		 con la matriz de transformación especificada,
+	 * 		 si no se conoce el viewport devuelve cero
+	 */
+	float pixelsPerUnit(Matrix3f transformMatrix) {
+		final float scale = Math.max(transformMatrix.transformDirection(X_AXIS).length(), transformMatrix.transformDirection(Y_AXIS).length());
+		
+		return scale * 0.5f * Math.max(this.viewportWidth, this.viewportHeight);
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de segmentos de una circunferencia completa con
+	 * 		 el radio y la cantidad de pixels por unidad especificados,
+	 * 		 para que el error no supere el error en pixels.
+	 * 		 Es múltiplo de la granularidad
+	 */
+	private int circumferenceSegments(float radius, float pixelsPerUnit) {
+		final float projectedRadius = Math.abs(radius) * pixelsPerUnit;
+		int result;
+		
+		if ( pixelsPerUnit <= 0.0f ) {
+			result = MAX_SEGMENTS;
+		}
+		else if ( projectedRadius <= this.tessellationPixelError ) {
+			result = MIN_SEGMENTS;
+		}
+		else {
+			// Con n segmentos la flecha de cada cuerda es r * ( 1 - cos(pi / n) )
+			final double segments = Math.ceil( Math.PI / Math.acos( 1.0 - this.tessellationPixelError / projectedRadius ) );
+			
+			if ( segments >= MAX_SEGMENTS ) {
+				result = MAX_SEGMENTS;
+			}
+			else {
+				result = ( ( (int) segments + SEGMENTS_GRANULARITY - 1 ) / SEGMENTS_GRANULARITY ) * SEGMENTS_GRANULARITY;
+				result = Math.max(result, MIN_SEGMENTS);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @pre La cantidad de segmentos tiene que ser múltiplo de la granularidad
+	 * @post Devuelve los cosenos y senos intercalados de la circunferencia unitaria
+	 * 		 con la cantidad de segmentos especificada
+	 */
+	private float[] unitCircumference(int segments) {
+		float[] result = this.unitCircumferences[segments / SEGMENTS_GRANULARITY];
+		
+		if ( result == null ) {
+			result = new float[segments * 2];
+			
+			for ( int i = 0 ; i < segments ; i++ ) {
+				final double angle = 2.0 * Math.PI * i / segments;
+				
+				result[i * 2] = (float) Math.cos(angle);
+				result[i * 2 + 1] = (float) Math.sin(angle);
+			}
+			
+			this.unitCircumferences[segments / SEGMENTS_GRANULARITY] = result;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Destino de los vértices de las curvas aproximadas
+	 */
+	static abstract class VertexSink {
+		/**
+		 * @post Recibe el vértice con las coordenadas especificadas
+		 */
+		public abstract void vertex(float x, float y);
+	}
+	
+	/**
+	 * @pre La circunferencia y el destino no pueden ser nulos
+	 * @post Envía los vértices de la circunferencia especificada al destino especificado,
+	 * 		 con la cantidad de pixels por unidad especificada,
+	 * 		 repitiendo el primero al final si se especifica
+	 */
+	void traceCircumference(Circumference circumference, float pixelsPerUnit, boolean close, VertexSink vertexSink) {
+		final int segments = this.circumferenceSegments(circumference.getRadius(), pixelsPerUnit);
+		final float[] unitCircumference = this.unitCircumference(segments);
+		
+		final float centerX = circumference.getCenter().getX();
+		final float centerY = circumference.getCenter().getY();
+		final float radius = circumference.getRadius();
+		
+		final int vertices = close ? segments + 1 : segments;
+		
+		for ( int i = 0 ; i < vertices ; i++ ) {
+			final int index = ( i % segments ) * 2;
+			
+			vertexSink.vertex(centerX + radius * unitCircumference[index], centerY + radius * unitCircumference[index + 1]);
+		}
+	}
+	
+	/**
+	 * @pre El segmento de circunferencia y el destino no pueden ser nulos
+	 * @post Envía los vértices del segmento de circunferencia especificado al destino especificado,
+	 * 		 con la cantidad de pixels por unidad especificada
+	 */
+	void traceCircumferenceSegment(CircumferenceSegment circumferenceSegment, float pixelsPerUnit, VertexSink vertexSink) {
+		final Circumference circumference = circumferenceSegment.getCircumference();
+		final FloatClosedInterval angleInterval = circumferenceSegment.getAngleInterval();
+		
+		final int circumferenceSegments = this.circumferenceSegments(circumference.getRadius(), pixelsPerUnit);
+		final int segments = Math.max(1, (int) Math.ceil( circumferenceSegments * angleInterval.length() / ( 2.0 * Math.PI ) ) );
+		
+		final float centerX = circumference.getCenter().getX();
+		final float centerY = circumference.getCenter().getY();
+		final float radius = circumference.getRadius();
+		
+		// Cada vértice se obtiene rotando el anterior, sin trigonometría por vértice
+		final float stepAngle = angleInterval.length() / segments;
+		final float stepCos = (float) Math.cos(stepAngle);
+		final float stepSin = (float) Math.sin(stepAngle);
+		
+		float cos = (float) Math.cos(angleInterval.getMin());
+		float sin = (float) Math.sin(angleInterval.getMin());
+		
+		for ( int i = 0 ; i <= segments ; i++ ) {
+			vertexSink.vertex(centerX + radius * cos, centerY + radius * sin);
+			
+			final float nextCos = cos * stepCos - sin * stepSin;
+			sin = sin * stepCos + cos * stepSin;
+			cos = nextCos;
+		}
 	}
 	
 	/**
@@ -123,34 +320,7 @@ public final class ShapeRenderingSubsystem extends Gl21RenderEngineBackendObject
 	 */
 	public void render(ShapeObject shapeObject) {
 		if ( shapeObject != null ) {
-			final Matrix3f transformMatrix = shapeObject.getMapper().accept(new PlaneMapper.Visitor<Matrix3f, RuntimeException>() {
-
-				@Override
-				public Matrix3f visit(ProportionalAffineMapper2d affineMapper) {
-					return affineMapper.getTransformMatrix();
-				}
-
-				@Override
-				public Matrix3f visit(IdentityMapper2d identityMapper) {
-					return Matrix3f.IDENTITY;
-				}
-
-				@Override
-				public Matrix3f visit(TransformedMapper2d transformedMapper) {
-					return transformedMapper.getTransformerMapper().accept(this).mul(transformedMapper.getOriginalMapper().accept(this));
-				}
-
-				@Override
-				public Matrix3f visit(AffineMapper2d affineMapper) throws RuntimeException {
-					return affineMapper.getTransformMatrix();
-				}
-
-				@Override
-				public Matrix3f visit(ProportionalTransformedMapper2d transformedMapper)
-						throws RuntimeException {
-					return transformedMapper.getTransformerMapper().accept(this).mul(transformedMapper.getOriginalMapper().accept(this));
-				}
-			});
+			final Matrix3f transformMatrix = shapeObject.getMapper().accept(GlPlaneObjectRenderer.TRANSFORM_MATRIX_READER);
 			
 			final ColorDistributionBacker<? extends ColorDistribution> colorDistributionBacker = this.getColorDistributionBacker(shapeObject.getColorDistribution());
 			
@@ -166,9 +336,20 @@ public final class ShapeRenderingSubsystem extends Gl21RenderEngineBackendObject
 				((ColorDistributionBacker) colorDistributionBacker).prepare(shapeObject.getColorDistribution(), shaderTransformMatrix);
 			}
 			
+			final float pixelsPerUnit = ( shapeObject.getShape() instanceof Line ) ? 0.0f : this.pixelsPerUnit(transformMatrix);
+			
 			shapeObject.getShape().accept(new Shape.Visitor<Void, RuntimeException>() {
 				final AttributeStreamManager attributeStreamManager = ShapeRenderingSubsystem.this.getRenderEngineBackend().getAttributeStreamManager();
-				final AttributeStream<Vector2f> positionAttributeStream = ShapeRenderingSubsystem.this.positionAttributeStream;
+				final Vector2fAttributeStream positionAttributeStream = ShapeRenderingSubsystem.this.positionAttributeStream;
+				final VertexSink vertexSink = new VertexSink() {
+
+					@Override
+					public void vertex(float x, float y) {
+						positionAttributeStream.send(x, y);
+						attributeStreamManager.endVertex();
+					}
+					
+				};
 				
 				@Override
 				public Void visit(Point point) {
@@ -221,37 +402,18 @@ public final class ShapeRenderingSubsystem extends Gl21RenderEngineBackendObject
 
 				@Override
 				public Void visit(Circumference circumference) {
-					int maxSegments = 360;
-					
 					this.attributeStreamManager.startStreaming(DrawingMode.LINE_LOOP);
-					for ( int i = 0 ; i<maxSegments; i++ ) {
-						final float angle = 2.0f * (float) Math.PI * (float) i / (float) maxSegments;
-						
-						this.positionAttributeStream.send(circumference.getPointWithAngle(angle));
-						this.attributeStreamManager.endVertex();
-					}
+					ShapeRenderingSubsystem.this.traceCircumference(circumference, pixelsPerUnit, false, this.vertexSink);
 					this.attributeStreamManager.endStreaming();
 					
 					return null;
 				}
 
-				private void traceCircumferenceSegment(CircumferenceSegment circumferenceSegment) {
-					int maxSegments = 360;
-					final FloatClosedInterval angleInterval = circumferenceSegment.getAngleInterval();
-					
-					for ( int i = 0 ; i<maxSegments; i++ ) {
-						final float angle = angleInterval.linearInterpolation(i / (float) (maxSegments-1));
-						
-						this.positionAttributeStream.send(circumferenceSegment.getCircumference().getPointWithAngle(angle));
-						this.attributeStreamManager.endVertex();
-					}
-				}
-
 				@Override
 				public Void visit(CircumferenceSegment circumferenceSegment) {
 					this.attributeStreamManager.startStreaming(DrawingMode.LINE_STRIP);
 					
-					this.traceCircumferenceSegment(circumferenceSegment);
+					ShapeRenderingSubsystem.this.traceCircumferenceSegment(circumferenceSegment, pixelsPerUnit, this.vertexSink);
 					
 					this.attributeStreamManager.endStreaming();
 					
@@ -260,19 +422,12 @@ public final class ShapeRenderingSubsystem extends Gl21RenderEngineBackendObject
 				
 				@Override
 				public Void visit(Circle circle) {
-					int maxSegments = 360;
-					
 					this.attributeStreamManager.startStreaming(DrawingMode.TRIANGLE_FAN);
 					
 					//this.positionAttributeStream.send(circle.getPerimeter().getCenter());
 					//this.attributeStreamManager.endVertex();
 					
-					for ( int i = 0 ; i<maxSegments; i++ ) {
-						final float angle = 2.0f * (float) Math.PI * (float) i / (float) (maxSegments-1);
-						
-						this.positionAttributeStream.send(circle.getPerimeter().getPointWithAngle(angle));
-						this.attributeStreamManager.endVertex();
-					}
+					ShapeRenderingSubsystem.this.traceCircumference(circle.getPerimeter(), pixelsPerUnit, true, this.vertexSink);
 					this.attributeStreamManager.endStreaming();
 					
 					return null;
@@ -285,7 +440,7 @@ public final class ShapeRenderingSubsystem extends Gl21RenderEngineBackendObject
 					this.attributeStreamManager.startStreaming(DrawingMode.TRIANGLE_FAN);
 					
 					for ( CircumferenceSegment eachCircumferenceSegment : circumferenceSegments ) {
-						this.traceCircumferenceSegment(eachCircumferenceSegment);
+						ShapeRenderingSubsystem.this.traceCircumferenceSegment(eachCircumferenceSegment, pixelsPerUnit, this.vertexSink);
 					}
 					
 					this.attributeStreamManager.endStreaming();
@@ -337,10 +492,28 @@ public final class ShapeRenderingSubsystem extends Gl21RenderEngineBackendObject
 		}
 	}
 	
+	/**
+	 * @pre El objeto de figura no puede ser nulo
+	 * @post Agrega el objeto de figura especificado a los objetos agrupados, si tiene distribución
+	 * 		 de color uniforme y una figura que puede agruparse, y devuelve si lo agregó
+	 */
+	public boolean addToBatch(ShapeObject shapeObject) {
+		return this.batcher.add(shapeObject);
+	}
+	
+	/**
+	 * @post Renderiza los objetos de figura agrupados pendientes
+	 */
+	public void flushBatch() {
+		this.batcher.flush();
+	}
+	
 	/**
 	 * @post Destruye el subsistema
 	 */
 	public void destroy() {
+		this.batcher.destroy();
+		
 		for ( ColorDistributionBacker<?> eachColorDistributionBacker : this.colorDistributionBackers ) {
 			eachColorDistributionBacker.destroy();
 		}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.recording;
+
+/**
+ * Reporte de las llamadas de OpenGL de un cuadro,
+ * registradas por la implementación de grabación
+ * 
+ * @author ariel
+ *
+ */
+public final class GL21FrameReport {
+	private final long frameIndex;
+	
+	private final int drawCalls;
+	private final long vertices;
+	
+	private final int programChanges;
+	private final int textureBindings;
+	private final int bufferBindings;
+	private final int uniformWrites;
+	private final int redundantStateChanges;
+	
+	private final long uploadedBytes;
+	
+	private final int liveBuffers;
+	private final int liveTextures;
+	private final int livePrograms;
+	private final long residentBufferBytes;
+	private final long residentTextureBytes;
+	
+	/**
+	 * @post Crea el reporte con los contadores especificados
+	 */
+	GL21FrameReport(long frameIndex, int drawCalls, long vertices, int programChanges, int textureBindings, int bufferBindings, int uniformWrites, int redundantStateChanges, long uploadedBytes, int liveBuffers, int liveTextures, int livePrograms, long residentBufferBytes, long residentTextureBytes) {
+		this.frameIndex = frameIndex;
+		this.drawCalls = drawCalls;
+		this.vertices = vertices;
+		this.programChanges = programChanges;
+		this.textureBindings = textureBindings;
+		this.bufferBindings = bufferBindings;
+		this.uniformWrites = uniformWrites;
+		this.redundantStateChanges = redundantStateChanges;
+		this.uploadedBytes = uploadedBytes;
+		this.liveBuffers = liveBuffers;
+		this.liveTextures = liveTextures;
+		this.livePrograms = livePrograms;
+		this.residentBufferBytes = residentBufferBytes;
+		this.residentTextureBytes = residentTextureBytes;
+	}
+	
+	/**
+	 * @post Devuelve el índice del cuadro
+	 */
+	public long getFrameIndex() {
+		return this.frameIndex;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de llamadas de dibujado
+	 */
+	public int getDrawCalls() {
+		return this.drawCalls;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de vértices dibujados
+	 */
+	public long getVertices() {
+		return this.vertices;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de llamadas a glUseProgram
+	 */
+	public int getProgramChanges() {
+		return this.programChanges;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de llamadas a glBindTexture
+	 */
+	public int getTextureBindings() {
+		return this.textureBindings;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de llamadas a glBindBuffer
+	 */
+	public int getBufferBindings() {
+		return this.bufferBindings;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de escrituras de uniforms
+	 */
+	public int getUniformWrites() {
+		return this.uniformWrites;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad total de cambios de estado
+	 * 		 (Programas, texturas, buffers y uniforms)
+	 */
+	public int getStateChanges() {
+		return this.programChanges + this.textureBindings + this.bufferBindings + this.uniformWrites;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de cambios de estado redundantes,
+	 * 		 es decir que especificaron el valor que ya estaba especificado
+	 */
+	public int getRedundantStateChanges() {
+		return this.redundantStateChanges;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes subidos a buffers y texturas
+	 */
+	public long getUploadedBytes() {
+		return this.uploadedBytes;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de buffers existentes al final del cuadro
+	 */
+	public int getLiveBuffers() {
+		return this.liveBuffers;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de texturas existentes al final del cuadro
+	 */
+	public int getLiveTextures() {
+		return this.liveTextures;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de programas existentes al final del cuadro
+	 */
+	public int getLivePrograms() {
+		return this.livePrograms;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes ocupados por los buffers al final del cuadro
+	 */
+	public long getResidentBufferBytes() {
+		return this.residentBufferBytes;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes ocupados por las texturas al final del cuadro
+	 */
+	public long getResidentTextureBytes() {
+		return this.residentTextureBytes;
+	}
+	
+	/**
+	 * @post Devuelve una representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "GL21FrameReport(frame=" + this.frameIndex + ", drawCalls=" + this.drawCalls + ", vertices=" + this.vertices +
+				", programChanges=" + this.programChanges + ", textureBindings=" + this.textureBindings + ", bufferBindings=" + this.bufferBindings +
+				", uniformWrites=" + this.uniformWrites + ", redundantStateChanges=" + this.redundantStateChanges + ", uploadedBytes=" + this.uploadedBytes +
+				", liveBuffers=" + this.liveBuffers + ", liveTextures=" + this.liveTextures + ", livePrograms=" + this.livePrograms +
+				", residentBufferBytes=" + this.residentBufferBytes + ", residentTextureBytes=" + this.residentTextureBytes + ")";
+	}
+}
@@ -0,0 +1,1038 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.recording;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GL21;
+
+/**
+ * Implementación de OpenGL 2.1 en Java puro que no dibuja nada
+ * y no necesita pantalla.
+ * Registra los objetos de OpenGL (Buffers, texturas y programas)
+ * y cuenta por cuadro las llamadas de dibujado, los vértices, los cambios
+ * de estado y los bytes subidos, para medir el camino de renderización
+ * sin GPU.
+ * 
+ * No es thread-safe, como cualquier contexto de OpenGL.
+ * 
+ * @author ariel
+ *
+ */
+public final class RecordingGL21 implements GL21 {
+	private static final int GL_INVALID_ENUM = 1280;
+	private static final int GL_INVALID_VALUE = 1281;
+	private static final int GL_INVALID_OPERATION = 1282;
+	
+	private static final int GL_BUFFER_SIZE = 34660;
+	private static final int GL_BUFFER_USAGE = 34661;
+	
+	private static final class BufferObject {
+		private long size = 0;
+		private int usage = GL_STATIC_DRAW;
+	}
+	
+	private static final class TextureObject {
+		private final Map<Integer, Long> bytesByLevel = new HashMap<Integer, Long>();
+		
+		/**
+		 * @post Devuelve la cantidad de bytes ocupados
+		 */
+		private long getBytes() {
+			long result = 0;
+			
+			for ( Long eachBytes : this.bytesByLevel.values() ) {
+				result += eachBytes;
+			}
+			
+			return result;
+		}
+	}
+	
+	private static final class ProgramObject {
+		private final Map<String, Integer> attribLocations = new HashMap<String, Integer>();
+		private final Map<String, Integer> uniformLocations = new HashMap<String, Integer>();
+		private int nextAttribLocation = 0;
+	}
+	
+	private final int maxTextureUnits;
+	private final int maxVertexAttribs;
+	
+	private int nextBufferId = 1;
+	private int nextTextureId = 1;
+	private int nextShaderId = 1;
+	private int nextProgramId = 1;
+	
+	private final Map<Integer, BufferObject> buffers = new HashMap<Integer, BufferObject>();
+	private final Map<Integer, TextureObject> textures = new HashMap<Integer, TextureObject>();
+	private final Set<Integer> shaders = new HashSet<Integer>();
+	private final Map<Integer, ProgramObject> programs = new HashMap<Integer, ProgramObject>();
+	
+	private final Map<Integer, Integer> boundBufferByTarget = new HashMap<Integer, Integer>();
+	private final Map<Long, Integer> boundTextureByUnitTarget = new HashMap<Long, Integer>();
+	private int activeTextureUnit = 0;
+	private int currentProgram = 0;
+	
+	private final Set<Integer> enabledCaps = new HashSet<Integer>();
+	private final Map<Integer, Integer> pixelStoreParameters = new HashMap<Integer, Integer>();
+	private boolean depthMask = true;
+	private int cullFaceMode = GL_BACK;
+	
+	private int error = GL_NO_ERROR;
+	
+	private long frameIndex = 0;
+	
+	private int drawCalls;
+	private long vertices;
+	private int programChanges;
+	private int textureBindings;
+	private int bufferBindings;
+	private int uniformWrites;
+	private int redundantStateChanges;
+	private long uploadedBytes;
+	
+	private GL21FrameReport lastFrameReport = null;
+	
+	/**
+	 * @post Crea la implementación con 16 unidades de textura y 16 atributos de vértice
+	 */
+	public RecordingGL21() {
+		this(16, 16);
+	}
+	
+	/**
+	 * @pre La cantidad de unidades de textura y de atributos de vértice tiene que ser positiva
+	 * @post Crea la implementación con la cantidad de unidades de textura y de atributos
+	 * 		 de vértice especificada
+	 */
+	public RecordingGL21(int maxTextureUnits, int maxVertexAttribs) {
+		if ( ( maxTextureUnits > 0 ) && ( maxVertexAttribs > 0 ) ) {
+			this.maxTextureUnits = maxTextureUnits;
+			this.maxVertexAttribs = maxVertexAttribs;
+			
+			this.pixelStoreParameters.put(GL_UNPACK_ALIGNMENT, 4);
+		}
+		else {
+			throw new IllegalArgumentException("Expected positive limits");
+		}
+	}
+	
+	/**
+	 * @post Termina el cuadro actual, devolviendo su reporte
+	 * 		 y reiniciando los contadores para el siguiente cuadro
+	 */
+	public GL21FrameReport endFrame() {
+		this.lastFrameReport = this.getCurrentFrameReport();
+		
+		this.frameIndex++;
+		
+		this.drawCalls = 0;
+		this.vertices = 0;
+		this.programChanges = 0;
+		this.textureBindings = 0;
+		this.bufferBindings = 0;
+		this.uniformWrites = 0;
+		this.redundantStateChanges = 0;
+		this.uploadedBytes = 0;
+		
+		return this.lastFrameReport;
+	}
+	
+	/**
+	 * @post Devuelve el reporte del cuadro actual hasta el momento,
+	 * 		 sin terminarlo
+	 */
+	public GL21FrameReport getCurrentFrameReport() {
+		long residentBufferBytes = 0;
+		for ( BufferObject eachBuffer : this.buffers.values() ) {
+			residentBufferBytes += eachBuffer.size;
+		}
+		
+		long residentTextureBytes = 0;
+		for ( TextureObject eachTexture : this.textures.values() ) {
+			residentTextureBytes += eachTexture.getBytes();
+		}
+		
+		return new GL21FrameReport(this.frameIndex, this.drawCalls, this.vertices, this.programChanges, this.textureBindings, this.bufferBindings, this.uniformWrites, this.redundantStateChanges, this.uploadedBytes, this.buffers.size(), this.textures.size(), this.programs.size(), residentBufferBytes, residentTextureBytes);
+	}
+	
+	/**
+	 * @post Devuelve el reporte del último cuadro terminado,
+	 * 		 si no se terminó ninguno devuelve null
+	 */
+	public GL21FrameReport getLastFrameReport() {
+		return this.lastFrameReport;
+	}
+	
+	/**
+	 * @post Registra el error especificado, si no hay otro pendiente
+	 */
+	private void setError(int errorCode) {
+		if ( this.error == GL_NO_ERROR ) {
+			this.error = errorCode;
+		}
+	}
+	
+	/**
+	 * @post Devuelve el buffer enlazado al objetivo especificado,
+	 * 		 si no hay registra el error y devuelve null
+	 */
+	private BufferObject boundBuffer(int target) {
+		final Integer bufferId = this.boundBufferByTarget.get(target);
+		final BufferObject result = ( bufferId != null ? this.buffers.get(bufferId) : null );
+		
+		if ( result == null ) {
+			this.setError(GL_INVALID_OPERATION);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Registra la especificación de datos del buffer enlazado al objetivo especificado
+	 */
+	private void bufferData(int target, long size, boolean upload, int usage) {
+		final BufferObject buffer = this.boundBuffer(target);
+		
+		if ( buffer != null ) {
+			buffer.size = size;
+			buffer.usage = usage;
+			
+			if ( upload ) {
+				this.uploadedBytes += size;
+			}
+		}
+	}
+	
+	/**
+	 * @post Registra la escritura de un uniform
+	 */
+	private void uniformWrite(int location) {
+		if ( this.currentProgram != 0 ) {
+			if ( location != -1 ) {
+				this.uniformWrites++;
+			}
+		}
+		else {
+			this.setError(GL_INVALID_OPERATION);
+		}
+	}
+	
+	/**
+	 * @post Registra una llamada de dibujado con la cantidad de vértices especificada
+	 */
+	private void draw(long vertexCount) {
+		if ( this.currentProgram != 0 ) {
+			if ( vertexCount >= 0 ) {
+				this.drawCalls++;
+				this.vertices += vertexCount;
+			}
+			else {
+				this.setError(GL_INVALID_VALUE);
+			}
+		}
+		else {
+			this.setError(GL_INVALID_OPERATION);
+		}
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de bytes por pixel del formato especificado
+	 */
+	private static int bytesPerPixel(int format) {
+		switch ( format ) {
+		case GL_R8:
+		case GL_RED:
+		case GL_GREEN:
+		case GL_BLUE:
+		case GL_ALPHA:
+			return 1;
+		case GL_RG8:
+		case GL_RG:
+			return 2;
+		case GL_RGB8:
+		case GL_RGB:
+			return 3;
+		case GL_RG32F:
+			return 8;
+		case GL_RGB32F:
+			return 12;
+		case GL_RGBA32F:
+			return 16;
+		default:
+			return 4;
+		}
+	}
+	
+	/**
+	 * @post Registra la especificación de un nivel de la textura enlazada
+	 */
+	private void texImage(int target, int level, int internalFormat, long texels, ByteBuffer pixels) {
+		final Integer textureId = this.boundTextureByUnitTarget.get( ( ( (long) this.activeTextureUnit ) << 32 ) | target );
+		final TextureObject texture = ( textureId != null ? this.textures.get(textureId) : null );
+		
+		if ( texture != null ) {
+			if ( ( level >= 0 ) && ( texels >= 0 ) ) {
+				texture.bytesByLevel.put(level, texels * bytesPerPixel(internalFormat));
+				
+				if ( pixels != null ) {
+					this.uploadedBytes += pixels.remaining();
+				}
+			}
+			else {
+				this.setError(GL_INVALID_VALUE);
+			}
+		}
+		else {
+			this.setError(GL_INVALID_OPERATION);
+		}
+	}
+
+	@Override
+	public int glGetError() {
+		final int result = this.error;
+		this.error = GL_NO_ERROR;
+		
+		return result;
+	}
+
+	@Override
+	public void glEnable(int cap) {
+		this.enabledCaps.add(cap);
+	}
+
+	@Override
+	public void glDisable(int cap) {
+		this.enabledCaps.remove(cap);
+	}
+
+	@Override
+	public boolean glGetBoolean(int pname) {
+		if ( pname == GL_DEPTH_WRITEMASK ) {
+			return this.depthMask;
+		}
+		else {
+			return this.enabledCaps.contains(pname);
+		}
+	}
+
+	@Override
+	public float glGetFloat(int pname) {
+		return this.glGetInteger(pname);
+	}
+
+	@Override
+	public int glGetInteger(int pname) {
+		switch ( pname ) {
+		case GL_MAX_TEXTURE_IMAGE_UNITS:
+		case GL_MAX_COMBINED_TEXTURE_IMAGE_UNITS:
+			return this.maxTextureUnits;
+		case GL_MAX_VERTEX_ATTRIBS:
+			return this.maxVertexAttribs;
+		case GL_MAX_VARYING_FLOATS:
+			return 32;
+		case GL_MAX_TEXTURE_SIZE:
+			return 4096;
+		case GL_MAX_VERTEX_UNIFORM_COMPONENTS:
+		case GL_MAX_FRAGMENT_UNIFORM_COMPONENTS:
+		case GL_MAX_UNIFORM_LOCATIONS:
+			return 1024;
+		case GL_CULL_FACE_MODE:
+			return this.cullFaceMode;
+		default:
+			final Integer value = this.pixelStoreParameters.get(pname);
+			
+			if ( value != null ) {
+				return value;
+			}
+			else {
+				this.setError(GL_INVALID_ENUM);
+				return 0;
+			}
+		}
+	}
+
+	@Override
+	public void glCullFace(int mode) {
+		this.cullFaceMode = mode;
+	}
+
+	@Override
+	public void glViewport(int x, int y, int width, int height) {
+		if ( ( width < 0 ) || ( height < 0 ) ) {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public void glClearColor(float red, float green, float blue, float alpha) {
+		
+	}
+
+	@Override
+	public void glClear(int mask) {
+		
+	}
+
+	@Override
+	public int glGenBuffers() {
+		final int result = this.nextBufferId++;
+		this.buffers.put(result, new BufferObject());
+		
+		return result;
+	}
+
+	@Override
+	public void glBindBuffer(int target, int buffer) {
+		this.bufferBindings++;
+		
+		final Integer oldBuffer = this.boundBufferByTarget.put(target, buffer);
+		
+		if ( ( oldBuffer != null ) && ( oldBuffer == buffer ) ) {
+			this.redundantStateChanges++;
+		}
+		
+		if ( ( buffer != 0 ) && ( !this.buffers.containsKey(buffer) ) ) {
+			this.setError(GL_INVALID_OPERATION);
+		}
+	}
+
+	@Override
+	public void glBufferData(int target, ByteBuffer data, int usage) {
+		this.bufferData(target, data.remaining(), true, usage);
+	}
+
+	@Override
+	public void glBufferData(int target, DoubleBuffer data, int usage) {
+		this.bufferData(target, data.remaining() * 8l, true, usage);
+	}
+
+	@Override
+	public void glBufferData(int target, FloatBuffer data, int usage) {
+		this.bufferData(target, data.remaining() * 4l, true, usage);
+	}
+
+	@Override
+	public void glBufferData(int target, IntBuffer data, int usage) {
+		this.bufferData(target, data.remaining() * 4l, true, usage);
+	}
+
+	@Override
+	public void glBufferData(int target, long data_size, int usage) {
+		if ( data_size >= 0 ) {
+			this.bufferData(target, data_size, false, usage);
+		}
+		else {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public void glBufferData(int target, ShortBuffer data, int usage) {
+		this.bufferData(target, data.remaining() * 2l, true, usage);
+	}
+
+	@Override
+	public void glBufferSubData(int target, long offset, ByteBuffer data) {
+		final BufferObject buffer = this.boundBuffer(target);
+		
+		if ( buffer != null ) {
+			if ( ( offset >= 0 ) && ( offset + data.remaining() <= buffer.size ) ) {
+				this.uploadedBytes += data.remaining();
+			}
+			else {
+				this.setError(GL_INVALID_VALUE);
+			}
+		}
+	}
+
+	@Override
+	public void glEnableVertexAttribArray(int index) {
+		if ( ( index < 0 ) || ( index >= this.maxVertexAttribs ) ) {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public void glDisableVertexAttribArray(int index) {
+		if ( ( index < 0 ) || ( index >= this.maxVertexAttribs ) ) {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public void glDeleteBuffers(int buffer) {
+		if ( this.buffers.remove(buffer) != null ) {
+			// Los enlaces al buffer borrado vuelven a cero
+			for ( Map.Entry<Integer, Integer> eachEntry : this.boundBufferByTarget.entrySet() ) {
+				if ( eachEntry.getValue() == buffer ) {
+					eachEntry.setValue(0);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long buffer_buffer_offset) {
+		if ( ( index < 0 ) || ( index >= this.maxVertexAttribs ) || ( size < 1 ) || ( size > 4 ) || ( stride < 0 ) ) {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public void glDrawArrays(int mode, int first, int count) {
+		this.draw(count);
+	}
+
+	@Override
+	public int glGenTextures() {
+		final int result = this.nextTextureId++;
+		this.textures.put(result, new TextureObject());
+		
+		return result;
+	}
+
+	@Override
+	public void glActiveTexture(int texture) {
+		final int unit = texture - GL_TEXTURE0;
+		
+		if ( ( unit >= 0 ) && ( unit < this.maxTextureUnits ) ) {
+			this.activeTextureUnit = unit;
+		}
+		else {
+			this.setError(GL_INVALID_ENUM);
+		}
+	}
+
+	@Override
+	public void glBindTexture(int target, int texture) {
+		this.textureBindings++;
+		
+		final Integer oldTexture = this.boundTextureByUnitTarget.put( ( ( (long) this.activeTextureUnit ) << 32 ) | target, texture);
+		
+		if ( ( oldTexture != null ) && ( oldTexture == texture ) ) {
+			this.redundantStateChanges++;
+		}
+		
+		if ( ( texture != 0 ) && ( !this.textures.containsKey(texture) ) ) {
+			this.setError(GL_INVALID_OPERATION);
+		}
+	}
+
+	@Override
+	public void glPixelStorei(int pname, int param) {
+		this.pixelStoreParameters.put(pname, param);
+	}
+
+	@Override
+	public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) {
+		this.texImage(target, level, internalformat, ( width >= 0 ) && ( height >= 0 ) ? ( (long) width ) * height : -1, pixels);
+	}
+	
+	@Override
+	public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, ByteBuffer pixels) {
+		final Integer textureId = this.boundTextureByUnitTarget.get( ( ( (long) this.activeTextureUnit ) << 32 ) | target );
+		final TextureObject texture = ( textureId != null ? this.textures.get(textureId) : null );
+		
+		if ( texture != null ) {
+			if ( ( level >= 0 ) && ( xoffset >= 0 ) && ( yoffset >= 0 ) && ( width >= 0 ) && ( height >= 0 ) && texture.bytesByLevel.containsKey(level) ) {
+				if ( pixels != null ) {
+					this.uploadedBytes += pixels.remaining();
+				}
+			}
+			else {
+				this.setError(GL_INVALID_VALUE);
+			}
+		}
+		else {
+			this.setError(GL_INVALID_OPERATION);
+		}
+	}
+
+	@Override
+	public void glTexParameter(int target, int pname, FloatBuffer param) {
+		
+	}
+
+	@Override
+	public void glTexParameter(int target, int pname, IntBuffer param) {
+		
+	}
+
+	@Override
+	public void glTexParameterf(int target, int pname, float param) {
+		
+	}
+
+	@Override
+	public void glTexParameteri(int target, int pname, int param) {
+		
+	}
+
+	@Override
+	public void glTexImage3D(int target, int level, int internalFormat, int width, int height, int depth, int border, int format, int type, ByteBuffer pixels) {
+		this.texImage(target, level, internalFormat, ( width >= 0 ) && ( height >= 0 ) && ( depth >= 0 ) ? ( (long) width ) * height * depth : -1, pixels);
+	}
+
+	@Override
+	public void glDeleteTextures(int texture) {
+		if ( this.textures.remove(texture) != null ) {
+			// Los enlaces a la textura borrada vuelven a cero
+			for ( Map.Entry<Long, Integer> eachEntry : this.boundTextureByUnitTarget.entrySet() ) {
+				if ( eachEntry.getValue() == texture ) {
+					eachEntry.setValue(0);
+				}
+			}
+		}
+	}
+
+	@Override
+	public int glCreateShader(int type) {
+		final int result;
+		
+		if ( ( type == GL_VERTEX_SHADER ) || ( type == GL_FRAGMENT_SHADER ) ) {
+			result = this.nextShaderId++;
+			this.shaders.add(result);
+		}
+		else {
+			this.setError(GL_INVALID_ENUM);
+			result = 0;
+		}
+		
+		return result;
+	}
+
+	@Override
+	public void glDeleteShader(int shader) {
+		this.shaders.remove(shader);
+	}
+
+	@Override
+	public void glShaderSource(int shader, ByteBuffer string) {
+		
+	}
+
+	@Override
+	public void glShaderSource(int shader, CharSequence string) {
+		
+	}
+
+	@Override
+	public void glShaderSource(int shader, CharSequence[] strings) {
+		
+	}
+
+	@Override
+	public void glCompileShader(int shader) {
+		if ( !this.shaders.contains(shader) ) {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public String glGetShaderInfoLog(int shader, int maxLength) {
+		return "";
+	}
+
+	@Override
+	public int glCreateProgram() {
+		final int result = this.nextProgramId++;
+		this.programs.put(result, new ProgramObject());
+		
+		return result;
+	}
+
+	@Override
+	public void glLinkProgram(int program) {
+		if ( !this.programs.containsKey(program) ) {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public void glValidateProgram(int program) {
+		if ( !this.programs.containsKey(program) ) {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public void glDeleteProgram(int program) {
+		if ( ( this.programs.remove(program) != null ) && ( this.currentProgram == program ) ) {
+			this.currentProgram = 0;
+		}
+	}
+
+	@Override
+	public void glAttachShader(int program, int shader) {
+		if ( ( !this.programs.containsKey(program) ) || ( !this.shaders.contains(shader) ) ) {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public void glBindAttribLocation(int program, int index, ByteBuffer name) {
+		final byte[] nameBytes = new byte[name.remaining()];
+		name.duplicate().get(nameBytes);
+		
+		this.glBindAttribLocation(program, index, new String(nameBytes).trim());
+	}
+
+	@Override
+	public void glBindAttribLocation(int program, int index, CharSequence name) {
+		final ProgramObject programObject = this.programs.get(program);
+		
+		if ( programObject != null ) {
+			programObject.attribLocations.put(name.toString(), index);
+		}
+		else {
+			this.setError(GL_INVALID_VALUE);
+		}
+	}
+
+	@Override
+	public int glGetShaderi(int shader, int pname) {
+		final int result;
+		
+		if ( pname == GL_COMPILE_STATUS ) {
+			result = GL_TRUE;
+		}
+		else if ( pname == GL_INFO_LOG_LENGTH ) {
+			result = 0;
+		}
+		else {
+			this.setError(GL_INVALID_ENUM);
+			result = 0;
+		}
+		
+		return result;
+	}
+
+	@Override
+	public void glGetShader(int shader, int pname, IntBuffer params) {
+		params.put(params.position(), this.glGetShaderi(shader, pname));
+	}
+
+	@Override
+	public int glGetProgram(int program, int pname) {
+		final int result;
+		
+		if ( pname == GL_LINK_STATUS ) {
+			result = GL_TRUE;
+		}
+		else if ( pname == GL_INFO_LOG_LENGTH ) {
+			result = 0;
+		}
+		else {
+			this.setError(GL_INVALID_ENUM);
+			result = 0;
+		}
+		
+		return result;
+	}
+
+	@Override
+	public void glGetProgram(int program, int pname, IntBuffer params) {
+		params.put(params.position(), this.glGetProgram(program, pname));
+	}
+
+	@Override
+	public void glUseProgram(int program) {
+		this.programChanges++;
+		
+		if ( program == this.currentProgram ) {
+			this.redundantStateChanges++;
+		}
+		
+		if ( ( program == 0 ) || this.programs.containsKey(program) ) {
+			this.currentProgram = program;
+		}
+		else {
+			this.setError(GL_INVALID_OPERATION);
+		}
+	}
+
+	@Override
+	public int glGetAttribLocation(int program, CharSequence name) {
+		final ProgramObject programObject = this.programs.get(program);
+		final int result;
+		
+		if ( programObject != null ) {
+			final Integer location = programObject.attribLocations.get(name.toString());
+			
+			if ( location != null ) {
+				result = location;
+			}
+			else {
+				result = programObject.nextAttribLocation++;
+				programObject.attribLocations.put(name.toString(), result);
+			}
+		}
+		else {
+			this.setError(GL_INVALID_OPERATION);
+			result = -1;
+		}
+		
+		return result;
+	}
+
+	@Override
+	public int glGetUniformLocation(int program, CharSequence name) {
+		final ProgramObject programObject = this.programs.get(program);
+		final int result;
+		
+		if ( programObject != null ) {
+			final Integer location = programObject.uniformLocations.get(name.toString());
+			
+			if ( location != null ) {
+				result = location;
+			}
+			else {
+				result = programObject.uniformLocations.size();
+				programObject.uniformLocations.put(name.toString(), result);
+			}
+		}
+		else {
+			this.setError(GL_INVALID_OPERATION);
+			result = -1;
+		}
+		
+		return result;
+	}
+
+	@Override
+	public void glGetUniform(int program, int location, IntBuffer params) {
+		params.put(params.position(), 0);
+	}
+
+	@Override
+	public void glUniform1f(int location, float v0) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform1(int location, FloatBuffer value) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform1i(int location, int v0) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform1(int location, IntBuffer value) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform2f(int location, float v0, float v1) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform2(int location, FloatBuffer value) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform2i(int location, int v0, int v1) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform2(int location, IntBuffer value) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform3f(int location, float v0, float v1, float v2) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform3(int location, FloatBuffer value) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform3i(int location, int v0, int v1, int v2) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform3(int location, IntBuffer value) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform4f(int location, float v0, float v1, float v2, float v3) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform4(int location, FloatBuffer value) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform4i(int location, int v0, int v1, int v2, int v3) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniform4(int location, IntBuffer value) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniformMatrix2(int location, boolean transpose, FloatBuffer matrices) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniformMatrix3(int location, boolean transpose, FloatBuffer matrices) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glUniformMatrix4(int location, boolean transpose, FloatBuffer matrices) {
+		this.uniformWrite(location);
+	}
+
+	@Override
+	public void glDrawElements(int mode, ByteBuffer indices) {
+		this.draw(indices.remaining());
+	}
+
+	@Override
+	public void glDrawElements(int mode, IntBuffer indices) {
+		this.draw(indices.remaining());
+	}
+
+	@Override
+	public void glDrawElements(int mode, ShortBuffer indices) {
+		this.draw(indices.remaining());
+	}
+
+	@Override
+	public void glDrawElements(int mode, int indices_count, int type, long indices_buffer_offset) {
+		if ( ( type == GL_UNSIGNED_BYTE ) || ( type == GL_UNSIGNED_SHORT ) || ( type == GL_UNSIGNED_INT ) ) {
+			// Los índices se leen del buffer de elementos enlazado
+			if ( this.boundBuffer(GL_ELEMENT_ARRAY_BUFFER) != null ) {
+				this.draw(indices_count);
+			}
+		}
+		else {
+			this.setError(GL_INVALID_ENUM);
+		}
+	}
+
+	@Override
+	public void glGetBufferParameter(int target, int pname, IntBuffer params) {
+		params.put(params.position(), this.glGetBufferParameteri(target, pname));
+	}
+
+	@Override
+	public int glGetBufferParameteri(int target, int pname) {
+		final BufferObject buffer = this.boundBuffer(target);
+		final int result;
+		
+		if ( buffer != null ) {
+			if ( pname == GL_BUFFER_SIZE ) {
+				result = (int) buffer.size;
+			}
+			else if ( pname == GL_BUFFER_USAGE ) {
+				result = buffer.usage;
+			}
+			else {
+				this.setError(GL_INVALID_ENUM);
+				result = 0;
+			}
+		}
+		else {
+			result = 0;
+		}
+		
+		return result;
+	}
+
+	@Override
+	public void glDepthMask(boolean flag) {
+		this.depthMask = flag;
+	}
+
+	@Override
+	public void glDepthFunc(int func) {
+		
+	}
+
+	@Override
+	public void glClearDepth(double depth) {
+		
+	}
+
+	@Override
+	public void glColorMask(boolean red, boolean green, boolean blue, boolean alpha) {
+		
+	}
+
+	@Override
+	public void glBlendFunc(int sfactor, int dfactor) {
+		
+	}
+
+	@Override
+	public String getErrorString(int errorCode) {
+		switch ( errorCode ) {
+		case GL_NO_ERROR:
+			return "No error";
+		case GL_INVALID_ENUM:
+			return "Invalid enum";
+		case GL_INVALID_VALUE:
+			return "Invalid value";
+		case GL_INVALID_OPERATION:
+			return "Invalid operation";
+		default:
+			return "Unknown error " + errorCode;
+		}
+	}
+}
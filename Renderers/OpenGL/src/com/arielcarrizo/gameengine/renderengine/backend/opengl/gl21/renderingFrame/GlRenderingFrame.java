@@ -37,6 +37,7 @@ import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.Colored
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersVertexDataBacker;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.plane.GlPlaneObjectRenderer;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.space.Layered3dGeometryRenderer;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.space.TransparentGeometryQueue;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.universe.GL3dGeometryRenderer;
 import com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshData;
 import com.esferixis.gameengine.renderengine.backend.misc.mesh.colored.ColoredMeshVertex;
@@ -59,6 +60,9 @@ public abstract class GlRenderingFrame extends RenderingFrame {
 	protected final Gl21RenderEngineBackendSystem renderEngineSystem;
 	protected final GL21 gl;
 	
+	private TransparentGeometryQueue<ColoredMeshData<Vector3f>> transparentsQueue;
+	private boolean stateSortedOpaques;
+	
 	/**
 	 * @pre El engine de rendering no puede ser nulo
 	 * @post Crea el cuadro de renderización de pantalla con el sistema de backend de engine de rendering especificado
@@ -67,18 +71,37 @@ public abstract class GlRenderingFrame extends RenderingFrame {
 		if ( renderEngine != null ) {
 			this.renderEngineSystem = renderEngine;
 			this.gl = this.renderEngineSystem.getGL();
+			this.transparentsQueue = null;
+			this.stateSortedOpaques = true;
 		}
 		else {
 			throw new NullPointerException();
 		}
 	}
 
+	/**
+	 * @post Especifica si los objetos opacos del universo espacial se dibujan
+	 * 		 ordenados por estado en lugar de en el orden en que se emiten
+	 */
+	public void setStateSortedOpaques(boolean value) {
+		this.stateSortedOpaques = value;
+	}
+	
+	/**
+	 * @post Devuelve si los objetos opacos del universo espacial se dibujan
+	 * 		 ordenados por estado
+	 */
+	public boolean isStateSortedOpaques() {
+		return this.stateSortedOpaques;
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.esferixis.gameengine.renderengine.backend.renderingFrame.RenderingFrame#render(com.esferixis.gameengine.renderengine.backend.renderingFrame.RenderingFrameEmmiter)
 	 */
 	@Override
 	public void render(RenderingFrameEmmiter emmiter) {
 		this.gl.glViewport(0, 0, this.getWidth(), this.getHeight());
+		this.renderEngineSystem.getPlaneRenderingSubsystem().setViewportSize(this.getWidth(), this.getHeight());
 		
 		if ( emmiter != null ) {
 			gl.glEnable(GL21.GL_BLEND);
@@ -109,18 +132,41 @@ public abstract class GlRenderingFrame extends RenderingFrame {
 					for ( int i = 0 ; i < zClippingInterval.length ; i++ ) {
 						gl.glClear(GL21.GL_DEPTH_BUFFER_BIT);
 						
+						final Matrix4f projectedViewTransformMatrix = camera.getLens().getProjectionMatrix(zClippingInterval[i]).mul(camera.getViewMatrix());
+						
 						// Renderizar triángulos opacos
 						
 						if ( spaceUniverseRendererEmmiter.getColoredOpaquesEmmiter() != null ) {
-						
-							final Matrix4f projectedViewTransformMatrix = camera.getLens().getProjectionMatrix(zClippingInterval[i]).mul(camera.getViewMatrix());
-							
-							GL3dGeometryRenderer<ColoredMeshData<Vector3f>> renderer = new Layered3dGeometryRenderer<ColoredMeshVertex<Vector3f>, ColoredMeshData<Vector3f>, ColoredMeshBacker<Vector3f>>(GlRenderingFrame.this.renderEngineSystem, vertexLayersDataBackerReader, projectedViewTransformMatrix, true);
+							final Layered3dGeometryRenderer<ColoredMeshVertex<Vector3f>, ColoredMeshData<Vector3f>, ColoredMeshBacker<Vector3f>> renderer = new Layered3dGeometryRenderer<ColoredMeshVertex<Vector3f>, ColoredMeshData<Vector3f>, ColoredMeshBacker<Vector3f>>(GlRenderingFrame.this.renderEngineSystem, vertexLayersDataBackerReader, projectedViewTransformMatrix, true);
+							renderer.setDeferred(GlRenderingFrame.this.stateSortedOpaques);
 							
 							spaceUniverseRendererEmmiter.getColoredOpaquesEmmiter().render(projectedViewTransformMatrix, renderer);
 							
 							renderer.destroy();
 						}
+						
+						// Renderizar triángulos transparentes de atrás hacia adelante, sin escribir al z-buffer
+						
+						if ( spaceUniverseRendererEmmiter.getColoredTransparentsEmmiter() != null ) {
+							if ( GlRenderingFrame.this.transparentsQueue == null ) {
+								GlRenderingFrame.this.transparentsQueue = new TransparentGeometryQueue<ColoredMeshData<Vector3f>>(GlRenderingFrame.this.renderEngineSystem);
+							}
+							
+							final TransparentGeometryQueue<ColoredMeshData<Vector3f>> transparentsQueue = GlRenderingFrame.this.transparentsQueue;
+							
+							transparentsQueue.begin(camera.getViewMatrix());
+							spaceUniverseRendererEmmiter.getColoredTransparentsEmmiter().render(projectedViewTransformMatrix, transparentsQueue);
+							
+							if ( transparentsQueue.size() != 0 ) {
+								GL3dGeometryRenderer<ColoredMeshData<Vector3f>> renderer = new Layered3dGeometryRenderer<ColoredMeshVertex<Vector3f>, ColoredMeshData<Vector3f>, ColoredMeshBacker<Vector3f>>(GlRenderingFrame.this.renderEngineSystem, vertexLayersDataBackerReader, projectedViewTransformMatrix, false);
+								
+								gl.glDepthMask(false);
+								transparentsQueue.flush(renderer);
+								gl.glDepthMask(true);
+								
+								renderer.destroy();
+							}
+						}
 					}
 					
 					gl.glDisable(GL21.GL_DEPTH_TEST);
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.space;
+
+import java.nio.FloatBuffer;
+
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.MeshBacker;
+import com.esferixis.math.Matrix4f;
+
+/**
+ * Descartador de objetos fuera del volumen de visión.
+ * 
+ * Extrae los seis planos del volumen de visión de la matriz de transformación
+ * del espacio del objeto al espacio de recorte, y prueba contra ellos la esfera
+ * envolvente de la malla en el espacio del objeto. Así no hace falta transformar
+ * la esfera, y la prueba es válida aunque la transformación del objeto no sea
+ * uniforme.
+ * 
+ * @author ariel
+ *
+ */
+final class FrustumCuller {
+	private static final int PLANES_COUNT = 6;
+	
+	// Coeficientes (a, b, c, d) de cada plano
+	private final float[] planes;
+	
+	// Norma de la normal de cada plano
+	private final float[] planeNormalLengths;
+	
+	// Filas z y w de la matriz
+	private final float[] zRow;
+	private final float[] wRow;
+	
+	/**
+	 * @post Crea el descartador
+	 */
+	public FrustumCuller() {
+		this.planes = new float[PLANES_COUNT * 4];
+		this.planeNormalLengths = new float[PLANES_COUNT];
+		this.zRow = new float[4];
+		this.wRow = new float[4];
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Especifica la matriz de transformación del espacio del objeto al
+	 * 		 espacio de recorte, extrayendo los planos del volumen de visión.
+	 * 		 Los planos de cada eje son la cuarta fila más y menos la fila del eje
+	 */
+	public void setClipTransformMatrix(Matrix4f clipTransformMatrix) {
+		if ( clipTransformMatrix != null ) {
+			// La matriz se guarda por columnas
+			final FloatBuffer matrixBuffer = clipTransformMatrix.store();
+			
+			for ( int column = 0 ; column < 4 ; column++ ) {
+				this.zRow[column] = matrixBuffer.get(column * 4 + 2);
+				this.wRow[column] = matrixBuffer.get(column * 4 + 3);
+			}
+			
+			for ( int plane = 0 ; plane < PLANES_COUNT ; plane++ ) {
+				final int axis = plane / 2;
+				final float sign = ( ( plane % 2 ) == 0 ) ? 1.0f : -1.0f;
+				
+				for ( int column = 0 ; column < 4 ; column++ ) {
+					this.planes[plane * 4 + column] = matrixBuffer.get(column * 4 + 3) + sign * matrixBuffer.get(column * 4 + axis);
+				}
+				
+				final float a = this.planes[plane * 4];
+				final float b = this.planes[plane * 4 + 1];
+				final float c = this.planes[plane * 4 + 2];
+				
+				this.planeNormalLengths[plane] = (float) Math.sqrt(a * a + b * b + c * c);
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El backer no puede ser nulo
+	 * @post Devuelve si la esfera envolvente de la malla especificada puede
+	 * 		 intersecar el volumen de visión.
+	 * 		 Puede devolver verdadero para esferas que no lo intersecan
+	 * 		 cerca de las aristas del volumen
+	 */
+	public boolean isVisible(MeshBacker<?, ?, ?> meshBacker) {
+		if ( meshBacker != null ) {
+			final float centerX = meshBacker.getBoundingSphereCenterX();
+			final float centerY = meshBacker.getBoundingSphereCenterY();
+			final float centerZ = meshBacker.getBoundingSphereCenterZ();
+			final float radius = meshBacker.getBoundingSphereRadius();
+			
+			boolean visible = true;
+			
+			for ( int plane = 0 ; ( plane < PLANES_COUNT ) && visible ; plane++ ) {
+				final float distance = this.planes[plane * 4] * centerX + this.planes[plane * 4 + 1] * centerY + this.planes[plane * 4 + 2] * centerZ + this.planes[plane * 4 + 3];
+				
+				visible = ( distance >= -radius * this.planeNormalLengths[plane] );
+			}
+			
+			return visible;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El backer no puede ser nulo
+	 * @post Devuelve la profundidad normalizada (Entre -1 y 1 si está dentro del volumen)
+	 * 		 del centro de la esfera envolvente de la malla especificada
+	 */
+	public float centerDepth(MeshBacker<?, ?, ?> meshBacker) {
+		if ( meshBacker != null ) {
+			final float centerX = meshBacker.getBoundingSphereCenterX();
+			final float centerY = meshBacker.getBoundingSphereCenterY();
+			final float centerZ = meshBacker.getBoundingSphereCenterZ();
+			
+			final float z = this.zRow[0] * centerX + this.zRow[1] * centerY + this.zRow[2] * centerZ + this.zRow[3];
+			final float w = this.wRow[0] * centerX + this.wRow[1] * centerY + this.wRow[2] * centerZ + this.wRow[3];
+			
+			return z / w;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+}
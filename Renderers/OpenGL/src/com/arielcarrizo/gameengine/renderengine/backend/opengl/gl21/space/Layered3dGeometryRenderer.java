@@ -31,11 +31,13 @@
  */
 package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.space;
 
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.GL21;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendSystem;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.MeshBacker;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayeredGeometryRendererCommon;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersRenderingShadersUnit;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersVertexDataBacker;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.MeshLayersConfigBacker;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayeredGeometryRendererCommon.TransformManager;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.meshLayers.LayersRenderingShadersUnit.ShaderProgramContainer;
 import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.universe.GL3dGeometryRenderer;
@@ -55,6 +57,7 @@ import com.esferixis.gameengine.renderengine.backend.space.mesh.MeshObject3d;
 import com.esferixis.math.Matrix3f;
 import com.esferixis.math.Matrix4f;
 import com.esferixis.math.Vector3f;
+import com.esferixis.misc.ElementCallback;
 import com.esferixis.misc.ElementProcessor;
 import com.esferixis.misc.exception.NotImplementedException;
 
@@ -88,10 +91,39 @@ public final class Layered3dGeometryRenderer<P extends MeshTriangleVertex<Vector
 		
 	}
 	
+	/**
+	 * Lector de la matriz de transformación de un mapeador espacial
+	 */
+	static final SpatialMapper.Visitor<Matrix4f> TRANSFORM_MATRIX_READER = new SpatialMapper.Visitor<Matrix4f>() {
+
+		@Override
+		public Matrix4f visit(AffineMapper affineMapper) {
+			return affineMapper.getTransformMatrix();
+		}
+
+		@Override
+		public Matrix4f visit(IdentityMapper identityMapper) {
+			return Matrix4f.IDENTITY;
+		}
+
+		@Override
+		public Matrix4f visit(TransformedMapper transformedMapper) {
+			return transformedMapper.getTransformerMapper().accept(this).mul(transformedMapper.getOriginalMapper().accept(this));
+		}
+	};
+	
 	private final LayeredGeometryRendererCommon<Vector3f, P, D, M, MeshObject3d<D>> rendererCommon;
 	
 	private final Matrix4f projectedViewTransformMatrix;
 	
+	private final FrustumCuller frustumCuller;
+	private int culledObjectsCount;
+	
+	private final ElementProcessor<M, LayersVertexDataBacker> vertexLayersDataBackerReader;
+	
+	private StateSortedRenderQueue<D> renderQueue;
+	private CullFace cullFace;
+	
 	/**
 	 * @pre Ninguno de los parámetros puede ser nulo
 	 * @post Crea el renderizador con el backend del motor de rendering, el lector de datos de vértices de capas,
@@ -102,29 +134,19 @@ public final class Layered3dGeometryRenderer<P extends MeshTriangleVertex<Vector
 		super(renderEngineBackend);
 		if ( ( vertexLayersDataBackerReader != null ) && ( projectedViewTransformMatrix != null ) ) {
 			this.projectedViewTransformMatrix = projectedViewTransformMatrix;
+			this.frustumCuller = new FrustumCuller();
+			this.culledObjectsCount = 0;
+			
+			this.vertexLayersDataBackerReader = vertexLayersDataBackerReader;
+			this.renderQueue = null;
+			this.cullFace = null;
 			
 			this.rendererCommon = new LayeredGeometryRendererCommon<Vector3f, P, D, M, MeshObject3d<D>>(renderEngineBackend, vertexLayersDataBackerReader, activateDepthWrites) {
 
 				@Override
 				protected LayeredGeometryRendererCommon<Vector3f, P, D, M, MeshObject3d<D>>.TransformManager createTransformManager(
 						MeshObject3d<D> meshObject) {
-					final Matrix4f transformMatrix = meshObject.getMapper().accept(new SpatialMapper.Visitor<Matrix4f>() {
-
-						@Override
-						public Matrix4f visit(AffineMapper affineMapper) {
-							return affineMapper.getTransformMatrix();
-						}
-
-						@Override
-						public Matrix4f visit(IdentityMapper identityMapper) {
-							return Matrix4f.IDENTITY;
-						}
-
-						@Override
-						public Matrix4f visit(TransformedMapper transformedMapper) {
-							return transformedMapper.getTransformerMapper().accept(this).mul(transformedMapper.getOriginalMapper().accept(this));
-						}
-					});
+					final Matrix4f transformMatrix = meshObject.getMapper().accept(TRANSFORM_MATRIX_READER);
 					
 					return new TransformManager() {
 
@@ -164,12 +186,145 @@ public final class Layered3dGeometryRenderer<P extends MeshTriangleVertex<Vector
 		return this.rendererCommon.getActivateDepthWrites();
 	}
 	
+	/**
+	 * @post Devuelve la cantidad de objetos descartados por estar fuera
+	 * 		 del volumen de visión
+	 */
+	public int getCulledObjectsCount() {
+		return this.culledObjectsCount;
+	}
+	
+	/**
+	 * @post Especifica si los dibujos se registran en una cola ordenada por estado
+	 * 		 (Unidad de shaders, configuración de capas, malla y profundidad), que se
+	 * 		 ejecuta al volcarla o al destruir el renderizador.
+	 * 		 Sólo sirve para geometría opaca, porque no conserva el orden de dibujado.
+	 * 		 Si se desactiva vuelca los dibujos pendientes
+	 */
+	public void setDeferred(boolean value) {
+		if ( value ) {
+			if ( this.renderQueue == null ) {
+				this.renderQueue = new StateSortedRenderQueue<D>();
+			}
+		}
+		else {
+			this.flush();
+			this.renderQueue = null;
+			
+			// Sin la cola el culling de caras se especifica directamente
+			this.cullFace = null;
+		}
+	}
+	
+	/**
+	 * @post Devuelve si los dibujos se registran en una cola ordenada por estado
+	 */
+	public boolean isDeferred() {
+		return this.renderQueue != null;
+	}
+	
+	/**
+	 * @post Ejecuta los dibujos registrados, ordenados por estado.
+	 * 		 Al terminar restaura el culling de caras que tenía OpenGL.
+	 * 		 Si no está en modo diferido no hace nada
+	 */
+	public void flush() {
+		if ( ( this.renderQueue != null ) && ( this.renderQueue.size() != 0 ) ) {
+			// En modo diferido el culling de caras no se aplica hasta volcar, así que éste es el del llamador
+			final boolean callerCullFaceEnabled = this.gl.glGetBoolean(GL21.GL_CULL_FACE);
+			final int callerCullFaceMode = this.gl.glGetInteger(GL21.GL_CULL_FACE_MODE);
+			
+			try {
+				this.renderQueue.flush(new ElementCallback<CullFace>() {
+
+					@Override
+					public void run(CullFace cullFace) {
+						Layered3dGeometryRenderer.super.setCullFace(cullFace);
+					}
+				
+				}, new ElementCallback<MeshObject3d<D>>() {
+
+					@Override
+					public void run(MeshObject3d<D> meshObject) {
+						Layered3dGeometryRenderer.this.rendererCommon.render(meshObject);
+					}
+				
+				});
+			}
+			finally {
+				if ( callerCullFaceEnabled ) {
+					this.gl.glEnable(GL21.GL_CULL_FACE);
+				}
+				else {
+					this.gl.glDisable(GL21.GL_CULL_FACE);
+				}
+				
+				this.gl.glCullFace(callerCullFaceMode);
+			}
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.universe.GL3dGeometryRenderer#setCullFace(com.esferixis.gameengine.renderengine.backend.space.mesh.GeometryRenderer3d.CullFace)
+	 */
+	@Override
+	public void setCullFace(CullFace cullFace) {
+		if ( this.renderQueue != null ) {
+			if ( cullFace != null ) {
+				this.cullFace = cullFace;
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		else {
+			super.setCullFace(cullFace);
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.esferixis.gameengine.renderengine.backend.space.mesh.GeometryRenderer3d#render(com.esferixis.gameengine.renderengine.backend.space.mesh.MeshObject3d)
 	 */
 	@Override
 	public void render(MeshObject3d<D> meshObject) throws NullPointerException, MissingMeshLoadException {
-		this.rendererCommon.render(new MeshObject3d<D>(meshObject.getMesh(), new TransformedMapper(meshObject.getMapper(), new AffineMapper(this.projectedViewTransformMatrix))));
+		if ( meshObject != null ) {
+			final Matrix4f clipTransformMatrix = this.projectedViewTransformMatrix.mul(meshObject.getMapper().accept(TRANSFORM_MATRIX_READER));
+			final M meshBacker = (M) this.getRenderEngineBackend().getMeshBacker(meshObject.getMesh());
+			
+			// Descarta el objeto si su esfera envolvente está fuera del volumen de visión
+			this.frustumCuller.setClipTransformMatrix(clipTransformMatrix);
+			
+			if ( this.frustumCuller.isVisible(meshBacker) ) {
+				final MeshObject3d<D> clipMeshObject = new MeshObject3d<D>(meshObject.getMesh(), new AffineMapper(clipTransformMatrix));
+				
+				if ( this.renderQueue != null ) {
+					if ( this.renderQueue.isFull() ) {
+						this.flush();
+					}
+					
+					final MeshLayersConfigBacker configBacker = this.vertexLayersDataBackerReader.process(meshBacker).getTextureMappingConfigBacker();
+					
+					// La primera unidad de shaders determina el primer programa que se selecciona
+					final Object shadersUnit = configBacker.getShadersUnits().isEmpty() ? configBacker : configBacker.getShadersUnits().get(0);
+					
+					// Si todavía no se especificó el culling de caras se registra el que tiene OpenGL
+					if ( this.cullFace == null ) {
+						this.cullFace = this.getCurrentCullFace();
+					}
+					
+					this.renderQueue.add(clipMeshObject, shadersUnit, configBacker, meshBacker, this.frustumCuller.centerDepth(meshBacker), this.cullFace);
+				}
+				else {
+					this.rendererCommon.render(clipMeshObject);
+				}
+			}
+			else {
+				this.culledObjectsCount++;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
 	}
 	
 	
@@ -178,6 +333,7 @@ public final class Layered3dGeometryRenderer<P extends MeshTriangleVertex<Vector
 	 */
 	@Override
 	public void destroy() {
+		this.flush();
 		this.rendererCommon.destroy();
 	}
 }
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.space;
+
+import java.util.Arrays;
+
+/**
+ * Ordenador por radix de claves empaquetadas en enteros largos.
+ * 
+ * Ordena de forma estable por el valor sin signo de los bits más significativos
+ * de cada clave, de a ocho bits por pasada. Los bits menos significativos que no
+ * participan del orden pueden usarse para guardar el índice del elemento asociado.
+ * Reutiliza sus buffers entre ordenamientos, así que sólo reserva memoria cuando
+ * crece la cantidad de claves.
+ * 
+ * @author ariel
+ *
+ */
+public final class PackedKeyRadixSorter {
+	private static final int DIGIT_BITS = 8;
+	private static final int DIGIT_VALUES = 1 << DIGIT_BITS;
+	
+	private long[] auxiliarKeys;
+	private final int[] digitCounts;
+	
+	/**
+	 * @post Crea el ordenador
+	 */
+	public PackedKeyRadixSorter() {
+		this.auxiliarKeys = new long[0];
+		this.digitCounts = new int[DIGIT_VALUES];
+	}
+	
+	/**
+	 * @pre Las claves no pueden ser nulas, la cantidad no puede ser negativa ni mayor
+	 * 		que la cantidad de claves, y el primer bit tiene que ser múltiplo de ocho
+	 * 		entre 0 y 56
+	 * @post Ordena de forma estable las primeras claves especificadas, por el valor sin signo
+	 * 		 de sus bits desde el primer bit especificado hasta el más significativo
+	 */
+	public void sort(long[] keys, int keysCount, int firstBit) {
+		if ( keys != null ) {
+			if ( ( keysCount >= 0 ) && ( keysCount <= keys.length ) ) {
+				if ( ( firstBit >= 0 ) && ( firstBit < 64 ) && ( ( firstBit % DIGIT_BITS ) == 0 ) ) {
+					if ( this.auxiliarKeys.length < keysCount ) {
+						this.auxiliarKeys = new long[Math.max(keysCount, this.auxiliarKeys.length * 2)];
+					}
+					
+					long[] source = keys;
+					long[] destination = this.auxiliarKeys;
+					
+					for ( int shift = firstBit ; shift < 64 ; shift += DIGIT_BITS ) {
+						Arrays.fill(this.digitCounts, 0);
+						
+						for ( int i = 0 ; i < keysCount ; i++ ) {
+							this.digitCounts[(int) ( ( source[i] >>> shift ) & ( DIGIT_VALUES - 1 ) )]++;
+						}
+						
+						// Si todas las claves tienen el mismo dígito la pasada no cambia nada
+						if ( ( keysCount > 0 ) && ( this.digitCounts[(int) ( ( source[0] >>> shift ) & ( DIGIT_VALUES - 1 ) )] != keysCount ) ) {
+							int offset = 0;
+							for ( int digit = 0 ; digit < DIGIT_VALUES ; digit++ ) {
+								final int digitCount = this.digitCounts[digit];
+								this.digitCounts[digit] = offset;
+								offset += digitCount;
+							}
+							
+							for ( int i = 0 ; i < keysCount ; i++ ) {
+								final long eachKey = source[i];
+								destination[this.digitCounts[(int) ( ( eachKey >>> shift ) & ( DIGIT_VALUES - 1 ) )]++] = eachKey;
+							}
+							
+							final long[] swap = source;
+							source = destination;
+							destination = swap;
+						}
+					}
+					
+					if ( source != keys ) {
+						System.arraycopy(source, 0, keys, 0, keysCount);
+					}
+				}
+				else {
+					throw new IllegalArgumentException("Invalid first bit");
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid keys count");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve un entero cuyo orden sin signo coincide con el orden
+	 * 		 del número de coma flotante especificado
+	 */
+	public static int sortableFloatBits(float value) {
+		final int bits = Float.floatToIntBits(value);
+		
+		return ( bits < 0 ) ? ~bits : ( bits ^ Integer.MIN_VALUE );
+	}
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.space;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh;
+import com.esferixis.gameengine.renderengine.backend.space.mesh.GeometryRenderer3d.CullFace;
+import com.esferixis.gameengine.renderengine.backend.space.mesh.MeshObject3d;
+import com.esferixis.math.Vector3f;
+import com.esferixis.misc.ElementCallback;
+
+/**
+ * Cola de renderización ordenada por estado.
+ * 
+ * Registra los dibujos con una clave de 64 bits que empaqueta, de mayor a menor
+ * significancia, la unidad de shaders (8 bits), la configuración de capas (12 bits),
+ * la malla (12 bits), la profundidad de adelante hacia atrás (8 bits) y el índice del
+ * dibujo (24 bits). Al volcarla ordena las claves por radix y ejecuta los dibujos en ese
+ * orden, así los dibujos que comparten programa y texturas quedan juntos.
+ * 
+ * Los identificadores de unidad, configuración y malla se asignan por cuadro en orden
+ * de aparición. Si se agotan se satura el campo, lo que sólo empeora el agrupamiento.
+ * 
+ * @author ariel
+ *
+ */
+final class StateSortedRenderQueue<D extends Mesh.Data<Vector3f, ?>> {
+	private static final int INDEX_BITS = 24;
+	private static final int DEPTH_BITS = 8;
+	private static final int MESH_BITS = 12;
+	private static final int CONFIG_BITS = 12;
+	private static final int SHADERS_UNIT_BITS = 8;
+	
+	private static final int DEPTH_SHIFT = INDEX_BITS;
+	private static final int MESH_SHIFT = DEPTH_SHIFT + DEPTH_BITS;
+	private static final int CONFIG_SHIFT = MESH_SHIFT + MESH_BITS;
+	private static final int SHADERS_UNIT_SHIFT = CONFIG_SHIFT + CONFIG_BITS;
+	
+	/**
+	 * Máxima cantidad de dibujos que puede registrar antes de volcarse
+	 */
+	public static final int MAX_SIZE = 1 << INDEX_BITS;
+	
+	private static final int INITIAL_CAPACITY = 64;
+	
+	private Object[] meshObjects;
+	private CullFace[] cullFaces;
+	private long[] keys;
+	private int size;
+	
+	private final Map<Object, Integer> shadersUnitIds;
+	private final Map<Object, Integer> configIds;
+	private final Map<Object, Integer> meshIds;
+	
+	private final PackedKeyRadixSorter sorter;
+	
+	/**
+	 * @post Crea la cola vacía
+	 */
+	public StateSortedRenderQueue() {
+		this.meshObjects = new Object[INITIAL_CAPACITY];
+		this.cullFaces = new CullFace[INITIAL_CAPACITY];
+		this.keys = new long[INITIAL_CAPACITY];
+		this.size = 0;
+		
+		this.shadersUnitIds = new IdentityHashMap<Object, Integer>();
+		this.configIds = new IdentityHashMap<Object, Integer>();
+		this.meshIds = new IdentityHashMap<Object, Integer>();
+		
+		this.sorter = new PackedKeyRadixSorter();
+	}
+	
+	/**
+	 * @post Devuelve el identificador del estado especificado, asignándole uno si no tiene.
+	 * 		 Si se agotaron los identificadores devuelve el máximo
+	 */
+	private static int stateId(Map<Object, Integer> ids, Object state, int bits) {
+		Integer id = ids.get(state);
+		
+		if ( id == null ) {
+			id = Math.min(ids.size(), ( 1 << bits ) - 1);
+			ids.put(state, id);
+		}
+		
+		return id;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de dibujos registrados
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * @post Devuelve si está llena
+	 */
+	public boolean isFull() {
+		return this.size == MAX_SIZE;
+	}
+	
+	/**
+	 * @pre El objeto de malla, la unidad de shaders, la configuración, la malla y el culling de caras
+	 * 		no pueden ser nulos, y la cola no tiene que estar llena.
+	 * 		La profundidad tiene que estar normalizada entre -1 y 1.
+	 * @post Registra el dibujo del objeto de malla especificado, con la unidad de shaders,
+	 * 		 la configuración de capas, la malla, la profundidad y el culling de caras especificados.
+	 * 		 El culling de caras tiene que ser el efectivo al registrarlo, porque el orden
+	 * 		 de ejecución no es el de registro
+	 */
+	public void add(MeshObject3d<D> meshObject, Object shadersUnit, Object config, Object mesh, float depth, CullFace cullFace) {
+		if ( ( meshObject != null ) && ( shadersUnit != null ) && ( config != null ) && ( mesh != null ) && ( cullFace != null ) ) {
+			if ( this.isFull() ) {
+				throw new IllegalStateException("Full render queue");
+			}
+			
+			if ( this.size == this.keys.length ) {
+				final int newCapacity = Math.min(this.keys.length * 2, MAX_SIZE);
+				
+				this.meshObjects = Arrays.copyOf(this.meshObjects, newCapacity);
+				this.cullFaces = Arrays.copyOf(this.cullFaces, newCapacity);
+				this.keys = Arrays.copyOf(this.keys, newCapacity);
+			}
+			
+			final long depthLevel = (long) Math.max(0.0f, Math.min( ( depth + 1.0f ) * 0.5f * ( ( 1 << DEPTH_BITS ) - 1 ), ( 1 << DEPTH_BITS ) - 1 ));
+			
+			this.meshObjects[this.size] = meshObject;
+			this.cullFaces[this.size] = cullFace;
+			this.keys[this.size] = ( ( (long) stateId(this.shadersUnitIds, shadersUnit, SHADERS_UNIT_BITS) ) << SHADERS_UNIT_SHIFT ) |
+					( ( (long) stateId(this.configIds, config, CONFIG_BITS) ) << CONFIG_SHIFT ) |
+					( ( (long) stateId(this.meshIds, mesh, MESH_BITS) ) << MESH_SHIFT ) |
+					( depthLevel << DEPTH_SHIFT ) |
+					this.size;
+			this.size++;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los parámetros puede ser nulo
+	 * @post Ordena los dibujos registrados y los ejecuta con los callbacks especificados,
+	 * 		 especificando el culling de caras cuando cambia.
+	 * 		 Después vacía la cola
+	 */
+	public void flush(ElementCallback<CullFace> cullFaceSetter, ElementCallback<MeshObject3d<D>> drawer) {
+		if ( ( cullFaceSetter != null ) && ( drawer != null ) ) {
+			this.sorter.sort(this.keys, this.size, INDEX_BITS);
+			
+			CullFace lastCullFace = null;
+			
+			for ( int i = 0 ; i < this.size ; i++ ) {
+				final int index = (int) ( this.keys[i] & ( MAX_SIZE - 1 ) );
+				
+				final CullFace eachCullFace = this.cullFaces[index];
+				if ( eachCullFace != lastCullFace ) {
+					cullFaceSetter.run(eachCullFace);
+					lastCullFace = eachCullFace;
+				}
+				
+				drawer.run( (MeshObject3d<D>) this.meshObjects[index] );
+			}
+			
+			this.clear();
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Vacía la cola, soltando las referencias a los objetos y a los estados
+	 */
+	public void clear() {
+		Arrays.fill(this.meshObjects, 0, this.size, null);
+		Arrays.fill(this.cullFaces, 0, this.size, null);
+		this.size = 0;
+		
+		this.shadersUnitIds.clear();
+		this.configIds.clear();
+		this.meshIds.clear();
+	}
+}
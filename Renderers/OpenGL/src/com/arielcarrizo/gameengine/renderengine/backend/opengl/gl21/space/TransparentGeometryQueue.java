@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.space;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.Gl21RenderEngineBackendSystem;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.mesh.MeshBacker;
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.universe.GL3dGeometryRenderer;
+import com.esferixis.gameengine.renderengine.backend.exception.MissingMeshLoadException;
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.Mesh;
+import com.esferixis.gameengine.renderengine.backend.space.mesh.MeshObject3d;
+import com.esferixis.math.Matrix4f;
+import com.esferixis.math.Vector3f;
+
+/**
+ * Cola de geometría transparente.
+ * 
+ * Recibe los objetos como un renderizador, calcula la profundidad en el espacio
+ * de vista del centro de la esfera envolvente de cada uno, y al volcarla los
+ * renderiza de atrás hacia adelante con el renderizador especificado.
+ * El orden se hace con un ordenamiento por radix sobre claves que empaquetan
+ * la profundidad y el índice del objeto, y los buffers (Incluido el de las
+ * matrices) se reutilizan entre cuadros.
+ * 
+ * @author ariel
+ *
+ */
+public final class TransparentGeometryQueue<D extends Mesh.Data<Vector3f, ?>> extends GL3dGeometryRenderer<D> {
+	private static final int INITIAL_CAPACITY = 64;
+	
+	private Object[] meshObjects;
+	private CullFace[] cullFaces;
+	private long[] keys;
+	private int size;
+	
+	private CullFace cullFace;
+	
+	private final PackedKeyRadixSorter sorter;
+	
+	// Buffer donde se leen las matrices
+	private final FloatBuffer matrixBuffer;
+	
+	// Fila de la matriz de vista que calcula la coordenada z
+	private float viewZX, viewZY, viewZZ, viewZW;
+	
+	/**
+	 * @pre El sistema de backend no puede ser nulo
+	 * @post Crea la cola con el sistema de backend especificado
+	 */
+	public TransparentGeometryQueue(Gl21RenderEngineBackendSystem renderEngineBackend) {
+		super(renderEngineBackend);
+		
+		this.meshObjects = new Object[INITIAL_CAPACITY];
+		this.cullFaces = new CullFace[INITIAL_CAPACITY];
+		this.keys = new long[INITIAL_CAPACITY];
+		this.size = 0;
+		
+		this.cullFace = null;
+		
+		this.sorter = new PackedKeyRadixSorter();
+		
+		this.matrixBuffer = FloatBuffer.allocate(16);
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Guarda la matriz especificada en el buffer de matrices, por columnas,
+	 * 		 y lo devuelve
+	 */
+	private FloatBuffer storeMatrix(Matrix4f matrix) {
+		this.matrixBuffer.clear();
+		matrix.store(this.matrixBuffer);
+		
+		return this.matrixBuffer;
+	}
+	
+	/**
+	 * @pre La matriz de vista no puede ser nula
+	 * @post Vacía la cola y especifica la matriz de vista con la que se
+	 * 		 calculan las profundidades
+	 */
+	public void begin(Matrix4f viewMatrix) {
+		if ( viewMatrix != null ) {
+			this.clear();
+			
+			// La matriz se guarda por columnas
+			final FloatBuffer viewMatrixBuffer = this.storeMatrix(viewMatrix);
+			
+			this.viewZX = viewMatrixBuffer.get(2);
+			this.viewZY = viewMatrixBuffer.get(6);
+			this.viewZZ = viewMatrixBuffer.get(10);
+			this.viewZW = viewMatrixBuffer.get(14);
+			
+			this.cullFace = null;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de objetos encolados
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.universe.GL3dGeometryRenderer#setCullFace(com.esferixis.gameengine.renderengine.backend.space.mesh.GeometryRenderer3d.CullFace)
+	 */
+	@Override
+	public void setCullFace(CullFace cullFace) {
+		if ( cullFace != null ) {
+			this.cullFace = cullFace;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.gameengine.renderengine.backend.space.mesh.GeometryRenderer3d#render(com.esferixis.gameengine.renderengine.backend.space.mesh.MeshObject3d)
+	 */
+	@Override
+	public void render(MeshObject3d<D> meshObject) throws NullPointerException, MissingMeshLoadException {
+		if ( meshObject != null ) {
+			final MeshBacker<Vector3f, ?, ?> meshBacker = this.getRenderEngineBackend().getMeshBacker(meshObject.getMesh());
+			
+			// Transforma el centro de la esfera envolvente al espacio del mundo
+			final FloatBuffer modelMatrixBuffer = this.storeMatrix( meshObject.getMapper().accept(Layered3dGeometryRenderer.TRANSFORM_MATRIX_READER) );
+			
+			final float centerX = meshBacker.getBoundingSphereCenterX();
+			final float centerY = meshBacker.getBoundingSphereCenterY();
+			final float centerZ = meshBacker.getBoundingSphereCenterZ();
+			
+			final float worldX = modelMatrixBuffer.get(0) * centerX + modelMatrixBuffer.get(4) * centerY + modelMatrixBuffer.get(8) * centerZ + modelMatrixBuffer.get(12);
+			final float worldY = modelMatrixBuffer.get(1) * centerX + modelMatrixBuffer.get(5) * centerY + modelMatrixBuffer.get(9) * centerZ + modelMatrixBuffer.get(13);
+			final float worldZ = modelMatrixBuffer.get(2) * centerX + modelMatrixBuffer.get(6) * centerY + modelMatrixBuffer.get(10) * centerZ + modelMatrixBuffer.get(14);
+			
+			final float viewZ = this.viewZX * worldX + this.viewZY * worldY + this.viewZZ * worldZ + this.viewZW;
+			
+			if ( this.size == this.keys.length ) {
+				final int newCapacity = this.keys.length * 2;
+				
+				this.meshObjects = Arrays.copyOf(this.meshObjects, newCapacity);
+				this.cullFaces = Arrays.copyOf(this.cullFaces, newCapacity);
+				this.keys = Arrays.copyOf(this.keys, newCapacity);
+			}
+			
+			// Si todavía no se especificó el culling de caras se registra el que tiene OpenGL
+			if ( this.cullFace == null ) {
+				this.cullFace = this.getCurrentCullFace();
+			}
+			
+			/**
+			 * La vista mira hacia z negativo, así que lo más lejano tiene la menor
+			 * coordenada z y queda primero en orden ascendente
+			 */
+			this.meshObjects[this.size] = meshObject;
+			this.cullFaces[this.size] = this.cullFace;
+			this.keys[this.size] = ( ( (long) PackedKeyRadixSorter.sortableFloatBits(viewZ) ) << 32 ) | this.size;
+			this.size++;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El renderizador no puede ser nulo
+	 * @post Renderiza los objetos encolados de atrás hacia adelante con el
+	 * 		 renderizador especificado, y vacía la cola.
+	 * 		 Los objetos con la misma profundidad conservan el orden en que se encolaron.
+	 * 		 Cada objeto se renderiza con el culling de caras efectivo al encolarlo
+	 */
+	public void flush(GL3dGeometryRenderer<D> renderer) throws MissingMeshLoadException {
+		if ( renderer != null ) {
+			this.sorter.sort(this.keys, this.size, 32);
+			
+			CullFace lastCullFace = null;
+			
+			for ( int i = 0 ; i < this.size ; i++ ) {
+				final int index = (int) this.keys[i];
+				
+				final CullFace eachCullFace = this.cullFaces[index];
+				if ( eachCullFace != lastCullFace ) {
+					renderer.setCullFace(eachCullFace);
+					lastCullFace = eachCullFace;
+				}
+				
+				renderer.render( (MeshObject3d<D>) this.meshObjects[index] );
+			}
+			
+			this.clear();
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Vacía la cola, soltando las referencias a los objetos
+	 */
+	private void clear() {
+		Arrays.fill(this.meshObjects, 0, this.size, null);
+		Arrays.fill(this.cullFaces, 0, this.size, null);
+		this.size = 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.universe.GL3dGeometryRenderer#destroy()
+	 */
+	@Override
+	public void destroy() {
+		this.clear();
+	}
+}
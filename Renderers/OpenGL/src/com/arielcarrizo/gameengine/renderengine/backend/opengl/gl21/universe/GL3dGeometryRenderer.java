@@ -95,6 +95,37 @@ public abstract class GL3dGeometryRenderer<D extends Mesh.Data<Vector3f, ?>> ext
 		}
 	}
 	
+	/**
+	 * @pre El modo de culling de OpenGL no puede ser GL_FRONT_AND_BACK,
+	 * 		porque no tiene equivalente en CullFace
+	 * @post Devuelve el culling de caras que tiene el estado actual de OpenGL
+	 */
+	protected CullFace getCurrentCullFace() {
+		final CullFace result;
+		
+		if ( this.gl.glGetBoolean(GL21.GL_CULL_FACE) ) {
+			final int mode = this.gl.glGetInteger(GL21.GL_CULL_FACE_MODE);
+			
+			switch ( mode ) {
+			case GL21.GL_FRONT:
+				result = CullFace.FRONT;
+				break;
+			case GL21.GL_BACK:
+				result = CullFace.BACK;
+				break;
+			case GL21.GL_FRONT_AND_BACK:
+				throw new IllegalStateException("Unsupported cull face mode GL_FRONT_AND_BACK, expected GL_FRONT or GL_BACK");
+			default:
+				throw new IllegalStateException("Unexpected cull face mode " + mode);
+			}
+		}
+		else {
+			result = CullFace.NONE;
+		}
+		
+		return result;
+	}
+	
 	/**
 	 * @post Destruye el render
 	 */
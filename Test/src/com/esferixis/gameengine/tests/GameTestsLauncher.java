@@ -53,6 +53,7 @@ import com.esferixis.gameengine.tests.renderengine.backend.space.RotatingTexture
 import com.esferixis.gameengine.tests.renderengine.backend.space.RotatingTexturedSquareTestWithMutation;
 import com.esferixis.gameengine.tests.renderengine.backend.space.RotatingUniformColoredTriangleTest;
 import com.esferixis.gameengine.tests.renderengine.backend.space.RotatingVertexColoredCubeTest;
+import com.esferixis.gameengine.tests.renderengine.frontend.misc.mesh.PackedMeshLoadingBenchmark;
 
 /**
  * @author ariel
@@ -82,6 +83,9 @@ public class GameTestsLauncher {
 										new com.esferixis.gameengine.tests.renderengine.frontend.plane.kinematics.KinematicRenderPlaneObjectContainerTest(),
 										new com.esferixis.gameengine.tests.renderengine.frontend.plane.kinematics.KinematicRenderPlaneObjectContainerViewerTest()
 								)
+							),
+							new GameEngineTestRunnableGroup("Loading",
+									new PackedMeshLoadingBenchmark()
 							)
 					)
 				),
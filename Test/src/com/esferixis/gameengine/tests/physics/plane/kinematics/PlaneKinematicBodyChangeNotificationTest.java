@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.tests.physics.plane.kinematics;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.junit.Assert;
+
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionResponse;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairEmmiter;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairTester;
+import com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody;
+import com.esferixis.gameengine.physics.plane.kinematics.StaticShapePlaneKinematicBody;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.TransformedPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.LinearTrajectory;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.TranslationPlaneKinematicMapper;
+import com.esferixis.geometry.plane.finite.Circle;
+import com.esferixis.geometry.plane.finite.Circumference;
+import com.esferixis.math.Vector2f;
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+import com.esferixis.misc.collection.set.BinarySet;
+
+/**
+ * Prueba de que los cambios hechos sobre el mismo mapeador cinemático
+ * llegan al contenedor de pares, que invalida los horizontes seguros
+ * y las cajas envolventes con ellos
+ */
+public class PlaneKinematicBodyChangeNotificationTest {
+	/**
+	 * Contenedor que cuenta los cambios notificados de cada cuerpo
+	 */
+	private static final class RecordingContainer extends CollisionTestBodyPairContainer {
+		private static final long serialVersionUID = 1L;
+		
+		private final Map<BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>>, CollisionResponse> responseByPair;
+		private final Map<PlaneKinematicBody<? extends PlaneKinematicMapper>, Integer> changesByBody;
+		
+		public RecordingContainer() {
+			super(new FloatClosedInterval(0.0001f, 0.01f));
+			this.responseByPair = new HashMap<BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>>, CollisionResponse>();
+			this.changesByBody = new IdentityHashMap<PlaneKinematicBody<? extends PlaneKinematicMapper>, Integer>();
+		}
+		
+		public int getChanges(PlaneKinematicBody<? extends PlaneKinematicMapper> body) {
+			final Integer changes = this.changesByBody.get(body);
+			return ( changes != null ) ? changes : 0;
+		}
+		
+		@Override
+		protected CollisionResponse setCollisionResponse_checked(BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>> pair, CollisionResponse response) {
+			return ( response != null ) ? this.responseByPair.put(pair, response) : this.responseByPair.remove(pair);
+		}
+		
+		@Override
+		protected CollisionResponse getCollisionResponse_checked(BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>> pair) {
+			return this.responseByPair.get(pair);
+		}
+		
+		@Override
+		protected void notifyChange(PlaneKinematicBody<? extends PlaneKinematicMapper> planeKinematicBody) {
+			this.changesByBody.put(planeKinematicBody, this.getChanges(planeKinematicBody) + 1);
+		}
+		
+		@Override
+		protected CollisionTestBodyPairEmmiter getEmmiter() {
+			return new CollisionTestBodyPairEmmiter() {
+
+				@Override
+				public void emitTests(CollisionTestBodyPairTester kinematicEngineCollisionTester) {
+					
+				}
+				
+			};
+		}
+	}
+	
+	private static final CollisionResponse NULL_RESPONSE = new CollisionResponse() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public boolean notifyUpperBoundaryCollision(float time) {
+			return false;
+		}
+
+		@Override
+		public void notifyIntermediateRegionCollision(float time) {
+			
+		}
+
+		@Override
+		public boolean notifyLowerBoundaryCollision(float time) {
+			return false;
+		}
+	};
+	
+	private static TranslationPlaneKinematicMapper<LinearTrajectory> createMapper(Vector2f velocity) {
+		return new TranslationPlaneKinematicMapper<LinearTrajectory>(new LinearTrajectory(0.0f, Vector2f.ZERO, velocity));
+	}
+	
+	private static <M extends PlaneKinematicMapper> StaticShapePlaneKinematicBody<Circle, M> createBody(M mapper) {
+		return new StaticShapePlaneKinematicBody<Circle, M>(new Circle(new Circumference(Vector2f.ZERO, 0.1f)), mapper);
+	}
+	
+	private static RecordingContainer createContainer(PlaneKinematicBody<? extends PlaneKinematicMapper> body1, PlaneKinematicBody<? extends PlaneKinematicMapper> body2) {
+		final RecordingContainer container = new RecordingContainer();
+		container.setCollisionResponse(new BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>>(body1, body2), NULL_RESPONSE);
+		return container;
+	}
+	
+	@Test
+	public void test1() {
+		// Nueva trayectoria en el mismo mapeador de traslación
+		final StaticShapePlaneKinematicBody<Circle, TranslationPlaneKinematicMapper<LinearTrajectory>> body1 = createBody(createMapper(new Vector2f(1.0f, 0.0f)));
+		final StaticShapePlaneKinematicBody<Circle, TranslationPlaneKinematicMapper<LinearTrajectory>> body2 = createBody(createMapper(new Vector2f(-1.0f, 0.0f)));
+		
+		final RecordingContainer container = createContainer(body1, body2);
+		
+		body1.getKinematicMapper().setTrajectory(new LinearTrajectory(1.0f, new Vector2f(1.0f, 0.0f), new Vector2f(0.0f, 1.0f)));
+		
+		Assert.assertEquals(1, container.getChanges(body1));
+		Assert.assertEquals(0, container.getChanges(body2));
+	}
+	
+	@Test
+	public void test2() {
+		// Componentes de un mapeador transformado, siguiendo al componente que reemplaza al anterior
+		final TranslationPlaneKinematicMapper<LinearTrajectory> oldOriginalMapper = createMapper(new Vector2f(1.0f, 0.0f));
+		final TranslationPlaneKinematicMapper<LinearTrajectory> newOriginalMapper = createMapper(new Vector2f(0.0f, 1.0f));
+		final TranslationPlaneKinematicMapper<LinearTrajectory> transformerMapper = createMapper(new Vector2f(1.0f, 1.0f));
+		
+		final StaticShapePlaneKinematicBody<Circle, TransformedPlaneKinematicMapper<TranslationPlaneKinematicMapper<LinearTrajectory>, TranslationPlaneKinematicMapper<LinearTrajectory>>> body1 = createBody(new TransformedPlaneKinematicMapper<TranslationPlaneKinematicMapper<LinearTrajectory>, TranslationPlaneKinematicMapper<LinearTrajectory>>(oldOriginalMapper, transformerMapper));
+		final StaticShapePlaneKinematicBody<Circle, TranslationPlaneKinematicMapper<LinearTrajectory>> body2 = createBody(createMapper(new Vector2f(-1.0f, 0.0f)));
+		
+		final RecordingContainer container = createContainer(body1, body2);
+		
+		transformerMapper.setTrajectory(new LinearTrajectory(1.0f, Vector2f.ZERO, Vector2f.ZERO));
+		Assert.assertEquals(1, container.getChanges(body1));
+		
+		body1.getKinematicMapper().setOriginalMapper(newOriginalMapper);
+		Assert.assertEquals(2, container.getChanges(body1));
+		
+		oldOriginalMapper.setTrajectory(new LinearTrajectory(1.0f, Vector2f.ZERO, Vector2f.ZERO));
+		Assert.assertEquals(2, container.getChanges(body1));
+		
+		newOriginalMapper.setTrajectory(new LinearTrajectory(1.0f, Vector2f.ZERO, Vector2f.ZERO));
+		Assert.assertEquals(3, container.getChanges(body1));
+		Assert.assertEquals(0, container.getChanges(body2));
+	}
+	
+	@Test
+	public void test3() {
+		// El mapeador reemplazado deja de observarse
+		final TranslationPlaneKinematicMapper<LinearTrajectory> oldMapper = createMapper(new Vector2f(1.0f, 0.0f));
+		
+		final StaticShapePlaneKinematicBody<Circle, TranslationPlaneKinematicMapper<LinearTrajectory>> body1 = createBody(oldMapper);
+		final StaticShapePlaneKinematicBody<Circle, TranslationPlaneKinematicMapper<LinearTrajectory>> body2 = createBody(createMapper(new Vector2f(-1.0f, 0.0f)));
+		
+		final RecordingContainer container = createContainer(body1, body2);
+		
+		body1.setKinematicMapper(createMapper(new Vector2f(0.0f, 1.0f)));
+		Assert.assertEquals(1, container.getChanges(body1));
+		
+		oldMapper.setTrajectory(new LinearTrajectory(1.0f, Vector2f.ZERO, Vector2f.ZERO));
+		Assert.assertEquals(1, container.getChanges(body1));
+		
+		body1.getKinematicMapper().setTrajectory(new LinearTrajectory(1.0f, Vector2f.ZERO, Vector2f.ZERO));
+		Assert.assertEquals(2, container.getChanges(body1));
+	}
+}
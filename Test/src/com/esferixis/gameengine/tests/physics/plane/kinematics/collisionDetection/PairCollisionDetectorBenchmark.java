@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.tests.physics.plane.kinematics.collisionDetection;
+
+import java.util.Random;
+
+import com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody;
+import com.esferixis.gameengine.physics.plane.kinematics.collisionDetection.ConservativeAdvancementPairCollisionDetector;
+import com.esferixis.gameengine.physics.plane.kinematics.collisionDetection.DistancePairCollisionDetector;
+import com.esferixis.gameengine.physics.plane.kinematics.collisionDetection.PairCollisionDetector;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.LinearRotation;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.rotation.RotationPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.LinearTrajectory;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.TranslationPlaneKinematicMapper;
+import com.esferixis.geometry.plane.finite.Circle;
+import com.esferixis.geometry.plane.finite.Circumference;
+import com.esferixis.geometry.plane.finite.FiniteProportionalHolomorphicShape;
+import com.esferixis.geometry.plane.finite.LineSegment;
+import com.esferixis.math.ExtraMath;
+import com.esferixis.math.Vector2f;
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+
+/**
+ * Benchmark de detectores de colisiones de pares.
+ * 
+ * Para cada detector y escenario testea pares generados al azar
+ * y muestra la cantidad de evaluaciones de distancia por contacto detectado.
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class PairCollisionDetectorBenchmark {
+	private static final int PAIRS_QUANTITY = 2000;
+	private static final long SEED = 1234L;
+	
+	private static final FloatClosedInterval timeInterval = new FloatClosedInterval(0.0f, 10.0f);
+	private static final FloatClosedInterval collisionDistanceInterval = new FloatClosedInterval(0.0f, 0.01f);
+	
+	/**
+	 * Cuerpo que cuenta la cantidad de figuras instantáneas pedidas
+	 */
+	private static final class CountingPlaneKinematicBody<M extends PlaneKinematicMapper> extends PlaneKinematicBody<M> {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 2518843208419707361L;
+		
+		private final FiniteProportionalHolomorphicShape<?> shape;
+		private final long[] instantShapesCount;
+		
+		public CountingPlaneKinematicBody(FiniteProportionalHolomorphicShape<?> shape, M kinematicMapper, long[] instantShapesCount) {
+			super(kinematicMapper);
+			this.shape = shape;
+			this.instantShapesCount = instantShapesCount;
+		}
+
+		@Override
+		public float getStartTime() {
+			return this.getKinematicMapper().getStartTime();
+		}
+
+		@Override
+		protected FiniteProportionalHolomorphicShape<?> instantShape_checked(float time) {
+			this.instantShapesCount[0]++;
+			return this.getKinematicMapper().instantPlaneMapper(time).transform(this.shape);
+		}
+
+		@Override
+		protected float getMaxDistanceTraveled_checked(FloatClosedInterval timeInterval) {
+			return this.getKinematicMapper().getMaxDistanceTraveled(this.shape, timeInterval);
+		}
+
+		@Override
+		protected FiniteProportionalHolomorphicShape<?> shapeWithBoundingPerimeter_checked(FloatClosedInterval timeInterval) {
+			return this.getKinematicMapper().shapeWithBoundingPerimeter(this.shape, timeInterval);
+		}
+
+		@Override
+		protected FiniteProportionalHolomorphicShape<?> boundingRegion_checked(FloatClosedInterval timeInterval) {
+			return this.getKinematicMapper().boundingRegion(this.shape, timeInterval);
+		}
+
+		@Override
+		public boolean isComplete() {
+			return ( this.shape != null ) && ( this.getKinematicMapper() != null );
+		}
+	}
+	
+	private static abstract class Scenario {
+		private final String name;
+		
+		public Scenario(String name) {
+			this.name = name;
+		}
+		
+		/**
+		 * @post Devuelve el nombre
+		 */
+		public String getName() {
+			return this.name;
+		}
+		
+		/**
+		 * @post Crea el primer cuerpo del par
+		 */
+		public abstract PlaneKinematicBody<?> createBody1(Random rng, long[] instantShapesCount);
+		
+		/**
+		 * @post Crea el segundo cuerpo del par
+		 */
+		public PlaneKinematicBody<?> createBody2(Random rng, long[] instantShapesCount) {
+			final Vector2f position = new Vector2f(rng.nextFloat() * 10.0f - 5.0f, rng.nextFloat() * 10.0f - 5.0f);
+			final Vector2f velocity = position.scale(-0.1f * ( 0.5f + rng.nextFloat() )).add(Vector2f.unitPolar(ExtraMath.doublePI * rng.nextFloat()).scale(0.2f));
+			
+			return new CountingPlaneKinematicBody<TranslationPlaneKinematicMapper<LinearTrajectory>>(new Circle(new Circumference(Vector2f.ZERO, 0.25f)), new TranslationPlaneKinematicMapper<LinearTrajectory>(new LinearTrajectory(0.0f, position, velocity)), instantShapesCount);
+		}
+	}
+	
+	private static final Scenario[] scenarios = new Scenario[]{
+		new Scenario("Translation") {
+			@Override
+			public PlaneKinematicBody<?> createBody1(Random rng, long[] instantShapesCount) {
+				final Vector2f velocity = Vector2f.unitPolar(ExtraMath.doublePI * rng.nextFloat()).scale(0.1f);
+				
+				return new CountingPlaneKinematicBody<TranslationPlaneKinematicMapper<LinearTrajectory>>(new Circle(new Circumference(Vector2f.ZERO, 0.5f)), new TranslationPlaneKinematicMapper<LinearTrajectory>(new LinearTrajectory(0.0f, Vector2f.ZERO, velocity)), instantShapesCount);
+			}
+		},
+		new Scenario("Rotation") {
+			@Override
+			public PlaneKinematicBody<?> createBody1(Random rng, long[] instantShapesCount) {
+				final float angularVelocity = ( rng.nextFloat() * 2.0f - 1.0f ) * 2.0f;
+				
+				return new CountingPlaneKinematicBody<RotationPlaneKinematicMapper<LinearRotation>>(new LineSegment(new Vector2f(0.5f, 0.0f), new Vector2f(2.0f, 0.0f)), new RotationPlaneKinematicMapper<LinearRotation>(new LinearRotation(0.0f, ExtraMath.doublePI * rng.nextFloat(), angularVelocity)), instantShapesCount);
+			}
+		}
+	};
+	
+	/**
+	 * @post Ejecuta el benchmark con el detector y el escenario especificados
+	 */
+	private static void run(String detectorName, PairCollisionDetector pairCollisionDetector, Scenario scenario) {
+		final Random rng = new Random(SEED);
+		final long[] instantShapesCount = new long[1];
+		
+		final PlaneKinematicBody<?>[] bodies1 = new PlaneKinematicBody<?>[PAIRS_QUANTITY];
+		final PlaneKinematicBody<?>[] bodies2 = new PlaneKinematicBody<?>[PAIRS_QUANTITY];
+		
+		for ( int i = 0 ; i<PAIRS_QUANTITY; i++ ) {
+			bodies1[i] = scenario.createBody1(rng, instantShapesCount);
+			bodies2[i] = scenario.createBody2(rng, instantShapesCount);
+		}
+		
+		long contactsCount = 0;
+		
+		final long startTime = System.nanoTime();
+		
+		for ( int i = 0 ; i<PAIRS_QUANTITY; i++ ) {
+			if ( pairCollisionDetector.testCollision(timeInterval, collisionDistanceInterval, true, bodies1[i], bodies2[i]) != null ) {
+				contactsCount++;
+			}
+		}
+		
+		final long elapsedTime = System.nanoTime() - startTime;
+		
+		// Cada evaluación de distancia pide la figura instantánea de los dos cuerpos
+		final long evaluationsCount = instantShapesCount[0] / 2;
+		
+		System.out.println(detectorName + ", " + scenario.getName() + ", time: " + ( elapsedTime / 1000000.0d ) + " ms, distance evaluations: " + evaluationsCount + ", contacts: " + contactsCount + ", evaluations per contact: " + ( contactsCount != 0 ? ( (double) evaluationsCount / contactsCount ) : Double.NaN ) );
+	}
+	
+	public static void main(String[] args) {
+		for ( Scenario eachScenario : scenarios ) {
+			// Calentamiento
+			run("Warmup", new DistancePairCollisionDetector(), eachScenario);
+			run("Warmup", new ConservativeAdvancementPairCollisionDetector(), eachScenario);
+			
+			run("DistancePairCollisionDetector", new DistancePairCollisionDetector(), eachScenario);
+			run("ConservativeAdvancementPairCollisionDetector", new ConservativeAdvancementPairCollisionDetector(), eachScenario);
+		}
+	}
+}
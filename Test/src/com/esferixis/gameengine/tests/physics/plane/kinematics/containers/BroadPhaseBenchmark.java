@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.tests.physics.plane.kinematics.containers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionResponse;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainer;
+import com.esferixis.gameengine.physics.plane.kinematics.CollisionTestBodyPairContainerAttacher;
+import com.esferixis.gameengine.physics.plane.kinematics.PlaneKinematicBody;
+import com.esferixis.gameengine.physics.plane.kinematics.StaticShapePlaneKinematicBody;
+import com.esferixis.gameengine.physics.plane.kinematics.collisionDetection.DistancePairCollisionDetector;
+import com.esferixis.gameengine.physics.plane.kinematics.collisionDetection.PairCollisionDetector;
+import com.esferixis.gameengine.physics.plane.kinematics.containers.LinearBodyPairCollisionTestPairContainer;
+import com.esferixis.gameengine.physics.plane.kinematics.containers.SpatialHashBodyPairCollisionTestPairContainer;
+import com.esferixis.gameengine.physics.plane.kinematics.containers.SweepAndPruneBodyPairCollisionTestPairContainer;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.PlaneKinematicMapper;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.LinearTrajectory;
+import com.esferixis.gameengine.physics.plane.kinematics.mapper.translation.TranslationPlaneKinematicMapper;
+import com.esferixis.gameengine.physics.time.RootTemporalEventsEngine;
+import com.esferixis.gameengine.physics.time.TemporalEvent;
+import com.esferixis.gameengine.physics.time.TemporalEventsManager;
+import com.esferixis.geometry.plane.finite.Circle;
+import com.esferixis.geometry.plane.finite.Circumference;
+import com.esferixis.math.ExtraMath;
+import com.esferixis.math.Vector2f;
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+import com.esferixis.misc.collection.set.BinarySet;
+
+/**
+ * Benchmark de los contenedores de pares de testeo de colisión (Fase amplia).
+ * 
+ * Simula círculos con trayectorias lineales durante una cantidad de frames y
+ * mide el tiempo total y la cantidad de tests de colisión de pares efectuados
+ * con cada contenedor.
+ * 
+ * Parámetros opcionales: cantidad de frames
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class BroadPhaseBenchmark {
+	private static final int[] BODIES_QUANTITIES = new int[]{ 100, 1000, 10000 };
+	private static final int PARTNERS_PER_BODY = 8;
+	private static final float FRAME_DURATION = 1.0f / 60.0f;
+	private static final float CIRCLE_RADIUS = 0.05f;
+	private static final float SPEED = 0.5f;
+	private static final float BODY_SPACING = 0.5f;
+	private static final long SEED = 4321L;
+	
+	private static final FloatClosedInterval collisionDistanceInterval = new FloatClosedInterval(0.0f, 0.01f);
+	
+	private static abstract class ContainerFactory {
+		private final String name;
+		
+		public ContainerFactory(String name) {
+			this.name = name;
+		}
+		
+		/**
+		 * @post Devuelve el nombre
+		 */
+		public String getName() {
+			return this.name;
+		}
+		
+		/**
+		 * @post Crea el contenedor
+		 */
+		public abstract CollisionTestBodyPairContainer create();
+	}
+	
+	/**
+	 * Detector que cuenta los tests efectuados
+	 */
+	private static final class CountingPairCollisionDetector extends PairCollisionDetector {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = -2693514874317212730L;
+		
+		private final PairCollisionDetector delegate;
+		private long testsCount;
+		
+		public CountingPairCollisionDetector(PairCollisionDetector delegate) {
+			this.delegate = delegate;
+			this.testsCount = 0;
+		}
+		
+		@Override
+		protected Float testCollision_internal(FloatClosedInterval timeInterval,
+				FloatClosedInterval collisionDistanceInterval, boolean inclusiveResult,
+				PlaneKinematicBody<? extends PlaneKinematicMapper> body1,
+				PlaneKinematicBody<? extends PlaneKinematicMapper> body2) {
+			this.testsCount++;
+			return this.delegate.testCollision(timeInterval, collisionDistanceInterval, inclusiveResult, body1, body2);
+		}
+		
+		/**
+		 * @post Devuelve la cantidad de tests efectuados
+		 */
+		public long getTestsCount() {
+			return this.testsCount;
+		}
+	}
+	
+	/**
+	 * Respuesta que cuenta las colisiones sin modificar los cuerpos
+	 */
+	private static final class CountingCollisionResponse implements CollisionResponse {
+		/**
+		 * 
+		 */
+		private static final long serialVersionUID = 3184760229530142186L;
+		
+		private final long[] collisionsCount;
+		
+		public CountingCollisionResponse(long[] collisionsCount) {
+			this.collisionsCount = collisionsCount;
+		}
+		
+		@Override
+		public boolean notifyUpperBoundaryCollision(float time) {
+			return false;
+		}
+
+		@Override
+		public void notifyIntermediateRegionCollision(float time) {
+			
+		}
+
+		@Override
+		public boolean notifyLowerBoundaryCollision(float time) {
+			this.collisionsCount[0]++;
+			return false;
+		}
+	}
+	
+	/**
+	 * Evento de frame, detiene el motor después del último frame
+	 */
+	private static final class FrameEvent extends TemporalEvent {
+		private final RootTemporalEventsEngine engine;
+		private final int frameIndex;
+		private final int framesQuantity;
+		
+		public FrameEvent(RootTemporalEventsEngine engine, int frameIndex, int framesQuantity) {
+			super(frameIndex * FRAME_DURATION);
+			this.engine = engine;
+			this.frameIndex = frameIndex;
+			this.framesQuantity = framesQuantity;
+		}
+
+		@Override
+		protected void launch(TemporalEventsManager temporalEventsManager) {
+			if ( this.frameIndex < this.framesQuantity ) {
+				temporalEventsManager.addEvent(new FrameEvent(this.engine, this.frameIndex+1, this.framesQuantity));
+			}
+			else {
+				this.engine.stop();
+			}
+		}
+	}
+	
+	private static final ContainerFactory[] containerFactories = new ContainerFactory[]{
+		new ContainerFactory("Linear") {
+			@Override
+			public CollisionTestBodyPairContainer create() {
+				return new LinearBodyPairCollisionTestPairContainer(collisionDistanceInterval);
+			}
+		},
+		new ContainerFactory("SpatialHash") {
+			@Override
+			public CollisionTestBodyPairContainer create() {
+				return new SpatialHashBodyPairCollisionTestPairContainer(collisionDistanceInterval, BODY_SPACING, FRAME_DURATION * 4.0f);
+			}
+		},
+		new ContainerFactory("SweepAndPrune") {
+			@Override
+			public CollisionTestBodyPairContainer create() {
+				return new SweepAndPruneBodyPairCollisionTestPairContainer(collisionDistanceInterval, FRAME_DURATION * 4.0f);
+			}
+		}
+	};
+	
+	/**
+	 * @post Ejecuta el benchmark con el contenedor y la cantidad de cuerpos especificados
+	 */
+	private static void run(ContainerFactory containerFactory, int bodiesQuantity, int framesQuantity) {
+		final Random rng = new Random(SEED);
+		final float worldSize = (float) Math.sqrt(bodiesQuantity) * BODY_SPACING;
+		final Circle circleShape = new Circle(new Circumference(Vector2f.ZERO, CIRCLE_RADIUS));
+		
+		final List<StaticShapePlaneKinematicBody<Circle, TranslationPlaneKinematicMapper<LinearTrajectory>>> bodies = new ArrayList<StaticShapePlaneKinematicBody<Circle, TranslationPlaneKinematicMapper<LinearTrajectory>>>(bodiesQuantity);
+		
+		for ( int i = 0 ; i<bodiesQuantity; i++ ) {
+			final Vector2f initialPosition = new Vector2f(rng.nextFloat() * worldSize, rng.nextFloat() * worldSize);
+			final Vector2f initialSpeed = Vector2f.unitPolar(ExtraMath.doublePI * rng.nextFloat()).scale(SPEED);
+			
+			bodies.add(new StaticShapePlaneKinematicBody<Circle, TranslationPlaneKinematicMapper<LinearTrajectory>>(circleShape, new TranslationPlaneKinematicMapper<LinearTrajectory>(new LinearTrajectory(0.0f, initialPosition, initialSpeed))));
+		}
+		
+		final long[] collisionsCount = new long[1];
+		final CollisionResponse response = new CountingCollisionResponse(collisionsCount);
+		
+		final CollisionTestBodyPairContainer container = containerFactory.create();
+		
+		for ( int i = 0 ; i<bodiesQuantity; i++ ) {
+			for ( int k = 0 ; k<PARTNERS_PER_BODY; k++ ) {
+				final int j = rng.nextInt(bodiesQuantity);
+				
+				if ( j != i ) {
+					container.setCollisionResponse(new BinarySet<PlaneKinematicBody<? extends PlaneKinematicMapper>>(bodies.get(i), bodies.get(j)), response);
+				}
+			}
+		}
+		
+		final RootTemporalEventsEngine engine = new RootTemporalEventsEngine();
+		final CountingPairCollisionDetector pairCollisionDetector = new CountingPairCollisionDetector(new DistancePairCollisionDetector());
+		
+		engine.getEventsManager().addEvent(new FrameEvent(engine, 0, framesQuantity));
+		final CollisionTestBodyPairContainerAttacher attacher = new CollisionTestBodyPairContainerAttacher(engine.getEventsManager(), pairCollisionDetector, container);
+		
+		final long startTime = System.nanoTime();
+		engine.run();
+		final long elapsedTime = System.nanoTime() - startTime;
+		
+		attacher.detach();
+		
+		System.out.println(containerFactory.getName() + ", bodies: " + bodiesQuantity + ", total: " + ( elapsedTime / 1000000.0d ) + " ms, per frame: " + ( elapsedTime / 1000000.0d / framesQuantity ) + " ms, pair tests: " + pairCollisionDetector.getTestsCount() + ", collisions: " + collisionsCount[0]);
+	}
+	
+	public static void main(String[] args) {
+		final int framesQuantity = ( args.length != 0 ? Integer.parseInt(args[0]) : 30 );
+		
+		for ( int eachBodiesQuantity : BODIES_QUANTITIES ) {
+			for ( ContainerFactory eachContainerFactory : containerFactories ) {
+				// Calentamiento
+				run(eachContainerFactory, Math.min(eachBodiesQuantity, 100), 2);
+				
+				run(eachContainerFactory, eachBodiesQuantity, framesQuantity);
+			}
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.tests.physics.time;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.esferixis.gameengine.physics.time.TemporalEvent;
+import com.esferixis.gameengine.physics.time.TemporalEventsHeap;
+import com.esferixis.gameengine.physics.time.TemporalEventsManager;
+
+import org.junit.Assert;
+
+/**
+ * @author ariel
+ *
+ */
+public class TemporalEventsHeapTest {
+	private static final class TestEvent extends TemporalEvent {
+		public TestEvent(float launchTime) {
+			super(launchTime);
+		}
+
+		@Override
+		protected void launch(TemporalEventsManager eventsManager) {
+			
+		}
+	}
+	
+	/**
+	 * @post Vacía el montículo verificando que los eventos salgan en el orden esperado
+	 */
+	private static void assertPollsInOrder(TemporalEventsHeap heap, List<TestEvent> expectedEvents) {
+		Collections.sort(expectedEvents);
+		
+		float lastLaunchTime = Float.NEGATIVE_INFINITY;
+		
+		for ( TestEvent expectedEvent : expectedEvents ) {
+			Assert.assertEquals(expectedEvent.getLaunchTime(), heap.peekLaunchTime(), 0.0f);
+			
+			final TemporalEvent event = heap.poll();
+			
+			Assert.assertEquals(expectedEvent.getLaunchTime(), event.getLaunchTime(), 0.0f);
+			Assert.assertTrue(event.getLaunchTime() >= lastLaunchTime);
+			Assert.assertFalse(heap.contains(event));
+			
+			lastLaunchTime = event.getLaunchTime();
+		}
+		
+		Assert.assertTrue(heap.isEmpty());
+		Assert.assertNull(heap.poll());
+	}
+	
+	@Test
+	public void test1() {
+		// Agregado y extracción, con tiempos repetidos y más eventos que la capacidad inicial
+		final TemporalEventsHeap heap = new TemporalEventsHeap();
+		final List<TestEvent> events = new ArrayList<TestEvent>();
+		final Random random = new Random(1);
+		
+		for ( int i = 0 ; i < 200 ; i++ ) {
+			final TestEvent event = new TestEvent( (float) random.nextInt(50) );
+			
+			events.add(event);
+			heap.add(event);
+			
+			Assert.assertTrue(heap.contains(event));
+		}
+		
+		Assert.assertEquals(200, heap.size());
+		
+		assertPollsInOrder(heap, events);
+	}
+	
+	@Test
+	public void test2() {
+		// Quita eventos del medio, incluyendo casos donde el último tiene que subir
+		final TemporalEventsHeap heap = new TemporalEventsHeap();
+		final List<TestEvent> events = new ArrayList<TestEvent>();
+		final Random random = new Random(2);
+		
+		for ( int i = 0 ; i < 100 ; i++ ) {
+			final TestEvent event = new TestEvent( random.nextFloat() * 100.0f );
+			
+			events.add(event);
+			heap.add(event);
+		}
+		
+		for ( int i = 0 ; i < 40 ; i++ ) {
+			final TestEvent event = events.remove(random.nextInt(events.size()));
+			
+			heap.remove(event);
+			
+			Assert.assertFalse(heap.contains(event));
+		}
+		
+		Assert.assertEquals(60, heap.size());
+		
+		assertPollsInOrder(heap, events);
+	}
+	
+	@Test
+	public void test3() {
+		// Quita el último evento y uno cuyo reemplazo tiene que subir en vez de bajar
+		final TemporalEventsHeap heap = new TemporalEventsHeap();
+		final List<TestEvent> events = new ArrayList<TestEvent>();
+		
+		for ( float launchTime : new float[]{ 0.0f, 10.0f, 1.0f, 1.0f, 1.0f, 11.0f, 12.0f, 13.0f, 14.0f, 2.0f } ) {
+			final TestEvent event = new TestEvent(launchTime);
+			
+			events.add(event);
+			heap.add(event);
+		}
+		
+		final TestEvent lastEvent = events.remove(events.size()-1);
+		heap.remove(lastEvent);
+		
+		final TestEvent event11 = events.remove(5);
+		Assert.assertEquals(11.0f, event11.getLaunchTime(), 0.0f);
+		heap.remove(event11);
+		
+		assertPollsInOrder(heap, events);
+	}
+	
+	@Test
+	public void test4() {
+		// Reprograma eventos hacia adelante y hacia atrás
+		final TemporalEventsHeap heap = new TemporalEventsHeap();
+		final List<TestEvent> events = new ArrayList<TestEvent>();
+		final Random random = new Random(4);
+		
+		for ( int i = 0 ; i < 100 ; i++ ) {
+			final TestEvent event = new TestEvent( random.nextFloat() * 100.0f );
+			
+			events.add(event);
+			heap.add(event);
+		}
+		
+		for ( int i = 0 ; i < 300 ; i++ ) {
+			final TestEvent event = events.get(random.nextInt(events.size()));
+			final float newLaunchTime = random.nextFloat() * 200.0f - 50.0f;
+			
+			heap.reschedule(event, newLaunchTime);
+			
+			Assert.assertEquals(newLaunchTime, event.getLaunchTime(), 0.0f);
+			Assert.assertTrue(heap.contains(event));
+		}
+		
+		Assert.assertEquals(100, heap.size());
+		
+		assertPollsInOrder(heap, events);
+	}
+	
+	@Test
+	public void test5() {
+		// Desplaza los tiempos de lanzamiento conservando el orden
+		final TemporalEventsHeap heap = new TemporalEventsHeap();
+		final List<TestEvent> events = new ArrayList<TestEvent>();
+		
+		for ( int i = 0 ; i < 20 ; i++ ) {
+			final TestEvent event = new TestEvent( (float) ( ( i * 7 ) % 20 ) + 1000.0f );
+			
+			events.add(event);
+			heap.add(event);
+		}
+		
+		heap.shiftLaunchTimes(1000.0f);
+		
+		for ( TestEvent event : events ) {
+			Assert.assertTrue( ( event.getLaunchTime() >= 0.0f ) && ( event.getLaunchTime() < 20.0f ) );
+		}
+		
+		Assert.assertEquals(0.0f, heap.peekLaunchTime(), 0.0f);
+		
+		assertPollsInOrder(heap, events);
+	}
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.tests.renderengine.backend.opengl;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.junit.Assert;
+
+import com.arielcarrizo.gameengine.renderengine.backend.opengl.gl21.space.PackedKeyRadixSorter;
+
+public class PackedKeyRadixSorterTest {
+	/**
+	 * @post Crea una clave con la profundidad y el índice especificados,
+	 * 		 como lo hace la cola de geometría transparente
+	 */
+	private static long packKey(float depth, int index) {
+		return ( ( (long) PackedKeyRadixSorter.sortableFloatBits(depth) ) << 32 ) | index;
+	}
+	
+	@Test
+	public void test1() {
+		// Profundidades negativas, positivas, ceros con signo e infinitos
+		final float[] depths = new float[]{ 3.5f, -0.0f, -100.0f, Float.POSITIVE_INFINITY, 0.0f, -0.5f, Float.NEGATIVE_INFINITY, 1e-30f, -1e-30f, 42.0f, -42.0f };
+		final long[] keys = new long[depths.length];
+		
+		for ( int i = 0 ; i < depths.length ; i++ ) {
+			keys[i] = packKey(depths[i], i);
+		}
+		
+		new PackedKeyRadixSorter().sort(keys, keys.length, 32);
+		
+		float lastDepth = Float.NEGATIVE_INFINITY;
+		
+		for ( int i = 0 ; i < keys.length ; i++ ) {
+			final float eachDepth = depths[(int) keys[i]];
+			
+			Assert.assertTrue(eachDepth >= lastDepth);
+			lastDepth = eachDepth;
+		}
+		
+		Assert.assertEquals(Float.NEGATIVE_INFINITY, depths[(int) keys[0]], 0.0f);
+		Assert.assertEquals(-100.0f, depths[(int) keys[1]], 0.0f);
+		Assert.assertEquals(Float.POSITIVE_INFINITY, depths[(int) keys[keys.length-1]], 0.0f);
+	}
+	
+	@Test
+	public void test2() {
+		// Coincide con el orden de referencia para profundidades al azar de ambos signos
+		final PackedKeyRadixSorter sorter = new PackedKeyRadixSorter();
+		final Random random = new Random(2);
+		
+		for ( int count : new int[]{ 0, 1, 2, 100, 1000 } ) {
+			final float[] depths = new float[count];
+			final long[] keys = new long[count];
+			
+			for ( int i = 0 ; i < count ; i++ ) {
+				depths[i] = ( random.nextFloat() - 0.5f ) * 2000.0f;
+				keys[i] = packKey(depths[i], i);
+			}
+			
+			sorter.sort(keys, count, 32);
+			
+			final float[] expectedDepths = depths.clone();
+			Arrays.sort(expectedDepths);
+			
+			for ( int i = 0 ; i < count ; i++ ) {
+				Assert.assertEquals(expectedDepths[i], depths[(int) keys[i]], 0.0f);
+			}
+		}
+	}
+	
+	@Test
+	public void test3() {
+		// Las claves con la misma profundidad conservan el orden original
+		final float[] depths = new float[]{ 1.0f, -2.0f, 1.0f, -2.0f, 1.0f, 0.0f, -2.0f, 0.0f };
+		final long[] keys = new long[depths.length];
+		
+		for ( int i = 0 ; i < depths.length ; i++ ) {
+			keys[i] = packKey(depths[i], i);
+		}
+		
+		new PackedKeyRadixSorter().sort(keys, keys.length, 32);
+		
+		final int[] expectedIndices = new int[]{ 1, 3, 6, 5, 7, 0, 2, 4 };
+		
+		for ( int i = 0 ; i < keys.length ; i++ ) {
+			Assert.assertEquals(expectedIndices[i], (int) keys[i]);
+		}
+	}
+	
+	@Test
+	public void test4() {
+		// Todas las claves iguales, se saltean todas las pasadas
+		final long[] keys = new long[50];
+		Arrays.fill(keys, packKey(-7.0f, 3));
+		
+		final long[] expectedKeys = keys.clone();
+		
+		new PackedKeyRadixSorter().sort(keys, keys.length, 0);
+		
+		Assert.assertArrayEquals(expectedKeys, keys);
+	}
+	
+	@Test
+	public void test5() {
+		/**
+		 * Las claves sólo difieren en un dígito, así que se hace una sola pasada
+		 * y el resultado queda en el buffer auxiliar antes de copiarse
+		 */
+		final long[] keys = new long[]{ 0x1122330044556677L, 0x11223300FF556677L, 0x1122330000556677L, 0x1122330080556677L };
+		
+		new PackedKeyRadixSorter().sort(keys, keys.length, 0);
+		
+		Assert.assertArrayEquals(new long[]{ 0x1122330000556677L, 0x1122330044556677L, 0x1122330080556677L, 0x11223300FF556677L }, keys);
+	}
+	
+	@Test
+	public void test6() {
+		// Dos dígitos distintos, así que se hacen dos pasadas, y el sobrante del arreglo no se toca
+		final long[] keys = new long[]{ 0x0200000000000001L, 0x0100000000000002L, 0x0101000000000003L, 0x0001000000000004L, 0x7FFFFFFFFFFFFFFFL };
+		
+		new PackedKeyRadixSorter().sort(keys, 4, 32);
+		
+		Assert.assertArrayEquals(new long[]{ 0x0001000000000004L, 0x0100000000000002L, 0x0101000000000003L, 0x0200000000000001L, 0x7FFFFFFFFFFFFFFFL }, keys);
+	}
+	
+	@Test
+	public void test7() {
+		// Los bits menores que el primer bit no participan del orden
+		final long[] keys = new long[]{ 0x0000000100000009L, 0x0000000100000001L, 0x0000000000000005L };
+		
+		new PackedKeyRadixSorter().sort(keys, keys.length, 32);
+		
+		Assert.assertArrayEquals(new long[]{ 0x0000000000000005L, 0x0000000100000009L, 0x0000000100000001L }, keys);
+	}
+}
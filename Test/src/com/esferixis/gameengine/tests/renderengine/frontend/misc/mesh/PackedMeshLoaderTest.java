@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.gameengine.tests.renderengine.frontend.misc.mesh;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.junit.Assert;
+
+import com.esferixis.gameengine.renderengine.backend.misc.mesh.PackedVertexData;
+import com.esferixis.gameengine.renderengine.exception.InvalidPackedMeshFormat;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.ColorLayerDataField;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayersConfig;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.UniformColoredMeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexColoredMeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexColoredMeshLayerVertexData;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexLayersData;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.MeshTriangle;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshData;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshVertex;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.loaders.PackedMeshFormat;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.loaders.PackedMeshLoader;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.loaders.PackedMeshWriter;
+import com.esferixis.math.Vector2f;
+import com.esferixis.math.Vector4f;
+import com.esferixis.misc.loader.DataLoadingErrorException;
+
+public class PackedMeshLoaderTest {
+	/**
+	 * Posición del tamaño de índice en la cabecera de una malla con una capa
+	 */
+	private static final int INDEX_SIZE_OFFSET = 24;
+	
+	/**
+	 * @post Crea un cuadrado de dos triángulos que comparten dos vértices,
+	 * 		 con colores por vértice
+	 */
+	private static ColoredMeshData<Vector2f> createSquareMeshData(MeshLayersConfig meshLayersConfig) {
+		final ColoredMeshVertex<Vector2f> v1 = new ColoredMeshVertex<Vector2f>( new Vector2f(-1.0f, -1.0f), new VertexLayersData( new VertexColoredMeshLayerVertexData( new Vector4f(1.0f, 0.0f, 0.0f, 1.0f) ) ) );
+		final ColoredMeshVertex<Vector2f> v2 = new ColoredMeshVertex<Vector2f>( new Vector2f(1.0f, -1.0f), new VertexLayersData( new VertexColoredMeshLayerVertexData( new Vector4f(0.0f, 1.0f, 0.0f, 1.0f) ) ) );
+		final ColoredMeshVertex<Vector2f> v3 = new ColoredMeshVertex<Vector2f>( new Vector2f(1.0f, 1.0f), new VertexLayersData( new VertexColoredMeshLayerVertexData( new Vector4f(0.0f, 0.0f, 1.0f, 1.0f) ) ) );
+		final ColoredMeshVertex<Vector2f> v4 = new ColoredMeshVertex<Vector2f>( new Vector2f(-1.0f, 1.0f), new VertexLayersData( new VertexColoredMeshLayerVertexData( new Vector4f(1.0f, 1.0f, 1.0f, 0.5f) ) ) );
+		
+		return new ColoredMeshData<Vector2f>( Arrays.asList(
+				new MeshTriangle<Vector2f, ColoredMeshVertex<Vector2f>>(v1, v2, v3),
+				new MeshTriangle<Vector2f, ColoredMeshVertex<Vector2f>>(v1, v3, v4)
+		), meshLayersConfig);
+	}
+	
+	/**
+	 * @post Escribe los bytes especificados en un archivo temporal y lo devuelve
+	 */
+	private static File writeTempFile(ByteBuffer data) throws IOException {
+		final File file = File.createTempFile("mesh", ".epmf");
+		file.deleteOnExit();
+		
+		final FileOutputStream outputStream = new FileOutputStream(file);
+		try {
+			while ( data.hasRemaining() ) {
+				outputStream.getChannel().write(data);
+			}
+		}
+		finally {
+			outputStream.close();
+		}
+		
+		return file;
+	}
+	
+	/**
+	 * @post Empaqueta el cuadrado con la configuración de capas especificada
+	 */
+	private static ByteBuffer packSquare(MeshLayersConfig meshLayersConfig) {
+		return PackedMeshWriter.pack(createSquareMeshData(meshLayersConfig)).order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * @post Verifica que el archivo especificado se rechace como malla empaquetada
+	 * 		 con la configuración de capas especificada
+	 */
+	private static void assertRejected(File file, MeshLayersConfig meshLayersConfig) {
+		try {
+			new PackedMeshLoader<Vector2f>(file, meshLayersConfig).getDataLength();
+			Assert.fail("Expected an invalid packed mesh format");
+		}
+		catch (InvalidPackedMeshFormat e) {
+			// Esperado
+		}
+	}
+	
+	@Test
+	public void test1() throws IOException, DataLoadingErrorException {
+		// Ida y vuelta
+		final MeshLayersConfig meshLayersConfig = new MeshLayersConfig(new VertexColoredMeshLayer());
+		final ColoredMeshData<Vector2f> meshData = createSquareMeshData(meshLayersConfig);
+		
+		final File file = File.createTempFile("mesh", ".epmf");
+		file.deleteOnExit();
+		PackedMeshWriter.write(meshData, file);
+		
+		final ColoredMeshData<Vector2f> loadedMeshData = new PackedMeshLoader<Vector2f>(file, meshLayersConfig).get();
+		final List<MeshTriangle<Vector2f, ColoredMeshVertex<Vector2f>>> triangles = loadedMeshData.getTriangles();
+		
+		Assert.assertEquals(meshData.getTriangles().size(), triangles.size());
+		
+		for ( int i = 0 ; i < triangles.size() ; i++ ) {
+			final List<ColoredMeshVertex<Vector2f>> expectedPoints = meshData.getTriangles().get(i).getPoints();
+			final List<ColoredMeshVertex<Vector2f>> points = triangles.get(i).getPoints();
+			
+			for ( int j = 0 ; j < 3 ; j++ ) {
+				Assert.assertEquals(expectedPoints.get(j).getPosition(), points.get(j).getPosition());
+				Assert.assertEquals( ( (VertexColoredMeshLayerVertexData) expectedPoints.get(j).getVertexLayersData().getLayersData().get(0) ).getColor(), ( (VertexColoredMeshLayerVertexData) points.get(j).getVertexLayersData().getLayersData().get(0) ).getColor() );
+			}
+		}
+	}
+	
+	@Test
+	public void test2() throws IOException, DataLoadingErrorException {
+		// Vértices empaquetados sin repetir, con la posición y el color intercalados
+		final MeshLayersConfig meshLayersConfig = new MeshLayersConfig(new VertexColoredMeshLayer());
+		
+		final PackedVertexData packedVertexData = new PackedMeshLoader<Vector2f>(writeTempFile(packSquare(meshLayersConfig)), meshLayersConfig).get().getPackedVertexData();
+		
+		Assert.assertNotNull(packedVertexData);
+		Assert.assertEquals(4, packedVertexData.getVerticesCount());
+		Assert.assertEquals(6, packedVertexData.getIndicesCount());
+		Assert.assertEquals(2, packedVertexData.getIndexSize());
+		Assert.assertEquals(2, packedVertexData.getAttributesCount());
+		Assert.assertEquals(2, packedVertexData.getAttributeComponents(0));
+		Assert.assertEquals(4, packedVertexData.getAttributeComponents(1));
+		Assert.assertEquals(6, packedVertexData.getComponentsPerVertex());
+	}
+	
+	@Test
+	public void test3() throws IOException {
+		// Número mágico incorrecto
+		final MeshLayersConfig meshLayersConfig = new MeshLayersConfig(new VertexColoredMeshLayer());
+		final ByteBuffer data = packSquare(meshLayersConfig);
+		data.putInt(0, PackedMeshFormat.MAGIC + 1);
+		
+		assertRejected(writeTempFile(data), meshLayersConfig);
+	}
+	
+	@Test
+	public void test4() throws IOException {
+		// Versión no soportada
+		final MeshLayersConfig meshLayersConfig = new MeshLayersConfig(new VertexColoredMeshLayer());
+		final ByteBuffer data = packSquare(meshLayersConfig);
+		data.putInt(4, PackedMeshFormat.VERSION + 1);
+		
+		assertRejected(writeTempFile(data), meshLayersConfig);
+	}
+	
+	@Test
+	public void test5() throws IOException {
+		// Cabecera truncada
+		final MeshLayersConfig meshLayersConfig = new MeshLayersConfig(new VertexColoredMeshLayer());
+		final ByteBuffer data = packSquare(meshLayersConfig);
+		data.limit(20);
+		
+		assertRejected(writeTempFile(data), meshLayersConfig);
+	}
+	
+	@Test
+	public void test6() throws IOException {
+		// Longitud que no corresponde a la cabecera
+		final MeshLayersConfig meshLayersConfig = new MeshLayersConfig(new VertexColoredMeshLayer());
+		final ByteBuffer data = packSquare(meshLayersConfig);
+		data.limit(data.limit() - 2);
+		
+		assertRejected(writeTempFile(data), meshLayersConfig);
+	}
+	
+	@Test
+	public void test7() throws IOException {
+		// Tamaño de índice inválido
+		final MeshLayersConfig meshLayersConfig = new MeshLayersConfig(new VertexColoredMeshLayer());
+		final ByteBuffer data = packSquare(meshLayersConfig);
+		data.putInt(INDEX_SIZE_OFFSET, 3);
+		
+		assertRejected(writeTempFile(data), meshLayersConfig);
+	}
+	
+	@Test
+	public void test8() throws IOException {
+		// Capas que no corresponden a la configuración
+		final ByteBuffer data = packSquare(new MeshLayersConfig(new VertexColoredMeshLayer()));
+		
+		assertRejected(writeTempFile(data), new MeshLayersConfig(new UniformColoredMeshLayer(new ColorLayerDataField())));
+	}
+}
@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.gameengine.tests.renderengine.frontend.misc.mesh;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.esferixis.gameengine.physics.plane.statics.ProportionalAffineMapper2d;
+import com.esferixis.gameengine.platform.PlatformServiceManager;
+import com.esferixis.gameengine.platform.PlatformServiceManagerException;
+import com.esferixis.gameengine.platform.display.ScreenConfig;
+import com.esferixis.gameengine.renderengine.frontend.RenderEngineFrontend;
+import com.esferixis.gameengine.renderengine.frontend.RenderEngineFrontendConfiguration;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayersConfig;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.MeshLayersConfigProfile;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexColoredMeshLayer;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexColoredMeshLayerVertexData;
+import com.esferixis.gameengine.renderengine.frontend.meshLayers.VertexLayersData;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.Mesh;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.MeshTriangle;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshData;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.colored.ColoredMeshVertex;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.loaders.PackedMeshLoader;
+import com.esferixis.gameengine.renderengine.frontend.misc.mesh.loaders.PackedMeshWriter;
+import com.esferixis.gameengine.renderengine.frontend.plane.staticstage.PlaneRendererEmmiter;
+import com.esferixis.gameengine.renderengine.frontend.plane.staticstage.StaticPlaneObjectRenderer;
+import com.esferixis.gameengine.renderengine.frontend.plane.staticstage.mesh.StaticMeshObject2d;
+import com.esferixis.gameengine.renderengine.frontend.renderingFrame.RenderingFrameEmmiter;
+import com.esferixis.gameengine.renderengine.frontend.renderingFrame.RenderingFrameRenderer;
+import com.esferixis.gameengine.tests.GameEngineTestRunnable;
+import com.esferixis.math.Vector2f;
+import com.esferixis.math.Vector4f;
+import com.esferixis.misc.ElementCallback;
+import com.esferixis.misc.loader.MemoryLoader;
+
+/**
+ * Prueba de rendimiento de carga de mallas serializadas y empaquetadas,
+ * hasta el primer frame dibujado con ellas
+ * 
+ * @author ariel
+ *
+ */
+public final class PackedMeshLoadingBenchmark extends GameEngineTestRunnable {
+	private static final int GRID_SIZE = 256;
+	private static final int RUNS = 5;
+	
+	public PackedMeshLoadingBenchmark() {
+		super("Packed mesh loading benchmark (Frontend)");
+	}
+	
+	/**
+	 * @post Crea una grilla de cuadrados con colores por vértice
+	 */
+	private static ColoredMeshData<Vector2f> createGridMeshData(MeshLayersConfig meshLayersConfig) {
+		final ColoredMeshVertex<Vector2f>[][] vertices = new ColoredMeshVertex[GRID_SIZE+1][GRID_SIZE+1];
+		
+		for ( int x = 0 ; x <= GRID_SIZE ; x++ ) {
+			for ( int y = 0 ; y <= GRID_SIZE ; y++ ) {
+				final float u = (float) x / GRID_SIZE;
+				final float v = (float) y / GRID_SIZE;
+				
+				vertices[x][y] = new ColoredMeshVertex<Vector2f>( new Vector2f(u * 2.0f - 1.0f, v * 2.0f - 1.0f), new VertexLayersData( new VertexColoredMeshLayerVertexData( new Vector4f(u, v, 1.0f - u, 1.0f) ) ) );
+			}
+		}
+		
+		final List<MeshTriangle<Vector2f, ColoredMeshVertex<Vector2f>>> triangles = new ArrayList<MeshTriangle<Vector2f, ColoredMeshVertex<Vector2f>>>(GRID_SIZE * GRID_SIZE * 2);
+		
+		for ( int x = 0 ; x < GRID_SIZE ; x++ ) {
+			for ( int y = 0 ; y < GRID_SIZE ; y++ ) {
+				triangles.add(new MeshTriangle<Vector2f, ColoredMeshVertex<Vector2f>>(vertices[x][y], vertices[x+1][y], vertices[x+1][y+1]));
+				triangles.add(new MeshTriangle<Vector2f, ColoredMeshVertex<Vector2f>>(vertices[x][y], vertices[x+1][y+1], vertices[x][y+1]));
+			}
+		}
+		
+		return new ColoredMeshData<Vector2f>(triangles, meshLayersConfig);
+	}
+	
+	/**
+	 * @post Dibuja un frame con la malla especificada, cargándola en el backend
+	 */
+	private static void renderFirstFrame(PlatformServiceManager serviceManager, RenderEngineFrontend renderEngineFrontend, Mesh<Vector2f, ColoredMeshData<Vector2f>> mesh, MeshLayersConfig meshLayersConfig) {
+		final StaticMeshObject2d meshObject = new StaticMeshObject2d(mesh, new MeshLayersConfigProfile(meshLayersConfig), new ProportionalAffineMapper2d());
+		
+		final PlaneRendererEmmiter planeRendererEmmiter = new PlaneRendererEmmiter() {
+
+			@Override
+			public void render_internal(StaticPlaneObjectRenderer objectRenderer) {
+				objectRenderer.render(meshObject);
+			}
+			
+		};
+		
+		renderEngineFrontend.getScreenRenderingFrame().render(new RenderingFrameEmmiter(){
+
+			@Override
+			protected void render_internal(RenderingFrameRenderer renderer) {
+				renderer.clear(new Vector4f(0.0f, 0.0f, 0.0f, 1.0f));
+				renderer.render(planeRendererEmmiter);
+			}
+			
+		});
+		
+		serviceManager.newFrame();
+	}
+	
+	/**
+	 * @post Ejecuta la prueba con el administrador
+	 * 		 de servicio de plataforma especificado.
+	 * 		 Mide el tiempo desde el archivo hasta el primer frame dibujado
+	 * 		 con la malla, incluyendo la carga en el backend
+	 */
+	@Override
+	public void run(final PlatformServiceManager serviceManager) {
+		ScreenConfig screenConfig;
+		
+		serviceManager.getDisplayManager().setWindowTitle(this.title);
+		try {
+			screenConfig = serviceManager.getDisplayManager().createWindowedScreenConfig(640, 480);
+		} catch (PlatformServiceManagerException e) {
+			throw new RuntimeException(e);
+		}
+		
+		try {
+			serviceManager.getDisplayManager().setScreenConfig(screenConfig);
+		} catch (PlatformServiceManagerException e) {
+			throw new RuntimeException(e);
+		}
+		
+		final RenderEngineFrontendConfiguration renderEngineFrontendConfiguration;
+		{
+			final RenderEngineFrontendConfiguration.Essence renderEngineFrontendConfigurationEssence = new RenderEngineFrontendConfiguration.Essence();
+			
+			// Todas las mallas de todas las pasadas quedan cargadas
+			renderEngineFrontendConfigurationEssence.maxMemoryToUse.init(1024l * 1024l * 256l);
+			
+			renderEngineFrontendConfiguration = new RenderEngineFrontendConfiguration(renderEngineFrontendConfigurationEssence);
+		}
+		
+		final MeshLayersConfig meshLayersConfig = new MeshLayersConfig(new VertexColoredMeshLayer());
+		final ColoredMeshData<Vector2f> meshData = createGridMeshData(meshLayersConfig);
+		
+		final File serializedFile;
+		final File packedFile;
+		
+		try {
+			serializedFile = File.createTempFile("mesh", ".ser");
+			packedFile = File.createTempFile("mesh", ".epmf");
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		
+		try {
+			// Escribe las dos versiones
+			{
+				final ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(serializedFile)));
+				try {
+					outputStream.writeObject(meshData);
+				}
+				finally {
+					outputStream.close();
+				}
+			}
+			
+			PackedMeshWriter.write(meshData, packedFile);
+			
+			System.out.println(this.title + ": " + meshData.getTriangles().size() + " triangles");
+			System.out.println("Serialized: " + serializedFile.length() + " bytes, packed: " + packedFile.length() + " bytes");
+			
+			RenderEngineFrontend.execute(serviceManager.getDisplayManager().getRenderEngineBackend(), renderEngineFrontendConfiguration, new ElementCallback<RenderEngineFrontend>() {
+
+				@Override
+				public void run(RenderEngineFrontend renderEngineFrontend) {
+					long bestSerializedNanos = Long.MAX_VALUE;
+					long bestPackedNanos = Long.MAX_VALUE;
+					
+					try {
+						for ( int i = 0 ; i < RUNS ; i++ ) {
+							// Deserialización y carga de los triángulos
+							{
+								final long startNanos = System.nanoTime();
+								
+								final ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(serializedFile)));
+								final ColoredMeshData<Vector2f> deserializedMeshData;
+								try {
+									deserializedMeshData = (ColoredMeshData<Vector2f>) inputStream.readObject();
+								}
+								finally {
+									inputStream.close();
+								}
+								
+								renderFirstFrame(serviceManager, renderEngineFrontend, new Mesh<Vector2f, ColoredMeshData<Vector2f>>(new MemoryLoader<ColoredMeshData<Vector2f>>(deserializedMeshData)), meshLayersConfig);
+								
+								bestSerializedNanos = Math.min(bestSerializedNanos, System.nanoTime() - startNanos);
+							}
+							
+							// Mapeo en memoria y carga de los vértices empaquetados
+							{
+								/**
+								 * Las mallas con el mismo archivo comparten el núcleo,
+								 * así que cada pasada usa una copia para volver a cargarla
+								 */
+								final File runPackedFile = File.createTempFile("mesh", ".epmf");
+								runPackedFile.deleteOnExit();
+								Files.copy(packedFile.toPath(), runPackedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+								
+								final long startNanos = System.nanoTime();
+								
+								renderFirstFrame(serviceManager, renderEngineFrontend, new Mesh<Vector2f, ColoredMeshData<Vector2f>>(new PackedMeshLoader<Vector2f>(runPackedFile, meshLayersConfig)), meshLayersConfig);
+								
+								bestPackedNanos = Math.min(bestPackedNanos, System.nanoTime() - startNanos);
+							}
+						}
+					} catch (IOException | ClassNotFoundException e) {
+						throw new RuntimeException(e);
+					}
+					
+					System.out.println("Best of " + RUNS + " runs to the first frame, serialized: " + ( bestSerializedNanos / 1000000.0d ) + " ms, packed: " + ( bestPackedNanos / 1000000.0d ) + " ms");
+				}
+				
+			});
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		finally {
+			serializedFile.delete();
+			packedFile.delete();
+		}
+	}
+}